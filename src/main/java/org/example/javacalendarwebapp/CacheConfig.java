@@ -0,0 +1,58 @@
+package org.example.javacalendarwebapp;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.CompositeCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String EVENTS = "events";
+    public static final String EVENT_DATES = "event-dates";
+    public static final String TASKS = "tasks";
+    public static final String TASK_DATES = "task-dates";
+    public static final String CALENDARS = "calendars";
+
+    private static final Duration EVICTION_RETENTION = Duration.ofMinutes(10);
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String spec,
+            @Value("${app.cache.events.enabled:true}") boolean eventsEnabled,
+            @Value("${app.cache.tasks.enabled:true}") boolean tasksEnabled,
+            @Value("${app.cache.calendars.enabled:true}") boolean calendarsEnabled
+    ) {
+        List<String> names = new ArrayList<>();
+        if (eventsEnabled) {
+            names.addAll(List.of(EVENTS, EVENT_DATES));
+        }
+        if (tasksEnabled) {
+            names.addAll(List.of(TASKS, TASK_DATES));
+        }
+        if (calendarsEnabled) {
+            names.add(CALENDARS);
+        }
+        CaffeineCacheManager caffeine = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new EvictionGuardedCache(super.adaptCaffeineCache(name, cache), EVICTION_RETENTION);
+            }
+        };
+        caffeine.setCacheSpecification(spec);
+        caffeine.setAllowNullValues(false);
+        caffeine.setCacheNames(names);
+        CompositeCacheManager cacheManager = new CompositeCacheManager(caffeine);
+        cacheManager.setFallbackToNoOpCache(true);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.javacalendarwebapp;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+final class EvictionGuardedCache implements Cache {
+    private static final int MAX_PENDING_MISSES = 256;
+
+    private final Cache delegate;
+    private final AtomicLong clock = new AtomicLong();
+    private final ConcurrentMap<Object, Long> evictions;
+    private final ThreadLocal<Map<Object, Long>> misses = ThreadLocal.withInitial(HashMap::new);
+    private final ReadWriteLock clearLock = new ReentrantReadWriteLock();
+    private volatile long clearedAt;
+
+    EvictionGuardedCache(Cache delegate, Duration retention) {
+        this.delegate = delegate;
+        this.evictions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(retention)
+                .<Object, Long>build()
+                .asMap();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = delegate.get(key);
+        if (value == null) {
+            missed(key);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        if (value == null) {
+            missed(key);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Long missedAt = misses.get().remove(key);
+        clearLock.readLock().lock();
+        try {
+            evictions.compute(key, (k, evictedAt) -> {
+                // a value loaded before a later eviction or clear is stale, so it is not cached
+                if (missedAt == null || (missedAt >= clearedAt && (evictedAt == null || evictedAt <= missedAt))) {
+                    delegate.put(k, value);
+                }
+                return evictedAt;
+            });
+        } finally {
+            clearLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean[] present = new boolean[1];
+        clearLock.readLock().lock();
+        try {
+            evictions.compute(key, (k, evictedAt) -> {
+                present[0] = delegate.evictIfPresent(k);
+                return clock.incrementAndGet();
+            });
+        } finally {
+            clearLock.readLock().unlock();
+        }
+        return present[0];
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        clearLock.writeLock().lock();
+        try {
+            clearedAt = clock.incrementAndGet();
+            return delegate.invalidate();
+        } finally {
+            clearLock.writeLock().unlock();
+        }
+    }
+
+    private void missed(Object key) {
+        Map<Object, Long> pending = misses.get();
+        if (pending.size() >= MAX_PENDING_MISSES) {
+            pending.clear();
+        }
+        pending.put(key, clock.get());
+    }
+}
@@ -15,13 +15,22 @@ import org.springframework.context.annotation.Configuration;
                 description = "REST API dla aplikacji kalendarza",
                 contact = @Contact(name = "Norbert Szyszka", email = "norbert.szyszka@student.pk.edu.pl")
         ),
-        security = @SecurityRequirement(name = "basicAuth")
+        security = {
+                @SecurityRequirement(name = "basicAuth"),
+                @SecurityRequirement(name = "bearerAuth")
+        }
 )
 @SecurityScheme(
         name = "basicAuth",
         type = SecuritySchemeType.HTTP,
         scheme = "basic"
 )
+@SecurityScheme(
+        name = "bearerAuth",
+        type = SecuritySchemeType.HTTP,
+        scheme = "bearer",
+        bearerFormat = "JWT"
+)
 @Configuration
 public class OpenApiConfig {
 }
@@ -4,13 +4,21 @@ import java.util.HashSet;
 import java.util.Set;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.example.javacalendarwebapp.event.Event;
 import org.example.javacalendarwebapp.task.Task;
 import org.example.javacalendarwebapp.user.User;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "calendars")
+@Getter
+@Setter
+@ToString
 @Table(name = "calendars")
 public class Calendar {
     @Id
@@ -20,17 +28,41 @@ public class Calendar {
     @Column(name = "calendar_name")
     private String name;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "calendar-members")
     @JoinTable(
         name = "calendars_users",
         joinColumns =  @JoinColumn(name = "calendar_id"),
         inverseJoinColumns = @JoinColumn(name = "user_id")
     )
+    @ToString.Exclude
     private Set<User> users = new HashSet<>();
     
     @OneToMany(mappedBy = "calendar", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
     private Set<Task> tasks = new HashSet<>();
 
     @OneToMany(mappedBy = "calendar", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
     private Set<Event> events = new HashSet<>();
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Calendar other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Calendar.class.hashCode();
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.javacalendarwebapp.calendar;
+
+import java.time.LocalDateTime;
+
+public record CalendarChange(
+        Subject subject,
+        Action action,
+        Long subjectId,
+        Long calendarId,
+        Long previousCalendarId,
+        LocalDateTime date
+) {
+    public enum Subject { EVENT, TASK, CALENDAR }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    public static CalendarChange created(Subject subject, Long subjectId, Long calendarId, LocalDateTime date) {
+        return new CalendarChange(subject, Action.CREATED, subjectId, calendarId, null, date);
+    }
+
+    public static CalendarChange updated(Subject subject, Long subjectId, Long calendarId, Long previousCalendarId, LocalDateTime date) {
+        return new CalendarChange(subject, Action.UPDATED, subjectId, calendarId, previousCalendarId, date);
+    }
+
+    public static CalendarChange deleted(Subject subject, Long subjectId, Long calendarId) {
+        return new CalendarChange(subject, Action.DELETED, subjectId, calendarId, calendarId, null);
+    }
+
+    public static Long calendarIdOf(Calendar calendar) {
+        return calendar == null ? null : calendar.getId();
+    }
+}
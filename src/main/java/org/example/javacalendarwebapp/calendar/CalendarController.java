@@ -1,17 +1,22 @@
 package org.example.javacalendarwebapp.calendar;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.EntityTags;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.StaleVersionException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
-import java.util.List;
-import java.util.Optional;
-
 @RestController
 @Tag(name = "Calendar Management", description = "Manage calendars")
 @RequestMapping("/calendars")
@@ -23,44 +28,90 @@ public class CalendarController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all calendars", description = "Retrieve a list of all available calendars.")
+    @Operation(summary = "Get all calendars", description = "Retrieve a page of available calendars ordered by id.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public List<Calendar> getAllCalendars() {
-        return calendarService.findAll();
+    public ResponseEntity<CursorPage<CalendarView>> getAllCalendars(
+        @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of calendars to return (capped at 500)")
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(calendarService.findPage(cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get calendar by id", description = "Retrieve calendar based on its id.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public Optional<Calendar> getCalendarById(
+    public ResponseEntity<CalendarView> getCalendarById(
         @Parameter(description = "ID of the calendar to retrieve", required = true)
         @PathVariable Long id
     ) {
-        return Optional.ofNullable(calendarService.findById(id).orElseThrow(() -> new RuntimeException("Event not found with id: " + id)));
+        CalendarView found = calendarService.findById(id)
+                .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
+        return ResponseEntity.ok().eTag(EntityTags.of(found.version())).body(found);
     }
 
     @PostMapping("/create")
     @Operation(summary = "Create a new calendar", description = "Create a new calendar with the provided details.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public ResponseEntity<Calendar> createCalendar(
+    public ResponseEntity<CalendarView> createCalendar(
         @Parameter(description = "Details of the calendar to create", required = true)
         @RequestBody Calendar calendar
     ) {
         Calendar createdCalendar = calendarService.create(calendar);
-        return ResponseEntity.ok(createdCalendar);
+        return ResponseEntity.ok(CalendarView.of(createdCalendar));
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update an existing calendar", description = "Update the details of an existing calendar.")
+    @Operation(summary = "Update an existing calendar", description = "Replace the name and members of an existing calendar. Members are users referenced by id; tasks and events are left untouched.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public ResponseEntity<Calendar> updateCalendar(
+    public ResponseEntity<CalendarView> updateCalendar(
         @Parameter(description = "ID of the calendar to update", required = true)
         @PathVariable Long id,
         @Parameter(description = "Updated details of the calendar", required = true)
-        @RequestBody Calendar calendar
+        @RequestBody Calendar calendar,
+        @Parameter(description = "Entity tag of the calendar version being replaced; a stale tag is rejected with 412")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        try {
+            Calendar updatedCalendar = calendarService.update(id, calendar, EntityTags.expectedVersion(ifMatch));
+            if (updatedCalendar == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedCalendar.getVersion())).body(CalendarView.of(updatedCalendar));
+        } catch (StaleVersionException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (IllegalArgumentException | DataIntegrityViolationException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch an existing calendar", description = "Apply a JSON Merge Patch to a calendar. Only the supplied fields are written, in a single UPDATE without loading the calendar first; null clears a field. Only the calendar name can be patched; the response carries the patched fields.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<CalendarView> patchCalendar(
+        @Parameter(description = "ID of the calendar to patch", required = true)
+        @PathVariable Long id,
+        @Parameter(description = "Fields to change; omitted fields are left untouched", required = true)
+        @RequestBody JsonNode patch,
+        @Parameter(description = "Entity tag of the calendar version being patched; a stale tag is rejected with 412")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Calendar updatedCalendar = calendarService.update(id, calendar);
-        return ResponseEntity.ok(updatedCalendar);
+        try {
+            Calendar patchedCalendar = calendarService.patch(id, patch, EntityTags.expectedVersion(ifMatch));
+            if (patchedCalendar == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok().eTag(EntityTags.of(patchedCalendar.getVersion())).body(CalendarView.of(patchedCalendar));
+        } catch (StaleVersionException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (IllegalArgumentException | DataIntegrityViolationException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -68,9 +119,15 @@ public class CalendarController {
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     public ResponseEntity<Void> deleteCalendar(
         @Parameter(description = "ID of the calendar to delete", required = true)
-        @PathVariable Long id
+        @PathVariable Long id,
+        @Parameter(description = "Entity tag of the calendar version being deleted; a stale tag is rejected with 412")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        calendarService.delete(id);
-        return ResponseEntity.noContent().build();
+        try {
+            calendarService.delete(id, EntityTags.expectedVersion(ifMatch));
+            return ResponseEntity.noContent().build();
+        } catch (StaleVersionException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
     }
 }
\ No newline at end of file
@@ -1,6 +1,30 @@
 package org.example.javacalendarwebapp.calendar;
 
+import org.example.javacalendarwebapp.calendar.detail.CalendarMember;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface CalendarRepository extends JpaRepository<Calendar, Long> {
+import java.util.List;
+import java.util.Optional;
+
+public interface CalendarRepository extends JpaRepository<Calendar, Long>, VersionedCalendarWrites {
+    String SELECT_VIEW = """
+            select new org.example.javacalendarwebapp.calendar.CalendarView(c.id, c.name, c.version)
+            from Calendar c
+            """;
+
+    @Query(SELECT_VIEW + "where c.id = :id")
+    Optional<CalendarView> findViewById(@Param("id") Long id);
+
+    @Query(SELECT_VIEW + "where c.id > :afterId order by c.id")
+    List<CalendarView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            select new org.example.javacalendarwebapp.calendar.detail.CalendarMember(u.id, u.username)
+            from Calendar c join c.users u
+            where c.id = :calendarId
+            order by u.id""")
+    List<CalendarMember> findMembers(@Param("calendarId") Long calendarId);
 }
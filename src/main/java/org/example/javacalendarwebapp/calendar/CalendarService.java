@@ -1,42 +1,176 @@
 package org.example.javacalendarwebapp.calendar;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.javacalendarwebapp.CacheConfig;
+import org.example.javacalendarwebapp.calendar.detail.CalendarMember;
+import org.example.javacalendarwebapp.common.Cursor;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.StaleVersionException;
+import org.example.javacalendarwebapp.user.User;
+import org.example.javacalendarwebapp.user.UserRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class CalendarService {
+    private static final MergePatch PATCHABLE = new MergePatch()
+            .text("name", "calendar_name");
+
     private final CalendarRepository calendarRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CalendarService(CalendarRepository calendarRepository) {
+    public CalendarService(CalendarRepository calendarRepository, UserRepository userRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.calendarRepository = calendarRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<Calendar> findAll() {
         return calendarRepository.findAll();
     }
 
-    public Optional<Calendar> findById(Long id) {
-        return calendarRepository.findById(id);
+    @Transactional(readOnly = true)
+    public CursorPage<CalendarView> findPage(String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long afterId = cursor == null ? 0L : Cursor.decode(cursor).id();
+        List<CalendarView> rows = calendarRepository.findViewsAfter(afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, row -> Cursor.of(row.id()));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CALENDARS, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<CalendarView> findById(Long id) {
+        return calendarRepository.findViewById(id);
     }
 
+    @Transactional(readOnly = true)
+    public List<CalendarMember> findMembers(Long id) {
+        return calendarRepository.findMembers(id);
+    }
+
+    @Transactional
     public Calendar create(Calendar calendar) {
-        return calendarRepository.save(calendar);
+        Calendar saved = calendarRepository.save(calendar);
+        eventPublisher.publishEvent(CalendarChange.created(CalendarChange.Subject.CALENDAR, saved.getId(), saved.getId(), null));
+        return saved;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.CALENDARS, key = "#id")
+    @Transactional
     public Calendar update(Long id, Calendar calendar) {
-        if (!calendarRepository.existsById(id)) {
+        return update(id, calendar, null);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.CALENDARS, key = "#id")
+    @Transactional
+    public Calendar update(Long id, Calendar calendar, Long expectedVersion) {
+        Optional<Calendar> existing = calendarRepository.findById(id);
+        if (existing.isEmpty()) {
             return null;
         }
-        calendar.setId(id);
-        return calendarRepository.save(calendar);
+        Calendar current = existing.get();
+        requireVersion(current, expectedVersion);
+        Set<User> members = members(calendar.getUsers());
+        current.setName(calendar.getName());
+        if (!current.getUsers().equals(members)) {
+            current.getUsers().clear();
+            current.getUsers().addAll(members);
+            calendarRepository.evictMembers(id);
+        }
+        Calendar saved;
+        try {
+            saved = calendarRepository.saveAndFlush(current);
+        } catch (OptimisticLockingFailureException ex) {
+            throw new StaleVersionException("Calendar " + id + " was modified concurrently");
+        }
+        publishUpdated(id);
+        return saved;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.CALENDARS, key = "#id")
+    @Transactional
+    public Calendar patch(Long id, JsonNode patch, Long expectedVersion) {
+        List<MergePatch.Assignment> assignments = PATCHABLE.assignments(patch);
+        if (assignments.isEmpty()) {
+            Optional<Calendar> existing = calendarRepository.findById(id);
+            existing.ifPresent(calendar -> requireVersion(calendar, expectedVersion));
+            return existing.orElse(null);
+        }
+        Optional<Calendar> patched = calendarRepository.patchVersioned(id, assignments, expectedVersion);
+        if (patched.isEmpty() && expectedVersion != null && calendarRepository.existsById(id)) {
+            throw new StaleVersionException("Calendar " + id + " was modified concurrently");
+        }
+        patched.ifPresent(calendar -> publishUpdated(id));
+        return patched.orElse(null);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CALENDARS, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.EVENTS, CacheConfig.EVENT_DATES, CacheConfig.TASKS, CacheConfig.TASK_DATES}, allEntries = true)
+    })
+    @Transactional
     public void delete(Long id) {
-        if (!calendarRepository.existsById(id)) {
+        delete(id, null);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CALENDARS, key = "#id"),
+            @CacheEvict(cacheNames = {CacheConfig.EVENTS, CacheConfig.EVENT_DATES, CacheConfig.TASKS, CacheConfig.TASK_DATES}, allEntries = true)
+    })
+    @Transactional
+    public void delete(Long id, Long expectedVersion) {
+        Optional<Calendar> existing = calendarRepository.findById(id);
+        if (existing.isEmpty()) {
             return;
         }
-        calendarRepository.deleteById(id);
+        requireVersion(existing.get(), expectedVersion);
+        try {
+            calendarRepository.delete(existing.get());
+            calendarRepository.flush();
+        } catch (OptimisticLockingFailureException ex) {
+            throw new StaleVersionException("Calendar " + id + " was modified concurrently");
+        }
+        eventPublisher.publishEvent(CalendarChange.deleted(CalendarChange.Subject.CALENDAR, id, id));
+    }
+
+    private void publishUpdated(Long id) {
+        eventPublisher.publishEvent(CalendarChange.updated(CalendarChange.Subject.CALENDAR, id, id, id, null));
+    }
+
+    private Set<User> members(Set<User> users) {
+        if (users == null || users.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<Long> ids = users.stream().map(User::getId).collect(Collectors.toSet());
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("Calendar members must be referenced by id");
+        }
+        List<User> found = userRepository.findAllById(ids);
+        if (found.size() != ids.size()) {
+            throw new IllegalArgumentException("Calendar members must be existing users");
+        }
+        return new HashSet<>(found);
+    }
+
+    private static void requireVersion(Calendar calendar, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(calendar.getVersion())) {
+            throw new StaleVersionException("Calendar " + calendar.getId() + " was modified concurrently");
+        }
     }
 }
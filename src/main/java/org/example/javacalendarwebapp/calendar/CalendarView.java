@@ -0,0 +1,11 @@
+package org.example.javacalendarwebapp.calendar;
+
+public record CalendarView(
+        Long id,
+        String name,
+        Long version
+) {
+    public static CalendarView of(Calendar calendar) {
+        return new CalendarView(calendar.getId(), calendar.getName(), calendar.getVersion());
+    }
+}
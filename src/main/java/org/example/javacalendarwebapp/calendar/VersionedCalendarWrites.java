@@ -0,0 +1,12 @@
+package org.example.javacalendarwebapp.calendar;
+
+import org.example.javacalendarwebapp.common.MergePatch;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface VersionedCalendarWrites {
+    Optional<Calendar> patchVersioned(Long id, List<MergePatch.Assignment> assignments, Long expectedVersion);
+
+    void evictMembers(Long id);
+}
@@ -0,0 +1,73 @@
+package org.example.javacalendarwebapp.calendar;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.hibernate.Cache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+public class VersionedCalendarWritesImpl implements VersionedCalendarWrites {
+    private static final String RETURNING = " RETURNING id, calendar_name, version";
+    private static final String MEMBERS = Calendar.class.getName() + ".users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public VersionedCalendarWritesImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Optional<Calendar> patchVersioned(Long id, List<MergePatch.Assignment> assignments, Long expectedVersion) {
+        String sql = "UPDATE calendars SET " + MergePatch.setClause(assignments) + ", version = version + 1 WHERE id = ?"
+                + (expectedVersion == null ? "" : " AND version = ?") + RETURNING;
+        List<Calendar> rows = jdbcTemplate.query(sql, ps -> {
+            int index = MergePatch.bind(ps, assignments);
+            ps.setLong(index++, id);
+            if (expectedVersion != null) {
+                ps.setLong(index, expectedVersion);
+            }
+        }, (rs, rowNum) -> {
+            Calendar calendar = new Calendar();
+            calendar.setId(rs.getLong("id"));
+            calendar.setName(rs.getString("calendar_name"));
+            calendar.setVersion(rs.getLong("version"));
+            return calendar;
+        });
+        if (!rows.isEmpty()) {
+            evict(id);
+        }
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public void evictMembers(Long id) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictCollectionData(MEMBERS, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evictCollectionData(MEMBERS, id);
+                }
+            });
+        }
+    }
+
+    private void evict(Long id) {
+        entityManagerFactory.getCache().evict(Calendar.class, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entityManagerFactory.getCache().evict(Calendar.class, id);
+                }
+            });
+        }
+    }
+}
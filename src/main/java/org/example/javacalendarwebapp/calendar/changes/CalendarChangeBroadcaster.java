@@ -0,0 +1,147 @@
+package org.example.javacalendarwebapp.calendar.changes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class CalendarChangeBroadcaster implements DisposableBean {
+    static final String CHANGE_EVENT = "change";
+    static final String HEARTBEAT = "heartbeat";
+
+    private final Map<Long, Set<ChangeSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter dropped;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Executor sender;
+    private final ScheduledExecutorService heartbeats;
+
+    @Autowired
+    public CalendarChangeBroadcaster(
+            MeterRegistry meterRegistry,
+            @Value("${app.changes.buffer-size:64}") int bufferSize,
+            @Value("${app.changes.heartbeat:15s}") Duration heartbeat,
+            @Value("${app.changes.timeout:30m}") Duration timeout
+    ) {
+        this(meterRegistry, bufferSize, heartbeat, timeout,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("calendar-changes-", 0).factory()));
+    }
+
+    CalendarChangeBroadcaster(MeterRegistry meterRegistry, int bufferSize, Duration heartbeat, Duration timeout, Executor sender) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Change buffer size must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.sender = sender;
+        Gauge.builder("calendar.changes.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open calendar change streams")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("calendar.changes.dropped")
+                .description("Change streams closed because the client fell behind")
+                .register(meterRegistry);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("calendar-changes-heartbeat").factory());
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long calendarId) {
+        return subscribe(calendarId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long calendarId, SseEmitter emitter) {
+        ChangeSubscriber subscriber = new ChangeSubscriber(calendarId, emitter, bufferSize, sender, this::remove);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        subscribers.compute(calendarId, (id, current) -> {
+            Set<ChangeSubscriber> updated = current == null ? ConcurrentHashMap.newKeySet() : current;
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriberCount.incrementAndGet();
+        return emitter;
+    }
+
+    public int subscriberCount(Long calendarId) {
+        Set<ChangeSubscriber> current = subscribers.get(calendarId);
+        return current == null ? 0 : current.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarChange(CalendarChange change) {
+        publish(change.calendarId(), change);
+        if (change.previousCalendarId() != null && !Objects.equals(change.previousCalendarId(), change.calendarId())) {
+            publish(change.previousCalendarId(), change);
+        }
+        if (change.subject() == CalendarChange.Subject.CALENDAR && change.action() == CalendarChange.Action.DELETED) {
+            Set<ChangeSubscriber> closing = subscribers.get(change.calendarId());
+            if (closing != null) {
+                closing.forEach(ChangeSubscriber::complete);
+            }
+        }
+    }
+
+    void heartbeat() {
+        subscribers.values().forEach(current -> current.forEach(subscriber -> deliver(subscriber, SseEmitter.event().comment(HEARTBEAT))));
+    }
+
+    private void publish(Long calendarId, CalendarChange change) {
+        if (calendarId == null) {
+            return;
+        }
+        Set<ChangeSubscriber> current = subscribers.get(calendarId);
+        if (current == null) {
+            return;
+        }
+        for (ChangeSubscriber subscriber : current) {
+            deliver(subscriber, SseEmitter.event().name(CHANGE_EVENT).data(change, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void deliver(ChangeSubscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.offer(event) && subscriber.close()) {
+            dropped.increment();
+            subscriber.emitter().complete();
+        }
+    }
+
+    private void remove(ChangeSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.calendarId(), (id, current) -> {
+            if (current.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        subscribers.values().forEach(current -> current.forEach(ChangeSubscriber::complete));
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.javacalendarwebapp.calendar.changes;
+
+import org.example.javacalendarwebapp.calendar.CalendarService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Tag(name = "Calendar Management", description = "Manage calendars")
+@RequestMapping("/calendars")
+public class CalendarChangeStreamController {
+    private final CalendarService calendarService;
+    private final CalendarChangeBroadcaster broadcaster;
+
+    public CalendarChangeStreamController(CalendarService calendarService, CalendarChangeBroadcaster broadcaster) {
+        this.calendarService = calendarService;
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(value = "/{id}/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream calendar changes", description = "Open a Server-Sent Events stream that pushes a 'change' event whenever an event, task or the calendar itself is created, updated or deleted. Heartbeat comments keep idle connections open; clients that fall behind are disconnected and should reconnect.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<SseEmitter> streamChanges(
+        @Parameter(description = "ID of the calendar", required = true)
+        @PathVariable Long id
+    ) {
+        if (calendarService.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(broadcaster.subscribe(id));
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.javacalendarwebapp.calendar.changes;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+final class ChangeSubscriber {
+    private final Long calendarId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> buffer;
+    private final Executor sender;
+    private final Consumer<ChangeSubscriber> onClosed;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    ChangeSubscriber(Long calendarId, SseEmitter emitter, int bufferSize, Executor sender, Consumer<ChangeSubscriber> onClosed) {
+        this.calendarId = calendarId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+        this.onClosed = onClosed;
+    }
+
+    Long calendarId() {
+        return calendarId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        if (closed.get() || !buffer.offer(event)) {
+            return false;
+        }
+        if (draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+        return true;
+    }
+
+    void complete() {
+        if (close()) {
+            emitter.complete();
+        }
+    }
+
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        buffer.clear();
+        onClosed.accept(this);
+        return true;
+    }
+
+    private void drain() {
+        do {
+            SseEmitter.SseEventBuilder next;
+            while (!closed.get() && (next = buffer.poll()) != null) {
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException ex) {
+                    close();
+                    return;
+                }
+            }
+            draining.set(false);
+        } while (!closed.get() && !buffer.isEmpty() && draining.compareAndSet(false, true));
+    }
+}
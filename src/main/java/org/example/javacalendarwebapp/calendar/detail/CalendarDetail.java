@@ -0,0 +1,16 @@
+package org.example.javacalendarwebapp.calendar.detail;
+
+import org.example.javacalendarwebapp.event.EventView;
+import org.example.javacalendarwebapp.task.TaskView;
+
+import java.util.List;
+
+public record CalendarDetail(
+        Long id,
+        String name,
+        Long version,
+        List<CalendarMember> users,
+        List<EventView> events,
+        List<TaskView> tasks
+) {
+}
@@ -0,0 +1,32 @@
+package org.example.javacalendarwebapp.calendar.detail;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Tag(name = "Calendar Management", description = "Manage calendars")
+@RequestMapping("/calendars")
+public class CalendarDetailController {
+    private final CalendarDetailService detailService;
+
+    public CalendarDetailController(CalendarDetailService detailService) {
+        this.detailService = detailService;
+    }
+
+    @GetMapping("/{id}/detail")
+    @Operation(summary = "Get calendar detail", description = "Retrieve a calendar together with its users, events and tasks. The detail is read with a fixed number of queries however large the calendar is.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<CalendarDetail> getCalendarDetail(
+        @Parameter(description = "ID of the calendar", required = true)
+        @PathVariable Long id
+    ) {
+        return detailService.findDetail(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.javacalendarwebapp.calendar.detail;
+
+import org.example.javacalendarwebapp.calendar.CalendarService;
+import org.example.javacalendarwebapp.event.EventService;
+import org.example.javacalendarwebapp.task.TaskService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+public class CalendarDetailService {
+    private final CalendarService calendarService;
+    private final EventService eventService;
+    private final TaskService taskService;
+
+    public CalendarDetailService(CalendarService calendarService, EventService eventService, TaskService taskService) {
+        this.calendarService = calendarService;
+        this.eventService = eventService;
+        this.taskService = taskService;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CalendarDetail> findDetail(Long calendarId) {
+        return calendarService.findById(calendarId).map(calendar -> new CalendarDetail(
+                calendar.id(),
+                calendar.name(),
+                calendar.version(),
+                calendarService.findMembers(calendarId),
+                eventService.findByCalendar(calendarId),
+                taskService.findByCalendar(calendarId)));
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.javacalendarwebapp.calendar.detail;
+
+public record CalendarMember(
+        Long id,
+        String username
+) {
+}
@@ -0,0 +1,54 @@
+package org.example.javacalendarwebapp.calendar.feed;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+@RestController
+@Tag(name = "Calendar Management", description = "Manage calendars")
+@RequestMapping("/calendars")
+public class CalendarFeedController {
+    static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final CalendarFeedService feedService;
+
+    public CalendarFeedController(CalendarFeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    @GetMapping("/{id}/feed.ics")
+    @Operation(summary = "Get calendar iCalendar feed", description = "Stream the events and tasks of a calendar as an iCalendar feed. Honours If-None-Match and If-Modified-Since, answering 304 from a single version lookup when the calendar has not changed.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<StreamingResponseBody> getFeed(
+        @Parameter(description = "ID of the calendar", required = true)
+        @PathVariable Long id,
+        WebRequest webRequest
+    ) {
+        Optional<FeedVersion> found = feedService.findVersion(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        FeedVersion version = found.get();
+        if (webRequest.checkNotModified(version.etag(), version.lastModified())) {
+            return null;
+        }
+        StreamingResponseBody body = out -> feedService.write(version, out);
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(TEXT_CALENDAR)
+                .body(body);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.javacalendarwebapp.calendar.feed;
+
+import org.example.javacalendarwebapp.event.EventService;
+import org.example.javacalendarwebapp.event.EventView;
+import org.example.javacalendarwebapp.event.recurrence.Recurrence;
+import org.example.javacalendarwebapp.task.TaskService;
+import org.example.javacalendarwebapp.task.TaskView;
+import org.example.javacalendarwebapp.task.priority.TaskPriorityType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+@Service
+public class CalendarFeedService {
+    static final String PRODUCT_ID = "-//JavaCalendarWebApp//Calendar Feed//EN";
+    static final String UID_DOMAIN = "@javacalendarwebapp";
+
+    private final CalendarFeedVersions feedVersions;
+    private final EventService eventService;
+    private final TaskService taskService;
+
+    public CalendarFeedService(CalendarFeedVersions feedVersions, EventService eventService, TaskService taskService) {
+        this.feedVersions = feedVersions;
+        this.eventService = eventService;
+        this.taskService = taskService;
+    }
+
+    public Optional<FeedVersion> findVersion(Long calendarId) {
+        return feedVersions.find(calendarId);
+    }
+
+    public void write(FeedVersion version, OutputStream out) throws IOException {
+        IcsWriter ics = new IcsWriter(out);
+        ics.begin("VCALENDAR")
+                .raw("VERSION", "2.0")
+                .raw("PRODID", PRODUCT_ID)
+                .raw("CALSCALE", "GREGORIAN")
+                .text("X-WR-CALNAME", version.calendarName());
+        ics.flush();
+        try {
+            eventService.exportCalendar(version.calendarId(), event -> writeEvent(ics, event, version));
+            taskService.exportCalendar(version.calendarId(), task -> writeTask(ics, task, version));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        ics.end("VCALENDAR");
+        ics.flush();
+    }
+
+    private static void writeEvent(IcsWriter ics, EventView event, FeedVersion version) {
+        if (event.date() == null) {
+            return;
+        }
+        try {
+            ics.begin("VEVENT")
+                    .raw("UID", "event-" + event.id() + UID_DOMAIN)
+                    .timestamp("DTSTAMP", version.contentUpdatedAt())
+                    .dateTime("DTSTART", event.date())
+                    .raw("DURATION", event.durationMinutes() == null ? null : "PT" + event.durationMinutes() + "M")
+                    .text("SUMMARY", event.title())
+                    .text("DESCRIPTION", event.description());
+            Recurrence recurrence = event.recurrence();
+            if (recurrence != null && recurrence.getFrequency() != null) {
+                ics.raw("RRULE", rrule(recurrence))
+                        .dateTimes("EXDATE", recurrence.getExceptionDates());
+            }
+            ics.end("VEVENT");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeTask(IcsWriter ics, TaskView task, FeedVersion version) {
+        try {
+            ics.begin("VTODO")
+                    .raw("UID", "task-" + task.id() + UID_DOMAIN)
+                    .timestamp("DTSTAMP", version.contentUpdatedAt())
+                    .dateTime("DUE", task.date())
+                    .text("SUMMARY", task.title())
+                    .text("DESCRIPTION", task.description())
+                    .raw("PRIORITY", priority(task.priority()))
+                    .raw("STATUS", Boolean.TRUE.equals(task.completed()) ? "COMPLETED" : "NEEDS-ACTION")
+                    .end("VTODO");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static String rrule(Recurrence recurrence) {
+        StringBuilder rule = new StringBuilder("FREQ=").append(recurrence.getFrequency().name());
+        if (recurrence.intervalOrDefault() > 1) {
+            rule.append(";INTERVAL=").append(recurrence.intervalOrDefault());
+        }
+        if (recurrence.getCount() != null) {
+            rule.append(";COUNT=").append(recurrence.getCount());
+        } else if (recurrence.getUntil() != null) {
+            rule.append(";UNTIL=").append(IcsWriter.formatLocal(recurrence.getUntil()));
+        }
+        return rule.toString();
+    }
+
+    private static String priority(TaskPriorityType priority) {
+        if (priority == null) {
+            return null;
+        }
+        return switch (priority) {
+            case HIGH -> "1";
+            case MEDIUM -> "5";
+            case LOW -> "9";
+        };
+    }
+}
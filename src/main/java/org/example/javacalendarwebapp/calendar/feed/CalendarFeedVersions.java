@@ -0,0 +1,46 @@
+package org.example.javacalendarwebapp.calendar.feed;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+public class CalendarFeedVersions {
+    private static final String FIND = """
+            SELECT id, calendar_name, content_version, content_updated_at
+            FROM calendars
+            WHERE id = :id""";
+
+    private static final String BUMP = """
+            UPDATE calendars
+            SET content_version = content_version + 1,
+                content_updated_at = GREATEST(content_updated_at, clock_timestamp())
+            WHERE id IN (:ids)""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CalendarFeedVersions(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<FeedVersion> find(long calendarId) {
+        List<FeedVersion> rows = jdbcTemplate.query(FIND, Map.of("id", calendarId), (rs, rowNum) -> new FeedVersion(
+                rs.getLong("id"),
+                rs.getString("calendar_name"),
+                rs.getLong("content_version"),
+                rs.getTimestamp("content_updated_at").toInstant()));
+        return rows.stream().findFirst();
+    }
+
+    public int bump(Collection<Long> calendarIds) {
+        if (calendarIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = calendarIds.stream().sorted().toList();
+        return jdbcTemplate.update(BUMP, Map.of("ids", ids));
+    }
+}
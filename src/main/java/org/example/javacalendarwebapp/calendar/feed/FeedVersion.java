@@ -0,0 +1,14 @@
+package org.example.javacalendarwebapp.calendar.feed;
+
+import java.time.Instant;
+
+public record FeedVersion(long calendarId, String calendarName, long contentVersion, Instant contentUpdatedAt) {
+    public String etag() {
+        String name = calendarName == null ? "" : calendarName;
+        return "\"" + calendarId + "-" + contentVersion + "-" + Integer.toHexString(name.hashCode()) + "\"";
+    }
+
+    public long lastModified() {
+        return contentUpdatedAt.toEpochMilli();
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.javacalendarwebapp.calendar.feed;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.calendar.sync.CalendarChangeLog;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+public class FeedVersionTracker {
+    private final CalendarFeedVersions feedVersions;
+    private final CalendarChangeLog changeLog;
+
+    public FeedVersionTracker(CalendarFeedVersions feedVersions, CalendarChangeLog changeLog) {
+        this.feedVersions = feedVersions;
+        this.changeLog = changeLog;
+    }
+
+    @EventListener
+    public void onCalendarChange(CalendarChange change) {
+        if (change.calendarId() == null && change.previousCalendarId() == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(List.of(change));
+            return;
+        }
+        pendingInCurrentTransaction().add(change);
+    }
+
+    private void record(List<CalendarChange> changes) {
+        Set<Long> touched = new HashSet<>();
+        for (CalendarChange change : changes) {
+            if (change.calendarId() != null) {
+                touched.add(change.calendarId());
+            }
+            if (change.previousCalendarId() != null) {
+                touched.add(change.previousCalendarId());
+            }
+        }
+        feedVersions.bump(touched);
+        changeLog.append(changes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CalendarChange> pendingInCurrentTransaction() {
+        List<CalendarChange> pending = (List<CalendarChange>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<CalendarChange> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                record(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(FeedVersionTracker.this);
+            }
+        });
+        return created;
+    }
+}
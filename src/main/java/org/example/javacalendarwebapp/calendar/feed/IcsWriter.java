@@ -0,0 +1,123 @@
+package org.example.javacalendarwebapp.calendar.feed;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+public class IcsWriter implements Flushable {
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UTC_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final String CRLF = "\r\n";
+
+    private final Writer out;
+
+    public IcsWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+    }
+
+    public IcsWriter begin(String component) throws IOException {
+        return raw("BEGIN", component);
+    }
+
+    public IcsWriter end(String component) throws IOException {
+        return raw("END", component);
+    }
+
+    public IcsWriter raw(String name, String value) throws IOException {
+        if (value != null) {
+            line(name + ":" + value);
+        }
+        return this;
+    }
+
+    public IcsWriter text(String name, String value) throws IOException {
+        return value == null ? this : raw(name, escape(value));
+    }
+
+    public IcsWriter dateTime(String name, LocalDateTime value) throws IOException {
+        return value == null ? this : raw(name, formatLocal(value));
+    }
+
+    public IcsWriter dateTimes(String name, Collection<LocalDateTime> values) throws IOException {
+        if (values == null || values.isEmpty()) {
+            return this;
+        }
+        return raw(name, values.stream().map(IcsWriter::formatLocal).collect(Collectors.joining(",")));
+    }
+
+    public IcsWriter timestamp(String name, Instant value) throws IOException {
+        return value == null ? this : raw(name, UTC_DATE_TIME.format(value));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    public static String formatLocal(LocalDateTime value) {
+        return LOCAL_DATE_TIME.format(value);
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case ';' -> escaped.append("\\;");
+                case ',' -> escaped.append("\\,");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    if (i + 1 >= value.length() || value.charAt(i + 1) != '\n') {
+                        escaped.append("\\n");
+                    }
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private void line(String content) throws IOException {
+        int octets = 0;
+        int limit = MAX_LINE_OCTETS;
+        int i = 0;
+        while (i < content.length()) {
+            int codePoint = content.codePointAt(i);
+            int width = utf8Length(codePoint);
+            if (octets + width > limit) {
+                out.write(CRLF);
+                out.write(' ');
+                octets = 0;
+                limit = MAX_LINE_OCTETS - 1;
+            }
+            int chars = Character.charCount(codePoint);
+            out.write(content, i, chars);
+            octets += width;
+            i += chars;
+        }
+        out.write(CRLF);
+    }
+
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        }
+        if (codePoint < 0x800) {
+            return 2;
+        }
+        return codePoint < 0x10000 ? 3 : 4;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+@Component
+public class CalendarCopyLoader {
+    private static final String COPY_EVENTS = "COPY events (" + CopyBatch.EVENT_COLUMNS + ") FROM STDIN";
+    private static final String COPY_TASKS = "COPY tasks (" + CopyBatch.TASK_COLUMNS + ") FROM STDIN";
+
+    private final DataSource dataSource;
+
+    public CalendarCopyLoader(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void load(CopyBatch batch) throws SQLException, IOException {
+        if (batch.eventRows() == 0 && batch.taskRows() == 0) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+                if (batch.eventRows() > 0) {
+                    copy.copyIn(COPY_EVENTS, new StringReader(batch.events()));
+                }
+                if (batch.taskRows() > 0) {
+                    copy.copyIn(COPY_TASKS, new StringReader(batch.tasks()));
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@Tag(name = "Calendar Management", description = "Manage calendars")
+@RequestMapping("/calendars")
+public class CalendarImportController {
+    private final CalendarImportService importService;
+
+    public CalendarImportController(CalendarImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping("/{id}/import")
+    @Operation(summary = "Import an iCalendar file", description = "Accept an iCalendar (.ics) upload and import it in the background. The upload is spooled to disk, then VEVENT and VTODO components are parsed incrementally, validated in parallel and loaded in batches with PostgreSQL COPY. The response is 202 with the job and a Location header pointing at its progress. Each batch commits on its own: if the import fails, batches committed before the failure stay in the calendar and are reported as importedEvents/importedTasks.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<ImportProgress> importCalendar(
+        @Parameter(description = "ID of the calendar to import into", required = true)
+        @PathVariable Long id,
+        InputStream body
+    ) {
+        try {
+            ImportProgress progress = importService.startImport(id, body);
+            if (progress == null) {
+                return ResponseEntity.notFound().build();
+            }
+            if (progress.status() == ImportJob.Status.FAILED) {
+                return ResponseEntity.unprocessableEntity().body(progress);
+            }
+            return ResponseEntity.accepted()
+                    .location(URI.create("/calendars/imports/" + progress.id()))
+                    .body(progress);
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/imports")
+    @Operation(summary = "List imports", description = "List running and recently finished iCalendar imports with their progress.")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<List<ImportProgress>> getImports() {
+        return ResponseEntity.ok(importService.findAll());
+    }
+
+    @GetMapping("/imports/{jobId}")
+    @Operation(summary = "Get import progress", description = "Retrieve the progress of a running or recently finished iCalendar import. Poll the Location returned by the import until the status is COMPLETED or FAILED.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<ImportProgress> getImport(
+        @Parameter(description = "ID of the import job", required = true)
+        @PathVariable String jobId
+    ) {
+        return importService.findById(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,268 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.calendar.CalendarRepository;
+import org.example.javacalendarwebapp.calendar.sync.CalendarChangeLog;
+import org.example.javacalendarwebapp.calendar.timeline.CalendarTimelineIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+@Service
+public class CalendarImportService implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(CalendarImportService.class);
+    private static final CopyBatch END_OF_INPUT = new CopyBatch(-1L);
+
+    private final CalendarRepository calendarRepository;
+    private final CalendarCopyLoader copyLoader;
+    private final ImportJobRegistry jobs;
+    private final CalendarChangeLog changeLog;
+    private final CalendarTimelineIndex timelineIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int validatorThreads;
+    private final ThreadPoolExecutor validators;
+    private final ExecutorService loaders;
+    private final ExecutorService runners;
+    private final Semaphore importPermits;
+
+    public CalendarImportService(
+            CalendarRepository calendarRepository,
+            CalendarCopyLoader copyLoader,
+            ImportJobRegistry jobs,
+            CalendarChangeLog changeLog,
+            CalendarTimelineIndex timelineIndex,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.import.batch-size:2000}") int batchSize,
+            @Value("${app.import.validator-threads:0}") int validatorThreads,
+            @Value("${app.import.max-concurrent:2}") int maxConcurrent
+    ) {
+        this.calendarRepository = calendarRepository;
+        this.copyLoader = copyLoader;
+        this.jobs = jobs;
+        this.changeLog = changeLog;
+        this.timelineIndex = timelineIndex;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+        this.validatorThreads = validatorThreads > 0 ? validatorThreads : Runtime.getRuntime().availableProcessors();
+        this.validators = new ThreadPoolExecutor(
+                this.validatorThreads, this.validatorThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().name("ics-import-validator-", 0).daemon(true).factory());
+        this.loaders = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("ics-import-loader-", 0).factory());
+        this.runners = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("ics-import-", 0).factory());
+        this.importPermits = new Semaphore(Math.max(1, maxConcurrent));
+        new ExecutorServiceMetrics(validators, "ics-import-validation", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    public ImportProgress startImport(Long calendarId, InputStream in) {
+        if (!calendarRepository.existsById(calendarId)) {
+            return null;
+        }
+        if (!importPermits.tryAcquire()) {
+            throw new IllegalStateException("Too many concurrent imports");
+        }
+        ImportJob job = jobs.start(calendarId);
+        Path upload = null;
+        try {
+            upload = Files.createTempFile("ics-import-", ".ics");
+            try (in) {
+                Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Path spooled = upload;
+            runners.execute(() -> runFromFile(job, spooled));
+            return job.progress();
+        } catch (IOException ex) {
+            job.fail("Upload failed: " + ex.getMessage());
+        } catch (RejectedExecutionException ex) {
+            job.fail("Import runners are shut down");
+        }
+        if (upload != null) {
+            delete(upload);
+        }
+        complete(job);
+        return job.progress();
+    }
+
+    public List<ImportProgress> findAll() {
+        return jobs.list();
+    }
+
+    public Optional<ImportProgress> findById(String id) {
+        return jobs.find(id);
+    }
+
+    @Override
+    public void destroy() {
+        runners.shutdownNow();
+        validators.shutdownNow();
+        loaders.shutdownNow();
+    }
+
+    private void runFromFile(ImportJob job, Path upload) {
+        try (InputStream in = Files.newInputStream(upload)) {
+            run(job, in);
+        } catch (IOException ex) {
+            job.fail("Upload failed: " + ex.getMessage());
+        } finally {
+            delete(upload);
+            complete(job);
+        }
+    }
+
+    private void complete(ImportJob job) {
+        importPermits.release();
+        job.finish();
+        jobs.finished(job);
+        ImportProgress progress = job.progress();
+        log.info("Import {} into calendar {}: {} events, {} tasks, {} rejected in {} ms ({} rows/s){}",
+                progress.id(), job.calendarId(), progress.importedEvents(), progress.importedTasks(), progress.rejected(),
+                progress.elapsedMillis(), Math.round(progress.rowsPerSecond()),
+                progress.failure() == null ? "" : ", failed: " + progress.failure());
+    }
+
+    private static void delete(Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException ex) {
+            log.warn("Unable to delete spooled import {}: {}", upload, ex.getMessage());
+        }
+    }
+
+    private void run(ImportJob job, InputStream in) {
+        int maxInFlight = validatorThreads * 2;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        BlockingQueue<CopyBatch> loadQueue = new ArrayBlockingQueue<>(validatorThreads);
+        Future<?> loader = loaders.submit(() -> drain(job, loadQueue));
+        try {
+            IcsReader reader = new IcsReader(in);
+            List<IcsComponent> batch = new ArrayList<>(batchSize);
+            while (!job.hasFailed() && reader.hasNext()) {
+                batch.add(reader.next());
+                if (batch.size() == batchSize) {
+                    submit(job, batch, inFlight, loadQueue);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty() && !job.hasFailed()) {
+                submit(job, batch, inFlight, loadQueue);
+            }
+        } catch (UncheckedIOException ex) {
+            job.fail("Upload failed: " + ex.getCause().getMessage());
+        } catch (IllegalArgumentException ex) {
+            job.fail(ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.fail("Import interrupted");
+        } finally {
+            inFlight.acquireUninterruptibly(maxInFlight);
+            awaitLoader(job, loadQueue, loader);
+        }
+    }
+
+    private void submit(ImportJob job, List<IcsComponent> components, Semaphore inFlight, BlockingQueue<CopyBatch> loadQueue)
+            throws InterruptedException {
+        inFlight.acquire();
+        job.parsed(components.size());
+        try {
+            validators.execute(() -> {
+                try {
+                    CopyBatch batch = validate(job.calendarId(), components);
+                    job.rejected(batch.errors());
+                    loadQueue.put(batch);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    job.fail("Import interrupted");
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.release();
+            job.fail("Import validators are shut down");
+        }
+    }
+
+    static CopyBatch validate(long calendarId, List<IcsComponent> components) {
+        CopyBatch batch = new CopyBatch(calendarId);
+        for (IcsComponent component : components) {
+            try {
+                if (component.name().equals("VEVENT")) {
+                    batch.addEvent(IcsImportMapper.toEvent(component));
+                } else {
+                    batch.addTask(IcsImportMapper.toTask(component));
+                }
+            } catch (RuntimeException ex) {
+                batch.reject(component.line(), ex.getMessage());
+            }
+        }
+        return batch;
+    }
+
+    private Void drain(ImportJob job, BlockingQueue<CopyBatch> loadQueue) throws InterruptedException {
+        while (true) {
+            CopyBatch batch = loadQueue.take();
+            if (batch == END_OF_INPUT) {
+                return null;
+            }
+            if (job.hasFailed()) {
+                continue;
+            }
+            try {
+                copyLoader.load(batch);
+                job.imported(batch);
+                eventPublisher.publishEvent(CalendarChange.updated(CalendarChange.Subject.CALENDAR, batch.calendarId(),
+                        batch.calendarId(), batch.calendarId(), null));
+                changeLog.invalidate(batch.calendarId());
+                timelineIndex.evict(batch.calendarId());
+            } catch (SQLException | IOException | RuntimeException ex) {
+                job.fail("Loading failed: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+            }
+        }
+    }
+
+    private void awaitLoader(ImportJob job, BlockingQueue<CopyBatch> loadQueue, Future<?> loader) {
+        boolean interrupted = false;
+        boolean ended = false;
+        while (true) {
+            try {
+                if (!ended) {
+                    loadQueue.put(END_OF_INPUT);
+                    ended = true;
+                }
+                loader.get();
+                break;
+            } catch (InterruptedException ex) {
+                interrupted = true;
+            } catch (ExecutionException ex) {
+                job.fail("Loading failed: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
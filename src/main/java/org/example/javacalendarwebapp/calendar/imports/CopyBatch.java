@@ -0,0 +1,113 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import org.example.javacalendarwebapp.event.Event;
+import org.example.javacalendarwebapp.event.recurrence.Recurrence;
+import org.example.javacalendarwebapp.task.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CopyBatch {
+    static final String EVENT_COLUMNS = "event_title, event_description, event_date, event_duration_minutes, "
+            + "recurrence_frequency, recurrence_interval, recurrence_count, recurrence_until, recurrence_exdates, calendar_id";
+    static final String TASK_COLUMNS = "task_title, task_description, task_priority, task_date, completed, calendar_id";
+    private static final String NULL = "\\N";
+
+    private final long calendarId;
+    private final StringBuilder events = new StringBuilder();
+    private final StringBuilder tasks = new StringBuilder();
+    private final List<ImportError> errors = new ArrayList<>();
+    private int eventRows;
+    private int taskRows;
+
+    public CopyBatch(long calendarId) {
+        this.calendarId = calendarId;
+    }
+
+    public void addEvent(Event event) {
+        Recurrence recurrence = event.getRecurrence();
+        boolean recurring = recurrence != null && recurrence.getFrequency() != null;
+        field(events, event.getTitle()).append('\t');
+        field(events, event.getDescription()).append('\t');
+        field(events, event.getDate()).append('\t');
+        field(events, event.getDurationMinutes()).append('\t');
+        field(events, recurring ? recurrence.getFrequency().name() : null).append('\t');
+        field(events, recurring ? recurrence.getInterval() : null).append('\t');
+        field(events, recurring ? recurrence.getCount() : null).append('\t');
+        field(events, recurring ? recurrence.getUntil() : null).append('\t');
+        array(events, recurring ? recurrence.getExceptionDates() : null).append('\t');
+        events.append(calendarId).append('\n');
+        eventRows++;
+    }
+
+    public void addTask(Task task) {
+        field(tasks, task.getTitle()).append('\t');
+        field(tasks, task.getDescription()).append('\t');
+        field(tasks, task.getPriority() == null ? null : task.getPriority().name()).append('\t');
+        field(tasks, task.getDate()).append('\t');
+        tasks.append(Boolean.TRUE.equals(task.getCompleted()) ? 't' : 'f').append('\t');
+        tasks.append(calendarId).append('\n');
+        taskRows++;
+    }
+
+    public void reject(long line, String message) {
+        errors.add(new ImportError(line, message));
+    }
+
+    public long calendarId() {
+        return calendarId;
+    }
+
+    public String events() {
+        return events.toString();
+    }
+
+    public String tasks() {
+        return tasks.toString();
+    }
+
+    public int eventRows() {
+        return eventRows;
+    }
+
+    public int taskRows() {
+        return taskRows;
+    }
+
+    public List<ImportError> errors() {
+        return errors;
+    }
+
+    private static StringBuilder field(StringBuilder out, Object value) {
+        if (value == null) {
+            return out.append(NULL);
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default -> out.append(c);
+            }
+        }
+        return out;
+    }
+
+    private static StringBuilder array(StringBuilder out, List<LocalDateTime> values) {
+        if (values == null || values.isEmpty()) {
+            return out.append(NULL);
+        }
+        out.append('{');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append(values.get(i));
+        }
+        return out.append('}');
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import java.util.List;
+
+public record IcsComponent(String name, List<IcsProperty> properties, long line) {
+
+    public IcsProperty first(String propertyName) {
+        for (IcsProperty property : properties) {
+            if (property.name().equals(propertyName)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    public List<IcsProperty> all(String propertyName) {
+        return properties.stream().filter(property -> property.name().equals(propertyName)).toList();
+    }
+
+    public String text(String propertyName) {
+        IcsProperty property = first(propertyName);
+        return property == null ? null : property.text();
+    }
+}
@@ -0,0 +1,214 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import org.example.javacalendarwebapp.event.Event;
+import org.example.javacalendarwebapp.event.recurrence.Recurrence;
+import org.example.javacalendarwebapp.event.recurrence.RecurrenceFrequency;
+import org.example.javacalendarwebapp.task.Task;
+import org.example.javacalendarwebapp.task.priority.TaskPriorityType;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class IcsImportMapper {
+    static final int MAX_DURATION_MINUTES = 7 * 24 * 60;
+    private static final DateTimeFormatter BASIC_DATE_TIME = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss");
+
+    private IcsImportMapper() {
+    }
+
+    public static Event toEvent(IcsComponent component) {
+        IcsProperty start = component.first("DTSTART");
+        if (start == null) {
+            throw new IllegalArgumentException("VEVENT without DTSTART");
+        }
+        Event event = new Event();
+        event.setTitle(titleOf(component));
+        event.setDescription(component.text("DESCRIPTION"));
+        event.setDate(parseDateTime(start));
+        event.setDurationMinutes(durationMinutes(component, event.getDate()));
+        IcsProperty rule = component.first("RRULE");
+        if (rule != null) {
+            Recurrence recurrence = parseRule(rule.value(), event.getDate());
+            recurrence.setExceptionDates(exceptionDates(component));
+            event.setRecurrence(recurrence);
+        }
+        return event;
+    }
+
+    public static Task toTask(IcsComponent component) {
+        Task task = new Task();
+        task.setTitle(titleOf(component));
+        task.setDescription(component.text("DESCRIPTION"));
+        IcsProperty due = component.first("DUE");
+        if (due == null) {
+            due = component.first("DTSTART");
+        }
+        task.setDate(due == null ? null : parseDateTime(due));
+        task.setPriority(priorityOf(component.first("PRIORITY")));
+        String status = component.text("STATUS");
+        task.setCompleted("COMPLETED".equalsIgnoreCase(status) || component.first("COMPLETED") != null);
+        return task;
+    }
+
+    static LocalDateTime parseDateTime(IcsProperty property) {
+        boolean dateOnly = "DATE".equalsIgnoreCase(property.parameter("VALUE"));
+        return parseDateTime(property.value(), dateOnly);
+    }
+
+    static LocalDateTime parseDateTime(String value, boolean dateOnly) {
+        String trimmed = value.trim();
+        try {
+            if (dateOnly || trimmed.length() == 8) {
+                return LocalDate.parse(trimmed, DateTimeFormatter.BASIC_ISO_DATE).atStartOfDay();
+            }
+            if (trimmed.endsWith("Z") || trimmed.endsWith("z")) {
+                trimmed = trimmed.substring(0, trimmed.length() - 1);
+            }
+            return LocalDateTime.parse(trimmed, BASIC_DATE_TIME);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid date-time: " + value);
+        }
+    }
+
+    static Recurrence parseRule(String value, LocalDateTime start) {
+        Recurrence recurrence = new Recurrence();
+        RecurrenceFrequency restrictedTo = null;
+        for (String part : value.split(";")) {
+            int equals = part.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Invalid RRULE part: " + part);
+            }
+            String key = part.substring(0, equals).trim().toUpperCase(Locale.ROOT);
+            String partValue = part.substring(equals + 1).trim().toUpperCase(Locale.ROOT);
+            switch (key) {
+                case "FREQ" -> recurrence.setFrequency(frequencyOf(partValue));
+                case "INTERVAL" -> recurrence.setInterval(positive(key, partValue));
+                case "COUNT" -> recurrence.setCount(positive(key, partValue));
+                case "UNTIL" -> recurrence.setUntil(parseDateTime(partValue, false));
+                case "WKST" -> {
+                }
+                case "BYDAY" -> {
+                    requireMatches(key, partValue, start.getDayOfWeek().name().substring(0, 2));
+                    restrictedTo = RecurrenceFrequency.WEEKLY;
+                }
+                case "BYMONTHDAY" -> {
+                    requireMatches(key, partValue, Integer.toString(start.getDayOfMonth()));
+                    restrictedTo = RecurrenceFrequency.MONTHLY;
+                }
+                default -> throw new IllegalArgumentException("Unsupported RRULE part: " + key);
+            }
+        }
+        if (recurrence.getFrequency() == null) {
+            throw new IllegalArgumentException("RRULE without FREQ");
+        }
+        if (restrictedTo != null && recurrence.getFrequency() != restrictedTo) {
+            throw new IllegalArgumentException("Unsupported RRULE: " + value);
+        }
+        return recurrence;
+    }
+
+    private static List<LocalDateTime> exceptionDates(IcsComponent component) {
+        List<LocalDateTime> dates = new ArrayList<>();
+        for (IcsProperty property : component.all("EXDATE")) {
+            boolean dateOnly = "DATE".equalsIgnoreCase(property.parameter("VALUE"));
+            for (String value : property.value().split(",")) {
+                if (!value.isBlank()) {
+                    dates.add(parseDateTime(value, dateOnly));
+                }
+            }
+        }
+        return dates;
+    }
+
+    private static Integer durationMinutes(IcsComponent component, LocalDateTime start) {
+        Duration duration;
+        IcsProperty end = component.first("DTEND");
+        IcsProperty explicit = component.first("DURATION");
+        if (end != null) {
+            duration = Duration.between(start, parseDateTime(end));
+        } else if (explicit != null) {
+            duration = parseDuration(explicit.value());
+        } else {
+            return null;
+        }
+        long minutes = duration.toMinutes();
+        if (minutes <= 0) {
+            return null;
+        }
+        if (minutes > MAX_DURATION_MINUTES) {
+            throw new IllegalArgumentException("Event lasts longer than " + MAX_DURATION_MINUTES + " minutes");
+        }
+        return (int) minutes;
+    }
+
+    static Duration parseDuration(String value) {
+        String trimmed = value.trim().toUpperCase(Locale.ROOT);
+        try {
+            int weeks = trimmed.indexOf('W');
+            if (weeks > 0) {
+                boolean negative = trimmed.startsWith("-");
+                int digitsFrom = trimmed.indexOf('P') + 1;
+                Duration duration = Duration.ofDays(7L * Long.parseLong(trimmed.substring(digitsFrom, weeks)));
+                return negative ? duration.negated() : duration;
+            }
+            return Duration.parse(trimmed);
+        } catch (NumberFormatException | DateTimeParseException | StringIndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid DURATION: " + value);
+        }
+    }
+
+    private static String titleOf(IcsComponent component) {
+        String summary = component.text("SUMMARY");
+        return summary == null ? "" : summary;
+    }
+
+    private static TaskPriorityType priorityOf(IcsProperty property) {
+        if (property == null) {
+            return null;
+        }
+        int priority;
+        try {
+            priority = Integer.parseInt(property.value().trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid PRIORITY: " + property.value());
+        }
+        if (priority <= 0) {
+            return null;
+        }
+        if (priority <= 4) {
+            return TaskPriorityType.HIGH;
+        }
+        return priority == 5 ? TaskPriorityType.MEDIUM : TaskPriorityType.LOW;
+    }
+
+    private static RecurrenceFrequency frequencyOf(String value) {
+        try {
+            return RecurrenceFrequency.valueOf(value);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unsupported RRULE frequency: " + value);
+        }
+    }
+
+    private static int positive(String key, String value) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("Invalid RRULE " + key + ": " + value);
+    }
+
+    private static void requireMatches(String key, String value, String expected) {
+        if (!value.equals(expected)) {
+            throw new IllegalArgumentException("Unsupported RRULE " + key + ": " + value);
+        }
+    }
+}
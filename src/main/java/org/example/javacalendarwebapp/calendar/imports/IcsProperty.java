@@ -0,0 +1,81 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public record IcsProperty(String name, Map<String, String> parameters, String value) {
+
+    public String parameter(String key) {
+        return parameters.get(key);
+    }
+
+    public String text() {
+        return unescape(value);
+    }
+
+    static IcsProperty parse(String line) {
+        int length = line.length();
+        int i = 0;
+        while (i < length && line.charAt(i) != ';' && line.charAt(i) != ':') {
+            i++;
+        }
+        if (i == 0 || i == length) {
+            return null;
+        }
+        String name = line.substring(0, i).toUpperCase(Locale.ROOT);
+        Map<String, String> parameters = Map.of();
+        while (line.charAt(i) == ';') {
+            int equals = line.indexOf('=', i + 1);
+            if (equals < 0) {
+                return null;
+            }
+            String key = line.substring(i + 1, equals).toUpperCase(Locale.ROOT);
+            int start = equals + 1;
+            String parameterValue;
+            if (start < length && line.charAt(start) == '"') {
+                int close = line.indexOf('"', start + 1);
+                if (close < 0) {
+                    return null;
+                }
+                parameterValue = line.substring(start + 1, close);
+                i = close + 1;
+            } else {
+                int end = start;
+                while (end < length && line.charAt(end) != ';' && line.charAt(end) != ':') {
+                    end++;
+                }
+                parameterValue = line.substring(start, end);
+                i = end;
+            }
+            if (i >= length) {
+                return null;
+            }
+            if (parameters.isEmpty()) {
+                parameters = new HashMap<>(4);
+            }
+            parameters.put(key, parameterValue);
+        }
+        if (line.charAt(i) != ':') {
+            return null;
+        }
+        return new IcsProperty(name, parameters, line.substring(i + 1));
+    }
+
+    static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char escaped = value.charAt(++i);
+                text.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+public class IcsReader implements Iterator<IcsComponent> {
+    static final int MAX_LINE_LENGTH = 256 * 1024;
+    private static final Set<String> IMPORTED_COMPONENTS = Set.of("VEVENT", "VTODO");
+
+    private final Reader reader;
+    private final char[] buffer = new char[16 * 1024];
+    private int position;
+    private int limit;
+
+    private String pendingLine;
+    private long pendingLineNumber;
+    private long lineNumber;
+    private long logicalLineNumber;
+    private IcsComponent next;
+
+    public IcsReader(InputStream in) {
+        this.reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = readComponent();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public IcsComponent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        IcsComponent component = next;
+        next = null;
+        return component;
+    }
+
+    private IcsComponent readComponent() throws IOException {
+        String line;
+        while ((line = readLogicalLine()) != null) {
+            IcsProperty property = IcsProperty.parse(line);
+            if (property != null && property.name().equals("BEGIN")
+                    && IMPORTED_COMPONENTS.contains(property.value().toUpperCase(Locale.ROOT))) {
+                return readBody(property.value().toUpperCase(Locale.ROOT), logicalLineNumber);
+            }
+        }
+        return null;
+    }
+
+    private IcsComponent readBody(String name, long startLine) throws IOException {
+        List<IcsProperty> properties = new ArrayList<>();
+        int depth = 0;
+        String line;
+        while ((line = readLogicalLine()) != null) {
+            IcsProperty property = IcsProperty.parse(line);
+            if (property == null) {
+                continue;
+            }
+            if (property.name().equals("BEGIN")) {
+                depth++;
+            } else if (property.name().equals("END")) {
+                if (depth == 0) {
+                    return new IcsComponent(name, properties, startLine);
+                }
+                depth--;
+            } else if (depth == 0) {
+                properties.add(property);
+            }
+        }
+        throw new IllegalArgumentException("Unterminated " + name + " starting at line " + startLine);
+    }
+
+    private String readLogicalLine() throws IOException {
+        String first;
+        do {
+            if (pendingLine != null) {
+                first = pendingLine;
+                logicalLineNumber = pendingLineNumber;
+                pendingLine = null;
+            } else {
+                first = readPhysicalLine();
+                logicalLineNumber = lineNumber;
+            }
+            if (first == null) {
+                return null;
+            }
+        } while (first.isEmpty());
+
+        StringBuilder folded = null;
+        String line;
+        while ((line = readPhysicalLine()) != null) {
+            if (line.isEmpty() || (line.charAt(0) != ' ' && line.charAt(0) != '\t')) {
+                pendingLine = line;
+                pendingLineNumber = lineNumber;
+                break;
+            }
+            if (folded == null) {
+                folded = new StringBuilder(first);
+            }
+            folded.append(line, 1, line.length());
+            if (folded.length() > MAX_LINE_LENGTH) {
+                throw new IllegalArgumentException("Line " + logicalLineNumber + " exceeds " + MAX_LINE_LENGTH + " characters");
+            }
+        }
+        return folded == null ? first : folded.toString();
+    }
+
+    private String readPhysicalLine() throws IOException {
+        StringBuilder line = null;
+        while (true) {
+            if (position >= limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    if (line != null) {
+                        lineNumber++;
+                        return stripCarriageReturn(line);
+                    }
+                    return null;
+                }
+            }
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            if (line == null) {
+                line = new StringBuilder(Math.max(16, position - start));
+            }
+            line.append(buffer, start, position - start);
+            if (line.length() > MAX_LINE_LENGTH) {
+                throw new IllegalArgumentException("Line " + (lineNumber + 1) + " exceeds " + MAX_LINE_LENGTH + " characters");
+            }
+            if (position < limit) {
+                position++;
+                lineNumber++;
+                return stripCarriageReturn(line);
+            }
+        }
+    }
+
+    private static String stripCarriageReturn(StringBuilder line) {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+public record ImportError(long line, String message) {
+}
@@ -0,0 +1,93 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ImportJob {
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long calendarId;
+    private final Instant startedAt = Instant.now();
+    private final long startedNanos = System.nanoTime();
+    private final AtomicLong parsed = new AtomicLong();
+    private final AtomicLong importedEvents = new AtomicLong();
+    private final AtomicLong importedTasks = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<ImportError> errors = new ArrayList<>();
+    private volatile Status status = Status.RUNNING;
+    private volatile String failure;
+    private volatile long finishedNanos;
+
+    public ImportJob(Long calendarId) {
+        this.calendarId = calendarId;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public Long calendarId() {
+        return calendarId;
+    }
+
+    public boolean isRunning() {
+        return status == Status.RUNNING;
+    }
+
+    public boolean hasFailed() {
+        return failure != null;
+    }
+
+    public void parsed(long count) {
+        parsed.addAndGet(count);
+    }
+
+    public void imported(CopyBatch batch) {
+        importedEvents.addAndGet(batch.eventRows());
+        importedTasks.addAndGet(batch.taskRows());
+    }
+
+    public void rejected(List<ImportError> batchErrors) {
+        if (batchErrors.isEmpty()) {
+            return;
+        }
+        rejected.addAndGet(batchErrors.size());
+        synchronized (errors) {
+            for (ImportError error : batchErrors) {
+                if (errors.size() >= MAX_REPORTED_ERRORS) {
+                    break;
+                }
+                errors.add(error);
+            }
+        }
+    }
+
+    public void fail(String message) {
+        if (failure == null) {
+            failure = message;
+        }
+    }
+
+    public void finish() {
+        finishedNanos = System.nanoTime();
+        status = failure == null ? Status.COMPLETED : Status.FAILED;
+    }
+
+    public ImportProgress progress() {
+        long elapsedNanos = (status == Status.RUNNING ? System.nanoTime() : finishedNanos) - startedNanos;
+        long imported = importedEvents.get() + importedTasks.get();
+        double rowsPerSecond = elapsedNanos <= 0 ? 0 : imported / (elapsedNanos / 1_000_000_000.0);
+        List<ImportError> reported;
+        synchronized (errors) {
+            reported = List.copyOf(errors);
+        }
+        return new ImportProgress(id, calendarId, status, startedAt, parsed.get(), importedEvents.get(),
+                importedTasks.get(), rejected.get(), elapsedNanos / 1_000_000, rowsPerSecond, failure, reported);
+    }
+}
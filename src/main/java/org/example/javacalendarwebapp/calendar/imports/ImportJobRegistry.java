@@ -0,0 +1,56 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class ImportJobRegistry {
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Long> finishedAt = new ConcurrentHashMap<>();
+    private final long retentionNanos;
+
+    public ImportJobRegistry(@Value("${app.import.retention:1h}") Duration retention) {
+        this.retentionNanos = retention.toNanos();
+    }
+
+    public ImportJob start(Long calendarId) {
+        prune();
+        ImportJob job = new ImportJob(calendarId);
+        jobs.put(job.id(), job);
+        return job;
+    }
+
+    public void finished(ImportJob job) {
+        finishedAt.put(job.id(), System.nanoTime());
+    }
+
+    public Optional<ImportProgress> find(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(ImportJob::progress);
+    }
+
+    public List<ImportProgress> list() {
+        prune();
+        return jobs.values().stream()
+                .map(ImportJob::progress)
+                .sorted(Comparator.comparing(ImportProgress::startedAt).reversed())
+                .toList();
+    }
+
+    private void prune() {
+        long now = System.nanoTime();
+        finishedAt.entrySet().removeIf(entry -> {
+            if (now - entry.getValue() < retentionNanos) {
+                return false;
+            }
+            jobs.remove(entry.getKey());
+            return true;
+        });
+    }
+}
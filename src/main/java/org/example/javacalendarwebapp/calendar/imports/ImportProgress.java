@@ -0,0 +1,20 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ImportProgress(
+        String id,
+        Long calendarId,
+        ImportJob.Status status,
+        Instant startedAt,
+        long parsed,
+        long importedEvents,
+        long importedTasks,
+        long rejected,
+        long elapsedMillis,
+        double rowsPerSecond,
+        String failure,
+        List<ImportError> errors
+) {
+}
@@ -0,0 +1,93 @@
+package org.example.javacalendarwebapp.calendar.sync;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Repository
+public class CalendarChangeLog {
+    private static final String APPEND = """
+            INSERT INTO calendar_changes (calendar_id, version, subject, subject_id, action)
+            SELECT id, content_version, ?, ?, ?
+            FROM calendars
+            WHERE id = ?""";
+
+    private static final String FIND_STATE = "SELECT content_version, sync_floor FROM calendars WHERE id = ?";
+
+    private static final String FIND_LATEST = """
+            SELECT DISTINCT ON (subject, subject_id) subject, subject_id, action
+            FROM calendar_changes
+            WHERE calendar_id = ? AND version > ? AND version <= ?
+            ORDER BY subject, subject_id, version DESC, id DESC""";
+
+    private static final String INVALIDATE = "UPDATE calendars SET sync_floor = content_version WHERE id = ?";
+
+    private static final String COMPACT = """
+            WITH removed AS (
+                DELETE FROM calendar_changes
+                WHERE changed_at < ?
+                RETURNING calendar_id, version
+            ), floors AS (
+                SELECT calendar_id, max(version) AS version
+                FROM removed
+                GROUP BY calendar_id
+            )
+            UPDATE calendars c
+            SET sync_floor = GREATEST(c.sync_floor, floors.version)
+            FROM floors
+            WHERE c.id = floors.calendar_id""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CalendarChangeLog(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void append(Collection<CalendarChange> changes) {
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (CalendarChange change : changes) {
+            if (change.calendarId() != null) {
+                rows.add(row(change.calendarId(), change.subject(), change.subjectId(), change.action()));
+            }
+            if (change.previousCalendarId() != null && !Objects.equals(change.previousCalendarId(), change.calendarId())) {
+                rows.add(row(change.previousCalendarId(), change.subject(), change.subjectId(), CalendarChange.Action.DELETED));
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPEND, rows);
+        }
+    }
+
+    public Optional<SyncState> findState(Long calendarId) {
+        List<SyncState> rows = jdbcTemplate.query(FIND_STATE,
+                (rs, rowNum) -> new SyncState(rs.getLong("content_version"), rs.getLong("sync_floor")), calendarId);
+        return rows.stream().findFirst();
+    }
+
+    public List<LoggedChange> findLatestSince(Long calendarId, long since, long upTo) {
+        return jdbcTemplate.query(FIND_LATEST, (rs, rowNum) -> new LoggedChange(
+                CalendarChange.Subject.valueOf(rs.getString("subject")),
+                rs.getLong("subject_id"),
+                CalendarChange.Action.valueOf(rs.getString("action"))), calendarId, since, upTo);
+    }
+
+    public void invalidate(Long calendarId) {
+        jdbcTemplate.update(INVALIDATE, calendarId);
+    }
+
+    public int compact(Instant olderThan) {
+        return jdbcTemplate.update(COMPACT, Timestamp.from(olderThan));
+    }
+
+    private static Object[] row(Long calendarId, CalendarChange.Subject subject, Long subjectId, CalendarChange.Action action) {
+        return new Object[]{subject.name(), subjectId, action.name(), calendarId};
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.javacalendarwebapp.calendar.sync;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Component
+public class CalendarChangeLogCompactor {
+    private static final Logger log = LoggerFactory.getLogger(CalendarChangeLogCompactor.class);
+
+    private final CalendarChangeLog changeLog;
+    private final Duration retention;
+    private final Clock clock;
+
+    public CalendarChangeLogCompactor(CalendarChangeLog changeLog, @Value("${app.sync.retention:30d}") Duration retention) {
+        this(changeLog, retention, Clock.systemUTC());
+    }
+
+    CalendarChangeLogCompactor(CalendarChangeLog changeLog, Duration retention, Clock clock) {
+        this.changeLog = changeLog;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    @Scheduled(initialDelayString = "${app.sync.compaction-interval:1h}", fixedDelayString = "${app.sync.compaction-interval:1h}")
+    public void compact() {
+        int calendars = changeLog.compact(clock.instant().minus(retention));
+        if (calendars > 0) {
+            log.info("Compacted change log of {} calendars older than {}", calendars, retention);
+        }
+    }
+}
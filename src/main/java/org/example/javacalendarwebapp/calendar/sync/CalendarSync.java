@@ -0,0 +1,21 @@
+package org.example.javacalendarwebapp.calendar.sync;
+
+import org.example.javacalendarwebapp.calendar.CalendarView;
+import org.example.javacalendarwebapp.event.EventView;
+import org.example.javacalendarwebapp.task.TaskView;
+
+import java.util.List;
+
+public record CalendarSync(
+        String token,
+        boolean resyncRequired,
+        CalendarView calendar,
+        List<EventView> events,
+        List<TaskView> tasks,
+        List<Long> deletedEventIds,
+        List<Long> deletedTaskIds
+) {
+    public static CalendarSync resync(String token) {
+        return new CalendarSync(token, true, null, List.of(), List.of(), List.of(), List.of());
+    }
+}
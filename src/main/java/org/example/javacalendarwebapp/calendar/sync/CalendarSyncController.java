@@ -0,0 +1,48 @@
+package org.example.javacalendarwebapp.calendar.sync;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.Optional;
+
+@RestController
+@Tag(name = "Calendar Management", description = "Manage calendars")
+@RequestMapping("/calendars")
+public class CalendarSyncController {
+    private final CalendarSyncService syncService;
+
+    public CalendarSyncController(CalendarSyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping("/{id}/sync")
+    @Operation(summary = "Sync calendar changes", description = "Return the events and tasks created or updated since the sync token, the ids deleted since then and a new token. Without a token only a fresh token is returned; fetch the calendar contents after obtaining it. A token older than the retained change log answers 410 Gone with a fresh token and requires a full resync.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<CalendarSync> sync(
+        @Parameter(description = "ID of the calendar", required = true)
+        @PathVariable Long id,
+        @Parameter(description = "Sync token returned by the previous sync")
+        @RequestParam(required = false) String token
+    ) {
+        Optional<CalendarSync> result;
+        try {
+            result = syncService.sync(id, token);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (result.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        CalendarSync sync = result.get();
+        if (sync.resyncRequired() && token != null && !token.isBlank()) {
+            return ResponseEntity.status(HttpStatus.GONE).body(sync);
+        }
+        return ResponseEntity.ok(sync);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.javacalendarwebapp.calendar.sync;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.calendar.CalendarService;
+import org.example.javacalendarwebapp.calendar.CalendarView;
+import org.example.javacalendarwebapp.common.Cursor;
+import org.example.javacalendarwebapp.event.EventService;
+import org.example.javacalendarwebapp.event.EventView;
+import org.example.javacalendarwebapp.task.TaskService;
+import org.example.javacalendarwebapp.task.TaskView;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Service
+public class CalendarSyncService {
+    private final CalendarChangeLog changeLog;
+    private final CalendarService calendarService;
+    private final EventService eventService;
+    private final TaskService taskService;
+
+    public CalendarSyncService(
+            CalendarChangeLog changeLog,
+            CalendarService calendarService,
+            EventService eventService,
+            TaskService taskService
+    ) {
+        this.changeLog = changeLog;
+        this.calendarService = calendarService;
+        this.eventService = eventService;
+        this.taskService = taskService;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CalendarSync> sync(Long calendarId, String token) {
+        Optional<SyncState> found = changeLog.findState(calendarId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        SyncState state = found.get();
+        String next = Cursor.of(state.version()).encode();
+        if (token == null || token.isBlank()) {
+            return Optional.of(CalendarSync.resync(next));
+        }
+        long since = Cursor.decode(token).id();
+        if (since < state.floor() || since > state.version()) {
+            return Optional.of(CalendarSync.resync(next));
+        }
+        if (since == state.version()) {
+            return Optional.of(new CalendarSync(next, false, null, List.of(), List.of(), List.of(), List.of()));
+        }
+
+        Set<Long> changedEvents = new TreeSet<>();
+        Set<Long> changedTasks = new TreeSet<>();
+        Set<Long> deletedEvents = new TreeSet<>();
+        Set<Long> deletedTasks = new TreeSet<>();
+        boolean calendarChanged = false;
+        for (LoggedChange change : changeLog.findLatestSince(calendarId, since, state.version())) {
+            boolean deleted = change.action() == CalendarChange.Action.DELETED;
+            switch (change.subject()) {
+                case EVENT -> (deleted ? deletedEvents : changedEvents).add(change.subjectId());
+                case TASK -> (deleted ? deletedTasks : changedTasks).add(change.subjectId());
+                case CALENDAR -> calendarChanged = true;
+            }
+        }
+
+        List<EventView> events = eventService.findByCalendarAndIds(calendarId, changedEvents);
+        List<TaskView> tasks = taskService.findByCalendarAndIds(calendarId, changedTasks);
+        CalendarView calendar = calendarChanged ? calendarService.findById(calendarId).orElse(null) : null;
+        return Optional.of(new CalendarSync(next, false, calendar, events, tasks,
+                vanished(changedEvents, events.stream().map(EventView::id).collect(Collectors.toSet()), deletedEvents),
+                vanished(changedTasks, tasks.stream().map(TaskView::id).collect(Collectors.toSet()), deletedTasks)));
+    }
+
+    private static List<Long> vanished(Set<Long> changed, Set<Long> found, Set<Long> deleted) {
+        Set<Long> result = new TreeSet<>(deleted);
+        changed.stream().filter(id -> !found.contains(id)).forEach(result::add);
+        return new ArrayList<>(result);
+    }
+}
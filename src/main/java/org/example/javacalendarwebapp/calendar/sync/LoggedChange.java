@@ -0,0 +1,6 @@
+package org.example.javacalendarwebapp.calendar.sync;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+
+public record LoggedChange(CalendarChange.Subject subject, long subjectId, CalendarChange.Action action) {
+}
@@ -0,0 +1,4 @@
+package org.example.javacalendarwebapp.calendar.sync;
+
+public record SyncState(long version, long floor) {
+}
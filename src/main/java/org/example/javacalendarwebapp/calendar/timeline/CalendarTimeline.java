@@ -0,0 +1,163 @@
+package org.example.javacalendarwebapp.calendar.timeline;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange.Subject;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public final class CalendarTimeline {
+    private static final Subject[] SUBJECTS = Subject.values();
+    private static final CalendarTimeline EMPTY = new CalendarTimeline(new long[0], new long[0], new byte[0]);
+
+    private final long[] seconds;
+    private final long[] ids;
+    private final byte[] kinds;
+
+    private CalendarTimeline(long[] seconds, long[] ids, byte[] kinds) {
+        this.seconds = seconds;
+        this.ids = ids;
+        this.kinds = kinds;
+    }
+
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(Subject kind, long id, long epochSecond);
+    }
+
+    public static CalendarTimeline empty() {
+        return EMPTY;
+    }
+
+    public static CalendarTimeline of(List<TimelinePoint> events, List<TimelinePoint> tasks) {
+        int size = events.size() + tasks.size();
+        if (size == 0) {
+            return EMPTY;
+        }
+        Row[] rows = new Row[size];
+        int i = 0;
+        for (TimelinePoint point : events) {
+            rows[i++] = new Row(toEpochSecond(point.date()), point.id(), (byte) Subject.EVENT.ordinal());
+        }
+        for (TimelinePoint point : tasks) {
+            rows[i++] = new Row(toEpochSecond(point.date()), point.id(), (byte) Subject.TASK.ordinal());
+        }
+        Arrays.sort(rows, Comparator.comparingLong(Row::second).thenComparingInt(Row::kind).thenComparingLong(Row::id));
+
+        long[] seconds = new long[size];
+        long[] ids = new long[size];
+        byte[] kinds = new byte[size];
+        for (int j = 0; j < size; j++) {
+            seconds[j] = rows[j].second();
+            ids[j] = rows[j].id();
+            kinds[j] = rows[j].kind();
+        }
+        return new CalendarTimeline(seconds, ids, kinds);
+    }
+
+    public static long toEpochSecond(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    public int size() {
+        return seconds.length;
+    }
+
+    public int countBetween(long fromSecond, long toSecond) {
+        return lowerBound(toSecond) - lowerBound(fromSecond);
+    }
+
+    public void forEachBetween(long fromSecond, long toSecond, EntryVisitor visitor) {
+        for (int i = lowerBound(fromSecond); i < seconds.length && seconds[i] < toSecond; i++) {
+            visitor.visit(SUBJECTS[kinds[i]], ids[i], seconds[i]);
+        }
+    }
+
+    public CalendarTimeline with(Subject kind, long id, long epochSecond) {
+        CalendarTimeline base = without(kind, id);
+        byte kindCode = (byte) kind.ordinal();
+        int at = base.insertionPoint(epochSecond, kindCode, id);
+        int size = base.size() + 1;
+
+        long[] newSeconds = new long[size];
+        long[] newIds = new long[size];
+        byte[] newKinds = new byte[size];
+        copyAround(base, at, newSeconds, newIds, newKinds);
+        newSeconds[at] = epochSecond;
+        newIds[at] = id;
+        newKinds[at] = kindCode;
+        return new CalendarTimeline(newSeconds, newIds, newKinds);
+    }
+
+    public CalendarTimeline without(Subject kind, long id) {
+        int at = indexOf((byte) kind.ordinal(), id);
+        if (at < 0) {
+            return this;
+        }
+        int size = size() - 1;
+        if (size == 0) {
+            return EMPTY;
+        }
+        long[] newSeconds = new long[size];
+        long[] newIds = new long[size];
+        byte[] newKinds = new byte[size];
+        System.arraycopy(seconds, 0, newSeconds, 0, at);
+        System.arraycopy(ids, 0, newIds, 0, at);
+        System.arraycopy(kinds, 0, newKinds, 0, at);
+        System.arraycopy(seconds, at + 1, newSeconds, at, size - at);
+        System.arraycopy(ids, at + 1, newIds, at, size - at);
+        System.arraycopy(kinds, at + 1, newKinds, at, size - at);
+        return new CalendarTimeline(newSeconds, newIds, newKinds);
+    }
+
+    private int lowerBound(long second) {
+        int low = 0;
+        int high = seconds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (seconds[mid] < second) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int insertionPoint(long second, byte kind, long id) {
+        int i = lowerBound(second);
+        while (i < seconds.length && seconds[i] == second
+                && (kinds[i] < kind || (kinds[i] == kind && ids[i] < id))) {
+            i++;
+        }
+        return i;
+    }
+
+    private int indexOf(byte kind, long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id && kinds[i] == kind) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void copyAround(CalendarTimeline base, int at, long[] seconds, long[] ids, byte[] kinds) {
+        System.arraycopy(base.seconds, 0, seconds, 0, at);
+        System.arraycopy(base.ids, 0, ids, 0, at);
+        System.arraycopy(base.kinds, 0, kinds, 0, at);
+        int tail = base.size() - at;
+        System.arraycopy(base.seconds, at, seconds, at + 1, tail);
+        System.arraycopy(base.ids, at, ids, at + 1, tail);
+        System.arraycopy(base.kinds, at, kinds, at + 1, tail);
+    }
+
+    private record Row(long second, long id, byte kind) {
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.javacalendarwebapp.calendar.timeline;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@Tag(name = "Calendar Management", description = "Manage calendars")
+@RequestMapping("/calendars")
+public class CalendarTimelineController {
+    private final CalendarTimelineIndex timelineIndex;
+
+    public CalendarTimelineController(CalendarTimelineIndex timelineIndex) {
+        this.timelineIndex = timelineIndex;
+    }
+
+    @GetMapping("/{id}/timeline")
+    @Operation(summary = "Get calendar timeline", description = "List event and task ids scheduled in a time window, served from the in-memory calendar index.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<List<TimelineEntry>> getTimeline(
+        @Parameter(description = "ID of the calendar", required = true)
+        @PathVariable Long id,
+        @Parameter(description = "Inclusive start of the window (ISO date-time)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @Parameter(description = "Exclusive end of the window (ISO date-time)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        try {
+            return ResponseEntity.ok(timelineIndex.between(id, from, to));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.javacalendarwebapp.calendar.timeline;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.event.EventRepository;
+import org.example.javacalendarwebapp.task.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Component
+public class CalendarTimelineIndex {
+    private final EventRepository eventRepository;
+    private final TaskRepository taskRepository;
+    private final Cache<Long, CalendarTimeline> timelines;
+
+    public CalendarTimelineIndex(
+            EventRepository eventRepository,
+            TaskRepository taskRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.timeline.maximum-entries:2000000}") long maximumEntries
+    ) {
+        this.eventRepository = eventRepository;
+        this.taskRepository = taskRepository;
+        this.timelines = Caffeine.newBuilder()
+                .maximumWeight(maximumEntries)
+                .weigher((Long calendarId, CalendarTimeline timeline) -> Math.max(1, timeline.size()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, timelines, "calendarTimelines");
+    }
+
+    public CalendarTimeline timeline(Long calendarId) {
+        return timelines.get(calendarId, this::load);
+    }
+
+    public List<TimelineEntry> between(Long calendarId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        CalendarTimeline timeline = timeline(calendarId);
+        long fromSecond = CalendarTimeline.toEpochSecond(from);
+        long toSecond = CalendarTimeline.toEpochSecond(to);
+        List<TimelineEntry> entries = new ArrayList<>(timeline.countBetween(fromSecond, toSecond));
+        timeline.forEachBetween(fromSecond, toSecond, (kind, id, second) ->
+                entries.add(new TimelineEntry(kind, id, CalendarTimeline.fromEpochSecond(second))));
+        return entries;
+    }
+
+    public List<TimelineEntry> at(Long calendarId, LocalDateTime instant) {
+        return between(calendarId, instant, instant.plusSeconds(1));
+    }
+
+    public void evict(Long calendarId) {
+        timelines.invalidate(calendarId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCalendarChange(CalendarChange change) {
+        if (change.subject() == CalendarChange.Subject.CALENDAR) {
+            if (change.action() == CalendarChange.Action.DELETED) {
+                evict(change.calendarId());
+            }
+            return;
+        }
+        long id = change.subjectId();
+        if (change.previousCalendarId() != null && !Objects.equals(change.previousCalendarId(), change.calendarId())) {
+            timelines.asMap().computeIfPresent(change.previousCalendarId(),
+                    (calendarId, timeline) -> timeline.without(change.subject(), id));
+        }
+        if (change.calendarId() == null) {
+            return;
+        }
+        if (change.action() == CalendarChange.Action.DELETED || change.date() == null) {
+            timelines.asMap().computeIfPresent(change.calendarId(),
+                    (calendarId, timeline) -> timeline.without(change.subject(), id));
+        } else {
+            long second = CalendarTimeline.toEpochSecond(change.date());
+            timelines.asMap().computeIfPresent(change.calendarId(),
+                    (calendarId, timeline) -> timeline.with(change.subject(), id, second));
+        }
+    }
+
+    private CalendarTimeline load(Long calendarId) {
+        return CalendarTimeline.of(
+                eventRepository.findTimelinePoints(calendarId),
+                taskRepository.findTimelinePoints(calendarId));
+    }
+}
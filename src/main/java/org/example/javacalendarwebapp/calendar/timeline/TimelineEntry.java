@@ -0,0 +1,8 @@
+package org.example.javacalendarwebapp.calendar.timeline;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+
+import java.time.LocalDateTime;
+
+public record TimelineEntry(CalendarChange.Subject kind, long id, LocalDateTime date) {
+}
@@ -0,0 +1,6 @@
+package org.example.javacalendarwebapp.calendar.timeline;
+
+import java.time.LocalDateTime;
+
+public record TimelinePoint(Long id, LocalDateTime date) {
+}
@@ -0,0 +1,11 @@
+package org.example.javacalendarwebapp.common;
+
+public record BulkItemResult(int index, Long id, String error) {
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, id, null);
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, null, error);
+    }
+}
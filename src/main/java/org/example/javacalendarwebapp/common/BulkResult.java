@@ -0,0 +1,6 @@
+package org.example.javacalendarwebapp.common;
+
+import java.util.List;
+
+public record BulkResult(int received, int created, int failed, long elapsedMillis, double rowsPerSecond, List<BulkItemResult> items) {
+}
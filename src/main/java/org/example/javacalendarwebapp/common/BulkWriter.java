@@ -0,0 +1,98 @@
+package org.example.javacalendarwebapp.common;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+@Component
+public class BulkWriter {
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public BulkWriter(
+            PlatformTransactionManager transactionManager,
+            EntityManager entityManager,
+            @Value("${app.bulk.chunk-size:500}") int chunkSize
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public <T> BulkResult write(Iterator<T> items, Function<T, Long> writer) {
+        long started = System.nanoTime();
+        List<BulkItemResult> results = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        int offset = 0;
+        boolean more = true;
+        while (more) {
+            chunk.clear();
+            String readError = null;
+            try {
+                while (chunk.size() < chunkSize && items.hasNext()) {
+                    chunk.add(items.next());
+                }
+                more = items.hasNext();
+            } catch (RuntimeException ex) {
+                readError = "Unreadable item: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+                more = false;
+            }
+            writeChunk(chunk, offset, writer, results);
+            offset += chunk.size();
+            if (readError != null) {
+                results.add(BulkItemResult.failed(offset++, readError));
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        int created = (int) results.stream().filter(result -> result.error() == null).count();
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : created / (elapsedNanos / 1_000_000_000.0);
+        return new BulkResult(offset, created, offset - created, elapsedNanos / 1_000_000, rowsPerSecond, results);
+    }
+
+    private <T> void writeChunk(List<T> chunk, int offset, Function<T, Long> writer, List<BulkItemResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> created = new ArrayList<>(chunk.size());
+                for (T item : chunk) {
+                    created.add(writer.apply(item));
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return created;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(BulkItemResult.created(offset + i, ids.get(i)));
+            }
+        } catch (RuntimeException chunkFailure) {
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(writeOne(chunk.get(i), offset + i, writer));
+            }
+        }
+    }
+
+    private <T> BulkItemResult writeOne(T item, int index, Function<T, Long> writer) {
+        try {
+            Long id = transactionTemplate.execute(status -> {
+                Long created = writer.apply(item);
+                entityManager.flush();
+                return created;
+            });
+            return BulkItemResult.created(index, id);
+        } catch (RuntimeException ex) {
+            return BulkItemResult.failed(index, NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.javacalendarwebapp.common;
+
+public final class EntityTags {
+    private static final long NEVER_MATCHES = -1L;
+
+    private EntityTags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + (version == null ? 0L : version) + "\"";
+    }
+
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        int comma = tag.indexOf(',');
+        if (comma >= 0) {
+            tag = tag.substring(0, comma).trim();
+        }
+        if (tag.length() < 2 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return NEVER_MATCHES;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            return NEVER_MATCHES;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.javacalendarwebapp.common;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Component
+public class JsonItemReader {
+    private final ObjectMapper objectMapper;
+
+    public JsonItemReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> MappingIterator<T> readValues(InputStream body, Class<T> type) throws IOException {
+        return objectMapper.readerFor(type).readValues(body);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.javacalendarwebapp.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+@Component
+public class JsonItemWriter {
+    private static final int FLUSH_EVERY = 256;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter itemWriter;
+
+    public JsonItemWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.itemWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public static MediaType contentType(boolean ndjson) {
+        return ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+    }
+
+    public <T> StreamingResponseBody stream(boolean ndjson, Consumer<Consumer<T>> producer) {
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                if (!ndjson) {
+                    generator.writeStartArray();
+                    generator.flush();
+                }
+                int[] written = {0};
+                try {
+                    producer.accept(item -> {
+                        try {
+                            itemWriter.writeValue(generator, item);
+                            if (ndjson) {
+                                generator.writeRaw('\n');
+                            }
+                            if (++written[0] % FLUSH_EVERY == 1) {
+                                generator.flush();
+                            }
+                        } catch (IOException ex) {
+                            throw new UncheckedIOException(ex);
+                        }
+                    });
+                } catch (UncheckedIOException ex) {
+                    throw ex.getCause();
+                }
+                if (!ndjson) {
+                    generator.writeEndArray();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.javacalendarwebapp.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public final class MergePatch {
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+
+    public record Assignment(String column, Object value, int sqlType) {
+    }
+
+    private record Field(List<String> columns, int sqlType, boolean nullable, Function<JsonNode, Object> reader,
+                         MergePatch nested) {
+    }
+
+    public MergePatch text(String name, String column) {
+        return scalar(name, column, Types.VARCHAR, true, node -> node.isTextual() ? node.asText() : null);
+    }
+
+    public MergePatch integer(String name, String column) {
+        return scalar(name, column, Types.INTEGER, true, node -> node.canConvertToInt() && node.isIntegralNumber() ? node.intValue() : null);
+    }
+
+    public MergePatch bool(String name, String column) {
+        return scalar(name, column, Types.BOOLEAN, false, node -> node.isBoolean() ? node.booleanValue() : null);
+    }
+
+    public MergePatch dateTime(String name, String column) {
+        return scalar(name, column, Types.TIMESTAMP, true, MergePatch::timestampOf);
+    }
+
+    public MergePatch dateTimes(String name, String column) {
+        return scalar(name, column, Types.ARRAY, true, node -> {
+            if (!node.isArray()) {
+                return null;
+            }
+            Timestamp[] values = new Timestamp[node.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = timestampOf(node.get(i));
+                if (values[i] == null) {
+                    return null;
+                }
+            }
+            return values;
+        });
+    }
+
+    public <E extends Enum<E>> MergePatch enumerated(String name, String column, Class<E> type) {
+        return scalar(name, column, Types.VARCHAR, true, node -> {
+            if (!node.isTextual()) {
+                return null;
+            }
+            try {
+                return Enum.valueOf(type, node.asText().toUpperCase(Locale.ROOT)).name();
+            } catch (IllegalArgumentException ex) {
+                return null;
+            }
+        });
+    }
+
+    public MergePatch reference(String name, String column) {
+        return scalar(name, column, Types.BIGINT, true, node -> {
+            JsonNode id = node.get("id");
+            return node.isObject() && node.size() == 1 && id != null && id.canConvertToLong() && id.isIntegralNumber()
+                    ? id.longValue() : null;
+        });
+    }
+
+    public MergePatch nested(String name, MergePatch nested) {
+        List<String> columns = new ArrayList<>();
+        nested.fields.values().forEach(field -> columns.addAll(field.columns()));
+        fields.put(name, new Field(columns, Types.NULL, true, null, nested));
+        return this;
+    }
+
+    public List<Assignment> assignments(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+        List<Assignment> assignments = new ArrayList<>();
+        collect("", patch, assignments);
+        return assignments;
+    }
+
+    public static String setClause(List<Assignment> assignments) {
+        return assignments.stream().map(assignment -> assignment.column() + " = ?").collect(Collectors.joining(", "));
+    }
+
+    public static int bind(PreparedStatement ps, List<Assignment> assignments) throws SQLException {
+        int index = 1;
+        for (Assignment assignment : assignments) {
+            if (assignment.value() == null) {
+                ps.setNull(index, assignment.sqlType());
+            } else if (assignment.value() instanceof Timestamp[] values) {
+                ps.setArray(index, ps.getConnection().createArrayOf("timestamp", values));
+            } else {
+                ps.setObject(index, assignment.value(), assignment.sqlType());
+            }
+            index++;
+        }
+        return index;
+    }
+
+    private void collect(String prefix, JsonNode patch, List<Assignment> assignments) {
+        Iterator<Map.Entry<String, JsonNode>> entries = patch.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            String path = prefix + entry.getKey();
+            Field field = fields.get(entry.getKey());
+            if (field == null) {
+                throw new IllegalArgumentException("Field cannot be patched: " + path);
+            }
+            JsonNode value = entry.getValue();
+            if (value.isNull()) {
+                if (!field.nullable()) {
+                    throw new IllegalArgumentException("Field cannot be null: " + path);
+                }
+                for (String column : field.columns()) {
+                    assignments.add(new Assignment(column, null, field.nested() == null ? field.sqlType() : nestedType(field, column)));
+                }
+            } else if (field.nested() != null) {
+                if (!value.isObject()) {
+                    throw new IllegalArgumentException("Field must be an object: " + path);
+                }
+                field.nested().collect(path + ".", value, assignments);
+            } else {
+                Object converted = field.reader().apply(value);
+                if (converted == null) {
+                    throw new IllegalArgumentException("Invalid value for field: " + path);
+                }
+                assignments.add(new Assignment(field.columns().get(0), converted, field.sqlType()));
+            }
+        }
+    }
+
+    private static int nestedType(Field field, String column) {
+        for (Field nested : field.nested().fields.values()) {
+            if (nested.columns().contains(column)) {
+                return nested.nested() == null ? nested.sqlType() : nestedType(nested, column);
+            }
+        }
+        return Types.NULL;
+    }
+
+    private MergePatch scalar(String name, String column, int sqlType, boolean nullable, Function<JsonNode, Object> reader) {
+        fields.put(name, new Field(List.of(column), sqlType, nullable, reader, null));
+        return this;
+    }
+
+    private static Timestamp timestampOf(JsonNode node) {
+        if (!node.isTextual()) {
+            return null;
+        }
+        try {
+            return Timestamp.valueOf(LocalDateTime.parse(node.asText()));
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
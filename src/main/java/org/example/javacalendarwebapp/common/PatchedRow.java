@@ -0,0 +1,4 @@
+package org.example.javacalendarwebapp.common;
+
+public record PatchedRow<T>(T value, Long previousCalendarId) {
+}
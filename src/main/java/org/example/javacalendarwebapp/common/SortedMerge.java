@@ -0,0 +1,46 @@
+package org.example.javacalendarwebapp.common;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+public final class SortedMerge<T> implements Iterator<T> {
+    private final PriorityQueue<Head<T>> heads;
+
+    private SortedMerge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+        this.heads = new PriorityQueue<>(Math.max(1, sources.size()), (a, b) -> order.compare(a.value, b.value));
+        for (Iterator<? extends T> source : sources) {
+            offer(source);
+        }
+    }
+
+    public static <T> Iterator<T> merge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> order) {
+        return new SortedMerge<>(sources, order);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Head<T> head = heads.poll();
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        offer(head.rest);
+        return head.value;
+    }
+
+    private void offer(Iterator<? extends T> source) {
+        if (source.hasNext()) {
+            heads.add(new Head<>(source.next(), source));
+        }
+    }
+
+    private record Head<T>(T value, Iterator<? extends T> rest) {
+    }
+}
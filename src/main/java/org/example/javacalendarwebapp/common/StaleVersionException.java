@@ -0,0 +1,7 @@
+package org.example.javacalendarwebapp.common;
+
+public class StaleVersionException extends RuntimeException {
+    public StaleVersionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.javacalendarwebapp.common;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Component
+public class StreamingReader {
+    private final TransactionTemplate readOnlyTransaction;
+    private final EntityManager entityManager;
+
+    public StreamingReader(PlatformTransactionManager transactionManager, EntityManager entityManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.entityManager = entityManager;
+    }
+
+    public <E, V> void forEach(Supplier<Stream<E>> query, Function<E, V> mapper, Consumer<V> sink) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<E> rows = query.get()) {
+                rows.forEach(row -> {
+                    V view = mapper.apply(row);
+                    entityManager.detach(row);
+                    sink.accept(view);
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.javacalendarwebapp.common;
+
+public record VersionedWrite(long version, Long previousCalendarId) {
+}
@@ -0,0 +1,72 @@
+package org.example.javacalendarwebapp.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class VirtualThreadPinningMonitor implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "org.example.javacalendarwebapp.";
+
+    private final Timer pinned;
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinning-monitor.enabled:true}") boolean enabled,
+            @Value("${app.virtual-threads.pinning-monitor.threshold:20ms}") Duration threshold
+    ) {
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        if (!enabled) {
+            this.stream = null;
+            return;
+        }
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, event -> onPinned(event.getDuration(), pinningFrame(event.getStackTrace())));
+        stream.startAsync();
+    }
+
+    private void onPinned(Duration duration, String frame) {
+        pinned.record(duration);
+        if (reportedFrames.add(frame)) {
+            log.warn("Virtual thread pinned to its carrier for {} ms at {}", duration.toMillis(), frame);
+        }
+    }
+
+    private static String pinningFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        RecordedFrame chosen = frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.get(0));
+        return chosen.getMethod().getType().getName() + "." + chosen.getMethod().getName() + ":" + chosen.getLineNumber();
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
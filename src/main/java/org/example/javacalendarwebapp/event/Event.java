@@ -2,7 +2,10 @@ package org.example.javacalendarwebapp.event;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.example.javacalendarwebapp.calendar.Calendar;
+import org.example.javacalendarwebapp.event.recurrence.Recurrence;
 
 import java.time.LocalDateTime;
 
@@ -11,7 +14,8 @@ import java.time.LocalDateTime;
 @Table(name = "events")
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "event_title")
@@ -23,6 +27,18 @@ public class Event {
     @Column(name = "event_date")
     private LocalDateTime date;
 
+    @Column(name = "event_duration_minutes")
+    private Integer durationMinutes;
+
+    @Embedded
+    private Recurrence recurrence;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(
         name = "calendar_id",
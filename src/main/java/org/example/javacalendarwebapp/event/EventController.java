@@ -1,66 +1,188 @@
 package org.example.javacalendarwebapp.event;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import org.example.javacalendarwebapp.common.BulkResult;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.EntityTags;
+import org.example.javacalendarwebapp.common.JsonItemReader;
+import org.example.javacalendarwebapp.common.JsonItemWriter;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.StaleVersionException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
-import java.util.List;
 
 @RestController
 @Tag(name = "Event Management", description = "Manage calendar events")
 @RequestMapping("/events")
 public class EventController {
     private final EventService eventService;
+    private final JsonItemReader jsonItemReader;
+    private final JsonItemWriter jsonItemWriter;
 
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, JsonItemReader jsonItemReader, JsonItemWriter jsonItemWriter) {
         this.eventService = eventService;
+        this.jsonItemReader = jsonItemReader;
+        this.jsonItemWriter = jsonItemWriter;
     }
 
     @GetMapping
-    @Operation(summary = "Get all events", description = "Retrieve a list of all calendar events.")
+    @Operation(summary = "Get all events", description = "Retrieve a page of events ordered by id, or the events of one calendar between two dates ordered by date.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public List<Event> getAllEvents() {
-        return eventService.findAll();
+    public ResponseEntity<CursorPage<EventView>> getAllEvents(
+        @Parameter(description = "ID of the calendar to query; requires from and to")
+        @RequestParam(required = false) Long calendarId,
+        @Parameter(description = "Inclusive lower bound of the date range (ISO date-time)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @Parameter(description = "Exclusive upper bound of the date range (ISO date-time)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of events to return (capped at 500)")
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        try {
+            if (calendarId == null && from == null && to == null) {
+                return ResponseEntity.ok(eventService.findPage(cursor, limit));
+            }
+            if (calendarId == null || from == null || to == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(eventService.findInRange(calendarId, from, to, cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/occurrences")
+    @Operation(summary = "Get event occurrences", description = "Retrieve single events and expanded recurring occurrences of one calendar between two dates, ordered by start.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<CursorPage<EventOccurrence>> getOccurrences(
+        @Parameter(description = "ID of the calendar to query", required = true)
+        @RequestParam Long calendarId,
+        @Parameter(description = "Inclusive lower bound of the date range (ISO date-time)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @Parameter(description = "Exclusive upper bound of the date range (ISO date-time)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of occurrences to return (capped at 500)")
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(eventService.findOccurrences(calendarId, from, to, cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all events", description = "Stream every event ordered by id as newline-delimited JSON or as a JSON array, reading through a forward-only database cursor.")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportEvents(
+        @Parameter(description = "Output format: ndjson (default) or json")
+        @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        boolean ndjson = !"json".equalsIgnoreCase(format);
+        StreamingResponseBody body = jsonItemWriter.<EventView>stream(ndjson, eventService::exportAll);
+        return ResponseEntity.ok()
+                .contentType(JsonItemWriter.contentType(ndjson))
+                .body(body);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get event by id", description = "Retrieve a calendar event based on its id.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public ResponseEntity<Event> getEventById(
+    public ResponseEntity<EventView> getEventById(
         @Parameter(description = "ID of the event to retrieve", required = true)
         @PathVariable Long id
     ) {
-        Event found = eventService.findById(id)
+        EventView found = eventService.findById(id)
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + id));
-        return ResponseEntity.ok(found);    }
+        return ResponseEntity.ok().eTag(EntityTags.of(found.version())).body(found);
+    }
 
     @PostMapping("/create")
     @Operation(summary = "Create a new event", description = "Create a new calendar event with the provided details.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public ResponseEntity<Event> createEvent(
+    public ResponseEntity<EventView> createEvent(
         @Parameter(description = "Details of the event to create", required = true)
         @RequestBody Event event
     ) {
         Event createdEvent = eventService.create(event);
-        return ResponseEntity.ok(createdEvent);
+        return ResponseEntity.ok(EventView.of(createdEvent));
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Bulk create events", description = "Create many events from a JSON array or newline-delimited JSON, committed in chunks, with a result per item.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<BulkResult> bulkCreateEvents(InputStream body) throws IOException {
+        try (MappingIterator<Event> events = jsonItemReader.readValues(body, Event.class)) {
+            return ResponseEntity.ok(eventService.bulkCreate(events));
+        }
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing event", description = "Update the details of an existing calendar event.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public ResponseEntity<Event> updateEvent(
+    public ResponseEntity<EventView> updateEvent(
         @Parameter(description = "ID of the event to update", required = true)
         @PathVariable Long id,
         @Parameter(description = "Updated details of the event", required = true)
-        @RequestBody Event event
+        @RequestBody Event event,
+        @Parameter(description = "Entity tag of the calendar event version being replaced; a stale tag is rejected with 412")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        try {
+            Event updatedEvent = eventService.update(id, event, EntityTags.expectedVersion(ifMatch));
+            if (updatedEvent == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedEvent.getVersion())).body(EventView.of(updatedEvent));
+        } catch (StaleVersionException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DataIntegrityViolationException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch an existing calendar event", description = "Apply a JSON Merge Patch to a calendar event. Only the supplied fields are written, in a single UPDATE without loading the calendar event first; null clears a field.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<EventView> patchEvent(
+        @Parameter(description = "ID of the calendar event to patch", required = true)
+        @PathVariable Long id,
+        @Parameter(description = "Fields to change; omitted fields are left untouched", required = true)
+        @RequestBody JsonNode patch,
+        @Parameter(description = "Entity tag of the calendar event version being patched; a stale tag is rejected with 412")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Event updatedEvent = eventService.update(id, event);
-        return ResponseEntity.ok(updatedEvent);
+        try {
+            Event patchedEvent = eventService.patch(id, patch, EntityTags.expectedVersion(ifMatch));
+            if (patchedEvent == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok().eTag(EntityTags.of(patchedEvent.getVersion())).body(EventView.of(patchedEvent));
+        } catch (StaleVersionException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (IllegalArgumentException | DataIntegrityViolationException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -68,10 +190,16 @@ public class EventController {
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     public ResponseEntity<Void> deleteEvent(
         @Parameter(description = "ID of the event to delete", required = true)
-        @PathVariable Long id
+        @PathVariable Long id,
+        @Parameter(description = "Entity tag of the calendar event version being deleted; a stale tag is rejected with 412")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        eventService.delete(id);
-        return ResponseEntity.noContent().build();
+        try {
+            eventService.delete(id, EntityTags.expectedVersion(ifMatch));
+            return ResponseEntity.noContent().build();
+        } catch (StaleVersionException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
     }
 
     @GetMapping("/{id}/date")
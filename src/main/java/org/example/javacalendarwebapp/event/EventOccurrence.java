@@ -0,0 +1,10 @@
+package org.example.javacalendarwebapp.event;
+
+import java.time.LocalDateTime;
+
+public record EventOccurrence(Long eventId, String title, String description, LocalDateTime start, boolean recurring) {
+    public static EventOccurrence of(Event event, LocalDateTime start) {
+        boolean recurring = event.getRecurrence() != null && event.getRecurrence().getFrequency() != null;
+        return new EventOccurrence(event.getId(), event.getTitle(), event.getDescription(), start, recurring);
+    }
+}
@@ -1,6 +1,119 @@
 package org.example.javacalendarwebapp.event;
 
+import jakarta.persistence.QueryHint;
+import org.example.javacalendarwebapp.calendar.timeline.TimelinePoint;
+import org.example.javacalendarwebapp.freebusy.EventSpan;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface EventRepository extends JpaRepository<Event, Long> {    
-}
\ No newline at end of file
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface EventRepository extends JpaRepository<Event, Long>, VersionedEventWrites {
+    String SELECT_VIEW = """
+            select new org.example.javacalendarwebapp.event.EventView(
+                e.id, e.title, e.description, e.date, e.durationMinutes, e.recurrence, e.calendar.id, e.version)
+            from Event e
+            """;
+
+    @Query(SELECT_VIEW + "where e.id = :id")
+    Optional<EventView> findViewById(@Param("id") Long id);
+
+    @Query(SELECT_VIEW + "where e.id > :afterId order by e.id")
+    List<EventView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SELECT_VIEW + "where e.calendar.id = :calendarId order by e.date, e.id")
+    List<EventView> findViewsByCalendarId(@Param("calendarId") Long calendarId);
+
+    @Query(SELECT_VIEW + "where e.calendar.id = :calendarId and e.id in :ids order by e.id")
+    List<EventView> findViewsByCalendarIdAndIdIn(@Param("calendarId") Long calendarId, @Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_VIEW + """
+            where e.calendar.id = :calendarId and e.date >= :from and e.date < :to
+            order by e.date, e.id""")
+    List<EventView> findInRange(
+            @Param("calendarId") Long calendarId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Limit limit);
+
+    @Query(SELECT_VIEW + """
+            where e.calendar.id = :calendarId and (e.date, e.id) > (:afterDate, :afterId) and e.date < :to
+            order by e.date, e.id""")
+    List<EventView> findInRangeAfter(
+            @Param("calendarId") Long calendarId,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            @Param("to") LocalDateTime to,
+            Limit limit);
+
+    @Query("""
+            select e from Event e
+            where e.calendar.id = :calendarId and e.recurrence.frequency is null
+              and (e.date, e.id) > (:afterDate, :afterId) and e.date < :to
+            order by e.date, e.id""")
+    List<Event> findSinglesAfter(
+            @Param("calendarId") Long calendarId,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            @Param("to") LocalDateTime to,
+            Limit limit);
+
+    @Query("""
+            select e from Event e
+            where e.calendar.id = :calendarId and e.recurrence.frequency is not null
+              and e.date < :to and (e.recurrence.until is null or e.recurrence.until >= :from)""")
+    List<Event> findRecurringOverlapping(
+            @Param("calendarId") Long calendarId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("""
+            select new org.example.javacalendarwebapp.calendar.timeline.TimelinePoint(e.id, e.date)
+            from Event e
+            where e.calendar.id = :calendarId and e.date is not null""")
+    List<TimelinePoint> findTimelinePoints(@Param("calendarId") Long calendarId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new org.example.javacalendarwebapp.freebusy.EventSpan(e.date, e.durationMinutes)
+            from Event e
+            where e.calendar.id in (select c.id from Calendar c join c.users u where u.id in :userIds)
+              and e.recurrence.frequency is null and e.date >= :from and e.date < :to
+            order by e.date""")
+    Stream<EventSpan> streamSpansForUsers(
+            @Param("userIds") Collection<Long> userIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @Query("""
+            select e from Event e
+            where e.calendar.id in (select c.id from Calendar c join c.users u where u.id in :userIds)
+              and e.recurrence.frequency is not null
+              and e.date < :to and (e.recurrence.until is null or e.recurrence.until >= :from)""")
+    List<Event> findRecurringForUsers(
+            @Param("userIds") Collection<Long> userIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Event e order by e.id")
+    Stream<Event> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Event e where e.calendar.id = :calendarId order by e.date, e.id")
+    Stream<Event> streamByCalendarId(@Param("calendarId") Long calendarId);
+}
@@ -1,48 +1,259 @@
 package org.example.javacalendarwebapp.event;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.javacalendarwebapp.CacheConfig;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.common.BulkResult;
+import org.example.javacalendarwebapp.common.BulkWriter;
+import org.example.javacalendarwebapp.common.Cursor;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.PatchedRow;
+import org.example.javacalendarwebapp.common.StaleVersionException;
+import org.example.javacalendarwebapp.common.StreamingReader;
+import org.example.javacalendarwebapp.common.SortedMerge;
+import org.example.javacalendarwebapp.common.VersionedWrite;
+import org.example.javacalendarwebapp.event.recurrence.RecurrenceExpander;
+import org.example.javacalendarwebapp.event.recurrence.RecurrenceFrequency;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class EventService {
+    private static final Comparator<EventOccurrence> OCCURRENCE_ORDER =
+            Comparator.comparing(EventOccurrence::start).thenComparing(EventOccurrence::eventId);
+    private static final MergePatch PATCHABLE = new MergePatch()
+            .text("title", "event_title")
+            .text("description", "event_description")
+            .dateTime("date", "event_date")
+            .integer("durationMinutes", "event_duration_minutes")
+            .nested("recurrence", new MergePatch()
+                    .enumerated("frequency", "recurrence_frequency", RecurrenceFrequency.class)
+                    .integer("interval", "recurrence_interval")
+                    .integer("count", "recurrence_count")
+                    .dateTime("until", "recurrence_until")
+                    .dateTimes("exceptionDates", "recurrence_exdates"))
+            .reference("calendar", "calendar_id");
+
     private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkWriter bulkWriter;
+    private final StreamingReader streamingReader;
 
-    public EventService(EventRepository eventRepository) {
+    public EventService(
+            EventRepository eventRepository,
+            ApplicationEventPublisher eventPublisher,
+            BulkWriter bulkWriter,
+            StreamingReader streamingReader
+    ) {
         this.eventRepository = eventRepository;
+        this.eventPublisher = eventPublisher;
+        this.bulkWriter = bulkWriter;
+        this.streamingReader = streamingReader;
     }
 
+    @Transactional(readOnly = true)
     public List<Event> findAll() {
         return eventRepository.findAll();
     }
 
-    public Optional<Event> findById(Long id) {
-        return eventRepository.findById(id);
+    public void exportAll(Consumer<EventView> sink) {
+        streamingReader.forEach(eventRepository::streamAll, EventView::of, sink);
+    }
+
+    public void exportCalendar(Long calendarId, Consumer<EventView> sink) {
+        streamingReader.forEach(() -> eventRepository.streamByCalendarId(calendarId), EventView::of, sink);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventView> findByCalendar(Long calendarId) {
+        return eventRepository.findViewsByCalendarId(calendarId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EventView> findByCalendarAndIds(Long calendarId, Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : eventRepository.findViewsByCalendarIdAndIdIn(calendarId, ids);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EventView> findPage(String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long afterId = cursor == null ? 0L : Cursor.decode(cursor).id();
+        List<EventView> rows = eventRepository.findViewsAfter(afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, row -> Cursor.of(row.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EventView> findInRange(Long calendarId, LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        List<EventView> rows;
+        if (cursor == null) {
+            rows = eventRepository.findInRange(calendarId, from, to, Limit.of(pageSize + 1));
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            if (after.date() == null) {
+                throw new IllegalArgumentException("Cursor does not belong to a date range query");
+            }
+            rows = eventRepository.findInRangeAfter(calendarId, after.date(), after.id(), to, Limit.of(pageSize + 1));
+        }
+        return CursorPage.of(rows, pageSize, row -> Cursor.of(row.date(), row.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<EventOccurrence> findOccurrences(Long calendarId, LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        Cursor after = Cursor.of(from, -1L);
+        if (cursor != null) {
+            after = Cursor.decode(cursor);
+            if (after.date() == null) {
+                throw new IllegalArgumentException("Cursor does not belong to a date range query");
+            }
+            if (after.date().isBefore(from)) {
+                after = Cursor.of(from, -1L);
+            }
+        }
+        Cursor position = after;
+
+        List<Iterator<EventOccurrence>> sources = new ArrayList<>();
+        List<Event> singles = eventRepository.findSinglesAfter(
+                calendarId, position.date(), position.id(), to, Limit.of(pageSize + 1));
+        sources.add(singles.stream()
+                .map(event -> EventOccurrence.of(event, event.getDate()))
+                .iterator());
+        for (Event series : eventRepository.findRecurringOverlapping(calendarId, position.date(), to)) {
+            sources.add(RecurrenceExpander.expand(series.getDate(), series.getRecurrence(), position.date(), to)
+                    .filter(start -> start.isAfter(position.date()) || series.getId() > position.id())
+                    .map(start -> EventOccurrence.of(series, start))
+                    .iterator());
+        }
+
+        Iterator<EventOccurrence> merged = SortedMerge.merge(sources, OCCURRENCE_ORDER);
+        List<EventOccurrence> rows = new ArrayList<>(pageSize + 1);
+        while (rows.size() <= pageSize && merged.hasNext()) {
+            rows.add(merged.next());
+        }
+        return CursorPage.of(rows, pageSize, row -> Cursor.of(row.start(), row.eventId()));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.EVENTS, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<EventView> findById(Long id) {
+        return eventRepository.findViewById(id);
     }
 
+    @Transactional
     public Event create(Event event) {
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(CalendarChange.created(CalendarChange.Subject.EVENT,
+                saved.getId(), CalendarChange.calendarIdOf(saved.getCalendar()), saved.getDate()));
+        return saved;
+    }
+
+    public BulkResult bulkCreate(Iterator<Event> events) {
+        return bulkWriter.write(events, event -> {
+            event.setId(null);
+            event.setVersion(null);
+            return create(event).getId();
+        });
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.EVENTS, CacheConfig.EVENT_DATES}, key = "#id")
+    @Transactional
     public Event update(Long id, Event event) {
-        if (!eventRepository.existsById(id)) {
+        return update(id, event, null);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.EVENTS, CacheConfig.EVENT_DATES}, key = "#id")
+    @Transactional
+    public Event update(Long id, Event event, Long expectedVersion) {
+        event.setId(id);
+        Optional<VersionedWrite> written = eventRepository.updateVersioned(event, expectedVersion);
+        if (written.isEmpty()) {
+            rejectIfStale(id, expectedVersion);
             return null;
         }
-        event.setId(id);
-        return eventRepository.save(event);
+        event.setVersion(written.get().version());
+        publishUpdated(event, written.get().previousCalendarId());
+        return event;
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.EVENTS, CacheConfig.EVENT_DATES}, key = "#id")
+    @Transactional
+    public Event patch(Long id, JsonNode patch, Long expectedVersion) {
+        List<MergePatch.Assignment> assignments = PATCHABLE.assignments(patch);
+        if (assignments.isEmpty()) {
+            return current(id, expectedVersion);
+        }
+        Optional<PatchedRow<Event>> patched = eventRepository.patchVersioned(id, assignments, expectedVersion);
+        if (patched.isEmpty()) {
+            rejectIfStale(id, expectedVersion);
+            return null;
+        }
+        Event event = patched.get().value();
+        publishUpdated(event, patched.get().previousCalendarId());
+        return event;
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.EVENTS, CacheConfig.EVENT_DATES}, key = "#id")
+    @Transactional
     public void delete(Long id) {
-        if (!eventRepository.existsById(id)) {
+        delete(id, null);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.EVENTS, CacheConfig.EVENT_DATES}, key = "#id")
+    @Transactional
+    public void delete(Long id, Long expectedVersion) {
+        Optional<VersionedWrite> deleted = eventRepository.deleteVersioned(id, expectedVersion);
+        if (deleted.isEmpty()) {
+            rejectIfStale(id, expectedVersion);
             return;
         }
-        eventRepository.deleteById(id);
+        eventPublisher.publishEvent(CalendarChange.deleted(CalendarChange.Subject.EVENT, id,
+                deleted.get().previousCalendarId()));
     }
 
+    @Cacheable(cacheNames = CacheConfig.EVENT_DATES, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
     public LocalDateTime getEventDateByID(Long id) {
         Event e = eventRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Event not found with id: " + id));
         return e.getDate();
     }
+
+    private Event current(Long id, Long expectedVersion) {
+        Optional<Event> existing = eventRepository.findById(id);
+        if (existing.isPresent() && expectedVersion != null && !expectedVersion.equals(existing.get().getVersion())) {
+            throw new StaleVersionException("Event " + id + " was modified concurrently");
+        }
+        return existing.orElse(null);
+    }
+
+    private void rejectIfStale(Long id, Long expectedVersion) {
+        if (expectedVersion != null && eventRepository.existsById(id)) {
+            throw new StaleVersionException("Event " + id + " was modified concurrently");
+        }
+    }
+
+    private void publishUpdated(Event saved, Long previousCalendarId) {
+        eventPublisher.publishEvent(CalendarChange.updated(CalendarChange.Subject.EVENT, saved.getId(),
+                CalendarChange.calendarIdOf(saved.getCalendar()), previousCalendarId, saved.getDate()));
+    }
 }
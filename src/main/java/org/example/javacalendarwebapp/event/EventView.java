@@ -0,0 +1,23 @@
+package org.example.javacalendarwebapp.event;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.event.recurrence.Recurrence;
+
+import java.time.LocalDateTime;
+
+public record EventView(
+        Long id,
+        String title,
+        String description,
+        LocalDateTime date,
+        Integer durationMinutes,
+        Recurrence recurrence,
+        Long calendarId,
+        Long version
+) {
+    public static EventView of(Event event) {
+        return new EventView(event.getId(), event.getTitle(), event.getDescription(), event.getDate(),
+                event.getDurationMinutes(), event.getRecurrence(), CalendarChange.calendarIdOf(event.getCalendar()),
+                event.getVersion());
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.javacalendarwebapp.event;
+
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.PatchedRow;
+import org.example.javacalendarwebapp.common.VersionedWrite;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface VersionedEventWrites {
+    Optional<VersionedWrite> updateVersioned(Event event, Long expectedVersion);
+
+    Optional<PatchedRow<Event>> patchVersioned(Long id, List<MergePatch.Assignment> assignments, Long expectedVersion);
+
+    Optional<VersionedWrite> deleteVersioned(Long id, Long expectedVersion);
+}
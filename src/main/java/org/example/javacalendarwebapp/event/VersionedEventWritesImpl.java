@@ -0,0 +1,156 @@
+package org.example.javacalendarwebapp.event;
+
+import org.example.javacalendarwebapp.calendar.Calendar;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.PatchedRow;
+import org.example.javacalendarwebapp.common.VersionedWrite;
+import org.example.javacalendarwebapp.event.recurrence.Recurrence;
+import org.example.javacalendarwebapp.event.recurrence.RecurrenceFrequency;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+public class VersionedEventWritesImpl implements VersionedEventWrites {
+    private static final String UPDATE = """
+            UPDATE events e
+            SET event_title = ?, event_description = ?, event_date = ?, event_duration_minutes = ?,
+                recurrence_frequency = ?, recurrence_interval = ?, recurrence_count = ?, recurrence_until = ?,
+                recurrence_exdates = ?, calendar_id = ?, version = e.version + 1
+            FROM (SELECT calendar_id FROM events WHERE id = ? FOR UPDATE) previous
+            WHERE e.id = ?""";
+    private static final String UPDATE_RETURNING = " RETURNING e.version, previous.calendar_id";
+    private static final String PATCH_FROM = """
+            , version = e.version + 1
+            FROM (SELECT calendar_id FROM events WHERE id = ? FOR UPDATE) previous
+            WHERE e.id = ?""";
+    private static final String PATCH_RETURNING = """
+             RETURNING e.id, e.event_title, e.event_description, e.event_date, e.event_duration_minutes,
+                e.recurrence_frequency, e.recurrence_interval, e.recurrence_count, e.recurrence_until,
+                e.recurrence_exdates, e.version, e.calendar_id, previous.calendar_id AS previous_calendar_id""";
+    private static final String DELETE = "DELETE FROM events WHERE id = ?";
+    private static final String DELETE_RETURNING = " RETURNING version, calendar_id";
+    private static final String VERSION_MATCHES = " AND version = ?";
+    private static final RowMapper<VersionedWrite> WRITE_MAPPER = (rs, rowNum) ->
+            new VersionedWrite(rs.getLong(1), rs.getObject(2, Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VersionedEventWritesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<VersionedWrite> updateVersioned(Event event, Long expectedVersion) {
+        String sql = UPDATE + (expectedVersion == null ? "" : " AND e.version = ?") + UPDATE_RETURNING;
+        List<VersionedWrite> rows = jdbcTemplate.query(sql, ps -> {
+            Recurrence recurrence = event.getRecurrence();
+            boolean recurring = recurrence != null && recurrence.getFrequency() != null;
+            bind(ps, 1, event.getTitle(), Types.VARCHAR);
+            bind(ps, 2, event.getDescription(), Types.VARCHAR);
+            bind(ps, 3, event.getDate(), Types.TIMESTAMP);
+            bind(ps, 4, event.getDurationMinutes(), Types.INTEGER);
+            bind(ps, 5, recurring ? recurrence.getFrequency().name() : null, Types.VARCHAR);
+            bind(ps, 6, recurring ? recurrence.getInterval() : null, Types.INTEGER);
+            bind(ps, 7, recurring ? recurrence.getCount() : null, Types.INTEGER);
+            bind(ps, 8, recurring ? recurrence.getUntil() : null, Types.TIMESTAMP);
+            if (recurring && recurrence.getExceptionDates() != null) {
+                Timestamp[] dates = recurrence.getExceptionDates().stream().map(Timestamp::valueOf).toArray(Timestamp[]::new);
+                ps.setArray(9, ps.getConnection().createArrayOf("timestamp", dates));
+            } else {
+                ps.setNull(9, Types.ARRAY);
+            }
+            bind(ps, 10, CalendarChange.calendarIdOf(event.getCalendar()), Types.BIGINT);
+            ps.setLong(11, event.getId());
+            ps.setLong(12, event.getId());
+            if (expectedVersion != null) {
+                ps.setLong(13, expectedVersion);
+            }
+        }, WRITE_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public Optional<PatchedRow<Event>> patchVersioned(Long id, List<MergePatch.Assignment> assignments, Long expectedVersion) {
+        String sql = "UPDATE events e SET " + MergePatch.setClause(assignments) + PATCH_FROM
+                + (expectedVersion == null ? "" : " AND e.version = ?") + PATCH_RETURNING;
+        List<PatchedRow<Event>> rows = jdbcTemplate.query(sql, ps -> {
+            int index = MergePatch.bind(ps, assignments);
+            ps.setLong(index++, id);
+            ps.setLong(index++, id);
+            if (expectedVersion != null) {
+                ps.setLong(index, expectedVersion);
+            }
+        }, (rs, rowNum) -> new PatchedRow<>(mapEvent(rs), rs.getObject("previous_calendar_id", Long.class)));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public Optional<VersionedWrite> deleteVersioned(Long id, Long expectedVersion) {
+        String sql = DELETE + (expectedVersion == null ? "" : VERSION_MATCHES) + DELETE_RETURNING;
+        List<VersionedWrite> rows = jdbcTemplate.query(sql, ps -> {
+            ps.setLong(1, id);
+            if (expectedVersion != null) {
+                ps.setLong(2, expectedVersion);
+            }
+        }, WRITE_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    private static Event mapEvent(ResultSet rs) throws SQLException {
+        Event event = new Event();
+        event.setId(rs.getLong("id"));
+        event.setTitle(rs.getString("event_title"));
+        event.setDescription(rs.getString("event_description"));
+        event.setDate(toLocalDateTime(rs.getTimestamp("event_date")));
+        event.setDurationMinutes(rs.getObject("event_duration_minutes", Integer.class));
+        String frequency = rs.getString("recurrence_frequency");
+        if (frequency != null) {
+            Recurrence recurrence = new Recurrence();
+            recurrence.setFrequency(RecurrenceFrequency.valueOf(frequency));
+            recurrence.setInterval(rs.getObject("recurrence_interval", Integer.class));
+            recurrence.setCount(rs.getObject("recurrence_count", Integer.class));
+            recurrence.setUntil(toLocalDateTime(rs.getTimestamp("recurrence_until")));
+            Array exdates = rs.getArray("recurrence_exdates");
+            if (exdates != null) {
+                recurrence.setExceptionDates(new ArrayList<>(Arrays.stream((Timestamp[]) exdates.getArray())
+                        .map(Timestamp::toLocalDateTime)
+                        .toList()));
+            }
+            event.setRecurrence(recurrence);
+        }
+        event.setVersion(rs.getLong("version"));
+        Long calendarId = rs.getObject("calendar_id", Long.class);
+        if (calendarId != null) {
+            Calendar calendar = new Calendar();
+            calendar.setId(calendarId);
+            event.setCalendar(calendar);
+        }
+        return event;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static void bind(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else if (value instanceof LocalDateTime dateTime) {
+            ps.setTimestamp(index, Timestamp.valueOf(dateTime));
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+}
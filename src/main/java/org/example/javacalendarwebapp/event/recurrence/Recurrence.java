@@ -0,0 +1,38 @@
+package org.example.javacalendarwebapp.event.recurrence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Embeddable
+@Data
+public class Recurrence {
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence_frequency")
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "recurrence_interval")
+    private Integer interval;
+
+    @Column(name = "recurrence_count")
+    private Integer count;
+
+    @Column(name = "recurrence_until")
+    private LocalDateTime until;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "recurrence_exdates")
+    private List<LocalDateTime> exceptionDates = new ArrayList<>();
+
+    public int intervalOrDefault() {
+        return interval == null || interval < 1 ? 1 : interval;
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.javacalendarwebapp.event.recurrence;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class RecurrenceExpander {
+
+    private RecurrenceExpander() {
+    }
+
+    public static Stream<LocalDateTime> expand(LocalDateTime start, Recurrence recurrence, LocalDateTime from, LocalDateTime to) {
+        if (start == null || !from.isBefore(to)) {
+            return Stream.empty();
+        }
+        if (recurrence == null || recurrence.getFrequency() == null) {
+            return !start.isBefore(from) && start.isBefore(to) ? Stream.of(start) : Stream.empty();
+        }
+        Iterator<LocalDateTime> occurrences = new OccurrenceIterator(start, recurrence, from, to);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(occurrences,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    private static final class OccurrenceIterator implements Iterator<LocalDateTime> {
+        private final LocalDateTime start;
+        private final RecurrenceFrequency frequency;
+        private final int interval;
+        private final Integer count;
+        private final LocalDateTime until;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final Set<LocalDateTime> exceptionDates;
+        private final boolean skipsInvalidDates;
+
+        private long index;
+        private long ordinal;
+        private LocalDateTime next;
+
+        OccurrenceIterator(LocalDateTime start, Recurrence recurrence, LocalDateTime from, LocalDateTime to) {
+            this.start = start;
+            this.frequency = recurrence.getFrequency();
+            this.interval = recurrence.intervalOrDefault();
+            this.count = recurrence.getCount();
+            this.until = recurrence.getUntil();
+            this.from = from;
+            this.to = to;
+            this.exceptionDates = recurrence.getExceptionDates() == null
+                    ? Set.of()
+                    : new HashSet<>(recurrence.getExceptionDates());
+            this.skipsInvalidDates = frequency == RecurrenceFrequency.MONTHLY && start.getDayOfMonth() > 28;
+
+            if (count == null || !skipsInvalidDates) {
+                this.index = firstIndex();
+                this.ordinal = index;
+            }
+            this.next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public LocalDateTime next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            LocalDateTime current = next;
+            next = advance();
+            return current;
+        }
+
+        private LocalDateTime advance() {
+            while (count == null || ordinal < count) {
+                LocalDateTime candidate = candidate(index++);
+                if (!candidate.isBefore(to) || (until != null && candidate.isAfter(until))) {
+                    return null;
+                }
+                if (skipsInvalidDates && candidate.getDayOfMonth() != start.getDayOfMonth()) {
+                    continue;
+                }
+                ordinal++;
+                if (!candidate.isBefore(from) && !exceptionDates.contains(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        private long firstIndex() {
+            if (!from.isAfter(start)) {
+                return 0;
+            }
+            long index = switch (frequency) {
+                case DAILY -> Duration.between(start, from).toDays() / interval;
+                case WEEKLY -> Duration.between(start, from).toDays() / (7L * interval);
+                case MONTHLY -> ChronoUnit.MONTHS.between(start, from) / interval;
+            };
+            while (candidate(index).isBefore(from)) {
+                index++;
+            }
+            return index;
+        }
+
+        private LocalDateTime candidate(long index) {
+            long steps = index * interval;
+            return switch (frequency) {
+                case DAILY -> start.plusDays(steps);
+                case WEEKLY -> start.plusWeeks(steps);
+                case MONTHLY -> start.plusMonths(steps);
+            };
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package org.example.javacalendarwebapp.event.recurrence;
+
+public enum RecurrenceFrequency {
+    DAILY, WEEKLY, MONTHLY
+}
@@ -0,0 +1,6 @@
+package org.example.javacalendarwebapp.freebusy;
+
+import java.time.LocalDateTime;
+
+public record EventSpan(LocalDateTime start, Integer durationMinutes) {
+}
@@ -0,0 +1,65 @@
+package org.example.javacalendarwebapp.freebusy;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@Tag(name = "Free/Busy", description = "Compute availability across users")
+@RequestMapping("/users/freebusy")
+public class FreeBusyController {
+    private final FreeBusyService freeBusyService;
+
+    public FreeBusyController(FreeBusyService freeBusyService) {
+        this.freeBusyService = freeBusyService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get free/busy", description = "Merge the events of every calendar each user belongs to into busy intervals.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<List<UserFreeBusy>> getFreeBusy(
+        @Parameter(description = "IDs of the users to query", required = true)
+        @RequestParam List<Long> users,
+        @Parameter(description = "Inclusive start of the window (ISO date-time)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @Parameter(description = "Exclusive end of the window (ISO date-time)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        try {
+            return ResponseEntity.ok(freeBusyService.freeBusy(users, from, to));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/slots")
+    @Operation(summary = "Find common free slots", description = "Return the earliest slots of the given length in which all users are free.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<List<TimeRange>> getCommonSlots(
+        @Parameter(description = "IDs of the users to query", required = true)
+        @RequestParam List<Long> users,
+        @Parameter(description = "Inclusive start of the window (ISO date-time)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @Parameter(description = "Exclusive end of the window (ISO date-time)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @Parameter(description = "Length of each slot (ISO-8601 duration, e.g. PT30M)", required = true)
+        @RequestParam Duration duration,
+        @Parameter(description = "Maximum number of slots to return (capped at 100)")
+        @RequestParam(defaultValue = "5") int count
+    ) {
+        try {
+            return ResponseEntity.ok(freeBusyService.findCommonSlots(users, from, to, duration, count));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.javacalendarwebapp.freebusy;
+
+import org.example.javacalendarwebapp.common.SortedMerge;
+import org.example.javacalendarwebapp.event.Event;
+import org.example.javacalendarwebapp.event.EventRepository;
+import org.example.javacalendarwebapp.event.recurrence.RecurrenceExpander;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Service
+public class FreeBusyService {
+    public static final Duration MAX_EVENT_DURATION = Duration.ofDays(7);
+    public static final Duration MAX_WINDOW = Duration.ofDays(366);
+    public static final int MAX_USERS = 50;
+    public static final int MAX_SLOTS = 100;
+
+    private static final Comparator<TimeRange> BY_START = Comparator.comparing(TimeRange::start);
+
+    private final EventRepository eventRepository;
+    private final Duration defaultEventDuration;
+
+    public FreeBusyService(
+            EventRepository eventRepository,
+            @Value("${app.freebusy.default-event-duration:60m}") Duration defaultEventDuration
+    ) {
+        this.eventRepository = eventRepository;
+        this.defaultEventDuration = defaultEventDuration;
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserFreeBusy> freeBusy(List<Long> userIds, LocalDateTime from, LocalDateTime to) {
+        Set<Long> users = validate(userIds, from, to);
+        List<UserFreeBusy> result = new ArrayList<>(users.size());
+        for (Long userId : users) {
+            List<TimeRange> busy = new ArrayList<>();
+            try (Stream<EventSpan> singles = streamSingles(Set.of(userId), from, to)) {
+                busyRanges(Set.of(userId), singles, from, to).forEachRemaining(busy::add);
+            }
+            result.add(new UserFreeBusy(userId, busy));
+        }
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TimeRange> findCommonSlots(List<Long> userIds, LocalDateTime from, LocalDateTime to, Duration length, int count) {
+        Set<Long> users = validate(userIds, from, to);
+        if (length == null || length.isNegative() || length.isZero()) {
+            throw new IllegalArgumentException("'duration' must be positive");
+        }
+        if (count < 1) {
+            throw new IllegalArgumentException("'count' must be positive");
+        }
+        int wanted = Math.min(count, MAX_SLOTS);
+        List<TimeRange> slots = new ArrayList<>(wanted);
+        try (Stream<EventSpan> singles = streamSingles(users, from, to)) {
+            Iterator<TimeRange> busy = busyRanges(users, singles, from, to);
+            LocalDateTime free = from;
+            while (slots.size() < wanted) {
+                TimeRange next = busy.hasNext() ? busy.next() : null;
+                LocalDateTime freeUntil = next == null ? to : next.start();
+                while (slots.size() < wanted && !free.plus(length).isAfter(freeUntil)) {
+                    slots.add(new TimeRange(free, free.plus(length)));
+                    free = free.plus(length);
+                }
+                if (next == null) {
+                    break;
+                }
+                free = next.end();
+            }
+        }
+        return slots;
+    }
+
+    private Set<Long> validate(List<Long> userIds, LocalDateTime from, LocalDateTime to) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one user is required");
+        }
+        Set<Long> users = new LinkedHashSet<>(userIds);
+        if (users.size() > MAX_USERS) {
+            throw new IllegalArgumentException("At most " + MAX_USERS + " users can be queried at once");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (Duration.between(from, to).compareTo(MAX_WINDOW) > 0) {
+            throw new IllegalArgumentException("Window must not exceed " + MAX_WINDOW.toDays() + " days");
+        }
+        return users;
+    }
+
+    private Stream<EventSpan> streamSingles(Set<Long> userIds, LocalDateTime from, LocalDateTime to) {
+        return eventRepository.streamSpansForUsers(userIds, from.minus(MAX_EVENT_DURATION), to);
+    }
+
+    private Iterator<TimeRange> busyRanges(Set<Long> userIds, Stream<EventSpan> singles, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime lookback = from.minus(MAX_EVENT_DURATION);
+        List<Iterator<TimeRange>> sources = new ArrayList<>();
+        sources.add(singles.map(span -> range(span.start(), span.durationMinutes())).iterator());
+        for (Event series : eventRepository.findRecurringForUsers(userIds, lookback, to)) {
+            sources.add(RecurrenceExpander.expand(series.getDate(), series.getRecurrence(), lookback, to)
+                    .map(start -> range(start, series.getDurationMinutes()))
+                    .iterator());
+        }
+        return new Coalescing(SortedMerge.merge(sources, BY_START), from, to);
+    }
+
+    private TimeRange range(LocalDateTime start, Integer durationMinutes) {
+        Duration duration = durationMinutes == null ? defaultEventDuration : Duration.ofMinutes(durationMinutes);
+        return new TimeRange(start, start.plus(duration));
+    }
+
+    private static final class Coalescing implements Iterator<TimeRange> {
+        private final Iterator<TimeRange> sorted;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private TimeRange pending;
+
+        Coalescing(Iterator<TimeRange> sorted, LocalDateTime from, LocalDateTime to) {
+            this.sorted = sorted;
+            this.from = from;
+            this.to = to;
+            this.pending = nextInWindow();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
+
+        @Override
+        public TimeRange next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+            LocalDateTime start = pending.start();
+            LocalDateTime end = pending.end();
+            pending = nextInWindow();
+            while (pending != null && !pending.start().isAfter(end)) {
+                if (pending.end().isAfter(end)) {
+                    end = pending.end();
+                }
+                pending = nextInWindow();
+            }
+            return new TimeRange(start, end.isAfter(to) ? to : end);
+        }
+
+        private TimeRange nextInWindow() {
+            while (sorted.hasNext()) {
+                TimeRange range = sorted.next();
+                if (!range.start().isBefore(to)) {
+                    return null;
+                }
+                if (range.end().isAfter(from)) {
+                    return range.start().isBefore(from) ? new TimeRange(from, range.end()) : range;
+                }
+            }
+            return null;
+        }
+    }
+}
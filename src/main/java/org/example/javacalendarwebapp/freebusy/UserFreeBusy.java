@@ -0,0 +1,6 @@
+package org.example.javacalendarwebapp.freebusy;
+
+import java.util.List;
+
+public record UserFreeBusy(Long userId, List<TimeRange> busy) {
+}
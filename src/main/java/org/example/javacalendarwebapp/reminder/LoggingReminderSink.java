@@ -0,0 +1,20 @@
+package org.example.javacalendarwebapp.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class LoggingReminderSink implements ReminderSink {
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+    @Override
+    public void deliver(List<Reminder> reminders) {
+        for (Reminder reminder : reminders) {
+            log.info("Reminder {}: {} {} in calendar {} is due at {}", reminder.id(), reminder.subject(),
+                    reminder.subjectId(), reminder.calendarId(), reminder.dueAt());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.javacalendarwebapp.reminder;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+
+import java.time.LocalDateTime;
+
+public record Reminder(
+        long id,
+        CalendarChange.Subject subject,
+        long subjectId,
+        Long calendarId,
+        int minutesBefore,
+        LocalDateTime fireAt
+) {
+    public LocalDateTime dueAt() {
+        return fireAt == null ? null : fireAt.plusMinutes(minutesBefore);
+    }
+}
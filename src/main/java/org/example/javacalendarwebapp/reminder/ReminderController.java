@@ -0,0 +1,76 @@
+package org.example.javacalendarwebapp.reminder;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.Optional;
+
+@RestController
+@Tag(name = "Reminders", description = "Schedule reminders before events and tasks")
+public class ReminderController {
+    private final ReminderService reminderService;
+
+    public ReminderController(ReminderService reminderService) {
+        this.reminderService = reminderService;
+    }
+
+    @GetMapping("/events/{id}/reminders")
+    @Operation(summary = "Get event reminders", description = "List how many minutes before the event its reminders fire.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<ReminderOffsets> getEventReminders(
+        @Parameter(description = "ID of the event", required = true)
+        @PathVariable Long id
+    ) {
+        return respond(reminderService.findOffsets(CalendarChange.Subject.EVENT, id));
+    }
+
+    @PutMapping("/events/{id}/reminders")
+    @Operation(summary = "Replace event reminders", description = "Replace the reminders of an event with the given offsets in minutes before the event starts.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<ReminderOffsets> replaceEventReminders(
+        @Parameter(description = "ID of the event", required = true)
+        @PathVariable Long id,
+        @RequestBody ReminderOffsets offsets
+    ) {
+        return replace(CalendarChange.Subject.EVENT, id, offsets);
+    }
+
+    @GetMapping("/tasks/{id}/reminders")
+    @Operation(summary = "Get task reminders", description = "List how many minutes before the task date its reminders fire.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<ReminderOffsets> getTaskReminders(
+        @Parameter(description = "ID of the task", required = true)
+        @PathVariable Long id
+    ) {
+        return respond(reminderService.findOffsets(CalendarChange.Subject.TASK, id));
+    }
+
+    @PutMapping("/tasks/{id}/reminders")
+    @Operation(summary = "Replace task reminders", description = "Replace the reminders of a task with the given offsets in minutes before the task date.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<ReminderOffsets> replaceTaskReminders(
+        @Parameter(description = "ID of the task", required = true)
+        @PathVariable Long id,
+        @RequestBody ReminderOffsets offsets
+    ) {
+        return replace(CalendarChange.Subject.TASK, id, offsets);
+    }
+
+    private ResponseEntity<ReminderOffsets> replace(CalendarChange.Subject subject, Long id, ReminderOffsets offsets) {
+        try {
+            return respond(reminderService.replaceOffsets(subject, id, offsets));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private static ResponseEntity<ReminderOffsets> respond(Optional<ReminderOffsets> offsets) {
+        return offsets.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
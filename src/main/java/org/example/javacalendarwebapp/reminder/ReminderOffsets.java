@@ -0,0 +1,6 @@
+package org.example.javacalendarwebapp.reminder;
+
+import java.util.List;
+
+public record ReminderOffsets(List<Integer> minutesBefore) {
+}
@@ -0,0 +1,214 @@
+package org.example.javacalendarwebapp.reminder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class ReminderScheduler {
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final ReminderStore store;
+    private final List<ReminderSink> sinks;
+    private final Clock clock;
+    private final Duration horizon;
+    private final int batchSize;
+    private final int maxPending;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimingWheel<Reminder> wheel;
+    private final Counter delivered;
+    private final Map<Long, Reminder> changedDuringRefill = new HashMap<>();
+    private LocalDateTime loadedFireAt;
+    private long loadedId;
+    private boolean refilling;
+
+    @Autowired
+    public ReminderScheduler(
+            ReminderStore store,
+            List<ReminderSink> sinks,
+            MeterRegistry meterRegistry,
+            @Value("${app.reminders.tick:1s}") Duration tick,
+            @Value("${app.reminders.horizon:1h}") Duration horizon,
+            @Value("${app.reminders.catch-up:15m}") Duration catchUp,
+            @Value("${app.reminders.batch-size:1000}") int batchSize,
+            @Value("${app.reminders.max-pending:1000000}") int maxPending
+    ) {
+        this(store, sinks, meterRegistry, tick, horizon, catchUp, batchSize, maxPending, Clock.systemDefaultZone());
+    }
+
+    ReminderScheduler(ReminderStore store, List<ReminderSink> sinks, MeterRegistry meterRegistry, Duration tick,
+                      Duration horizon, Duration catchUp, int batchSize, int maxPending, Clock clock) {
+        this.store = store;
+        this.sinks = sinks;
+        this.clock = clock;
+        this.horizon = horizon;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = Math.max(1, maxPending);
+        this.wheel = new TimingWheel<>(tick.toMillis(), WHEEL_BITS, WHEEL_LEVELS, clock.millis());
+        if (horizon.toMillis() >= wheel.spanMillis()) {
+            throw new IllegalArgumentException("Reminder horizon " + horizon + " exceeds the timing wheel span");
+        }
+        this.loadedFireAt = LocalDateTime.now(clock).minus(catchUp);
+        this.loadedId = 0L;
+        this.delivered = Counter.builder("reminders.delivered")
+                .description("Reminders handed to the reminder sinks")
+                .register(meterRegistry);
+        Gauge.builder("reminders.scheduled", this, ReminderScheduler::scheduled)
+                .description("Reminders held in the in-memory timing wheel")
+                .register(meterRegistry);
+    }
+
+    public int scheduled() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reminders.refill-interval:1m}")
+    public void refill() {
+        LocalDateTime until = LocalDateTime.now(clock).plus(horizon);
+        boolean more = true;
+        while (more) {
+            LocalDateTime afterFireAt;
+            long afterId;
+            lock.lock();
+            try {
+                if (wheel.size() >= maxPending || !loadedFireAt.isBefore(until)) {
+                    return;
+                }
+                afterFireAt = loadedFireAt;
+                afterId = loadedId;
+                refilling = true;
+            } finally {
+                lock.unlock();
+            }
+            List<Reminder> page;
+            try {
+                page = store.findPending(afterFireAt, afterId, until, batchSize);
+            } catch (RuntimeException ex) {
+                lock.lock();
+                try {
+                    finishRefill();
+                } finally {
+                    lock.unlock();
+                }
+                throw ex;
+            }
+            lock.lock();
+            try {
+                more = load(page, until);
+                finishRefill();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.reminders.tick:1s}")
+    public void tick() {
+        List<Reminder> due;
+        lock.lock();
+        try {
+            due = wheel.advance(clock.millis());
+        } finally {
+            lock.unlock();
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Reminder> claimed = store.claim(due);
+        if (claimed.isEmpty()) {
+            return;
+        }
+        for (ReminderSink sink : sinks) {
+            try {
+                sink.deliver(claimed);
+            } catch (RuntimeException ex) {
+                log.warn("Reminder sink {} failed for {} reminders", sink.getClass().getSimpleName(), claimed.size(), ex);
+            }
+        }
+        delivered.increment(claimed.size());
+    }
+
+    public void schedule(Collection<Reminder> reminders) {
+        lock.lock();
+        try {
+            reminders.forEach(reminder -> place(reminder.id(), reminder));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void cancel(Collection<Long> ids) {
+        lock.lock();
+        try {
+            ids.forEach(id -> place(id, null));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean load(List<Reminder> page, LocalDateTime until) {
+        for (Reminder reminder : page) {
+            if (wheel.size() >= maxPending) {
+                return false;
+            }
+            if (!changedDuringRefill.containsKey(reminder.id())) {
+                wheel.schedule(reminder.id(), toMillis(reminder.fireAt()), reminder);
+            }
+            loadedFireAt = reminder.fireAt();
+            loadedId = reminder.id();
+        }
+        if (page.size() < batchSize) {
+            loadedFireAt = until;
+            loadedId = Long.MAX_VALUE;
+            return false;
+        }
+        return true;
+    }
+
+    private void finishRefill() {
+        refilling = false;
+        changedDuringRefill.forEach(this::place);
+        changedDuringRefill.clear();
+    }
+
+    private void place(Long id, Reminder reminder) {
+        if (refilling) {
+            changedDuringRefill.put(id, reminder);
+        } else if (reminder != null && reminder.fireAt() != null && isLoaded(reminder)) {
+            wheel.schedule(id, toMillis(reminder.fireAt()), reminder);
+        } else {
+            wheel.cancel(id);
+        }
+    }
+
+    private boolean isLoaded(Reminder reminder) {
+        int compared = reminder.fireAt().compareTo(loadedFireAt);
+        return compared < 0 || (compared == 0 && reminder.id() <= loadedId);
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+}
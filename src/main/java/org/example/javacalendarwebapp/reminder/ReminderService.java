@@ -0,0 +1,139 @@
+package org.example.javacalendarwebapp.reminder;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.event.EventService;
+import org.example.javacalendarwebapp.task.TaskService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+@Service
+public class ReminderService {
+    private static final int MAX_MINUTES_BEFORE = 4 * 7 * 24 * 60;
+
+    private final ReminderStore store;
+    private final ReminderScheduler scheduler;
+    private final EventService eventService;
+    private final TaskService taskService;
+    private final int maxPerItem;
+
+    public ReminderService(
+            ReminderStore store,
+            ReminderScheduler scheduler,
+            EventService eventService,
+            TaskService taskService,
+            @Value("${app.reminders.max-per-item:10}") int maxPerItem
+    ) {
+        this.store = store;
+        this.scheduler = scheduler;
+        this.eventService = eventService;
+        this.taskService = taskService;
+        this.maxPerItem = maxPerItem;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ReminderOffsets> findOffsets(CalendarChange.Subject subject, Long id) {
+        if (!exists(subject, id)) {
+            return Optional.empty();
+        }
+        return Optional.of(new ReminderOffsets(store.findOffsets(subject, id)));
+    }
+
+    @Transactional
+    public Optional<ReminderOffsets> replaceOffsets(CalendarChange.Subject subject, Long id, ReminderOffsets offsets) {
+        TreeSet<Integer> minutesBefore = validate(offsets);
+        if (!store.lockTarget(subject, id)) {
+            return Optional.empty();
+        }
+        List<Long> removed = store.delete(subject, id);
+        List<Reminder> inserted = store.insert(subject, id, minutesBefore);
+        afterCommit(() -> {
+            scheduler.cancel(removed);
+            scheduler.schedule(inserted);
+        });
+        return Optional.of(new ReminderOffsets(List.copyOf(minutesBefore)));
+    }
+
+    @EventListener
+    public void onCalendarChange(CalendarChange change) {
+        if (change.action() == CalendarChange.Action.CREATED) {
+            return;
+        }
+        if (change.subject() == CalendarChange.Subject.CALENDAR) {
+            if (change.action() == CalendarChange.Action.DELETED) {
+                cancel(store.deleteByCalendar(change.subjectId()));
+            }
+            return;
+        }
+        if (change.action() == CalendarChange.Action.DELETED) {
+            cancel(store.delete(change.subject(), change.subjectId()));
+            return;
+        }
+        List<ReminderStore.Rescheduled> rescheduled =
+                store.reschedule(change.subject(), change.subjectId(), change.calendarId(), change.date());
+        if (rescheduled.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            scheduler.cancel(rescheduled.stream()
+                    .filter(ReminderStore.Rescheduled::delivered)
+                    .map(row -> row.reminder().id())
+                    .toList());
+            scheduler.schedule(rescheduled.stream()
+                    .filter(row -> !row.delivered())
+                    .map(ReminderStore.Rescheduled::reminder)
+                    .toList());
+        });
+    }
+
+    private void cancel(List<Long> removed) {
+        if (!removed.isEmpty()) {
+            afterCommit(() -> scheduler.cancel(removed));
+        }
+    }
+
+    private boolean exists(CalendarChange.Subject subject, Long id) {
+        return switch (subject) {
+            case EVENT -> eventService.findById(id).isPresent();
+            case TASK -> taskService.findById(id).isPresent();
+            case CALENDAR -> throw new IllegalArgumentException("Calendars do not have reminders");
+        };
+    }
+
+    private TreeSet<Integer> validate(ReminderOffsets offsets) {
+        if (offsets == null || offsets.minutesBefore() == null) {
+            throw new IllegalArgumentException("minutesBefore is required");
+        }
+        TreeSet<Integer> minutesBefore = new TreeSet<>();
+        for (Integer minutes : offsets.minutesBefore()) {
+            if (minutes == null || minutes < 0 || minutes > MAX_MINUTES_BEFORE) {
+                throw new IllegalArgumentException("Reminder offsets must be between 0 and " + MAX_MINUTES_BEFORE + " minutes");
+            }
+            minutesBefore.add(minutes);
+        }
+        if (minutesBefore.size() > maxPerItem) {
+            throw new IllegalArgumentException("At most " + maxPerItem + " reminders per item are allowed");
+        }
+        return minutesBefore;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.javacalendarwebapp.reminder;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class ReminderStore {
+    private static final String FIND_OFFSETS = """
+            SELECT offset_minutes FROM reminders
+            WHERE subject = ? AND subject_id = ?
+            ORDER BY offset_minutes""";
+
+    private static final String DELETE = "DELETE FROM reminders WHERE subject = ? AND subject_id = ? RETURNING id";
+
+    private static final String DELETE_BY_CALENDAR = "DELETE FROM reminders WHERE calendar_id = ? RETURNING id";
+
+    private static final String LOCK_TARGET = "SELECT id FROM %s WHERE id = ? FOR UPDATE";
+
+    private static final String INSERT = """
+            INSERT INTO reminders (subject, subject_id, calendar_id, offset_minutes, fire_at)
+            SELECT ?, t.id, t.calendar_id, o.minutes, t.%2$s - make_interval(mins => o.minutes)
+            FROM %1$s t CROSS JOIN unnest(CAST(? AS INTEGER[])) AS o(minutes)
+            WHERE t.id = ?
+            ORDER BY o.minutes
+            RETURNING id, subject, subject_id, calendar_id, offset_minutes, fire_at""";
+
+    private static final String RESCHEDULE = """
+            UPDATE reminders r
+            SET calendar_id = ?,
+                fire_at = n.fire_at,
+                delivered_at = CASE WHEN r.fire_at IS DISTINCT FROM n.fire_at THEN NULL ELSE r.delivered_at END
+            FROM (
+                SELECT id, CAST(? AS TIMESTAMP) - make_interval(mins => offset_minutes) AS fire_at
+                FROM reminders
+                WHERE subject = ? AND subject_id = ?
+            ) n
+            WHERE r.id = n.id
+              AND (r.fire_at IS DISTINCT FROM n.fire_at OR r.calendar_id IS DISTINCT FROM ?)
+            RETURNING r.id, r.subject, r.subject_id, r.calendar_id, r.offset_minutes, r.fire_at, r.delivered_at""";
+
+    private static final String FIND_PENDING = """
+            SELECT id, subject, subject_id, calendar_id, offset_minutes, fire_at
+            FROM reminders
+            WHERE fire_at IS NOT NULL AND delivered_at IS NULL
+              AND (fire_at, id) > (?, ?) AND fire_at <= ?
+            ORDER BY fire_at, id
+            LIMIT ?""";
+
+    private static final String CLAIM = """
+            UPDATE reminders r
+            SET delivered_at = now()
+            FROM unnest(?, ?) AS due(id, fire_at)
+            WHERE r.id = due.id AND r.fire_at = due.fire_at AND r.delivered_at IS NULL
+            RETURNING r.id, r.subject, r.subject_id, r.calendar_id, r.offset_minutes, r.fire_at""";
+
+    private static final RowMapper<Reminder> REMINDER_MAPPER = (rs, rowNum) -> {
+        Timestamp fireAt = rs.getTimestamp("fire_at");
+        return new Reminder(
+                rs.getLong("id"),
+                CalendarChange.Subject.valueOf(rs.getString("subject")),
+                rs.getLong("subject_id"),
+                rs.getObject("calendar_id", Long.class),
+                rs.getInt("offset_minutes"),
+                fireAt == null ? null : fireAt.toLocalDateTime());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReminderStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record Rescheduled(Reminder reminder, boolean delivered) {
+    }
+
+    public List<Integer> findOffsets(CalendarChange.Subject subject, long subjectId) {
+        return jdbcTemplate.queryForList(FIND_OFFSETS, Integer.class, subject.name(), subjectId);
+    }
+
+    public List<Long> delete(CalendarChange.Subject subject, long subjectId) {
+        return jdbcTemplate.queryForList(DELETE, Long.class, subject.name(), subjectId);
+    }
+
+    public List<Long> deleteByCalendar(long calendarId) {
+        return jdbcTemplate.queryForList(DELETE_BY_CALENDAR, Long.class, calendarId);
+    }
+
+    public boolean lockTarget(CalendarChange.Subject subject, long subjectId) {
+        return !jdbcTemplate.queryForList(LOCK_TARGET.formatted(table(subject)), Long.class, subjectId).isEmpty();
+    }
+
+    public List<Reminder> insert(CalendarChange.Subject subject, long subjectId, Collection<Integer> offsets) {
+        String sql = INSERT.formatted(table(subject), subject == CalendarChange.Subject.EVENT ? "event_date" : "task_date");
+        return jdbcTemplate.query(sql, ps -> {
+            ps.setString(1, subject.name());
+            ps.setArray(2, ps.getConnection().createArrayOf("integer", offsets.toArray()));
+            ps.setLong(3, subjectId);
+        }, REMINDER_MAPPER);
+    }
+
+    public List<Rescheduled> reschedule(CalendarChange.Subject subject, long subjectId, Long calendarId, LocalDateTime date) {
+        return jdbcTemplate.query(RESCHEDULE, ps -> {
+            ps.setObject(1, calendarId, Types.BIGINT);
+            ps.setObject(2, date == null ? null : Timestamp.valueOf(date), Types.TIMESTAMP);
+            ps.setString(3, subject.name());
+            ps.setLong(4, subjectId);
+            ps.setObject(5, calendarId, Types.BIGINT);
+        }, (rs, rowNum) -> new Rescheduled(REMINDER_MAPPER.mapRow(rs, rowNum), rs.getTimestamp("delivered_at") != null));
+    }
+
+    public List<Reminder> findPending(LocalDateTime afterFireAt, long afterId, LocalDateTime until, int limit) {
+        return jdbcTemplate.query(FIND_PENDING, REMINDER_MAPPER,
+                Timestamp.valueOf(afterFireAt), afterId, Timestamp.valueOf(until), limit);
+    }
+
+    public List<Reminder> claim(List<Reminder> due) {
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        Long[] ids = new Long[due.size()];
+        Timestamp[] fireTimes = new Timestamp[due.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = due.get(i).id();
+            fireTimes[i] = Timestamp.valueOf(due.get(i).fireAt());
+        }
+        return jdbcTemplate.query(CLAIM, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids));
+            ps.setArray(2, ps.getConnection().createArrayOf("timestamp", fireTimes));
+        }, REMINDER_MAPPER);
+    }
+
+    private static String table(CalendarChange.Subject subject) {
+        return switch (subject) {
+            case EVENT -> "events";
+            case TASK -> "tasks";
+            case CALENDAR -> throw new IllegalArgumentException("Calendars do not have reminders");
+        };
+    }
+}
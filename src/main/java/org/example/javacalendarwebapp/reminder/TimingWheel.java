@@ -0,0 +1,170 @@
+package org.example.javacalendarwebapp.reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class TimingWheel<T> {
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final Slot<T>[][] slots;
+    private final Map<Long, Node<T>> nodes = new HashMap<>();
+    private long currentTick;
+
+    private static final class Node<T> {
+        private final long id;
+        private final long deadlineTick;
+        private final T value;
+        private Slot<T> slot;
+        private Node<T> previous;
+        private Node<T> next;
+
+        private Node(long id, long deadlineTick, T value) {
+            this.id = id;
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+    }
+
+    private static final class Slot<T> {
+        private Node<T> head;
+
+        private void add(Node<T> node) {
+            node.slot = this;
+            node.previous = null;
+            node.next = head;
+            if (head != null) {
+                head.previous = node;
+            }
+            head = node;
+        }
+
+        private void remove(Node<T> node) {
+            if (node.previous != null) {
+                node.previous.next = node.next;
+            } else {
+                head = node.next;
+            }
+            if (node.next != null) {
+                node.next.previous = node.previous;
+            }
+            node.slot = null;
+            node.previous = null;
+            node.next = null;
+        }
+
+        private Node<T> takeAll() {
+            Node<T> taken = head;
+            head = null;
+            return taken;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, int bits, int levels, long startMillis) {
+        if (tickMillis < 1 || bits < 1 || levels < 1 || bits * levels > 40) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = bits;
+        this.mask = (1 << bits) - 1;
+        this.levels = levels;
+        this.slots = new Slot[levels][1 << bits];
+        for (Slot<T>[] level : slots) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot<>();
+            }
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    long spanMillis() {
+        return ((1L << (bits * levels)) - 1) * tickMillis;
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    boolean contains(long id) {
+        return nodes.containsKey(id);
+    }
+
+    boolean schedule(long id, long deadlineMillis, T value) {
+        cancel(id);
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        Node<T> node = new Node<>(id, deadlineTick, value);
+        if (!place(node)) {
+            return false;
+        }
+        nodes.put(id, node);
+        return true;
+    }
+
+    boolean cancel(long id) {
+        Node<T> node = nodes.remove(id);
+        if (node == null) {
+            return false;
+        }
+        node.slot.remove(node);
+        return true;
+    }
+
+    List<T> advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        List<T> due = new ArrayList<>();
+        while (currentTick < target) {
+            if (nodes.isEmpty()) {
+                currentTick = target;
+                break;
+            }
+            currentTick++;
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(slots[level][index(currentTick, level)], due);
+                }
+            }
+            cascade(slots[0][index(currentTick, 0)], due);
+        }
+        return due;
+    }
+
+    private void cascade(Slot<T> slot, List<T> due) {
+        Node<T> node = slot.takeAll();
+        while (node != null) {
+            Node<T> next = node.next;
+            node.slot = null;
+            node.previous = null;
+            node.next = null;
+            if (node.deadlineTick <= currentTick) {
+                nodes.remove(node.id);
+                due.add(node.value);
+            } else {
+                place(node);
+            }
+            node = next;
+        }
+    }
+
+    private boolean place(Node<T> node) {
+        for (int level = 0; level < levels - 1; level++) {
+            int shift = bits * (level + 1);
+            if ((node.deadlineTick >>> shift) == (currentTick >>> shift)) {
+                slots[level][index(node.deadlineTick, level)].add(node);
+                return true;
+            }
+        }
+        if (node.deadlineTick - currentTick >= (1L << (bits * levels))) {
+            return false;
+        }
+        slots[levels - 1][index(node.deadlineTick, levels - 1)].add(node);
+        return true;
+    }
+
+    private int index(long tick, int level) {
+        return (int) ((tick >>> (bits * level)) & mask);
+    }
+}
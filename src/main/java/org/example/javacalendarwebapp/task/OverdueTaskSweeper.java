@@ -0,0 +1,135 @@
+package org.example.javacalendarwebapp.task;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.javacalendarwebapp.CacheConfig;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.calendar.feed.CalendarFeedVersions;
+import org.example.javacalendarwebapp.calendar.sync.CalendarChangeLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+@Component
+public class OverdueTaskSweeper {
+    private static final Logger log = LoggerFactory.getLogger(OverdueTaskSweeper.class);
+
+    private final OverdueTasks overdueTasks;
+    private final TransactionTemplate transactionTemplate;
+    private final CalendarFeedVersions feedVersions;
+    private final CalendarChangeLog changeLog;
+    private final CacheManager cacheManager;
+    private final Clock clock;
+    private final int chunkSize;
+    private final Counter flaggedCounter;
+    private final Counter clearedCounter;
+
+    public record Sweep(int flagged, int cleared, boolean contended) {
+    }
+
+    @Autowired
+    public OverdueTaskSweeper(
+            OverdueTasks overdueTasks,
+            PlatformTransactionManager transactionManager,
+            CalendarFeedVersions feedVersions,
+            CalendarChangeLog changeLog,
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.tasks.overdue.chunk-size:1000}") int chunkSize
+    ) {
+        this(overdueTasks, new TransactionTemplate(transactionManager), feedVersions, changeLog, cacheManager,
+                meterRegistry, chunkSize, Clock.systemDefaultZone());
+    }
+
+    OverdueTaskSweeper(OverdueTasks overdueTasks, TransactionTemplate transactionTemplate,
+                       CalendarFeedVersions feedVersions, CalendarChangeLog changeLog, CacheManager cacheManager,
+                       MeterRegistry meterRegistry, int chunkSize, Clock clock) {
+        this.overdueTasks = overdueTasks;
+        this.transactionTemplate = transactionTemplate;
+        this.feedVersions = feedVersions;
+        this.changeLog = changeLog;
+        this.cacheManager = cacheManager;
+        this.clock = clock;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.flaggedCounter = Counter.builder("tasks.overdue.flagged")
+                .description("Tasks flagged as overdue by the overdue sweeper")
+                .register(meterRegistry);
+        this.clearedCounter = Counter.builder("tasks.overdue.cleared")
+                .description("Overdue flags cleared because the task was completed or rescheduled")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tasks.overdue.interval:1m}")
+    public void run() {
+        sweep();
+    }
+
+    public Sweep sweep() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now(clock);
+        Sweep sweep = overdueTasks.whileLocked(() -> {
+            int cleared = drain(limit -> overdueTasks.clear(now, limit));
+            int flagged = drain(limit -> overdueTasks.flag(now, limit));
+            return new Sweep(flagged, cleared, false);
+        }).orElse(new Sweep(0, 0, true));
+        clearedCounter.increment(sweep.cleared());
+        flaggedCounter.increment(sweep.flagged());
+        if (sweep.flagged() > 0 || sweep.cleared() > 0) {
+            log.info("Overdue sweep flagged {} and cleared {} tasks in {} ms", sweep.flagged(), sweep.cleared(),
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } else if (sweep.contended()) {
+            log.debug("Overdue sweep skipped, another node holds the sweep lock");
+        }
+        return sweep;
+    }
+
+    private int drain(IntFunction<List<OverdueTasks.Transition>> step) {
+        int processed = 0;
+        while (true) {
+            int rows = transactionTemplate.execute(status -> apply(step.apply(chunkSize)));
+            processed += rows;
+            if (rows < chunkSize) {
+                return processed;
+            }
+        }
+    }
+
+    private int apply(List<OverdueTasks.Transition> transitions) {
+        if (transitions.isEmpty()) {
+            return 0;
+        }
+        Cache tasks = cacheManager.getCache(CacheConfig.TASKS);
+        // overdue flips change neither date nor calendar, so reminders, webhooks and streams are not notified
+        List<CalendarChange> changes = new ArrayList<>(transitions.size());
+        Set<Long> calendarIds = new LinkedHashSet<>();
+        for (OverdueTasks.Transition transition : transitions) {
+            if (tasks != null) {
+                tasks.evict(transition.id());
+            }
+            changes.add(CalendarChange.updated(CalendarChange.Subject.TASK, transition.id(),
+                    transition.calendarId(), transition.calendarId(), transition.date()));
+            if (transition.calendarId() != null) {
+                calendarIds.add(transition.calendarId());
+            }
+        }
+        feedVersions.bump(calendarIds);
+        changeLog.append(changes);
+        return transitions.size();
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.javacalendarwebapp.task;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Repository
+public class OverdueTasks {
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(hashtext('tasks.overdue-sweep'))";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(hashtext('tasks.overdue-sweep'))";
+
+    private static final String FLAG = """
+            UPDATE tasks t
+            SET overdue = TRUE, version = t.version + 1
+            FROM (
+                SELECT id FROM tasks
+                WHERE completed = FALSE AND overdue = FALSE AND task_date < ?
+                ORDER BY task_date, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ) due
+            WHERE t.id = due.id
+            RETURNING t.id, t.calendar_id, t.task_date""";
+
+    private static final String CLEAR = """
+            UPDATE tasks t
+            SET overdue = FALSE, version = t.version + 1
+            FROM (
+                SELECT id FROM tasks
+                WHERE overdue AND (completed OR task_date IS NULL OR task_date >= ?)
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ) stale
+            WHERE t.id = stale.id
+            RETURNING t.id, t.calendar_id, t.task_date""";
+
+    private static final RowMapper<Transition> TRANSITION_MAPPER = (rs, rowNum) -> {
+        Timestamp date = rs.getTimestamp("task_date");
+        return new Transition(rs.getLong("id"), rs.getObject("calendar_id", Long.class), date == null ? null : date.toLocalDateTime());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OverdueTasks(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record Transition(Long id, Long calendarId, LocalDateTime date) {
+    }
+
+    public <T> Optional<T> whileLocked(Supplier<T> work) {
+        return jdbcTemplate.execute((ConnectionCallback<Optional<T>>) connection -> {
+            if (!query(connection, TRY_LOCK)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(work.get());
+            } finally {
+                query(connection, UNLOCK);
+            }
+        });
+    }
+
+    public List<Transition> flag(LocalDateTime now, int limit) {
+        return jdbcTemplate.query(FLAG, TRANSITION_MAPPER, Timestamp.valueOf(now), limit);
+    }
+
+    public List<Transition> clear(LocalDateTime now, int limit) {
+        return jdbcTemplate.query(CLEAR, TRANSITION_MAPPER, Timestamp.valueOf(now), limit);
+    }
+
+    private static boolean query(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+}
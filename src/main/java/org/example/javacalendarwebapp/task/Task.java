@@ -2,6 +2,8 @@ package org.example.javacalendarwebapp.task;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.example.javacalendarwebapp.calendar.Calendar;
 import org.example.javacalendarwebapp.task.priority.TaskPriorityType;
 
@@ -12,7 +14,8 @@ import java.time.LocalDateTime;
 @Table(name = "tasks")
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "task_title")
@@ -31,6 +34,15 @@ public class Task {
     @Column(name = "completed")
     private Boolean completed = false;
 
+    @Column(name = "overdue", insertable = false, updatable = false)
+    private Boolean overdue = false;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(
         name = "calendar_id",
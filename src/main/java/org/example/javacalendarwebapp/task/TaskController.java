@@ -1,13 +1,30 @@
 package org.example.javacalendarwebapp.task;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import org.example.javacalendarwebapp.common.BulkResult;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.EntityTags;
+import org.example.javacalendarwebapp.common.JsonItemReader;
+import org.example.javacalendarwebapp.common.JsonItemWriter;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.StaleVersionException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -16,52 +33,135 @@ import java.util.List;
 @RequestMapping("/tasks")
 public class TaskController {
     private final TaskService taskService;
+    private final JsonItemReader jsonItemReader;
+    private final JsonItemWriter jsonItemWriter;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, JsonItemReader jsonItemReader, JsonItemWriter jsonItemWriter) {
         this.taskService = taskService;
+        this.jsonItemReader = jsonItemReader;
+        this.jsonItemWriter = jsonItemWriter;
     }
 
     @GetMapping
-    @Operation(summary = "Get all tasks", description = "Retrieve a list of all tasks associated with the calendar.")
+    @Operation(summary = "Get all tasks", description = "Retrieve a page of tasks ordered by id, or the tasks of one calendar between two dates ordered by date.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public List<Task> getAllTasks() {
-        return taskService.findAll();
+    public ResponseEntity<CursorPage<TaskView>> getAllTasks(
+        @Parameter(description = "ID of the calendar to query; requires from and to")
+        @RequestParam(required = false) Long calendarId,
+        @Parameter(description = "Inclusive lower bound of the date range (ISO date-time)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @Parameter(description = "Exclusive upper bound of the date range (ISO date-time)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of tasks to return (capped at 500)")
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        try {
+            if (calendarId == null && from == null && to == null) {
+                return ResponseEntity.ok(taskService.findPage(cursor, limit));
+            }
+            if (calendarId == null || from == null || to == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(taskService.findInRange(calendarId, from, to, cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all tasks", description = "Stream every task ordered by id as newline-delimited JSON or as a JSON array, reading through a forward-only database cursor.")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+        @Parameter(description = "Output format: ndjson (default) or json")
+        @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        boolean ndjson = !"json".equalsIgnoreCase(format);
+        StreamingResponseBody body = jsonItemWriter.<TaskView>stream(ndjson, taskService::exportAll);
+        return ResponseEntity.ok()
+                .contentType(JsonItemWriter.contentType(ndjson))
+                .body(body);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get task by id", description = "Retrieve a specific task based on its id.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public ResponseEntity<Task> getTaskById(
+    public ResponseEntity<TaskView> getTaskById(
         @Parameter(description = "ID of the task to retrieve", required = true)
         @PathVariable Long id
     ) {
-        Task found = taskService.findById(id)
+        TaskView found = taskService.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
-        return ResponseEntity.ok(found);
+        return ResponseEntity.ok().eTag(EntityTags.of(found.version())).body(found);
     }
 
     @PostMapping("/create")
     @Operation(summary = "Create a new task", description = "Create a new task with the provided details.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public ResponseEntity<Task> createTask(
+    public ResponseEntity<TaskView> createTask(
         @Parameter(description = "Details of the task to create", required = true)
         @RequestBody Task task
     ) {
         Task createdTask = taskService.create(task);
-        return ResponseEntity.ok(createdTask);
+        return ResponseEntity.ok(TaskView.of(createdTask));
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Bulk create tasks", description = "Create many tasks from a JSON array or newline-delimited JSON, committed in chunks, with a result per item.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<BulkResult> bulkCreateTasks(InputStream body) throws IOException {
+        try (MappingIterator<Task> tasks = jsonItemReader.readValues(body, Task.class)) {
+            return ResponseEntity.ok(taskService.bulkCreate(tasks));
+        }
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing task", description = "Update the details of an existing task.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public ResponseEntity<Task> updateTask(
+    public ResponseEntity<TaskView> updateTask(
         @Parameter(description = "ID of the task to update", required = true)
         @PathVariable Long id,
         @Parameter(description = "Updated details of the task", required = true)
-        @RequestBody Task task
+        @RequestBody Task task,
+        @Parameter(description = "Entity tag of the task version being replaced; a stale tag is rejected with 412")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        Task updatedTask = taskService.update(id, task);
-        return ResponseEntity.ok(updatedTask);
+        try {
+            Task updatedTask = taskService.update(id, task, EntityTags.expectedVersion(ifMatch));
+            if (updatedTask == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedTask.getVersion())).body(TaskView.of(updatedTask));
+        } catch (StaleVersionException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (DataIntegrityViolationException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch an existing task", description = "Apply a JSON Merge Patch to a task. Only the supplied fields are written, in a single UPDATE without loading the task first; null clears a field.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<TaskView> patchTask(
+        @Parameter(description = "ID of the task to patch", required = true)
+        @PathVariable Long id,
+        @Parameter(description = "Fields to change; omitted fields are left untouched", required = true)
+        @RequestBody JsonNode patch,
+        @Parameter(description = "Entity tag of the task version being patched; a stale tag is rejected with 412")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        try {
+            Task patchedTask = taskService.patch(id, patch, EntityTags.expectedVersion(ifMatch));
+            if (patchedTask == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok().eTag(EntityTags.of(patchedTask.getVersion())).body(TaskView.of(patchedTask));
+        } catch (StaleVersionException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (IllegalArgumentException | DataIntegrityViolationException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -69,10 +169,16 @@ public class TaskController {
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
     public ResponseEntity<Void> deleteTask(
         @Parameter(description = "ID of the task to delete", required = true)
-        @PathVariable Long id
+        @PathVariable Long id,
+        @Parameter(description = "Entity tag of the task version being deleted; a stale tag is rejected with 412")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        taskService.delete(id);
-        return ResponseEntity.noContent().build();
+        try {
+            taskService.delete(id, EntityTags.expectedVersion(ifMatch));
+            return ResponseEntity.noContent().build();
+        } catch (StaleVersionException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
     }
 
     @GetMapping("/{id}/date")
@@ -96,29 +202,45 @@ public class TaskController {
     @GetMapping("/completed")
     @Operation(summary = "Get all completed tasks", description = "Retrieve a list of all completed tasks associated with the calendar.")
     @PreAuthorize("hasAnyRole('ADMIN')")
-    public ResponseEntity<List<Task>> getAllCompletedTasks() {
-        List<Task> completed = taskService.findAllCompletedTasks();
+    public ResponseEntity<List<TaskView>> getAllCompletedTasks() {
+        List<TaskView> completed = taskService.findAllCompletedTasks();
         return ResponseEntity.ok(completed);
     }
 
     @GetMapping("/uncompleted")
     @Operation(summary = "Get all uncompleted tasks", description = "Retrieve a list of all uncompleted tasks associated with the calendar.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public ResponseEntity<List<Task>> getAllUncompletedTasks() {
-        List<Task> uncompleted = taskService.findAllUncompletedTasks();
+    public ResponseEntity<List<TaskView>> getAllUncompletedTasks() {
+        List<TaskView> uncompleted = taskService.findAllUncompletedTasks();
         return ResponseEntity.ok(uncompleted);
     }
 
+    @GetMapping("/overdue")
+    @Operation(summary = "Get overdue tasks", description = "Retrieve a page of uncompleted tasks whose date has passed, as flagged by the overdue sweeper, ordered by id.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<CursorPage<TaskView>> getOverdueTasks(
+        @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of tasks to return (capped at 500)")
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(taskService.findOverduePage(cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}/complete")
     @Operation(summary = "Mark task as completed", description = "Mark a specific task as completed based on its id.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public ResponseEntity<Task> markTaskAsCompleted(
+    public ResponseEntity<TaskView> markTaskAsCompleted(
             @Parameter(description = "ID of the task to mark as completed", required = true)
             @PathVariable Long id
     ) {
         try {
             Task updated = taskService.markAsCompleted(id);
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(TaskView.of(updated));
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.notFound().build();
         }
@@ -1,10 +1,81 @@
 package org.example.javacalendarwebapp.task;
 
+import jakarta.persistence.QueryHint;
+import org.example.javacalendarwebapp.calendar.timeline.TimelinePoint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByCompletedTrue();
-    List<Task> findByCompletedFalse();
-}
\ No newline at end of file
+public interface TaskRepository extends JpaRepository<Task, Long>, VersionedTaskWrites {
+    String SELECT_VIEW = """
+            select new org.example.javacalendarwebapp.task.TaskView(
+                t.id, t.title, t.description, t.priority, t.date, t.completed, t.overdue, t.calendar.id, t.version)
+            from Task t
+            """;
+
+    @Query(SELECT_VIEW + "where t.completed = :completed order by t.id")
+    List<TaskView> findViewsByCompleted(@Param("completed") boolean completed);
+
+    @Query(SELECT_VIEW + "where t.id = :id")
+    Optional<TaskView> findViewById(@Param("id") Long id);
+
+    @Query(SELECT_VIEW + "where t.id > :afterId order by t.id")
+    List<TaskView> findViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SELECT_VIEW + "where t.overdue = true and t.completed = false and t.id > :afterId order by t.id")
+    List<TaskView> findOverdueViewsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SELECT_VIEW + "where t.calendar.id = :calendarId order by t.date, t.id")
+    List<TaskView> findViewsByCalendarId(@Param("calendarId") Long calendarId);
+
+    @Query(SELECT_VIEW + "where t.calendar.id = :calendarId and t.id in :ids order by t.id")
+    List<TaskView> findViewsByCalendarIdAndIdIn(@Param("calendarId") Long calendarId, @Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_VIEW + """
+            where t.calendar.id = :calendarId and t.date >= :from and t.date < :to
+            order by t.date, t.id""")
+    List<TaskView> findInRange(
+            @Param("calendarId") Long calendarId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Limit limit);
+
+    @Query(SELECT_VIEW + """
+            where t.calendar.id = :calendarId and (t.date, t.id) > (:afterDate, :afterId) and t.date < :to
+            order by t.date, t.id""")
+    List<TaskView> findInRangeAfter(
+            @Param("calendarId") Long calendarId,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            @Param("to") LocalDateTime to,
+            Limit limit);
+
+    @Query("""
+            select new org.example.javacalendarwebapp.calendar.timeline.TimelinePoint(t.id, t.date)
+            from Task t
+            where t.calendar.id = :calendarId and t.date is not null""")
+    List<TimelinePoint> findTimelinePoints(@Param("calendarId") Long calendarId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t where t.calendar.id = :calendarId order by t.date, t.id")
+    Stream<Task> streamByCalendarId(@Param("calendarId") Long calendarId);
+}
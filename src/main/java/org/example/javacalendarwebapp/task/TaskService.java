@@ -1,65 +1,236 @@
 package org.example.javacalendarwebapp.task;
 
-import jakarta.transaction.Transactional;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.javacalendarwebapp.CacheConfig;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.common.BulkResult;
+import org.example.javacalendarwebapp.common.BulkWriter;
+import org.example.javacalendarwebapp.common.Cursor;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.PatchedRow;
+import org.example.javacalendarwebapp.common.StaleVersionException;
+import org.example.javacalendarwebapp.common.StreamingReader;
+import org.example.javacalendarwebapp.common.VersionedWrite;
+import org.example.javacalendarwebapp.task.priority.TaskPriorityType;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class TaskService {
+    private static final MergePatch PATCHABLE = new MergePatch()
+            .text("title", "task_title")
+            .text("description", "task_description")
+            .enumerated("priority", "task_priority", TaskPriorityType.class)
+            .dateTime("date", "task_date")
+            .bool("completed", "completed")
+            .reference("calendar", "calendar_id");
+
     private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkWriter bulkWriter;
+    private final StreamingReader streamingReader;
 
-    public TaskService(TaskRepository taskRepository) {
+    public TaskService(
+            TaskRepository taskRepository,
+            ApplicationEventPublisher eventPublisher,
+            BulkWriter bulkWriter,
+            StreamingReader streamingReader
+    ) {
         this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.bulkWriter = bulkWriter;
+        this.streamingReader = streamingReader;
     }
 
+    @Transactional(readOnly = true)
     public List<Task> findAll() {
         return taskRepository.findAll();
     }
 
-    public Optional<Task> findById(Long id) {
-        return taskRepository.findById(id);
+    public void exportAll(Consumer<TaskView> sink) {
+        streamingReader.forEach(taskRepository::streamAll, TaskView::of, sink);
+    }
+
+    public void exportCalendar(Long calendarId, Consumer<TaskView> sink) {
+        streamingReader.forEach(() -> taskRepository.streamByCalendarId(calendarId), TaskView::of, sink);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskView> findByCalendar(Long calendarId) {
+        return taskRepository.findViewsByCalendarId(calendarId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TaskView> findByCalendarAndIds(Long calendarId, Collection<Long> ids) {
+        return ids.isEmpty() ? List.of() : taskRepository.findViewsByCalendarIdAndIdIn(calendarId, ids);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskView> findPage(String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long afterId = cursor == null ? 0L : Cursor.decode(cursor).id();
+        List<TaskView> rows = taskRepository.findViewsAfter(afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, row -> Cursor.of(row.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<TaskView> findOverduePage(String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long afterId = cursor == null ? 0L : Cursor.decode(cursor).id();
+        List<TaskView> rows = taskRepository.findOverdueViewsAfter(afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, row -> Cursor.of(row.id()));
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<TaskView> findInRange(Long calendarId, LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        List<TaskView> rows;
+        if (cursor == null) {
+            rows = taskRepository.findInRange(calendarId, from, to, Limit.of(pageSize + 1));
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            if (after.date() == null) {
+                throw new IllegalArgumentException("Cursor does not belong to a date range query");
+            }
+            rows = taskRepository.findInRangeAfter(calendarId, after.date(), after.id(), to, Limit.of(pageSize + 1));
+        }
+        return CursorPage.of(rows, pageSize, row -> Cursor.of(row.date(), row.id()));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.TASKS, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<TaskView> findById(Long id) {
+        return taskRepository.findViewById(id);
+    }
+
+    @Transactional
     public Task create(Task task) {
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(CalendarChange.created(CalendarChange.Subject.TASK,
+                saved.getId(), CalendarChange.calendarIdOf(saved.getCalendar()), saved.getDate()));
+        return saved;
+    }
+
+    public BulkResult bulkCreate(Iterator<Task> tasks) {
+        return bulkWriter.write(tasks, task -> {
+            task.setId(null);
+            task.setVersion(null);
+            return create(task).getId();
+        });
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.TASKS, CacheConfig.TASK_DATES}, key = "#id")
+    @Transactional
     public Task update(Long id, Task task) {
-        if (!taskRepository.existsById(id)) {
+        return update(id, task, null);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.TASKS, CacheConfig.TASK_DATES}, key = "#id")
+    @Transactional
+    public Task update(Long id, Task task, Long expectedVersion) {
+        task.setId(id);
+        Optional<PatchedRow<Task>> written = taskRepository.updateVersioned(task, expectedVersion);
+        if (written.isEmpty()) {
+            rejectIfStale(id, expectedVersion);
             return null;
         }
-        task.setId(id);
-        return taskRepository.save(task);
+        Task updated = written.get().value();
+        publishUpdated(updated, written.get().previousCalendarId());
+        return updated;
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.TASKS, CacheConfig.TASK_DATES}, key = "#id")
+    @Transactional
+    public Task patch(Long id, JsonNode patch, Long expectedVersion) {
+        List<MergePatch.Assignment> assignments = PATCHABLE.assignments(patch);
+        if (assignments.isEmpty()) {
+            return current(id, expectedVersion);
+        }
+        Optional<PatchedRow<Task>> patched = taskRepository.patchVersioned(id, assignments, expectedVersion);
+        if (patched.isEmpty()) {
+            rejectIfStale(id, expectedVersion);
+            return null;
+        }
+        Task task = patched.get().value();
+        publishUpdated(task, patched.get().previousCalendarId());
+        return task;
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.TASKS, CacheConfig.TASK_DATES}, key = "#id")
+    @Transactional
     public void delete(Long id) {
-        if (!taskRepository.existsById(id)) {
+        delete(id, null);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.TASKS, CacheConfig.TASK_DATES}, key = "#id")
+    @Transactional
+    public void delete(Long id, Long expectedVersion) {
+        Optional<VersionedWrite> deleted = taskRepository.deleteVersioned(id, expectedVersion);
+        if (deleted.isEmpty()) {
+            rejectIfStale(id, expectedVersion);
             return;
         }
-        taskRepository.deleteById(id);
+        eventPublisher.publishEvent(CalendarChange.deleted(CalendarChange.Subject.TASK, id,
+                deleted.get().previousCalendarId()));
     }
 
+    @Cacheable(cacheNames = CacheConfig.TASK_DATES, key = "#id", unless = "#result == null")
+    @Transactional(readOnly = true)
     public LocalDateTime getTaskDateById(Long id) {
         Task t = taskRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + id));
         return t.getDate();
     }
 
-    public List<Task> findAllCompletedTasks() {
-        return taskRepository.findByCompletedTrue();
+    @Transactional(readOnly = true)
+    public List<TaskView> findAllCompletedTasks() {
+        return taskRepository.findViewsByCompleted(true);
     }
 
-    public List<Task> findAllUncompletedTasks() {
-        return taskRepository.findByCompletedFalse();
+    @Transactional(readOnly = true)
+    public List<TaskView> findAllUncompletedTasks() {
+        return taskRepository.findViewsByCompleted(false);
     }
 
+    @CacheEvict(cacheNames = {CacheConfig.TASKS, CacheConfig.TASK_DATES}, key = "#id")
     @Transactional
     public Task markAsCompleted(Long id) {
-        Task t = taskRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + id));
-        t.setCompleted(true);
+        Task completed = taskRepository.complete(id)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + id));
+        publishUpdated(completed, CalendarChange.calendarIdOf(completed.getCalendar()));
+        return completed;
+    }
+
+    private Task current(Long id, Long expectedVersion) {
+        Optional<Task> existing = taskRepository.findById(id);
+        if (existing.isPresent() && expectedVersion != null && !expectedVersion.equals(existing.get().getVersion())) {
+            throw new StaleVersionException("Task " + id + " was modified concurrently");
+        }
+        return existing.orElse(null);
+    }
+
+    private void rejectIfStale(Long id, Long expectedVersion) {
+        if (expectedVersion != null && taskRepository.existsById(id)) {
+            throw new StaleVersionException("Task " + id + " was modified concurrently");
+        }
+    }
 
-        return taskRepository.save(t);
+    private void publishUpdated(Task saved, Long previousCalendarId) {
+        eventPublisher.publishEvent(CalendarChange.updated(CalendarChange.Subject.TASK, saved.getId(),
+                CalendarChange.calendarIdOf(saved.getCalendar()), previousCalendarId, saved.getDate()));
     }
 }
@@ -0,0 +1,23 @@
+package org.example.javacalendarwebapp.task;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.task.priority.TaskPriorityType;
+
+import java.time.LocalDateTime;
+
+public record TaskView(
+        Long id,
+        String title,
+        String description,
+        TaskPriorityType priority,
+        LocalDateTime date,
+        Boolean completed,
+        Boolean overdue,
+        Long calendarId,
+        Long version
+) {
+    public static TaskView of(Task task) {
+        return new TaskView(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(),
+                task.getDate(), task.getCompleted(), task.getOverdue(), CalendarChange.calendarIdOf(task.getCalendar()), task.getVersion());
+    }
+}
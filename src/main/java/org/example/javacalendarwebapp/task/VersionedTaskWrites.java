@@ -0,0 +1,18 @@
+package org.example.javacalendarwebapp.task;
+
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.PatchedRow;
+import org.example.javacalendarwebapp.common.VersionedWrite;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface VersionedTaskWrites {
+    Optional<PatchedRow<Task>> updateVersioned(Task task, Long expectedVersion);
+
+    Optional<PatchedRow<Task>> patchVersioned(Long id, List<MergePatch.Assignment> assignments, Long expectedVersion);
+
+    Optional<Task> complete(Long id);
+
+    Optional<VersionedWrite> deleteVersioned(Long id, Long expectedVersion);
+}
@@ -0,0 +1,135 @@
+package org.example.javacalendarwebapp.task;
+
+import org.example.javacalendarwebapp.calendar.Calendar;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.PatchedRow;
+import org.example.javacalendarwebapp.common.VersionedWrite;
+import org.example.javacalendarwebapp.task.priority.TaskPriorityType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class VersionedTaskWritesImpl implements VersionedTaskWrites {
+    private static final String UPDATE = """
+            UPDATE tasks t
+            SET task_title = ?, task_description = ?, task_priority = ?, task_date = ?, completed = ?,
+                overdue = t.overdue AND NOT ?, calendar_id = ?, version = t.version + 1
+            FROM (SELECT calendar_id FROM tasks WHERE id = ? FOR UPDATE) previous
+            WHERE t.id = ?""";
+    private static final String PATCH_FROM = """
+            , version = t.version + 1
+            FROM (SELECT calendar_id FROM tasks WHERE id = ? FOR UPDATE) previous
+            WHERE t.id = ?""";
+    private static final String TASK_COLUMNS = """
+            t.id, t.task_title, t.task_description, t.task_priority, t.task_date, t.completed, t.overdue,
+                t.version, t.calendar_id""";
+    private static final String PATCH_RETURNING = " RETURNING " + TASK_COLUMNS + ", previous.calendar_id AS previous_calendar_id";
+    private static final String COMPLETE = """
+            UPDATE tasks t
+            SET completed = TRUE, overdue = FALSE,
+                version = t.version + CASE WHEN t.completed AND NOT t.overdue THEN 0 ELSE 1 END
+            WHERE t.id = ?""" + " RETURNING " + TASK_COLUMNS;
+    private static final String DELETE = "DELETE FROM tasks WHERE id = ?";
+    private static final String DELETE_RETURNING = " RETURNING version, calendar_id";
+    private static final String VERSION_MATCHES = " AND version = ?";
+    private static final RowMapper<VersionedWrite> WRITE_MAPPER = (rs, rowNum) ->
+            new VersionedWrite(rs.getLong(1), rs.getObject(2, Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VersionedTaskWritesImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<PatchedRow<Task>> updateVersioned(Task task, Long expectedVersion) {
+        String sql = UPDATE + (expectedVersion == null ? "" : " AND t.version = ?") + PATCH_RETURNING;
+        List<PatchedRow<Task>> rows = jdbcTemplate.query(sql, ps -> {
+            bind(ps, 1, task.getTitle(), Types.VARCHAR);
+            bind(ps, 2, task.getDescription(), Types.VARCHAR);
+            bind(ps, 3, task.getPriority() == null ? null : task.getPriority().name(), Types.VARCHAR);
+            bind(ps, 4, task.getDate(), Types.TIMESTAMP);
+            ps.setBoolean(5, Boolean.TRUE.equals(task.getCompleted()));
+            ps.setBoolean(6, Boolean.TRUE.equals(task.getCompleted()));
+            bind(ps, 7, CalendarChange.calendarIdOf(task.getCalendar()), Types.BIGINT);
+            ps.setLong(8, task.getId());
+            ps.setLong(9, task.getId());
+            if (expectedVersion != null) {
+                ps.setLong(10, expectedVersion);
+            }
+        }, (rs, rowNum) -> new PatchedRow<>(mapTask(rs), rs.getObject("previous_calendar_id", Long.class)));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public Optional<PatchedRow<Task>> patchVersioned(Long id, List<MergePatch.Assignment> assignments, Long expectedVersion) {
+        String sql = "UPDATE tasks t SET " + MergePatch.setClause(assignments) + PATCH_FROM
+                + (expectedVersion == null ? "" : " AND t.version = ?") + PATCH_RETURNING;
+        List<PatchedRow<Task>> rows = jdbcTemplate.query(sql, ps -> {
+            int index = MergePatch.bind(ps, assignments);
+            ps.setLong(index++, id);
+            ps.setLong(index++, id);
+            if (expectedVersion != null) {
+                ps.setLong(index, expectedVersion);
+            }
+        }, (rs, rowNum) -> new PatchedRow<>(mapTask(rs), rs.getObject("previous_calendar_id", Long.class)));
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public Optional<Task> complete(Long id) {
+        return jdbcTemplate.query(COMPLETE, (rs, rowNum) -> mapTask(rs), id).stream().findFirst();
+    }
+
+    @Override
+    public Optional<VersionedWrite> deleteVersioned(Long id, Long expectedVersion) {
+        String sql = DELETE + (expectedVersion == null ? "" : VERSION_MATCHES) + DELETE_RETURNING;
+        List<VersionedWrite> rows = jdbcTemplate.query(sql, ps -> {
+            ps.setLong(1, id);
+            if (expectedVersion != null) {
+                ps.setLong(2, expectedVersion);
+            }
+        }, WRITE_MAPPER);
+        return rows.stream().findFirst();
+    }
+
+    private static Task mapTask(ResultSet rs) throws SQLException {
+        Task task = new Task();
+        task.setId(rs.getLong("id"));
+        task.setTitle(rs.getString("task_title"));
+        task.setDescription(rs.getString("task_description"));
+        String priority = rs.getString("task_priority");
+        task.setPriority(priority == null ? null : TaskPriorityType.valueOf(priority));
+        Timestamp date = rs.getTimestamp("task_date");
+        task.setDate(date == null ? null : date.toLocalDateTime());
+        task.setCompleted(rs.getBoolean("completed"));
+        task.setOverdue(rs.getBoolean("overdue"));
+        task.setVersion(rs.getLong("version"));
+        Long calendarId = rs.getObject("calendar_id", Long.class);
+        if (calendarId != null) {
+            Calendar calendar = new Calendar();
+            calendar.setId(calendarId);
+            task.setCalendar(calendar);
+        }
+        return task;
+    }
+
+    private static void bind(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, sqlType);
+        } else if (value instanceof LocalDateTime dateTime) {
+            ps.setTimestamp(index, Timestamp.valueOf(dateTime));
+        } else {
+            ps.setObject(index, value, sqlType);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.javacalendarwebapp.user;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+public class AccessTokenAuthentication extends UsernamePasswordAuthenticationToken {
+
+    AccessTokenAuthentication(String username, Collection<? extends GrantedAuthority> authorities) {
+        super(username, null, authorities);
+    }
+}
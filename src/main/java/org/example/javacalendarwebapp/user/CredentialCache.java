@@ -0,0 +1,74 @@
+package org.example.javacalendarwebapp.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+@Component
+public class CredentialCache {
+    private static final String HASH_ALGORITHM = "HmacSHA256";
+
+    private final Cache<Key, Authentication> cache;
+    private final SecretKeySpec hashKey;
+
+    public CredentialCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.credential-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.security.credential-cache.ttl:5m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "credentials");
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hashKey = new SecretKeySpec(key, HASH_ALGORITHM);
+    }
+
+    public Authentication get(String username, String presentedPassword) {
+        return cache.getIfPresent(key(username, presentedPassword));
+    }
+
+    public void put(String username, String presentedPassword, Authentication authentication) {
+        cache.put(key(username, presentedPassword), authentication);
+    }
+
+    public void evict(String username) {
+        cache.asMap().keySet().removeIf(key -> key.username().equals(username));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCredentialsChanged(UserCredentialsChangedEvent event) {
+        evict(event.username());
+    }
+
+    private Key key(String username, String presentedPassword) {
+        try {
+            Mac mac = Mac.getInstance(HASH_ALGORITHM);
+            mac.init(hashKey);
+            byte[] digest = mac.doFinal(presentedPassword.getBytes(StandardCharsets.UTF_8));
+            return new Key(username, Base64.getEncoder().encodeToString(digest));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to hash presented credentials", ex);
+        }
+    }
+
+    private record Key(String username, String secretDigest) {
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.javacalendarwebapp.user;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.javacalendarwebapp.user;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Tag(name = "Authentication", description = "Exchange credentials for access tokens")
+@RequestMapping("/auth")
+public class TokenController {
+    private final TokenService tokenService;
+
+    public TokenController(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @PostMapping("/token")
+    @Operation(summary = "Issue access token", description = "Exchange HTTP Basic credentials for a short-lived signed bearer token.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<TokenResponse> issueToken(Authentication authentication) {
+        if (authentication instanceof AccessTokenAuthentication) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"Realm\"")
+                    .build();
+        }
+        return ResponseEntity.ok(tokenService.issue(authentication));
+    }
+}
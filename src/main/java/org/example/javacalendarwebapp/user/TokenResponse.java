@@ -0,0 +1,4 @@
+package org.example.javacalendarwebapp.user;
+
+public record TokenResponse(String accessToken, String tokenType, long expiresIn) {
+}
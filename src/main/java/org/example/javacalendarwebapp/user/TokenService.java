@@ -0,0 +1,147 @@
+package org.example.javacalendarwebapp.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.*;
+
+@Service
+public class TokenService {
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER =
+            ENCODER.encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final SecretKeySpec signingKey;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Cache<String, Long> tokensValidAfter;
+
+    @Autowired
+    public TokenService(
+            ObjectMapper objectMapper,
+            UserRepository userRepository,
+            @Value("${app.security.token.secret:}") String secret,
+            @Value("${app.security.token.ttl:15m}") Duration ttl,
+            @Value("${app.security.token.revocation-check-interval:30s}") Duration revocationCheckInterval
+    ) {
+        this(objectMapper, userRepository, secret, ttl, revocationCheckInterval, Clock.systemUTC());
+    }
+
+    TokenService(ObjectMapper objectMapper, UserRepository userRepository, String secret, Duration ttl,
+                 Duration revocationCheckInterval, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.signingKey = new SecretKeySpec(keyBytes(secret), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.tokensValidAfter = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(revocationCheckInterval)
+                .build();
+    }
+
+    public TokenResponse issue(Authentication authentication) {
+        long issuedAt = clock.millis();
+        long expiresAt = issuedAt / 1000 + ttl.toSeconds();
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", authentication.getName());
+        claims.put("roles", authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        claims.put("iat", BigDecimal.valueOf(issuedAt, 3));
+        claims.put("exp", expiresAt);
+
+        try {
+            String unsigned = HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return new TokenResponse(unsigned + "." + ENCODER.encodeToString(sign(unsigned)), "Bearer", ttl.toSeconds());
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to serialize token claims", ex);
+        }
+    }
+
+    public Optional<Authentication> verify(String token) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot || !HEADER.equals(token.substring(0, firstDot))) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] signature = DECODER.decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(signature, sign(token.substring(0, lastDot)))) {
+                return Optional.empty();
+            }
+
+            JsonNode claims = objectMapper.readTree(DECODER.decode(token.substring(firstDot + 1, lastDot)));
+            String username = claims.path("sub").asText(null);
+            long issuedAt = Math.round(claims.path("iat").asDouble() * 1000);
+            long now = clock.instant().getEpochSecond();
+            if (username == null || claims.path("exp").asLong() <= now || issuedAt <= validAfter(username)) {
+                return Optional.empty();
+            }
+
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            claims.path("roles").forEach(role -> authorities.add(new SimpleGrantedAuthority(role.asText())));
+            return Optional.of(new AccessTokenAuthentication(username, authorities));
+        } catch (IllegalArgumentException | IOException ex) {
+            return Optional.empty();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserCredentialsChanged(UserCredentialsChangedEvent event) {
+        tokensValidAfter.invalidate(event.username());
+    }
+
+    private long validAfter(String username) {
+        return tokensValidAfter.get(username,
+                name -> userRepository.findTokensValidAfter(name).orElse(Long.MAX_VALUE));
+    }
+
+    private byte[] sign(String content) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(content.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to sign access token", ex);
+        }
+    }
+
+    private static byte[] keyBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.security.token.secret is not set, using a random key; access tokens will not survive a restart");
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+        return Base64.getDecoder().decode(secret);
+    }
+}
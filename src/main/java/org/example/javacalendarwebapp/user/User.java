@@ -4,11 +4,19 @@ import java.util.HashSet;
 import java.util.Set;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import org.example.javacalendarwebapp.calendar.Calendar;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@Getter
+@Setter
+@ToString
 @Table(name = "users")
 public class User {
     @Id
@@ -21,11 +29,36 @@ public class User {
     @Column(name = "password", nullable = false)
     private String password;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "tokens_valid_after", nullable = false)
+    private long tokensValidAfter;
+
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "role", nullable = false, columnDefinition = "TEXT")
     private Set<String> roles = new HashSet<>();
 
     @ManyToMany(mappedBy = "users")
+    @ToString.Exclude
     private Set<Calendar> calendars = new HashSet<>();
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof User other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return User.class.hashCode();
+    }
+}
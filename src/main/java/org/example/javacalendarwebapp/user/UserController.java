@@ -1,5 +1,10 @@
 package org.example.javacalendarwebapp.user;
 
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.EntityTags;
+import org.example.javacalendarwebapp.common.StaleVersionException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -8,8 +13,6 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
-import java.util.List;
-
 @RestController
 @Tag(name = "User Management", description = "Manage user accounts and profiles")
 @RequestMapping("/users")
@@ -21,46 +24,64 @@ public class UserController {
     }
     
     @GetMapping
-    @Operation(summary = "Get user profile", description = "Retrieve the profile information of the currently authenticated user.")
+    @Operation(summary = "Get all users", description = "Retrieve a page of user profiles ordered by id.")
     @PreAuthorize("hasAnyRole('ADMIN')")
-    public List<User> getAllUsers() {
-        return userService.findAll();
+    public ResponseEntity<CursorPage<UserView>> getAllUsers(
+        @Parameter(description = "Opaque cursor returned as nextCursor by the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of users to return (capped at 500)")
+        @RequestParam(defaultValue = "50") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(userService.findPage(cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get user by id", description = "Retrieve a specific user profile based on its id.")
     @PreAuthorize("hasAnyRole('ADMIN')")
-    public ResponseEntity<User> getUserById(
+    public ResponseEntity<UserView> getUserById(
         @Parameter(description = "ID of the user to retrieve", required = true)
         @PathVariable Long id
     ) {
-        User found = userService.findById(id)
+        UserView found = userService.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
-        return ResponseEntity.ok(found);
+        return ResponseEntity.ok().eTag(EntityTags.of(found.version())).body(found);
     }
 
     @PostMapping("/create")
     @Operation(summary = "Create a new user", description = "Create a new user profile with the provided details.")
     @PreAuthorize("hasAnyRole('USER','ADMIN')")
-    public ResponseEntity<User> createUser(
+    public ResponseEntity<UserView> createUser(
         @Parameter(description = "Details of the user to create", required = true)
         @RequestBody User user
     ) {
         User createdUser = userService.create(user);
-        return ResponseEntity.ok(createdUser);
+        return ResponseEntity.ok(UserView.of(createdUser));
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing user", description = "Update the details of an existing user profile.")
     @PreAuthorize("hasAnyRole('ADMIN')")
-    public ResponseEntity<User> updateUser(
+    public ResponseEntity<UserView> updateUser(
         @Parameter(description = "ID of the user to update", required = true)
         @PathVariable Long id,
         @Parameter(description = "Updated details of the user", required = true)
-        @RequestBody User user
+        @RequestBody User user,
+        @Parameter(description = "Entity tag of the user version being replaced; a stale tag is rejected with 412")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        User updatedUser = userService.update(id, user);
-        return ResponseEntity.ok(updatedUser);
+        try {
+            User updatedUser = userService.update(id, user, EntityTags.expectedVersion(ifMatch));
+            if (updatedUser == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok().eTag(EntityTags.of(updatedUser.getVersion())).body(UserView.of(updatedUser));
+        } catch (StaleVersionException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -68,9 +89,15 @@ public class UserController {
     @PreAuthorize("hasAnyRole('ADMIN')")
     public ResponseEntity<Void> deleteUser(
         @Parameter(description = "ID of the user to delete", required = true)
-        @PathVariable Long id
+        @PathVariable Long id,
+        @Parameter(description = "Entity tag of the user version being deleted; a stale tag is rejected with 412")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        userService.delete(id);
-        return ResponseEntity.noContent().build();
+        try {
+            userService.delete(id, EntityTags.expectedVersion(ifMatch));
+            return ResponseEntity.noContent().build();
+        } catch (StaleVersionException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
     }
 }
\ No newline at end of file
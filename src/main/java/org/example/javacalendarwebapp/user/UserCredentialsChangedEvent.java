@@ -0,0 +1,4 @@
+package org.example.javacalendarwebapp.user;
+
+public record UserCredentialsChangedEvent(String username) {
+}
@@ -1,9 +1,45 @@
 package org.example.javacalendarwebapp.user;
 
+import java.util.List;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    String SELECT_ROW = """
+            SELECT u.id AS id, u.username AS username, u.version AS version,
+                   string_agg(r.role, ',' ORDER BY r.role) AS roles
+            FROM users u
+            LEFT JOIN user_roles r ON r.user_id = u.id
+            """;
+
+    interface UserRow {
+        Long getId();
+
+        String getUsername();
+
+        Long getVersion();
+
+        String getRoles();
+    }
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-username")
+    })
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    @Query(value = "SELECT tokens_valid_after FROM users WHERE username = :username", nativeQuery = true)
+    Optional<Long> findTokensValidAfter(@Param("username") String username);
+
+    @Query(value = SELECT_ROW + "WHERE u.id = :id GROUP BY u.id", nativeQuery = true)
+    Optional<UserRow> findRowById(@Param("id") Long id);
+
+    @Query(value = SELECT_ROW + "WHERE u.id > :afterId GROUP BY u.id ORDER BY u.id LIMIT :limit", nativeQuery = true)
+    List<UserRow> findRowsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+}
@@ -1,42 +1,126 @@
 package org.example.javacalendarwebapp.user;
 
+import org.example.javacalendarwebapp.common.Cursor;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.StaleVersionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class UserService {
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordEncoder passwordEncoder;
+    private final Clock clock;
 
-    public UserService(UserRepository userRepository) {
+    @Autowired
+    public UserService(UserRepository userRepository, ApplicationEventPublisher eventPublisher, PasswordEncoder passwordEncoder) {
+        this(userRepository, eventPublisher, passwordEncoder, Clock.systemUTC());
+    }
+
+    UserService(UserRepository userRepository, ApplicationEventPublisher eventPublisher, PasswordEncoder passwordEncoder,
+                Clock clock) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.passwordEncoder = passwordEncoder;
+        this.clock = clock;
     }
 
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return userRepository.findAll();
     }
 
-    public Optional<User> findById(Long id) {
-        return userRepository.findById(id);
+    @Transactional(readOnly = true)
+    public CursorPage<UserView> findPage(String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long afterId = cursor == null ? 0L : Cursor.decode(cursor).id();
+        List<UserView> rows = userRepository.findRowsAfter(afterId, pageSize + 1).stream()
+                .map(UserView::of)
+                .toList();
+        return CursorPage.of(rows, pageSize, row -> Cursor.of(row.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<UserView> findById(Long id) {
+        return userRepository.findRowById(id).map(UserView::of);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Long> findIdByUsername(String username) {
+        return userRepository.findByUsername(username).map(User::getId);
     }
 
     public User create(User user) {
+        encodePassword(user);
         return userRepository.save(user);
     }
 
     public User update(Long id, User user) {
-        if (!userRepository.existsById(id)) {
+        return update(id, user, null);
+    }
+
+    @Transactional
+    public User update(Long id, User user, Long expectedVersion) {
+        Optional<User> existing = userRepository.findById(id);
+        if (existing.isEmpty()) {
             return null;
         }
-        user.setId(id);
-        return userRepository.save(user);
+        User current = existing.get();
+        requireVersion(current, expectedVersion);
+        String previousUsername = current.getUsername();
+        encodePassword(user);
+        current.setUsername(user.getUsername());
+        current.setPassword(user.getPassword());
+        current.setRoles(user.getRoles());
+        current.setTokensValidAfter(clock.millis());
+        User saved;
+        try {
+            saved = userRepository.saveAndFlush(current);
+        } catch (OptimisticLockingFailureException ex) {
+            throw new StaleVersionException("User " + id + " was modified concurrently");
+        }
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(previousUsername));
+        return saved;
     }
 
     public void delete(Long id) {
-        if (!userRepository.existsById(id)) {
+        delete(id, null);
+    }
+
+    @Transactional
+    public void delete(Long id, Long expectedVersion) {
+        Optional<User> existing = userRepository.findById(id);
+        if (existing.isEmpty()) {
             return;
         }
-        userRepository.deleteById(id);
+        requireVersion(existing.get(), expectedVersion);
+        try {
+            userRepository.delete(existing.get());
+            userRepository.flush();
+        } catch (OptimisticLockingFailureException ex) {
+            throw new StaleVersionException("User " + id + " was modified concurrently");
+        }
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(existing.get().getUsername()));
+    }
+
+    private static void requireVersion(User user, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new StaleVersionException("User " + user.getId() + " was modified concurrently");
+        }
+    }
+
+    private void encodePassword(User user) {
+        if (user.getPassword() != null && !PooledPasswordEncoder.isEncoded(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+        }
     }
 }
@@ -0,0 +1,24 @@
+package org.example.javacalendarwebapp.user;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+public record UserView(
+        Long id,
+        String username,
+        Set<String> roles,
+        Long version
+) {
+    public static UserView of(User user) {
+        return new UserView(user.getId(), user.getUsername(), new TreeSet<>(user.getRoles()), user.getVersion());
+    }
+
+    public static UserView of(UserRepository.UserRow row) {
+        Set<String> roles = new TreeSet<>();
+        if (row.getRoles() != null) {
+            roles.addAll(Arrays.asList(row.getRoles().split(",")));
+        }
+        return new UserView(row.getId(), row.getUsername(), roles, row.getVersion());
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.javacalendarwebapp.webhook;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+@RestController
+@Tag(name = "Webhooks", description = "Receive task, event and reminder notifications over HTTP callbacks")
+@RequestMapping("/webhooks")
+public class WebhookController {
+    private final WebhookService webhookService;
+
+    public WebhookController(WebhookService webhookService) {
+        this.webhookService = webhookService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get webhook subscriptions", description = "List the webhook subscriptions of the authenticated user.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<List<WebhookSubscription>> getSubscriptions(Authentication authentication) {
+        return ResponseEntity.ok(webhookService.findAll(authentication.getName()));
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a webhook subscription", description = "Deliver changes and due reminders of one of the user's calendars, or of every calendar the user belongs to, to the given url. Administrators may subscribe to any calendar. Payloads are signed with HMAC-SHA256 when a secret is set.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<WebhookSubscription> createSubscription(
+        Authentication authentication,
+        @Parameter(description = "Callback url, optional calendar and optional signing secret", required = true)
+        @RequestBody WebhookSubscriptionRequest request
+    ) {
+        try {
+            boolean admin = authentication.getAuthorities().stream()
+                    .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+            return ResponseEntity.ok(webhookService.create(authentication.getName(), admin, request));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a webhook subscription", description = "Delete a webhook subscription and drop its undelivered payloads.")
+    @PreAuthorize("hasAnyRole('USER','ADMIN')")
+    public ResponseEntity<Void> deleteSubscription(
+        Authentication authentication,
+        @Parameter(description = "ID of the subscription to delete", required = true)
+        @PathVariable Long id
+    ) {
+        if (!webhookService.delete(authentication.getName(), id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.javacalendarwebapp.webhook;
+
+import java.time.Instant;
+
+public record WebhookDelivery(
+        long id,
+        long subscriptionId,
+        String url,
+        String secret,
+        String payload,
+        int attempts,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,310 @@
+package org.example.javacalendarwebapp.webhook;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class WebhookDispatcher implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(WebhookDispatcher.class);
+    static final String SIGNATURE_HEADER = "X-Webhook-Signature";
+    static final String TIMESTAMP_HEADER = "X-Webhook-Timestamp";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final WebhookOutbox outbox;
+    private final WebhookTargets targets;
+    private final HttpClient httpClient;
+    private final ExecutorService sender;
+    private final WebhookRetryPolicy retryPolicy;
+    private final Clock clock;
+    private final int batchSize;
+    private final int leaseSize;
+    private final int perHostConcurrency;
+    private final Duration lease;
+    private final Duration requestTimeout;
+    private final Duration hostWait;
+    private final Semaphore inFlight;
+    private final Map<String, Semaphore> hosts = new ConcurrentHashMap<>();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer latency;
+    private final Timer succeededRequests;
+    private final Timer failedRequests;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter released;
+
+    @Autowired
+    public WebhookDispatcher(
+            WebhookOutbox outbox,
+            WebhookTargets targets,
+            MeterRegistry meterRegistry,
+            @Value("${app.webhooks.batch-size:100}") int batchSize,
+            @Value("${app.webhooks.lease-size:1000}") int leaseSize,
+            @Value("${app.webhooks.per-host-concurrency:8}") int perHostConcurrency,
+            @Value("${app.webhooks.max-in-flight:5000}") int maxInFlight,
+            @Value("${app.webhooks.lease:2m}") Duration lease,
+            @Value("${app.webhooks.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${app.webhooks.request-timeout:10s}") Duration requestTimeout,
+            @Value("${app.webhooks.initial-retry-delay:5s}") Duration initialRetryDelay,
+            @Value("${app.webhooks.max-retry-delay:1h}") Duration maxRetryDelay,
+            @Value("${app.webhooks.max-attempts:15}") int maxAttempts
+    ) {
+        this(outbox, targets, meterRegistry, HttpClient.newBuilder().connectTimeout(connectTimeout).build(),
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("webhook-sender-", 0).factory()),
+                new WebhookRetryPolicy(initialRetryDelay, maxRetryDelay, maxAttempts), Clock.systemUTC(),
+                batchSize, leaseSize, perHostConcurrency, maxInFlight, lease, requestTimeout);
+    }
+
+    WebhookDispatcher(WebhookOutbox outbox, WebhookTargets targets, MeterRegistry meterRegistry, HttpClient httpClient,
+                      ExecutorService sender, WebhookRetryPolicy retryPolicy, Clock clock, int batchSize, int leaseSize,
+                      int perHostConcurrency, int maxInFlight, Duration lease, Duration requestTimeout) {
+        if (batchSize < 1 || leaseSize < 1 || perHostConcurrency < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Webhook batch, lease, concurrency and in-flight limits must be positive");
+        }
+        if (lease.compareTo(requestTimeout.multipliedBy(2)) < 0) {
+            throw new IllegalArgumentException("Webhook lease " + lease + " must be at least twice the request timeout");
+        }
+        this.outbox = outbox;
+        this.targets = targets;
+        this.httpClient = httpClient;
+        this.sender = sender;
+        this.retryPolicy = retryPolicy;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.leaseSize = leaseSize;
+        this.perHostConcurrency = perHostConcurrency;
+        this.lease = lease;
+        this.requestTimeout = requestTimeout;
+        this.hostWait = lease.minus(requestTimeout.multipliedBy(2));
+        this.inFlight = new Semaphore(maxInFlight);
+        this.latency = Timer.builder("webhooks.delivery.latency")
+                .description("Time from enqueueing a webhook payload to its successful delivery")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.succeededRequests = Timer.builder("webhooks.requests")
+                .description("Webhook HTTP requests")
+                .tags("outcome", "success")
+                .register(meterRegistry);
+        this.failedRequests = Timer.builder("webhooks.requests")
+                .description("Webhook HTTP requests")
+                .tags("outcome", "failure")
+                .register(meterRegistry);
+        this.delivered = Counter.builder("webhooks.deliveries")
+                .description("Webhook payloads by delivery outcome")
+                .tags("outcome", "delivered")
+                .register(meterRegistry);
+        this.retried = Counter.builder("webhooks.deliveries")
+                .description("Webhook payloads by delivery outcome")
+                .tags("outcome", "retried")
+                .register(meterRegistry);
+        this.failed = Counter.builder("webhooks.deliveries")
+                .description("Webhook payloads by delivery outcome")
+                .tags("outcome", "failed")
+                .register(meterRegistry);
+        this.released = Counter.builder("webhooks.deliveries")
+                .description("Webhook payloads by delivery outcome")
+                .tags("outcome", "released")
+                .register(meterRegistry);
+        Gauge.builder("webhooks.queue.depth", queueDepth, AtomicLong::get)
+                .description("Webhook payloads waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("webhooks.in-flight", inFlight, permits -> maxInFlight - permits.availablePermits())
+                .description("Webhook payloads leased by this node and not yet acknowledged")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhooks.poll-interval:250ms}")
+    public void poll() {
+        int capacity;
+        while ((capacity = Math.min(leaseSize, inFlight.availablePermits())) > 0) {
+            List<WebhookDelivery> leased = outbox.lease(capacity, lease);
+            if (leased.isEmpty()) {
+                return;
+            }
+            inFlight.acquireUninterruptibly(leased.size());
+            dispatch(leased, System.nanoTime() + hostWait.toNanos());
+            if (leased.size() < capacity) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhooks.queue-depth-interval:15s}")
+    public void refreshQueueDepth() {
+        queueDepth.set(outbox.countPending());
+    }
+
+    private void dispatch(List<WebhookDelivery> leased, long hostDeadline) {
+        Map<Long, List<WebhookDelivery>> bySubscription = new LinkedHashMap<>();
+        for (WebhookDelivery delivery : leased) {
+            bySubscription.computeIfAbsent(delivery.subscriptionId(), id -> new ArrayList<>()).add(delivery);
+        }
+        for (List<WebhookDelivery> deliveries : bySubscription.values()) {
+            for (int from = 0; from < deliveries.size(); from += batchSize) {
+                List<WebhookDelivery> batch = deliveries.subList(from, Math.min(from + batchSize, deliveries.size()));
+                try {
+                    sender.execute(() -> send(batch, hostDeadline));
+                } catch (RejectedExecutionException ex) {
+                    inFlight.release(batch.size());
+                }
+            }
+        }
+    }
+
+    private void send(List<WebhookDelivery> batch, long hostDeadline) {
+        try {
+            WebhookDelivery first = batch.getFirst();
+            Semaphore host = hosts.computeIfAbsent(hostOf(first.url()), key -> new Semaphore(perHostConcurrency));
+            if (!host.tryAcquire(hostDeadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                outbox.release(batch.stream().map(WebhookDelivery::id).toList());
+                released.increment(batch.size());
+                return;
+            }
+            long started = System.nanoTime();
+            String error;
+            try {
+                // the client resolves the host again, so this narrows a DNS rebinding window but cannot close it
+                targets.check(first.url());
+                HttpResponse<Void> response = httpClient.send(request(first, body(batch)), HttpResponse.BodyHandlers.discarding());
+                error = response.statusCode() / 100 == 2 ? null : "HTTP " + response.statusCode();
+            } catch (IOException | IllegalArgumentException ex) {
+                error = ex.getClass().getSimpleName() + (ex.getMessage() == null ? "" : ": " + ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                host.release();
+            }
+            (error == null ? succeededRequests : failedRequests).record(Duration.ofNanos(System.nanoTime() - started));
+            acknowledge(batch, error);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            log.warn("Could not record the outcome of {} webhook deliveries; they are retried once their lease expires",
+                    batch.size(), ex);
+        } finally {
+            inFlight.release(batch.size());
+        }
+    }
+
+    private void acknowledge(List<WebhookDelivery> batch, String error) {
+        if (error == null) {
+            outbox.complete(batch.stream().map(WebhookDelivery::id).toList());
+            Instant now = clock.instant();
+            batch.forEach(delivery -> latency.record(Duration.between(delivery.createdAt(), now)));
+            delivered.increment(batch.size());
+            return;
+        }
+        String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        Map<Long, Duration> delays = new LinkedHashMap<>();
+        List<Long> exhausted = new ArrayList<>();
+        for (WebhookDelivery delivery : batch) {
+            int failedAttempts = delivery.attempts() + 1;
+            if (retryPolicy.exhausted(failedAttempts)) {
+                exhausted.add(delivery.id());
+            } else {
+                delays.put(delivery.id(), retryPolicy.delay(failedAttempts, ThreadLocalRandom.current()));
+            }
+        }
+        outbox.retry(delays, lastError);
+        outbox.fail(exhausted, lastError);
+        retried.increment(delays.size());
+        if (!exhausted.isEmpty()) {
+            failed.increment(exhausted.size());
+            log.warn("Giving up on {} webhook deliveries to {} after {} attempts: {}", exhausted.size(),
+                    batch.getFirst().url(), retryPolicy.maxAttempts(), lastError);
+        }
+    }
+
+    private HttpRequest request(WebhookDelivery delivery, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(delivery.url()))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+        if (delivery.secret() != null) {
+            String timestamp = Long.toString(clock.instant().getEpochSecond());
+            request.header(TIMESTAMP_HEADER, timestamp)
+                    .header(SIGNATURE_HEADER, "sha256=" + sign(delivery.secret(), timestamp + "." + body));
+        }
+        return request.build();
+    }
+
+    static String body(List<WebhookDelivery> batch) {
+        StringBuilder body = new StringBuilder(128 * batch.size()).append("{\"deliveries\":[");
+        for (int i = 0; i < batch.size(); i++) {
+            WebhookDelivery delivery = batch.get(i);
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"id\":").append(delivery.id())
+                    .append(",\"attempt\":").append(delivery.attempts() + 1)
+                    .append(",\"event\":").append(delivery.payload())
+                    .append('}');
+        }
+        return body.append("]}").toString();
+    }
+
+    static String sign(String secret, String content) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return HexFormat.of().formatHex(mac.doFinal(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to sign webhook payload", ex);
+        }
+    }
+
+    private static String hostOf(String url) {
+        try {
+            URI uri = URI.create(url);
+            return uri.getScheme() + "://" + uri.getAuthority();
+        } catch (IllegalArgumentException ex) {
+            return url;
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        sender.shutdown();
+        if (!sender.awaitTermination(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            sender.shutdownNow();
+        }
+        httpClient.shutdownNow();
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.javacalendarwebapp.webhook;
+
+public record WebhookNotification(Long calendarId, String payload) {
+}
@@ -0,0 +1,70 @@
+package org.example.javacalendarwebapp.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.reminder.Reminder;
+import org.example.javacalendarwebapp.reminder.ReminderSink;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Component
+public class WebhookNotifier implements ReminderSink {
+    static final String CHANGE = "calendar.change";
+    static final String REMINDER = "reminder.due";
+
+    private final WebhookOutbox outbox;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public WebhookNotifier(WebhookOutbox outbox, ObjectMapper objectMapper) {
+        this(outbox, objectMapper, Clock.systemUTC());
+    }
+
+    WebhookNotifier(WebhookOutbox outbox, ObjectMapper objectMapper, Clock clock) {
+        this.outbox = outbox;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    record WebhookEvent(String type, Instant occurredAt, Object data) {
+    }
+
+    @EventListener
+    public void onCalendarChange(CalendarChange change) {
+        String payload = payload(CHANGE, change);
+        List<WebhookNotification> notifications = new ArrayList<>(2);
+        if (change.calendarId() != null) {
+            notifications.add(new WebhookNotification(change.calendarId(), payload));
+        }
+        if (change.previousCalendarId() != null && !Objects.equals(change.previousCalendarId(), change.calendarId())) {
+            notifications.add(new WebhookNotification(change.previousCalendarId(), payload));
+        }
+        outbox.enqueue(notifications);
+    }
+
+    @Override
+    public void deliver(List<Reminder> reminders) {
+        List<WebhookNotification> notifications = new ArrayList<>(reminders.size());
+        for (Reminder reminder : reminders) {
+            if (reminder.calendarId() != null) {
+                notifications.add(new WebhookNotification(reminder.calendarId(), payload(REMINDER, reminder)));
+            }
+        }
+        outbox.enqueue(notifications);
+    }
+
+    private String payload(String type, Object data) {
+        try {
+            return objectMapper.writeValueAsString(new WebhookEvent(type, clock.instant(), data));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unable to serialize webhook payload", ex);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.javacalendarwebapp.webhook;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class WebhookOutbox {
+    private static final String ENQUEUE = """
+            INSERT INTO webhook_outbox (subscription_id, payload)
+            SELECT DISTINCT s.id, n.payload
+            FROM unnest(?, ?) AS n(calendar_id, payload)
+            JOIN webhook_subscriptions s
+              ON s.calendar_id = n.calendar_id
+              OR (s.calendar_id IS NULL AND EXISTS (
+                    SELECT 1 FROM calendars_users cu
+                    WHERE cu.calendar_id = n.calendar_id AND cu.user_id = s.user_id))""";
+
+    private static final String LEASE = """
+            WITH due AS (
+                SELECT id FROM webhook_outbox
+                WHERE failed_at IS NULL AND next_attempt_at <= now()
+                ORDER BY next_attempt_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE webhook_outbox o
+            SET next_attempt_at = now() + make_interval(secs => ?)
+            FROM due, webhook_subscriptions s
+            WHERE o.id = due.id AND s.id = o.subscription_id
+            RETURNING o.id, o.subscription_id, s.url, s.secret, o.payload, o.attempts, o.created_at""";
+
+    private static final String COMPLETE = "DELETE FROM webhook_outbox WHERE id = ANY(?)";
+
+    private static final String RETRY = """
+            UPDATE webhook_outbox o
+            SET attempts = o.attempts + 1,
+                next_attempt_at = now() + make_interval(secs => r.delay_millis / 1000.0),
+                last_error = ?
+            FROM unnest(?, ?) AS r(id, delay_millis)
+            WHERE o.id = r.id""";
+
+    private static final String FAIL = """
+            UPDATE webhook_outbox
+            SET attempts = attempts + 1, failed_at = now(), last_error = ?
+            WHERE id = ANY(?)""";
+
+    private static final String RELEASE = "UPDATE webhook_outbox SET next_attempt_at = now() WHERE id = ANY(?)";
+
+    private static final String PURGE_FAILED = "DELETE FROM webhook_outbox WHERE failed_at < ?";
+
+    private static final String COUNT_PENDING = "SELECT count(*) FROM webhook_outbox WHERE failed_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WebhookOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int enqueue(List<WebhookNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        Long[] calendarIds = new Long[notifications.size()];
+        String[] payloads = new String[notifications.size()];
+        for (int i = 0; i < calendarIds.length; i++) {
+            calendarIds[i] = notifications.get(i).calendarId();
+            payloads[i] = notifications.get(i).payload();
+        }
+        return jdbcTemplate.update(ENQUEUE, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", calendarIds));
+            ps.setArray(2, ps.getConnection().createArrayOf("text", payloads));
+        });
+    }
+
+    public List<WebhookDelivery> lease(int limit, Duration lease) {
+        return jdbcTemplate.query(LEASE, (rs, rowNum) -> new WebhookDelivery(
+                rs.getLong("id"),
+                rs.getLong("subscription_id"),
+                rs.getString("url"),
+                rs.getString("secret"),
+                rs.getString("payload"),
+                rs.getInt("attempts"),
+                rs.getTimestamp("created_at").toInstant()), limit, lease.toMillis() / 1000.0);
+    }
+
+    public void complete(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(COMPLETE, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    public void retry(Map<Long, Duration> delays, String error) {
+        if (delays.isEmpty()) {
+            return;
+        }
+        Long[] ids = delays.keySet().toArray(Long[]::new);
+        Long[] delayMillis = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            delayMillis[i] = delays.get(ids[i]).toMillis();
+        }
+        jdbcTemplate.update(RETRY, ps -> {
+            ps.setString(1, error);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids));
+            ps.setArray(3, ps.getConnection().createArrayOf("bigint", delayMillis));
+        });
+    }
+
+    public void fail(Collection<Long> ids, String error) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(FAIL, ps -> {
+            ps.setString(1, error);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+        });
+    }
+
+    public void release(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(RELEASE, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    public int purgeFailed(Instant before) {
+        return jdbcTemplate.update(PURGE_FAILED, Timestamp.from(before));
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject(COUNT_PENDING, Long.class);
+        return count == null ? 0L : count;
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.javacalendarwebapp.webhook;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Component
+public class WebhookOutboxCompactor {
+    private static final Logger log = LoggerFactory.getLogger(WebhookOutboxCompactor.class);
+
+    private final WebhookOutbox outbox;
+    private final Duration failedRetention;
+    private final Clock clock;
+
+    public WebhookOutboxCompactor(WebhookOutbox outbox, @Value("${app.webhooks.failed-retention:7d}") Duration failedRetention) {
+        this(outbox, failedRetention, Clock.systemUTC());
+    }
+
+    WebhookOutboxCompactor(WebhookOutbox outbox, Duration failedRetention, Clock clock) {
+        this.outbox = outbox;
+        this.failedRetention = failedRetention;
+        this.clock = clock;
+    }
+
+    @Scheduled(initialDelayString = "${app.webhooks.compaction-interval:1h}", fixedDelayString = "${app.webhooks.compaction-interval:1h}")
+    public void compact() {
+        int purged = outbox.purgeFailed(clock.instant().minus(failedRetention));
+        if (purged > 0) {
+            log.info("Purged {} failed webhook deliveries older than {}", purged, failedRetention);
+        }
+    }
+}
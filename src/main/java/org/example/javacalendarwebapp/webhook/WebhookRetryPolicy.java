@@ -0,0 +1,27 @@
+package org.example.javacalendarwebapp.webhook;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+record WebhookRetryPolicy(Duration initialDelay, Duration maxDelay, int maxAttempts) {
+
+    WebhookRetryPolicy {
+        if (initialDelay.isNegative() || initialDelay.isZero() || maxDelay.compareTo(initialDelay) < 0 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Invalid webhook retry policy");
+        }
+    }
+
+    boolean exhausted(int failedAttempts) {
+        return failedAttempts >= maxAttempts;
+    }
+
+    Duration delay(int failedAttempts, RandomGenerator random) {
+        long ceiling = maxDelay.toMillis();
+        int doublings = Math.min(Math.max(failedAttempts - 1, 0), 62);
+        long capped = initialDelay.toMillis() > (ceiling >> doublings)
+                ? ceiling
+                : Math.min(ceiling, initialDelay.toMillis() << doublings);
+        long half = capped / 2;
+        return Duration.ofMillis(half + random.nextLong(capped - half + 1));
+    }
+}
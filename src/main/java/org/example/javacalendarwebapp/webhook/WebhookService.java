@@ -0,0 +1,71 @@
+package org.example.javacalendarwebapp.webhook;
+
+import org.example.javacalendarwebapp.calendar.CalendarService;
+import org.example.javacalendarwebapp.user.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class WebhookService {
+    private static final int MAX_SECRET_LENGTH = 256;
+
+    private final WebhookSubscriptions subscriptions;
+    private final UserService userService;
+    private final CalendarService calendarService;
+    private final WebhookTargets targets;
+    private final int maxPerUser;
+
+    public WebhookService(
+            WebhookSubscriptions subscriptions,
+            UserService userService,
+            CalendarService calendarService,
+            WebhookTargets targets,
+            @Value("${app.webhooks.max-per-user:20}") int maxPerUser
+    ) {
+        this.subscriptions = subscriptions;
+        this.userService = userService;
+        this.calendarService = calendarService;
+        this.targets = targets;
+        this.maxPerUser = maxPerUser;
+    }
+
+    @Transactional(readOnly = true)
+    public List<WebhookSubscription> findAll(String username) {
+        return userService.findIdByUsername(username).map(subscriptions::findByUser).orElse(List.of());
+    }
+
+    @Transactional
+    public WebhookSubscription create(String username, boolean admin, WebhookSubscriptionRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Subscription details are required");
+        }
+        targets.check(request.url());
+        String secret = request.secret() == null || request.secret().isEmpty() ? null : request.secret();
+        if (secret != null && secret.length() > MAX_SECRET_LENGTH) {
+            throw new IllegalArgumentException("Webhook secrets are limited to " + MAX_SECRET_LENGTH + " characters");
+        }
+        Long userId = userService.findIdByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
+        if (request.calendarId() != null && !canSubscribe(userId, admin, request.calendarId())) {
+            throw new IllegalArgumentException("Calendar not found with id: " + request.calendarId());
+        }
+        if (subscriptions.countByUser(userId) >= maxPerUser) {
+            throw new IllegalArgumentException("At most " + maxPerUser + " webhook subscriptions per user are allowed");
+        }
+        return subscriptions.create(userId, request.url(), request.calendarId(), secret);
+    }
+
+    @Transactional
+    public boolean delete(String username, Long id) {
+        return userService.findIdByUsername(username)
+                .map(userId -> subscriptions.delete(userId, id))
+                .orElse(false);
+    }
+
+    private boolean canSubscribe(Long userId, boolean admin, Long calendarId) {
+        return admin ? calendarService.findById(calendarId).isPresent() : subscriptions.isMember(userId, calendarId);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.javacalendarwebapp.webhook;
+
+import java.time.Instant;
+
+public record WebhookSubscription(
+        Long id,
+        String url,
+        Long calendarId,
+        boolean signed,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,8 @@
+package org.example.javacalendarwebapp.webhook;
+
+public record WebhookSubscriptionRequest(
+        String url,
+        Long calendarId,
+        String secret
+) {
+}
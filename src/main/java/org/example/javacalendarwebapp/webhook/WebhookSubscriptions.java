@@ -0,0 +1,61 @@
+package org.example.javacalendarwebapp.webhook;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class WebhookSubscriptions {
+    private static final String COLUMNS = "id, url, calendar_id, secret IS NOT NULL AS signed, created_at";
+
+    private static final String FIND_BY_USER =
+            "SELECT " + COLUMNS + " FROM webhook_subscriptions WHERE user_id = ? ORDER BY id";
+
+    private static final String COUNT_BY_USER = "SELECT count(*) FROM webhook_subscriptions WHERE user_id = ?";
+
+    private static final String IS_MEMBER =
+            "SELECT EXISTS (SELECT 1 FROM calendars_users WHERE calendar_id = ? AND user_id = ?)";
+
+    private static final String INSERT = """
+            INSERT INTO webhook_subscriptions (user_id, calendar_id, url, secret)
+            VALUES (?, ?, ?, ?)
+            RETURNING\s""" + COLUMNS;
+
+    private static final String DELETE = "DELETE FROM webhook_subscriptions WHERE id = ? AND user_id = ?";
+
+    private static final RowMapper<WebhookSubscription> SUBSCRIPTION_MAPPER = (rs, rowNum) -> new WebhookSubscription(
+            rs.getLong("id"),
+            rs.getString("url"),
+            rs.getObject("calendar_id", Long.class),
+            rs.getBoolean("signed"),
+            rs.getTimestamp("created_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WebhookSubscriptions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<WebhookSubscription> findByUser(Long userId) {
+        return jdbcTemplate.query(FIND_BY_USER, SUBSCRIPTION_MAPPER, userId);
+    }
+
+    public int countByUser(Long userId) {
+        Integer count = jdbcTemplate.queryForObject(COUNT_BY_USER, Integer.class, userId);
+        return count == null ? 0 : count;
+    }
+
+    public boolean isMember(Long userId, Long calendarId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_MEMBER, Boolean.class, calendarId, userId));
+    }
+
+    public WebhookSubscription create(Long userId, String url, Long calendarId, String secret) {
+        return jdbcTemplate.queryForObject(INSERT, SUBSCRIPTION_MAPPER, userId, calendarId, url, secret);
+    }
+
+    public boolean delete(Long userId, Long id) {
+        return jdbcTemplate.update(DELETE, id, userId) > 0;
+    }
+}
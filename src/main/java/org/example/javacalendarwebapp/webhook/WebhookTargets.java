@@ -0,0 +1,67 @@
+package org.example.javacalendarwebapp.webhook;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class WebhookTargets {
+    private static final int MAX_URL_LENGTH = 2048;
+
+    private final Set<String> allowedInternalHosts;
+
+    public WebhookTargets(@Value("${app.webhooks.allowed-internal-hosts:}") Set<String> allowedInternalHosts) {
+        this.allowedInternalHosts = allowedInternalHosts.stream()
+                .map(String::trim)
+                .filter(host -> !host.isEmpty())
+                .map(host -> host.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public void check(String url) {
+        if (url == null || url.length() > MAX_URL_LENGTH) {
+            throw new IllegalArgumentException("A webhook url of at most " + MAX_URL_LENGTH + " characters is required");
+        }
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException ex) {
+            throw new IllegalArgumentException("Invalid webhook url: " + url, ex);
+        }
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme()) || uri.getHost() == null) {
+            throw new IllegalArgumentException("Webhook url must be an absolute http or https url");
+        }
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        if (allowedInternalHosts.contains(host)) {
+            return;
+        }
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException ex) {
+            throw new IllegalArgumentException("Webhook host cannot be resolved: " + host, ex);
+        }
+        for (InetAddress address : addresses) {
+            if (isInternal(address)) {
+                throw new IllegalArgumentException("Webhook host " + host + " resolves to an internal address");
+            }
+        }
+    }
+
+    static boolean isInternal(InetAddress address) {
+        return address.isLoopbackAddress()
+                || address.isAnyLocalAddress()
+                || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress()
+                || address.isMulticastAddress()
+                || address instanceof Inet6Address && (address.getAddress()[0] & 0xfe) == 0xfc;
+    }
+}
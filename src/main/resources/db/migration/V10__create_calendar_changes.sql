@@ -0,0 +1,18 @@
+CREATE TABLE calendar_changes (
+    id BIGSERIAL PRIMARY KEY,
+    calendar_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    subject VARCHAR(16) NOT NULL,
+    subject_id BIGINT NOT NULL,
+    action VARCHAR(16) NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
+    CONSTRAINT fk_calendar_changes_calendar FOREIGN KEY (calendar_id) REFERENCES calendars (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_calendar_changes_calendar_version ON calendar_changes (calendar_id, version);
+
+CREATE INDEX idx_calendar_changes_changed_at ON calendar_changes (changed_at);
+
+ALTER TABLE calendars ADD COLUMN sync_floor BIGINT NOT NULL DEFAULT 0;
+
+UPDATE calendars SET sync_floor = content_version;
@@ -0,0 +1,15 @@
+CREATE TABLE reminders (
+    id BIGSERIAL PRIMARY KEY,
+    subject VARCHAR(16) NOT NULL,
+    subject_id BIGINT NOT NULL,
+    calendar_id BIGINT,
+    offset_minutes INTEGER NOT NULL,
+    fire_at TIMESTAMP,
+    delivered_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT uq_reminders_subject_offset UNIQUE (subject, subject_id, offset_minutes),
+    CONSTRAINT chk_reminders_subject CHECK (subject IN ('EVENT', 'TASK')),
+    CONSTRAINT chk_reminders_offset CHECK (offset_minutes >= 0)
+);
+
+CREATE INDEX idx_reminders_pending_fire_at ON reminders (fire_at, id)
+    WHERE fire_at IS NOT NULL AND delivered_at IS NULL;
@@ -0,0 +1,30 @@
+CREATE TABLE webhook_subscriptions (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    calendar_id BIGINT,
+    url TEXT NOT NULL,
+    secret TEXT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    CONSTRAINT fk_webhook_subscriptions_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_webhook_subscriptions_calendar FOREIGN KEY (calendar_id) REFERENCES calendars (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_webhook_subscriptions_calendar ON webhook_subscriptions (calendar_id);
+
+CREATE INDEX idx_webhook_subscriptions_user_all_calendars ON webhook_subscriptions (user_id) WHERE calendar_id IS NULL;
+
+CREATE TABLE webhook_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    subscription_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+    failed_at TIMESTAMPTZ,
+    last_error TEXT,
+    CONSTRAINT fk_webhook_outbox_subscription FOREIGN KEY (subscription_id) REFERENCES webhook_subscriptions (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_webhook_outbox_pending ON webhook_outbox (next_attempt_at, id) WHERE failed_at IS NULL;
+
+CREATE INDEX idx_webhook_outbox_subscription ON webhook_outbox (subscription_id);
@@ -0,0 +1,5 @@
+ALTER TABLE tasks ADD COLUMN overdue BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX idx_tasks_overdue_candidates ON tasks (task_date, id) WHERE completed = FALSE AND overdue = FALSE;
+
+CREATE INDEX idx_tasks_overdue ON tasks (id) WHERE overdue;
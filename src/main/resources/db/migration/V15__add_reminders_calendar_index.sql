@@ -0,0 +1 @@
+CREATE INDEX idx_reminders_calendar_id ON reminders (calendar_id);
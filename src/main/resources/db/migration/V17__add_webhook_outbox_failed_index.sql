@@ -0,0 +1 @@
+CREATE INDEX idx_webhook_outbox_failed ON webhook_outbox (failed_at) WHERE failed_at IS NOT NULL;
@@ -0,0 +1,7 @@
+CREATE INDEX idx_events_calendar_date ON events (calendar_id, event_date, id);
+
+DROP INDEX idx_events_calendar_id;
+
+CREATE INDEX idx_tasks_calendar_date ON tasks (calendar_id, task_date, id);
+
+DROP INDEX idx_tasks_calendar_id;
@@ -0,0 +1,14 @@
+ALTER TABLE events
+    ADD COLUMN recurrence_frequency VARCHAR(16),
+    ADD COLUMN recurrence_interval INTEGER,
+    ADD COLUMN recurrence_count INTEGER,
+    ADD COLUMN recurrence_until TIMESTAMP,
+    ADD COLUMN recurrence_exdates TIMESTAMP[],
+    ADD CONSTRAINT chk_events_recurrence_frequency CHECK (
+        recurrence_frequency IN ('DAILY', 'WEEKLY', 'MONTHLY')
+    ),
+    ADD CONSTRAINT chk_events_recurrence_interval CHECK (recurrence_interval > 0),
+    ADD CONSTRAINT chk_events_recurrence_count CHECK (recurrence_count > 0);
+
+CREATE INDEX idx_events_calendar_recurring ON events (calendar_id, event_date)
+    WHERE recurrence_frequency IS NOT NULL;
@@ -0,0 +1,3 @@
+ALTER TABLE events
+    ADD COLUMN event_duration_minutes INTEGER,
+    ADD CONSTRAINT chk_events_duration CHECK (event_duration_minutes BETWEEN 1 AND 10080);
@@ -0,0 +1,3 @@
+ALTER SEQUENCE events_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
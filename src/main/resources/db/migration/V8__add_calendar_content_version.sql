@@ -0,0 +1,3 @@
+ALTER TABLE calendars
+    ADD COLUMN content_version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN content_updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
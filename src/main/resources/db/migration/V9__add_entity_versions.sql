@@ -0,0 +1,7 @@
+ALTER TABLE events ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE calendars ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,92 @@
+package org.example.javacalendarwebapp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private static final String SPEC = "maximumSize=10,recordStats";
+
+    @Test
+    void cacheManager_shouldCreateCachesForEnabledResources() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(SPEC, true, true, true);
+
+        assertThat(cacheManager.getCacheNames()).containsExactlyInAnyOrder(
+                CacheConfig.EVENTS, CacheConfig.EVENT_DATES, CacheConfig.TASKS, CacheConfig.TASK_DATES, CacheConfig.CALENDARS);
+        Cache events = cacheManager.getCache(CacheConfig.EVENTS);
+        events.put(1L, "cached");
+        assertThat(events.get(1L, String.class)).isEqualTo("cached");
+    }
+
+    @Test
+    void cacheManager_whenResourceDisabled_shouldFallBackToNoOpCache() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(SPEC, true, false, true);
+
+        assertThat(cacheManager.getCacheNames()).doesNotContain(CacheConfig.TASKS, CacheConfig.TASK_DATES);
+        Cache tasks = cacheManager.getCache(CacheConfig.TASKS);
+        assertThat(tasks).isNotNull();
+        tasks.put(1L, "cached");
+        assertThat(tasks.get(1L)).isNull();
+    }
+
+    @Test
+    void put_whenKeyEvictedWhileReaderWasLoading_shouldNotCacheStaleValue() throws Exception {
+        Cache events = new CacheConfig().cacheManager(SPEC, true, true, true).getCache(CacheConfig.EVENTS);
+
+        readConcurrentlyWith(events, () -> events.evict(1L));
+
+        assertThat(events.get(1L)).isNull();
+        events.put(1L, "fresh");
+        assertThat(events.get(1L, String.class)).isEqualTo("fresh");
+    }
+
+    @Test
+    void put_whenCacheClearedWhileReaderWasLoading_shouldNotCacheStaleValue() throws Exception {
+        Cache events = new CacheConfig().cacheManager(SPEC, true, true, true).getCache(CacheConfig.EVENTS);
+
+        readConcurrentlyWith(events, events::clear);
+
+        assertThat(events.get(1L)).isNull();
+    }
+
+    @Test
+    void put_whenEvictedBeforeReaderMissed_shouldCacheValue() throws Exception {
+        Cache events = new CacheConfig().cacheManager(SPEC, true, true, true).getCache(CacheConfig.EVENTS);
+        events.evict(1L);
+
+        assertThat(events.get(1L)).isNull();
+        events.put(1L, "loaded");
+
+        assertThat(events.get(1L, String.class)).isEqualTo("loaded");
+    }
+
+    private static void readConcurrentlyWith(Cache cache, Runnable writer) throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> reader = executor.submit(() -> {
+                assertThat(cache.get(1L)).isNull();
+                loaded.countDown();
+                written.await();
+                cache.put(1L, "stale");
+                return null;
+            });
+            loaded.await();
+            writer.run();
+            written.countDown();
+            reader.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.javacalendarwebapp;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.javacalendarwebapp.calendar.detail.CalendarDetail;
+import org.example.javacalendarwebapp.calendar.detail.CalendarDetailService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CalendarDetailQueryCountTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CalendarDetailService detailService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findDetail_shouldUseSameNumberOfStatementsRegardlessOfCalendarSize() {
+        long small = seedCalendar("Small", 10);
+        long large = seedCalendar("Large", 10_000);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        CalendarDetail smallDetail = detailService.findDetail(small).orElseThrow();
+        long smallStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        CalendarDetail largeDetail = detailService.findDetail(large).orElseThrow();
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        assertThat(smallDetail.events()).hasSize(10);
+        assertThat(largeDetail.events()).hasSize(10_000);
+        assertThat(largeDetail.tasks()).hasSize(10_000);
+        assertThat(largeDetail.users()).hasSize(5);
+        assertThat(largeStatements).isEqualTo(smallStatements).isEqualTo(4);
+    }
+
+    private long seedCalendar(String name, int size) {
+        long calendarId = jdbcTemplate.queryForObject(
+                "INSERT INTO calendars (calendar_name) VALUES (?) RETURNING id", Long.class, name);
+        jdbcTemplate.update("""
+                INSERT INTO events (event_title, calendar_id, event_date)
+                SELECT 'Event ' || g, ?, TIMESTAMP '2025-01-01' + g * INTERVAL '1 hour'
+                FROM generate_series(1, ?) g""", calendarId, size);
+        jdbcTemplate.update("""
+                INSERT INTO tasks (task_title, calendar_id, task_date)
+                SELECT 'Task ' || g, ?, TIMESTAMP '2025-01-01' + g * INTERVAL '1 hour'
+                FROM generate_series(1, ?) g""", calendarId, size);
+        jdbcTemplate.update("""
+                WITH members AS (
+                    INSERT INTO users (username, password)
+                    SELECT ? || '-member-' || g, 'x' FROM generate_series(1, 5) g
+                    RETURNING id)
+                INSERT INTO calendars_users (calendar_id, user_id) SELECT ?, id FROM members""", name, calendarId);
+        return calendarId;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.javacalendarwebapp;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+class CalendarRangeQueryPlanTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void dateRangeQueries_shouldBeIndexRangeScans() {
+        jdbcTemplate.update("INSERT INTO calendars (calendar_name) SELECT 'Calendar ' || g FROM generate_series(1, 50) g");
+        jdbcTemplate.update("""
+                INSERT INTO events (event_title, calendar_id, event_date)
+                SELECT 'Event ' || g, (SELECT min(id) FROM calendars) + g % 50, TIMESTAMP '2025-01-01' + g * INTERVAL '7 minutes'
+                FROM generate_series(1, 50000) g""");
+        jdbcTemplate.update("""
+                INSERT INTO tasks (task_title, calendar_id, task_date)
+                SELECT 'Task ' || g, (SELECT min(id) FROM calendars) + g % 50, TIMESTAMP '2025-01-01' + g * INTERVAL '7 minutes'
+                FROM generate_series(1, 50000) g""");
+        jdbcTemplate.execute("ANALYZE events");
+        jdbcTemplate.execute("ANALYZE tasks");
+        long calendarId = jdbcTemplate.queryForObject("SELECT min(id) + 7 FROM calendars", Long.class);
+
+        assertThat(explain("""
+                SELECT * FROM events WHERE calendar_id = %d
+                AND event_date >= TIMESTAMP '2025-01-10' AND event_date < TIMESTAMP '2025-01-17'
+                ORDER BY event_date, id LIMIT 51""".formatted(calendarId)))
+                .contains("idx_events_calendar_date")
+                .doesNotContain("Seq Scan")
+                .doesNotContain("Sort");
+        assertThat(explain("""
+                SELECT * FROM events WHERE calendar_id = %d
+                AND (event_date, id) > (TIMESTAMP '2025-01-12', 100) AND event_date < TIMESTAMP '2025-01-17'
+                ORDER BY event_date, id LIMIT 51""".formatted(calendarId)))
+                .contains("idx_events_calendar_date")
+                .doesNotContain("Seq Scan");
+        assertThat(explain("""
+                SELECT * FROM tasks WHERE calendar_id = %d
+                AND task_date >= TIMESTAMP '2025-01-10' AND task_date < TIMESTAMP '2025-01-17'
+                ORDER BY task_date, id LIMIT 51""".formatted(calendarId)))
+                .contains("idx_tasks_calendar_date")
+                .doesNotContain("Seq Scan")
+                .doesNotContain("Sort");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
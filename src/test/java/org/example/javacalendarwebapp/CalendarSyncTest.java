@@ -0,0 +1,131 @@
+package org.example.javacalendarwebapp;
+
+import org.example.javacalendarwebapp.calendar.Calendar;
+import org.example.javacalendarwebapp.calendar.CalendarService;
+import org.example.javacalendarwebapp.calendar.sync.CalendarChangeLog;
+import org.example.javacalendarwebapp.calendar.sync.CalendarSync;
+import org.example.javacalendarwebapp.calendar.sync.CalendarSyncService;
+import org.example.javacalendarwebapp.event.Event;
+import org.example.javacalendarwebapp.event.EventService;
+import org.example.javacalendarwebapp.event.EventView;
+import org.example.javacalendarwebapp.task.Task;
+import org.example.javacalendarwebapp.task.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+class CalendarSyncTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CalendarSyncService syncService;
+
+    @Autowired
+    private CalendarChangeLog changeLog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sync_shouldReturnOnlyChangesSinceToken() {
+        Calendar calendar = calendar("Synced");
+        Long untouched = eventService.create(event("Untouched", calendar)).getId();
+        Long task = taskService.create(task("Report", calendar)).getId();
+        String token = syncService.sync(calendar.getId(), null).orElseThrow().token();
+
+        Long created = eventService.create(event("Created", calendar)).getId();
+        eventService.update(untouched, event("Renamed", calendar), null);
+        taskService.delete(task);
+
+        CalendarSync sync = syncService.sync(calendar.getId(), token).orElseThrow();
+
+        assertThat(sync.resyncRequired()).isFalse();
+        assertThat(sync.events()).extracting(EventView::id).containsExactly(untouched, created);
+        assertThat(sync.events()).extracting(EventView::title).containsExactly("Renamed", "Created");
+        assertThat(sync.deletedTaskIds()).containsExactly(task);
+        assertThat(syncService.sync(calendar.getId(), sync.token()).orElseThrow().events()).isEmpty();
+    }
+
+    @Test
+    void sync_whenItemMovedAway_shouldReportTombstoneInPreviousCalendar() {
+        Calendar source = calendar("Source");
+        Calendar target = calendar("Target");
+        Long id = eventService.create(event("Moving", source)).getId();
+        String sourceToken = syncService.sync(source.getId(), null).orElseThrow().token();
+        String targetToken = syncService.sync(target.getId(), null).orElseThrow().token();
+
+        eventService.update(id, event("Moving", target), null);
+
+        assertThat(syncService.sync(source.getId(), sourceToken).orElseThrow().deletedEventIds()).containsExactly(id);
+        assertThat(syncService.sync(target.getId(), targetToken).orElseThrow().events())
+                .extracting(EventView::id).containsExactly(id);
+    }
+
+    @Test
+    void sync_whenWriteRolledBack_shouldNotLogIt() {
+        Calendar calendar = calendar("Rolled back");
+        String token = syncService.sync(calendar.getId(), null).orElseThrow().token();
+
+        Event invalid = event(null, calendar);
+        assertThatThrownBy(() -> eventService.create(invalid)).isInstanceOf(RuntimeException.class);
+
+        CalendarSync sync = syncService.sync(calendar.getId(), token).orElseThrow();
+        assertThat(sync.token()).isEqualTo(token);
+        assertThat(count(calendar)).isZero();
+    }
+
+    @Test
+    void compact_shouldRequireResyncForTokensOlderThanRetainedLog() {
+        Calendar calendar = calendar("Compacted");
+        String token = syncService.sync(calendar.getId(), null).orElseThrow().token();
+        eventService.create(event("Old", calendar));
+
+        changeLog.compact(Instant.now().plusSeconds(60));
+
+        assertThat(count(calendar)).isZero();
+        CalendarSync sync = syncService.sync(calendar.getId(), token).orElseThrow();
+        assertThat(sync.resyncRequired()).isTrue();
+        assertThat(syncService.sync(calendar.getId(), sync.token()).orElseThrow().resyncRequired()).isFalse();
+    }
+
+    private int count(Calendar calendar) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM calendar_changes WHERE calendar_id = ?", Integer.class, calendar.getId());
+    }
+
+    private Calendar calendar(String name) {
+        Calendar calendar = new Calendar();
+        calendar.setName(name);
+        return calendarService.create(calendar);
+    }
+
+    private static Event event(String title, Calendar calendar) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setDate(LocalDateTime.of(2025, 6, 2, 9, 0));
+        event.setCalendar(calendar);
+        return event;
+    }
+
+    private static Task task(String title, Calendar calendar) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setCalendar(calendar);
+        return task;
+    }
+}
@@ -1,7 +1,11 @@
 package org.example.javacalendarwebapp;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -9,6 +13,8 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 
+import static org.assertj.core.api.Assertions.*;
+
 @Testcontainers
 @SpringBootTest
 class JavaCalendarWebAppApplicationTest {
@@ -34,7 +40,24 @@ class JavaCalendarWebAppApplicationTest {
         registry.add("spring.flyway.baseline-version", () -> "3");
     }
 
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void contextLoads() {
     }
+
+    @Test
+    void openInView_shouldBeDisabled() {
+        assertThat(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+
+    @Test
+    void connectionPool_shouldPublishHoldTimeMetrics() {
+        assertThat(meterRegistry.find("hikaricp.connections.usage").timer()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+    }
 }
@@ -0,0 +1,150 @@
+package org.example.javacalendarwebapp;
+
+import org.example.javacalendarwebapp.calendar.Calendar;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.task.OverdueTaskSweeper;
+import org.example.javacalendarwebapp.task.Task;
+import org.example.javacalendarwebapp.task.TaskService;
+import org.example.javacalendarwebapp.task.TaskView;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+class OverdueTaskSweepTest extends PostgresIntegrationTest {
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.tasks.overdue.interval", () -> "1h");
+        registry.add("app.tasks.overdue.chunk-size", () -> "2");
+    }
+
+    @Autowired
+    private OverdueTaskSweeper sweeper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void sweep_shouldFlagPastUncompletedTasksInChunksAndClearThemOnceCompleted() {
+        long calendarId = calendar();
+        LocalDateTime now = LocalDateTime.now();
+        long late = task(calendarId, now.minusDays(2), false);
+        long later = task(calendarId, now.minusDays(1), false);
+        long latest = task(calendarId, now.minusHours(1), false);
+        long done = task(calendarId, now.minusDays(1), true);
+        long upcoming = task(calendarId, now.plusDays(1), false);
+        long undated = task(calendarId, null, false);
+
+        OverdueTaskSweeper.Sweep sweep = sweeper.sweep();
+
+        assertThat(sweep.flagged()).isEqualTo(3);
+        assertThat(sweep.contended()).isFalse();
+        assertThat(overdue(late)).isTrue();
+        assertThat(overdue(later)).isTrue();
+        assertThat(overdue(latest)).isTrue();
+        assertThat(overdue(done)).isFalse();
+        assertThat(overdue(upcoming)).isFalse();
+        assertThat(overdue(undated)).isFalse();
+        assertThat(version(late)).isEqualTo(1L);
+        assertThat(overdueIn(calendarId)).containsExactly(late, later, latest);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM calendar_changes WHERE calendar_id = ?",
+                Integer.class, calendarId)).isEqualTo(3);
+
+        long completedVersion = taskService.markAsCompleted(later).getVersion();
+        assertThat(overdue(later)).isFalse();
+        assertThat(overdueIn(calendarId)).containsExactly(late, latest);
+
+        OverdueTaskSweeper.Sweep next = sweeper.sweep();
+
+        assertThat(next.flagged()).isZero();
+        assertThat(next.cleared()).isZero();
+        assertThat(version(later)).isEqualTo(completedVersion);
+    }
+
+    @Test
+    void update_shouldReturnStoredOverdueFlagRatherThanTheRequestedOne() {
+        long calendarId = calendar();
+        LocalDateTime date = LocalDateTime.now().minusDays(1);
+        long late = task(calendarId, date, false);
+        sweeper.sweep();
+        Calendar calendar = new Calendar();
+        calendar.setId(calendarId);
+        Task incoming = new Task();
+        incoming.setTitle("Renamed");
+        incoming.setDate(date);
+        incoming.setCalendar(calendar);
+        incoming.setOverdue(false);
+
+        Task updated = taskService.update(late, incoming);
+
+        assertThat(updated.getOverdue()).isTrue();
+        assertThat(overdue(late)).isTrue();
+    }
+
+    @Test
+    void sweep_whenAnotherNodeHoldsLock_shouldSkip() throws SQLException {
+        long calendarId = calendar();
+        long late = task(calendarId, LocalDateTime.now().minusDays(1), false);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(false);
+            statement.execute("SELECT pg_advisory_xact_lock(hashtext('tasks.overdue-sweep'))");
+
+            OverdueTaskSweeper.Sweep sweep = sweeper.sweep();
+
+            assertThat(sweep.contended()).isTrue();
+            assertThat(sweep.flagged()).isZero();
+            assertThat(overdue(late)).isFalse();
+            connection.rollback();
+        }
+
+        assertThat(sweeper.sweep().flagged()).isEqualTo(1);
+        assertThat(overdue(late)).isTrue();
+    }
+
+    private List<Long> overdueIn(long calendarId) {
+        CursorPage<TaskView> page = taskService.findOverduePage(null, 500);
+        return page.items().stream()
+                .filter(view -> view.calendarId() == calendarId)
+                .map(TaskView::id)
+                .toList();
+    }
+
+    private long calendar() {
+        return jdbcTemplate.queryForObject("INSERT INTO calendars (calendar_name) VALUES ('Overdue') RETURNING id", Long.class);
+    }
+
+    private long task(long calendarId, LocalDateTime date, boolean completed) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO tasks (task_title, calendar_id, task_date, completed) VALUES ('Task', ?, ?, ?) RETURNING id",
+                Long.class, calendarId, date == null ? null : Timestamp.valueOf(date), completed);
+    }
+
+    private boolean overdue(long id) {
+        return jdbcTemplate.queryForObject("SELECT overdue FROM tasks WHERE id = ?", Boolean.class, id);
+    }
+
+    private long version(long id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM tasks WHERE id = ?", Long.class, id);
+    }
+}
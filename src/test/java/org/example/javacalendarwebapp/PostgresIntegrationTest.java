@@ -0,0 +1,56 @@
+package org.example.javacalendarwebapp;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.test.context.ContextConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base class for integration tests that need PostgreSQL. One container is started for the whole test run and
+ * every Spring test context gets its own freshly migrated database in it, so contexts cached by the test
+ * framework (and their scheduled jobs) never see each other's rows.
+ */
+@ContextConfiguration(initializers = PostgresIntegrationTest.DatabaseInitializer.class)
+abstract class PostgresIntegrationTest {
+
+    static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:16")
+                    .withDatabaseName("java_calendar_web_app")
+                    .withUsername("calendar_user")
+                    .withPassword("calendar_user_password");
+
+    static {
+        postgres.start();
+    }
+
+    static class DatabaseInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+        private static final AtomicInteger databases = new AtomicInteger();
+
+        @Override
+        public void initialize(ConfigurableApplicationContext context) {
+            String database = "context_" + databases.incrementAndGet();
+            try (Connection connection = DriverManager.getConnection(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE DATABASE " + database);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not create test database " + database, e);
+            }
+            String url = "jdbc:postgresql://%s:%d/%s".formatted(postgres.getHost(),
+                    postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), database);
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("postgres", Map.of(
+                    "spring.datasource.url", url,
+                    "spring.datasource.username", postgres.getUsername(),
+                    "spring.datasource.password", postgres.getPassword(),
+                    "spring.datasource.driver-class-name", postgres.getDriverClassName())));
+        }
+    }
+}
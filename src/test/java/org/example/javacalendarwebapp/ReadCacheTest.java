@@ -0,0 +1,98 @@
+package org.example.javacalendarwebapp;
+
+import org.example.javacalendarwebapp.calendar.Calendar;
+import org.example.javacalendarwebapp.calendar.CalendarService;
+import org.example.javacalendarwebapp.event.Event;
+import org.example.javacalendarwebapp.event.EventService;
+import org.example.javacalendarwebapp.event.EventView;
+import org.example.javacalendarwebapp.task.Task;
+import org.example.javacalendarwebapp.task.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+class ReadCacheTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void eventLookups_shouldBeCachedUntilUpdated() {
+        Calendar calendar = new Calendar();
+        calendar.setName("Cached");
+        Calendar savedCalendar = calendarService.create(calendar);
+        Event event = new Event();
+        event.setTitle("Planning");
+        event.setDate(LocalDateTime.of(2025, 6, 2, 9, 0));
+        event.setCalendar(savedCalendar);
+        Long id = eventService.create(event).getId();
+
+        EventView first = eventService.findById(id).orElseThrow();
+        eventService.getEventDateByID(id);
+
+        assertThat(cacheManager.getCache(CacheConfig.EVENTS).get(id, EventView.class)).isEqualTo(first);
+        assertThat(cacheManager.getCache(CacheConfig.EVENT_DATES).get(id, LocalDateTime.class))
+                .isEqualTo(LocalDateTime.of(2025, 6, 2, 9, 0));
+
+        Event changed = new Event();
+        changed.setTitle("Moved");
+        changed.setDate(LocalDateTime.of(2025, 6, 3, 9, 0));
+        changed.setCalendar(savedCalendar);
+        eventService.update(id, changed, null);
+
+        assertThat(cacheManager.getCache(CacheConfig.EVENTS).get(id)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.EVENT_DATES).get(id)).isNull();
+        assertThat(eventService.findById(id).orElseThrow().title()).isEqualTo("Moved");
+        assertThat(eventService.getEventDateByID(id)).isEqualTo(LocalDateTime.of(2025, 6, 3, 9, 0));
+    }
+
+    @Test
+    void taskLookup_shouldBeEvictedWhenMarkedAsCompleted() {
+        Task task = new Task();
+        task.setTitle("Report");
+        Long id = taskService.create(task).getId();
+
+        assertThat(taskService.findById(id).orElseThrow().completed()).isFalse();
+        taskService.markAsCompleted(id);
+
+        assertThat(taskService.findById(id).orElseThrow().completed()).isTrue();
+    }
+
+    @Test
+    void missingEntries_shouldNotBeCached() {
+        assertThat(calendarService.findById(Long.MAX_VALUE)).isEmpty();
+
+        assertThat(cacheManager.getCache(CacheConfig.CALENDARS).get(Long.MAX_VALUE)).isNull();
+    }
+
+    @Test
+    void calendarDelete_shouldDropCachedEventsOfTheCalendar() {
+        Calendar calendar = new Calendar();
+        calendar.setName("Doomed");
+        Calendar savedCalendar = calendarService.create(calendar);
+        Event event = new Event();
+        event.setTitle("Gone soon");
+        event.setCalendar(savedCalendar);
+        Long eventId = eventService.create(event).getId();
+        eventService.findById(eventId);
+
+        calendarService.delete(savedCalendar.getId());
+
+        assertThat(eventService.findById(eventId)).isEmpty();
+    }
+}
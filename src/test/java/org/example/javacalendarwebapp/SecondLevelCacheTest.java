@@ -0,0 +1,122 @@
+package org.example.javacalendarwebapp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.javacalendarwebapp.calendar.Calendar;
+import org.example.javacalendarwebapp.calendar.CalendarRepository;
+import org.example.javacalendarwebapp.calendar.CalendarService;
+import org.example.javacalendarwebapp.user.User;
+import org.example.javacalendarwebapp.user.UserRepository;
+import org.example.javacalendarwebapp.user.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SecondLevelCacheTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void calendar_shouldBeServedFromCacheUntilPatchedThroughJdbc() throws Exception {
+        long id = jdbcTemplate.queryForObject(
+                "INSERT INTO calendars (calendar_name) VALUES ('Team') RETURNING id", Long.class);
+
+        loadCalendar(id);
+        statistics.clear();
+        assertThat(loadCalendar(id).getName()).isEqualTo("Team");
+        assertThat(statistics.getDomainDataRegionStatistics("calendars").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        calendarService.patch(id, new ObjectMapper().readTree("{\"name\":\"Renamed\"}"), null);
+
+        assertThat(loadCalendar(id).getName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void calendarMembers_shouldBeCachedWithTheCalendar() {
+        long calendarId = jdbcTemplate.queryForObject(
+                "INSERT INTO calendars (calendar_name) VALUES ('Shared') RETURNING id", Long.class);
+        long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, password) VALUES ('member', 'x') RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO calendars_users (calendar_id, user_id) VALUES (?, ?)", calendarId, userId);
+
+        memberCount(calendarId);
+        statistics.clear();
+
+        assertThat(memberCount(calendarId)).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("calendar-members").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void findByUsername_shouldUseQueryCacheAndSeeRoleChanges() {
+        User user = new User();
+        user.setUsername("cached-alice");
+        user.setPassword("secret-password");
+        user.setRoles(Set.of("ROLE_USER"));
+        User created = userService.create(user);
+
+        findRoles("cached-alice");
+        statistics.clear();
+        assertThat(findRoles("cached-alice")).containsExactly("ROLE_USER");
+        assertThat(statistics.getQueryRegionStatistics("users-by-username").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        User changed = new User();
+        changed.setUsername("cached-alice");
+        changed.setPassword("secret-password");
+        changed.setRoles(Set.of("ROLE_ADMIN"));
+        userService.update(created.getId(), changed);
+
+        assertThat(findRoles("cached-alice")).containsExactly("ROLE_ADMIN");
+    }
+
+    private Calendar loadCalendar(long id) {
+        return transactionTemplate.execute(status -> calendarRepository.findById(id).orElseThrow());
+    }
+
+    private int memberCount(long id) {
+        return transactionTemplate.execute(status -> calendarRepository.findById(id).orElseThrow().getUsers().size());
+    }
+
+    private Set<String> findRoles(String username) {
+        return transactionTemplate.execute(status -> Set.copyOf(userRepository.findByUsername(username).orElseThrow().getRoles()));
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.javacalendarwebapp;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.javacalendarwebapp.calendar.Calendar;
+import org.example.javacalendarwebapp.calendar.CalendarService;
+import org.example.javacalendarwebapp.event.Event;
+import org.example.javacalendarwebapp.event.EventService;
+import org.example.javacalendarwebapp.webhook.WebhookOutboxCompactor;
+import org.example.javacalendarwebapp.webhook.WebhookService;
+import org.example.javacalendarwebapp.webhook.WebhookSubscription;
+import org.example.javacalendarwebapp.webhook.WebhookSubscriptionRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+class WebhookDeliveryTest extends PostgresIntegrationTest {
+
+    @DynamicPropertySource
+    static void overrideProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.webhooks.poll-interval", () -> "50ms");
+        registry.add("app.webhooks.allowed-internal-hosts", () -> "127.0.0.1");
+    }
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private WebhookOutboxCompactor compactor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private volatile int status = 204;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", exchange -> {
+            received.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void create_shouldDeliverChangeToCalendarSubscription() throws InterruptedException {
+        Calendar calendar = calendar("Hooked");
+        WebhookSubscription subscription = subscribe(calendar);
+
+        Long id = eventService.create(event("Delivered", calendar)).getId();
+
+        String body = received.poll(10, TimeUnit.SECONDS);
+        assertThat(body).contains("\"type\":\"calendar.change\"").contains("\"subjectId\":" + id);
+        assertThat(await(subscription, "TRUE", 0)).isTrue();
+    }
+
+    @Test
+    void create_whenWriteRolledBack_shouldNotEnqueue() {
+        Calendar calendar = calendar("Rolled back hook");
+        WebhookSubscription subscription = subscribe(calendar);
+
+        assertThatThrownBy(() -> eventService.create(event(null, calendar))).isInstanceOf(RuntimeException.class);
+
+        assertThat(queued(subscription, "TRUE")).isZero();
+    }
+
+    @Test
+    void delivery_whenEndpointFails_shouldBeRescheduledWithBackoff() throws InterruptedException {
+        status = 500;
+        Calendar calendar = calendar("Failing hook");
+        WebhookSubscription subscription = subscribe(calendar);
+
+        eventService.create(event("Retried", calendar));
+
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(await(subscription, "attempts = 1 AND last_error = 'HTTP 500' AND next_attempt_at > now()", 1)).isTrue();
+    }
+
+    @Test
+    void compact_shouldPurgeOnlyDeliveriesThatFailedBeforeRetention() {
+        Calendar calendar = calendar("Dead hook");
+        WebhookSubscription subscription = subscribe(calendar);
+        String insert = "INSERT INTO webhook_outbox (subscription_id, payload, failed_at) VALUES (?, '{}', now() - CAST(? AS INTERVAL))";
+        jdbcTemplate.update(insert, subscription.id(), "8 days");
+        jdbcTemplate.update(insert, subscription.id(), "1 day");
+
+        compactor.compact();
+
+        assertThat(queued(subscription, "failed_at < now() - INTERVAL '7 days'")).isZero();
+        assertThat(queued(subscription, "failed_at IS NOT NULL")).isEqualTo(1);
+    }
+
+    @Test
+    void create_whenUserIsNotMemberOfCalendar_shouldBeRejected() {
+        Calendar calendar = calendar("Someone else's");
+
+        assertThatThrownBy(() -> webhookService.create("user", false,
+                new WebhookSubscriptionRequest(url(), calendar.getId(), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM webhook_subscriptions WHERE calendar_id = ?", Integer.class, calendar.getId())).isZero();
+    }
+
+    private WebhookSubscription subscribe(Calendar calendar) {
+        jdbcTemplate.update("INSERT INTO calendars_users (calendar_id, user_id) SELECT ?, id FROM users WHERE username = 'user'",
+                calendar.getId());
+        return webhookService.create("user", false, new WebhookSubscriptionRequest(url(), calendar.getId(), null));
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/hook";
+    }
+
+    private boolean await(WebhookSubscription subscription, String condition, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queued(subscription, condition) != expected) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
+    private int queued(WebhookSubscription subscription, String condition) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM webhook_outbox WHERE subscription_id = ? AND " + condition,
+                Integer.class, subscription.id());
+    }
+
+    private Calendar calendar(String name) {
+        Calendar calendar = new Calendar();
+        calendar.setName(name);
+        return calendarService.create(calendar);
+    }
+
+    private static Event event(String title, Calendar calendar) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setDate(LocalDateTime.of(2025, 6, 2, 9, 0));
+        event.setCalendar(calendar);
+        return event;
+    }
+}
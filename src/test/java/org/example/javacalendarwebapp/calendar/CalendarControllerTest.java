@@ -1,10 +1,15 @@
 package org.example.javacalendarwebapp.calendar;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.StaleVersionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -44,7 +49,7 @@ class CalendarControllerTest {
     }
 
     @Test
-    void getAllCalendars_shouldReturnListOfCalendars() throws Exception {
+    void getAllCalendars_shouldReturnPageOfCalendars() throws Exception {
         Calendar cal1 = new Calendar();
         cal1.setId(1L);
         cal1.setName("Work Calendar");
@@ -53,18 +58,28 @@ class CalendarControllerTest {
         cal2.setName("Personal Calendar");
 
         List<Calendar> calendars = Arrays.asList(cal1, cal2);
-        when(calendarService.findAll()).thenReturn(calendars);
+        when(calendarService.findPage(null, 50)).thenReturn(new CursorPage<>(calendars.stream().map(CalendarView::of).toList(), "Mg"));
 
         mockMvc.perform(get("/calendars")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].name").value("Work Calendar"))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].name").value("Personal Calendar"));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Work Calendar"))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].name").value("Personal Calendar"))
+                .andExpect(jsonPath("$.nextCursor").value("Mg"));
+
+        verify(calendarService, times(1)).findPage(null, 50);
+    }
+
+    @Test
+    void getAllCalendars_whenCursorInvalid_shouldReturnBadRequest() throws Exception {
+        when(calendarService.findPage("???", 50)).thenThrow(new IllegalArgumentException("Invalid cursor: ???"));
 
-        verify(calendarService, times(1)).findAll();
+        mockMvc.perform(get("/calendars").param("cursor", "???")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -73,7 +88,7 @@ class CalendarControllerTest {
         cal.setId(10L);
         cal.setName("Test Calendar");
 
-        when(calendarService.findById(10L)).thenReturn(Optional.of(cal));
+        when(calendarService.findById(10L)).thenReturn(Optional.of(CalendarView.of(cal)));
 
         mockMvc.perform(get("/calendars/{id}", 10L)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -125,29 +140,126 @@ class CalendarControllerTest {
 
         Calendar updated = new Calendar();
         updated.setId(idToUpdate);
+        updated.setVersion(1L);
         updated.setName("Updated Name");
 
-        when(calendarService.update(eq(idToUpdate), Mockito.any(Calendar.class)))
+        when(calendarService.update(eq(idToUpdate), Mockito.any(Calendar.class), isNull()))
                 .thenReturn(updated);
 
         mockMvc.perform(put("/calendars/{id}", idToUpdate)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
                 .andExpect(jsonPath("$.id").value(42))
                 .andExpect(jsonPath("$.name").value("Updated Name"));
 
-        verify(calendarService, times(1)).update(eq(idToUpdate), Mockito.any(Calendar.class));
+        verify(calendarService, times(1)).update(eq(idToUpdate), Mockito.any(Calendar.class), isNull());
     }
 
     @Test
     void deleteCalendar_shouldReturnNoContent() throws Exception {
-        doNothing().when(calendarService).delete(77L);
+        doNothing().when(calendarService).delete(77L, null);
 
         mockMvc.perform(delete("/calendars/{id}", 77L)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
 
-        verify(calendarService, times(1)).delete(77L);
+        verify(calendarService, times(1)).delete(77L, null);
+    }
+
+    @Test
+    void patchCalendar_shouldReturnPatchedCalendarWithETag() throws Exception {
+        Calendar patched = new Calendar();
+        patched.setId(50L);
+        patched.setName("Renamed");
+        patched.setVersion(6L);
+        when(calendarService.patch(eq(50L), Mockito.any(JsonNode.class), eq(5L))).thenReturn(patched);
+
+        mockMvc.perform(patch("/calendars/{id}", 50L)
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"name\":\"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"6\""))
+                .andExpect(jsonPath("$.name").value("Renamed"));
+
+        verify(calendarService, times(1)).patch(eq(50L), Mockito.any(JsonNode.class), eq(5L));
+    }
+
+    @Test
+    void patchCalendar_whenPatchIsInvalid_shouldReturnBadRequest() throws Exception {
+        when(calendarService.patch(eq(50L), Mockito.any(JsonNode.class), isNull()))
+                .thenThrow(new IllegalArgumentException("Field cannot be patched: id"));
+
+        mockMvc.perform(patch("/calendars/{id}", 50L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"id\":1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchCalendar_whenNotFound_shouldReturn404() throws Exception {
+        when(calendarService.patch(eq(51L), Mockito.any(JsonNode.class), isNull())).thenReturn(null);
+
+        mockMvc.perform(patch("/calendars/{id}", 51L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"name\":null}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getCalendarById_whenETagMatches_shouldReturnNotModified() throws Exception {
+        Calendar current = new Calendar();
+        current.setId(10L);
+        current.setVersion(3L);
+        when(calendarService.findById(10L)).thenReturn(Optional.of(CalendarView.of(current)));
+
+        mockMvc.perform(get("/calendars/{id}", 10L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void updateCalendar_whenIfMatchIsStale_shouldReturnPreconditionFailed() throws Exception {
+        when(calendarService.update(eq(50L), Mockito.any(Calendar.class), eq(2L)))
+                .thenThrow(new StaleVersionException("Calendar 50 was modified concurrently"));
+
+        mockMvc.perform(put("/calendars/{id}", 50L)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateCalendar_whenMemberIsUnknown_shouldReturnBadRequest() throws Exception {
+        when(calendarService.update(eq(52L), Mockito.any(Calendar.class), isNull()))
+                .thenThrow(new IllegalArgumentException("Calendar members must be existing users"));
+
+        mockMvc.perform(put("/calendars/{id}", 52L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Team\",\"users\":[{\"id\":999}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateCalendar_whenNotFound_shouldReturn404() throws Exception {
+        when(calendarService.update(eq(51L), Mockito.any(Calendar.class), isNull())).thenReturn(null);
+
+        mockMvc.perform(put("/calendars/{id}", 51L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteCalendar_whenIfMatchIsStale_shouldReturnPreconditionFailed() throws Exception {
+        doThrow(new StaleVersionException("Calendar 77 was modified concurrently")).when(calendarService).delete(77L, 4L);
+
+        mockMvc.perform(delete("/calendars/{id}", 77L)
+                        .header(HttpHeaders.IF_MATCH, "\"4\""))
+                .andExpect(status().isPreconditionFailed());
     }
 }
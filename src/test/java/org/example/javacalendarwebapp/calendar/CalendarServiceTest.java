@@ -1,9 +1,17 @@
 package org.example.javacalendarwebapp.calendar;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.StaleVersionException;
+import org.example.javacalendarwebapp.user.User;
+import org.example.javacalendarwebapp.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import java.sql.Types;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -15,6 +23,12 @@ class CalendarServiceTest {
     @Mock
     private CalendarRepository calendarRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CalendarService calendarService;
 
@@ -40,23 +54,22 @@ class CalendarServiceTest {
 
     @Test
     void findById_whenExists_shouldReturnOptionalWithCalendar() {
-        when(calendarRepository.findById(1L)).thenReturn(Optional.of(sampleCalendar));
+        when(calendarRepository.findViewById(1L)).thenReturn(Optional.of(CalendarView.of(sampleCalendar)));
 
-        Optional<Calendar> result = calendarService.findById(1L);
+        Optional<CalendarView> result = calendarService.findById(1L);
 
-        assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(sampleCalendar);
-        verify(calendarRepository, times(1)).findById(1L);
+        assertThat(result).contains(new CalendarView(1L, "Sample", null));
+        verify(calendarRepository, times(1)).findViewById(1L);
     }
 
     @Test
     void findById_whenNotExists_shouldReturnEmptyOptional() {
-        when(calendarRepository.findById(2L)).thenReturn(Optional.empty());
+        when(calendarRepository.findViewById(2L)).thenReturn(Optional.empty());
 
-        Optional<Calendar> result = calendarService.findById(2L);
+        Optional<CalendarView> result = calendarService.findById(2L);
 
         assertThat(result).isNotPresent();
-        verify(calendarRepository, times(1)).findById(2L);
+        verify(calendarRepository, times(1)).findViewById(2L);
     }
 
     @Test
@@ -77,31 +90,84 @@ class CalendarServiceTest {
     }
 
     @Test
-    void update_whenExists_shouldSetIdAndSave() {
+    void update_whenExists_shouldCopyNameOntoLoadedCalendar() {
         Long idToUpdate = 10L;
+        Calendar existing = new Calendar();
+        existing.setId(idToUpdate);
+        existing.setName("Old Name");
+        existing.setVersion(2L);
         Calendar incoming = new Calendar();
         incoming.setName("Updated Name");
 
-        when(calendarRepository.existsById(idToUpdate)).thenReturn(true);
+        when(calendarRepository.findById(idToUpdate)).thenReturn(Optional.of(existing));
+        when(calendarRepository.saveAndFlush(existing)).thenReturn(existing);
 
-        Calendar saved = new Calendar();
-        saved.setId(idToUpdate);
-        saved.setName("Updated Name");
-        ArgumentCaptor<Calendar> captor = ArgumentCaptor.forClass(Calendar.class);
-        when(calendarRepository.save(captor.capture())).thenReturn(saved);
-
-        Calendar result = calendarService.update(idToUpdate, incoming);
+        Calendar result = calendarService.update(idToUpdate, incoming, 2L);
 
-        assertThat(result).isNotNull();
+        assertThat(result).isSameAs(existing);
         assertThat(result.getId()).isEqualTo(idToUpdate);
         assertThat(result.getName()).isEqualTo("Updated Name");
+        verify(calendarRepository, never()).save(any(Calendar.class));
+    }
+
+    @Test
+    void update_whenMembersChange_shouldReplaceThemWithExistingUsersAndEvictMembers() {
+        Long idToUpdate = 11L;
+        Calendar existing = new Calendar();
+        existing.setId(idToUpdate);
+        existing.setVersion(1L);
+        existing.getUsers().add(user(1L));
+        Calendar incoming = new Calendar();
+        incoming.setName("Team");
+        incoming.getUsers().add(user(2L));
+        User bob = user(2L);
+        bob.setUsername("bob");
+
+        when(calendarRepository.findById(idToUpdate)).thenReturn(Optional.of(existing));
+        when(userRepository.findAllById(Set.of(2L))).thenReturn(List.of(bob));
+        when(calendarRepository.saveAndFlush(existing)).thenReturn(existing);
+
+        Calendar result = calendarService.update(idToUpdate, incoming, 1L);
+
+        assertThat(result.getUsers()).containsExactly(bob);
+        assertThat(result.getUsers().iterator().next().getUsername()).isEqualTo("bob");
+        verify(calendarRepository).evictMembers(idToUpdate);
+        verify(eventPublisher).publishEvent(CalendarChange.updated(CalendarChange.Subject.CALENDAR, 11L, 11L, 11L, null));
+    }
+
+    @Test
+    void update_whenMembersUnchanged_shouldNotEvictMembers() {
+        Long idToUpdate = 12L;
+        Calendar existing = new Calendar();
+        existing.setId(idToUpdate);
+        existing.getUsers().add(user(1L));
+        Calendar incoming = new Calendar();
+        incoming.getUsers().add(user(1L));
+
+        when(calendarRepository.findById(idToUpdate)).thenReturn(Optional.of(existing));
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(user(1L)));
+        when(calendarRepository.saveAndFlush(existing)).thenReturn(existing);
+
+        calendarService.update(idToUpdate, incoming);
+
+        verify(calendarRepository, never()).evictMembers(anyLong());
+    }
+
+    @Test
+    void update_whenMemberDoesNotExist_shouldThrowAndNotSave() {
+        Long idToUpdate = 13L;
+        Calendar existing = new Calendar();
+        existing.setId(idToUpdate);
+        Calendar incoming = new Calendar();
+        incoming.getUsers().add(user(99L));
 
-        Calendar passedToSave = captor.getValue();
-        assertThat(passedToSave.getId()).isEqualTo(idToUpdate);
-        assertThat(passedToSave.getName()).isEqualTo("Updated Name");
+        when(calendarRepository.findById(idToUpdate)).thenReturn(Optional.of(existing));
+        when(userRepository.findAllById(Set.of(99L))).thenReturn(List.of());
 
-        verify(calendarRepository, times(1)).existsById(idToUpdate);
-        verify(calendarRepository, times(1)).save(any(Calendar.class));
+        assertThatThrownBy(() -> calendarService.update(idToUpdate, incoming))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(existing.getUsers()).isEmpty();
+        verify(calendarRepository, never()).saveAndFlush(any(Calendar.class));
     }
 
     @Test
@@ -110,34 +176,117 @@ class CalendarServiceTest {
         Calendar incoming = new Calendar();
         incoming.setName("Won't Be Saved");
 
-        when(calendarRepository.existsById(idToUpdate)).thenReturn(false);
+        when(calendarRepository.findById(idToUpdate)).thenReturn(Optional.empty());
 
         Calendar result = calendarService.update(idToUpdate, incoming);
 
         assertThat(result).isNull();
-        verify(calendarRepository, never()).save(any(Calendar.class));
-        verify(calendarRepository, times(1)).existsById(idToUpdate);
+        verify(calendarRepository, never()).saveAndFlush(any(Calendar.class));
+    }
+
+    @Test
+    void update_whenVersionDoesNotMatch_shouldThrowStaleVersion() {
+        Long idToUpdate = 21L;
+        Calendar existing = new Calendar();
+        existing.setId(idToUpdate);
+        existing.setName("Current");
+        existing.setVersion(3L);
+        Calendar incoming = new Calendar();
+        incoming.setName("Stale");
+
+        when(calendarRepository.findById(idToUpdate)).thenReturn(Optional.of(existing));
+
+        assertThatThrownBy(() -> calendarService.update(idToUpdate, incoming, 2L))
+                .isInstanceOf(StaleVersionException.class);
+        assertThat(existing.getName()).isEqualTo("Current");
+        verify(calendarRepository, never()).saveAndFlush(any(Calendar.class));
+    }
+
+    @Test
+    void update_whenConcurrentFlushFails_shouldThrowStaleVersion() {
+        Long idToUpdate = 22L;
+        Calendar existing = new Calendar();
+        existing.setId(idToUpdate);
+        existing.setVersion(1L);
+
+        when(calendarRepository.findById(idToUpdate)).thenReturn(Optional.of(existing));
+        when(calendarRepository.saveAndFlush(existing))
+                .thenThrow(new OptimisticLockingFailureException("version changed"));
+
+        assertThatThrownBy(() -> calendarService.update(idToUpdate, new Calendar()))
+                .isInstanceOf(StaleVersionException.class);
+    }
+
+    @Test
+    void patch_shouldRenameWithSingleStatement() throws Exception {
+        Calendar patched = new Calendar();
+        patched.setId(10L);
+        patched.setName("Renamed");
+        patched.setVersion(3L);
+        List<MergePatch.Assignment> expected = List.of(new MergePatch.Assignment("calendar_name", "Renamed", Types.VARCHAR));
+        when(calendarRepository.patchVersioned(10L, expected, 2L)).thenReturn(Optional.of(patched));
+
+        Calendar result = calendarService.patch(10L, new ObjectMapper().readTree("{\"name\":\"Renamed\"}"), 2L);
+
+        assertThat(result).isSameAs(patched);
+        verify(eventPublisher).publishEvent(CalendarChange.updated(CalendarChange.Subject.CALENDAR, 10L, 10L, 10L, null));
+        verify(calendarRepository, never()).findById(anyLong());
     }
 
     @Test
-    void delete_whenExists_shouldCallDeleteById() {
+    void patch_whenVersionDoesNotMatch_shouldThrowStaleVersion() throws Exception {
+        when(calendarRepository.patchVersioned(eq(11L), anyList(), eq(2L))).thenReturn(Optional.empty());
+        when(calendarRepository.existsById(11L)).thenReturn(true);
+
+        assertThatThrownBy(() -> calendarService.patch(11L, new ObjectMapper().readTree("{\"name\":\"Stale\"}"), 2L))
+                .isInstanceOf(StaleVersionException.class);
+    }
+
+    @Test
+    void patch_whenCollectionsAreSupplied_shouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> calendarService.patch(12L, new ObjectMapper().readTree("{\"users\":[]}"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(calendarRepository);
+    }
+
+    @Test
+    void delete_whenExists_shouldDeleteLoadedCalendar() {
         Long idToDelete = 7L;
-        when(calendarRepository.existsById(idToDelete)).thenReturn(true);
+        when(calendarRepository.findById(idToDelete)).thenReturn(Optional.of(sampleCalendar));
 
         calendarService.delete(idToDelete);
 
-        verify(calendarRepository, times(1)).existsById(idToDelete);
-        verify(calendarRepository, times(1)).deleteById(idToDelete);
+        verify(calendarRepository, times(1)).delete(sampleCalendar);
+        verify(eventPublisher).publishEvent(CalendarChange.deleted(CalendarChange.Subject.CALENDAR, idToDelete, idToDelete));
+        verify(calendarRepository, times(1)).flush();
     }
 
     @Test
-    void delete_whenNotExists_shouldNotCallDeleteById() {
+    void delete_whenNotExists_shouldNotDelete() {
         Long idToDelete = 8L;
-        when(calendarRepository.existsById(idToDelete)).thenReturn(false);
+        when(calendarRepository.findById(idToDelete)).thenReturn(Optional.empty());
 
         calendarService.delete(idToDelete);
 
-        verify(calendarRepository, times(1)).existsById(idToDelete);
+        verify(calendarRepository, never()).delete(any(Calendar.class));
         verify(calendarRepository, never()).deleteById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void delete_whenVersionDoesNotMatch_shouldThrowStaleVersion() {
+        Long idToDelete = 9L;
+        sampleCalendar.setVersion(4L);
+        when(calendarRepository.findById(idToDelete)).thenReturn(Optional.of(sampleCalendar));
+
+        assertThatThrownBy(() -> calendarService.delete(idToDelete, 3L))
+                .isInstanceOf(StaleVersionException.class);
+        verify(calendarRepository, never()).delete(any(Calendar.class));
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
     }
 }
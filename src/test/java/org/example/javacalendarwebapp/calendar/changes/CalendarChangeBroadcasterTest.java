@@ -0,0 +1,131 @@
+package org.example.javacalendarwebapp.calendar.changes;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CalendarChangeBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Runnable> pendingSends = new ArrayList<>();
+
+    private CalendarChangeBroadcaster broadcaster =
+            new CalendarChangeBroadcaster(meterRegistry, 4, Duration.ofHours(1), Duration.ofMinutes(30), Runnable::run);
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    void onCalendarChange_shouldPushOnlyToSubscribersOfThatCalendar() {
+        RecordingEmitter work = subscribe(1L);
+        RecordingEmitter home = subscribe(2L);
+
+        broadcaster.onCalendarChange(CalendarChange.created(CalendarChange.Subject.EVENT, 10L, 1L, LocalDateTime.now()));
+
+        assertThat(work.sent).hasSize(1);
+        assertThat(work.sent.get(0)).contains("event:change", "CREATED");
+        assertThat(home.sent).isEmpty();
+    }
+
+    @Test
+    void onCalendarChange_whenItemMoved_shouldNotifyBothCalendars() {
+        RecordingEmitter source = subscribe(1L);
+        RecordingEmitter target = subscribe(2L);
+
+        broadcaster.onCalendarChange(CalendarChange.updated(CalendarChange.Subject.TASK, 10L, 2L, 1L, null));
+
+        assertThat(source.sent).hasSize(1);
+        assertThat(target.sent).hasSize(1);
+    }
+
+    @Test
+    void onCalendarChange_whenSubscriberFallsBehind_shouldDropIt() {
+        broadcaster.destroy();
+        broadcaster = new CalendarChangeBroadcaster(meterRegistry, 2, Duration.ofHours(1), Duration.ofMinutes(30), pendingSends::add);
+        RecordingEmitter slow = subscribe(1L);
+
+        for (long id = 1; id <= 3; id++) {
+            broadcaster.onCalendarChange(CalendarChange.deleted(CalendarChange.Subject.EVENT, id, 1L));
+        }
+
+        assertThat(slow.completed).isTrue();
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+        assertThat(meterRegistry.get("calendar.changes.dropped").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("calendar.changes.subscribers").gauge().value()).isZero();
+
+        pendingSends.forEach(Runnable::run);
+        assertThat(slow.sent).isEmpty();
+    }
+
+    @Test
+    void heartbeat_shouldSendCommentToEverySubscriber() {
+        RecordingEmitter first = subscribe(1L);
+        RecordingEmitter second = subscribe(2L);
+
+        broadcaster.heartbeat();
+
+        assertThat(first.sent).singleElement().asString().startsWith(":" + CalendarChangeBroadcaster.HEARTBEAT);
+        assertThat(second.sent).hasSize(1);
+    }
+
+    @Test
+    void send_whenClientDisconnected_shouldRemoveSubscriber() {
+        RecordingEmitter gone = subscribe(1L);
+        gone.failing = true;
+
+        broadcaster.heartbeat();
+
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+    }
+
+    @Test
+    void onCalendarChange_whenCalendarDeleted_shouldCloseItsStreams() {
+        RecordingEmitter stream = subscribe(1L);
+
+        broadcaster.onCalendarChange(CalendarChange.deleted(CalendarChange.Subject.CALENDAR, 1L, 1L));
+
+        assertThat(stream.sent).hasSize(1);
+        assertThat(stream.completed).isTrue();
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+    }
+
+    private RecordingEmitter subscribe(Long calendarId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(calendarId, emitter);
+        return emitter;
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new ArrayList<>();
+        private boolean failing;
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
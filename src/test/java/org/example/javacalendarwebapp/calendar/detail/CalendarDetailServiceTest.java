@@ -0,0 +1,60 @@
+package org.example.javacalendarwebapp.calendar.detail;
+
+import org.example.javacalendarwebapp.calendar.CalendarService;
+import org.example.javacalendarwebapp.calendar.CalendarView;
+import org.example.javacalendarwebapp.event.EventService;
+import org.example.javacalendarwebapp.event.EventView;
+import org.example.javacalendarwebapp.task.TaskService;
+import org.example.javacalendarwebapp.task.TaskView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarDetailServiceTest {
+
+    @Mock
+    private CalendarService calendarService;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private CalendarDetailService detailService;
+
+    @Test
+    void findDetail_shouldAssembleCalendarWithMembersEventsAndTasks() {
+        EventView event = new EventView(1L, "Standup", null, LocalDateTime.of(2025, 6, 2, 9, 0), 15, null, 7L, 0L);
+        TaskView task = new TaskView(2L, "Report", null, null, null, false, false, 7L, 0L);
+        when(calendarService.findById(7L)).thenReturn(Optional.of(new CalendarView(7L, "Work", 3L)));
+        when(calendarService.findMembers(7L)).thenReturn(List.of(new CalendarMember(4L, "alice")));
+        when(eventService.findByCalendar(7L)).thenReturn(List.of(event));
+        when(taskService.findByCalendar(7L)).thenReturn(List.of(task));
+
+        Optional<CalendarDetail> detail = detailService.findDetail(7L);
+
+        assertThat(detail).contains(new CalendarDetail(
+                7L, "Work", 3L, List.of(new CalendarMember(4L, "alice")), List.of(event), List.of(task)));
+    }
+
+    @Test
+    void findDetail_whenCalendarMissing_shouldNotQueryContents() {
+        when(calendarService.findById(8L)).thenReturn(Optional.empty());
+
+        assertThat(detailService.findDetail(8L)).isEmpty();
+        verify(calendarService, never()).findMembers(anyLong());
+        verifyNoInteractions(eventService, taskService);
+    }
+}
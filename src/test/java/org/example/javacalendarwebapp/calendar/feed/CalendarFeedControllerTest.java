@@ -0,0 +1,99 @@
+package org.example.javacalendarwebapp.calendar.feed;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CalendarFeedControllerTest {
+
+    @InjectMocks
+    private CalendarFeedController feedController;
+
+    @Mock
+    private CalendarFeedService feedService;
+
+    private MockMvc mockMvc;
+
+    private final FeedVersion version = new FeedVersion(7L, "Work", 3L, Instant.parse("2025-06-01T08:00:00Z"));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(feedController).build();
+    }
+
+    @Test
+    void getFeed_shouldStreamCalendarWithValidators() throws Exception {
+        when(feedService.findVersion(7L)).thenReturn(Optional.of(version));
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(feedService).write(eq(version), any());
+
+        MvcResult started = mockMvc.perform(get("/calendars/7/feed.ics"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/calendar;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.ETAG, version.etag()))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, version.lastModified()))
+                .andExpect(content().string("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n"));
+    }
+
+    @Test
+    void getFeed_whenEtagMatches_shouldReturnNotModifiedWithoutStreaming() throws Exception {
+        when(feedService.findVersion(7L)).thenReturn(Optional.of(version));
+
+        mockMvc.perform(get("/calendars/7/feed.ics").header(HttpHeaders.IF_NONE_MATCH, version.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, version.etag()));
+
+        verify(feedService, never()).write(any(), any());
+    }
+
+    @Test
+    void getFeed_whenNotModifiedSince_shouldReturnNotModified() throws Exception {
+        when(feedService.findVersion(7L)).thenReturn(Optional.of(version));
+
+        mockMvc.perform(get("/calendars/7/feed.ics").header(HttpHeaders.IF_MODIFIED_SINCE, "Sun, 01 Jun 2025 08:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(feedService, never()).write(any(), any());
+    }
+
+    @Test
+    void getFeed_whenEtagIsStale_shouldStreamFeed() throws Exception {
+        when(feedService.findVersion(7L)).thenReturn(Optional.of(version));
+
+        mockMvc.perform(get("/calendars/7/feed.ics").header(HttpHeaders.IF_NONE_MATCH, "\"7-2-0\""))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void getFeed_whenCalendarMissing_shouldReturnNotFound() throws Exception {
+        when(feedService.findVersion(99L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/calendars/99/feed.ics"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.javacalendarwebapp.calendar.feed;
+
+import org.example.javacalendarwebapp.event.EventService;
+import org.example.javacalendarwebapp.event.EventView;
+import org.example.javacalendarwebapp.event.recurrence.Recurrence;
+import org.example.javacalendarwebapp.event.recurrence.RecurrenceFrequency;
+import org.example.javacalendarwebapp.task.TaskService;
+import org.example.javacalendarwebapp.task.TaskView;
+import org.example.javacalendarwebapp.task.priority.TaskPriorityType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarFeedServiceTest {
+
+    @Mock
+    private CalendarFeedVersions feedVersions;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private CalendarFeedService feedService;
+
+    private final FeedVersion version = new FeedVersion(7L, "Team, Work", 3L, Instant.parse("2025-06-01T08:00:00Z"));
+
+    @Test
+    void findVersion_shouldDelegateToVersionLookup() {
+        when(feedVersions.find(7L)).thenReturn(Optional.of(version));
+
+        assertThat(feedService.findVersion(7L)).contains(version);
+        verifyNoInteractions(eventService, taskService);
+    }
+
+    @Test
+    void write_shouldStreamEventsAndTasksAsIcalendarComponents() throws Exception {
+        Recurrence recurrence = new Recurrence();
+        recurrence.setFrequency(RecurrenceFrequency.WEEKLY);
+        recurrence.setInterval(2);
+        recurrence.setUntil(LocalDateTime.of(2025, 8, 1, 0, 0));
+        recurrence.setExceptionDates(List.of(LocalDateTime.of(2025, 6, 16, 9, 0)));
+        doAnswer(invocation -> {
+            Consumer<EventView> sink = invocation.getArgument(1);
+            sink.accept(new EventView(1L, "Standup", "Daily; short", LocalDateTime.of(2025, 6, 2, 9, 0), 15, recurrence, 7L, 0L));
+            sink.accept(new EventView(2L, "Undated", null, null, null, null, 7L, 0L));
+            return null;
+        }).when(eventService).exportCalendar(eq(7L), any());
+        doAnswer(invocation -> {
+            Consumer<TaskView> sink = invocation.getArgument(1);
+            sink.accept(new TaskView(3L, "Report", null, TaskPriorityType.HIGH, LocalDateTime.of(2025, 6, 5, 17, 0), true, false, 7L, 0L));
+            return null;
+        }).when(taskService).exportCalendar(eq(7L), any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        feedService.write(version, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(String.join("\r\n",
+                "BEGIN:VCALENDAR",
+                "VERSION:2.0",
+                "PRODID:" + CalendarFeedService.PRODUCT_ID,
+                "CALSCALE:GREGORIAN",
+                "X-WR-CALNAME:Team\\, Work",
+                "BEGIN:VEVENT",
+                "UID:event-1@javacalendarwebapp",
+                "DTSTAMP:20250601T080000Z",
+                "DTSTART:20250602T090000",
+                "DURATION:PT15M",
+                "SUMMARY:Standup",
+                "DESCRIPTION:Daily\\; short",
+                "RRULE:FREQ=WEEKLY;INTERVAL=2;UNTIL=20250801T000000",
+                "EXDATE:20250616T090000",
+                "END:VEVENT",
+                "BEGIN:VTODO",
+                "UID:task-3@javacalendarwebapp",
+                "DTSTAMP:20250601T080000Z",
+                "DUE:20250605T170000",
+                "SUMMARY:Report",
+                "PRIORITY:1",
+                "STATUS:COMPLETED",
+                "END:VTODO",
+                "END:VCALENDAR",
+                ""));
+    }
+
+    @Test
+    void rrule_shouldOmitDefaultIntervalAndPreferCount() {
+        Recurrence recurrence = new Recurrence();
+        recurrence.setFrequency(RecurrenceFrequency.DAILY);
+        recurrence.setCount(5);
+
+        assertThat(CalendarFeedService.rrule(recurrence)).isEqualTo("FREQ=DAILY;COUNT=5");
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.javacalendarwebapp.calendar.feed;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.calendar.sync.CalendarChangeLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedVersionTrackerTest {
+
+    @Mock
+    private CalendarFeedVersions feedVersions;
+
+    @Mock
+    private CalendarChangeLog changeLog;
+
+    @InjectMocks
+    private FeedVersionTracker tracker;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(tracker);
+    }
+
+    @Test
+    void onCalendarChange_withoutTransaction_shouldBumpImmediately() {
+        CalendarChange change = CalendarChange.updated(CalendarChange.Subject.EVENT, 1L, 2L, 3L, LocalDateTime.now());
+
+        tracker.onCalendarChange(change);
+
+        verify(feedVersions).bump(Set.of(2L, 3L));
+        verify(changeLog).append(List.of(change));
+    }
+
+    @Test
+    void onCalendarChange_insideTransaction_shouldBumpOnceBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        CalendarChange event = CalendarChange.created(CalendarChange.Subject.EVENT, 1L, 2L, LocalDateTime.now());
+        CalendarChange task = CalendarChange.created(CalendarChange.Subject.TASK, 5L, 2L, LocalDateTime.now());
+        CalendarChange deleted = CalendarChange.deleted(CalendarChange.Subject.TASK, 6L, 4L);
+        tracker.onCalendarChange(event);
+        tracker.onCalendarChange(task);
+        tracker.onCalendarChange(deleted);
+
+        verify(feedVersions, never()).bump(any());
+        verifyNoInteractions(changeLog);
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        InOrder order = inOrder(feedVersions, changeLog);
+        order.verify(feedVersions, times(1)).bump(Set.of(2L, 4L));
+        order.verify(changeLog).append(List.of(event, task, deleted));
+        verifyNoMoreInteractions(feedVersions, changeLog);
+    }
+}
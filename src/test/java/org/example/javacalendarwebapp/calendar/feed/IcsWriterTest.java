@@ -0,0 +1,55 @@
+package org.example.javacalendarwebapp.calendar.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IcsWriterTest {
+
+    @Test
+    void escape_shouldEscapeTextSpecialCharacters() {
+        assertThat(IcsWriter.escape("a;b,c\\d\r\ne\nf")).isEqualTo("a\\;b\\,c\\\\d\\ne\\nf");
+    }
+
+    @Test
+    void text_shouldFoldLinesAtSeventyFiveOctetsWithoutSplittingCharacters() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IcsWriter ics = new IcsWriter(out);
+
+        ics.text("SUMMARY", "ż".repeat(100));
+        ics.flush();
+
+        String written = out.toString(StandardCharsets.UTF_8);
+        assertThat(written).endsWith("\r\n");
+        String[] lines = written.split("\r\n");
+        assertThat(lines).hasSizeGreaterThan(1);
+        assertThat(lines).allMatch(line -> line.getBytes(StandardCharsets.UTF_8).length <= 75);
+        assertThat(lines).skip(1).allMatch(line -> line.startsWith(" "));
+        String unfolded = written.replace("\r\n ", "").trim();
+        assertThat(unfolded).isEqualTo("SUMMARY:" + "ż".repeat(100));
+    }
+
+    @Test
+    void dateProperties_shouldUseBasicFormat() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IcsWriter ics = new IcsWriter(out);
+
+        ics.dateTime("DTSTART", LocalDateTime.of(2025, 6, 1, 9, 30))
+                .timestamp("DTSTAMP", Instant.parse("2025-01-02T03:04:05Z"))
+                .dateTimes("EXDATE", List.of(LocalDateTime.of(2025, 6, 2, 9, 30), LocalDateTime.of(2025, 6, 3, 9, 30)))
+                .text("DESCRIPTION", null);
+        ics.flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "DTSTART:20250601T093000\r\n"
+                        + "DTSTAMP:20250102T030405Z\r\n"
+                        + "EXDATE:20250602T093000,20250603T093000\r\n");
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CalendarImportControllerTest {
+
+    @InjectMocks
+    private CalendarImportController importController;
+
+    @Mock
+    private CalendarImportService importService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mockMvc = MockMvcBuilders.standaloneSetup(importController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    private static ImportProgress progress(ImportJob.Status status, String failure) {
+        return new ImportProgress("job-1", 5L, status, Instant.parse("2025-06-01T08:00:00Z"), 3, 2, 1, 0, 10, 300.0,
+                failure, List.of());
+    }
+
+    @Test
+    void importCalendar_shouldAcceptAndPointAtProgress() throws Exception {
+        when(importService.startImport(eq(5L), any())).thenReturn(progress(ImportJob.Status.RUNNING, null));
+
+        mockMvc.perform(post("/calendars/5/import").contentType("text/calendar").content("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/calendars/imports/job-1"))
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @Test
+    void importCalendar_whenFailed_shouldReturnUnprocessableEntity() throws Exception {
+        when(importService.startImport(eq(5L), any())).thenReturn(progress(ImportJob.Status.FAILED, "Unterminated VEVENT"));
+
+        mockMvc.perform(post("/calendars/5/import").contentType("text/calendar").content("BEGIN:VEVENT"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.failure").value("Unterminated VEVENT"));
+    }
+
+    @Test
+    void importCalendar_whenCalendarMissing_shouldReturnNotFound() throws Exception {
+        when(importService.startImport(eq(9L), any())).thenReturn(null);
+
+        mockMvc.perform(post("/calendars/9/import").contentType("text/calendar").content(""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void importCalendar_whenTooManyImports_shouldReturnServiceUnavailable() throws Exception {
+        when(importService.startImport(eq(5L), any())).thenThrow(new IllegalStateException("Too many concurrent imports"));
+
+        mockMvc.perform(post("/calendars/5/import").contentType("text/calendar").content(""))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void getImport_shouldReturnProgressOrNotFound() throws Exception {
+        when(importService.findById("job-1")).thenReturn(Optional.of(progress(ImportJob.Status.RUNNING, null)));
+        when(importService.findById("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/calendars/imports/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+        mockMvc.perform(get("/calendars/imports/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
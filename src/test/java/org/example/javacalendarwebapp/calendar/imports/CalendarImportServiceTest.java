@@ -0,0 +1,172 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.calendar.CalendarRepository;
+import org.example.javacalendarwebapp.calendar.sync.CalendarChangeLog;
+import org.example.javacalendarwebapp.calendar.timeline.CalendarTimelineIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarImportServiceTest {
+
+    @Mock
+    private CalendarRepository calendarRepository;
+
+    @Mock
+    private CalendarCopyLoader copyLoader;
+
+    @Mock
+    private CalendarChangeLog changeLog;
+
+    @Mock
+    private CalendarTimelineIndex timelineIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ImportJobRegistry jobs;
+    private CalendarImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        jobs = new ImportJobRegistry(Duration.ofHours(1));
+        importService = new CalendarImportService(calendarRepository, copyLoader, jobs, changeLog, timelineIndex, eventPublisher,
+                new SimpleMeterRegistry(), 2, 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.destroy();
+    }
+
+    private static InputStream ics(String... components) {
+        String body = "BEGIN:VCALENDAR\r\n" + String.join("", components) + "END:VCALENDAR\r\n";
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String event(String summary, String start) {
+        return "BEGIN:VEVENT\r\nSUMMARY:" + summary + "\r\nDTSTART:" + start + "\r\nEND:VEVENT\r\n";
+    }
+
+    @Test
+    void startImport_whenCalendarMissing_shouldReturnNull() {
+        when(calendarRepository.existsById(9L)).thenReturn(false);
+
+        assertThat(importService.startImport(9L, ics())).isNull();
+        verifyNoInteractions(copyLoader);
+    }
+
+    @Test
+    void startImport_shouldValidateLoadAndReportProgress() throws Exception {
+        when(calendarRepository.existsById(5L)).thenReturn(true);
+        List<CopyBatch> loaded = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> loaded.add(invocation.getArgument(0))).when(copyLoader).load(any());
+
+        ImportProgress progress = finished(importService.startImport(5L, ics(
+                event("One", "20250601T090000"),
+                event("Two", "20250602T090000"),
+                "BEGIN:VEVENT\r\nSUMMARY:No start\r\nEND:VEVENT\r\n",
+                "BEGIN:VTODO\r\nSUMMARY:Todo\r\nDUE:20250603T090000\r\nEND:VTODO\r\n",
+                event("Three", "20250604T090000"))));
+
+        assertThat(progress.status()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(progress.parsed()).isEqualTo(5);
+        assertThat(progress.importedEvents()).isEqualTo(3);
+        assertThat(progress.importedTasks()).isEqualTo(1);
+        assertThat(progress.rejected()).isEqualTo(1);
+        assertThat(progress.errors()).singleElement()
+                .satisfies(error -> assertThat(error.message()).contains("DTSTART"));
+        assertThat(loaded).hasSize(3);
+        assertThat(loaded).allMatch(batch -> batch.calendarId() == 5L);
+        verify(eventPublisher, times(3)).publishEvent(
+                CalendarChange.updated(CalendarChange.Subject.CALENDAR, 5L, 5L, 5L, null));
+        verify(changeLog, times(3)).invalidate(5L);
+        verify(timelineIndex, times(3)).evict(5L);
+        assertThat(jobs.find(progress.id())).isPresent();
+    }
+
+    @Test
+    void startImport_whenLoadingFails_shouldStopAndReportFailure() throws Exception {
+        when(calendarRepository.existsById(5L)).thenReturn(true);
+        doThrow(new SQLException("disk full")).when(copyLoader).load(any());
+
+        ImportProgress progress = finished(importService.startImport(5L, ics(
+                event("One", "20250601T090000"),
+                event("Two", "20250602T090000"),
+                event("Three", "20250603T090000"))));
+
+        assertThat(progress.status()).isEqualTo(ImportJob.Status.FAILED);
+        assertThat(progress.failure()).contains("disk full");
+        assertThat(progress.importedEvents()).isZero();
+        verifyNoInteractions(eventPublisher, changeLog, timelineIndex);
+    }
+
+    @Test
+    void startImport_whenFileIsTruncated_shouldFail() {
+        when(calendarRepository.existsById(5L)).thenReturn(true);
+
+        ImportProgress progress = finished(importService.startImport(5L,
+                new ByteArrayInputStream("BEGIN:VEVENT\r\nSUMMARY:Cut".getBytes(StandardCharsets.UTF_8))));
+
+        assertThat(progress.status()).isEqualTo(ImportJob.Status.FAILED);
+        assertThat(progress.failure()).contains("Unterminated VEVENT");
+    }
+
+    @Test
+    void startImport_shouldReturnWhileImportRunsInBackground() throws Exception {
+        when(calendarRepository.existsById(5L)).thenReturn(true);
+        CountDownLatch loading = new CountDownLatch(1);
+        doAnswer(invocation -> loading.await(10, TimeUnit.SECONDS)).when(copyLoader).load(any());
+
+        ImportProgress started = importService.startImport(5L, ics(event("One", "20250601T090000")));
+
+        assertThat(started.status()).isEqualTo(ImportJob.Status.RUNNING);
+        assertThat(jobs.find(started.id())).hasValueSatisfying(
+                progress -> assertThat(progress.status()).isEqualTo(ImportJob.Status.RUNNING));
+        loading.countDown();
+        assertThat(finished(started).importedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void startImport_whenImportsFinish_shouldReleasePermit() {
+        when(calendarRepository.existsById(5L)).thenReturn(true);
+
+        finished(importService.startImport(5L, ics(event("One", "20250601T090000"))));
+
+        assertThat(finished(importService.startImport(5L, ics(event("Two", "20250602T090000")))).status())
+                .isEqualTo(ImportJob.Status.COMPLETED);
+    }
+
+    private ImportProgress finished(ImportProgress started) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ImportProgress progress = started;
+        while (progress.status() == ImportJob.Status.RUNNING && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            progress = jobs.find(started.id()).orElseThrow();
+        }
+        return progress;
+    }
+}
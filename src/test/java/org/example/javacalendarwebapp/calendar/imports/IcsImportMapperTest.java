@@ -0,0 +1,90 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import org.example.javacalendarwebapp.event.Event;
+import org.example.javacalendarwebapp.event.recurrence.RecurrenceFrequency;
+import org.example.javacalendarwebapp.task.Task;
+import org.example.javacalendarwebapp.task.priority.TaskPriorityType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IcsImportMapperTest {
+
+    private static IcsComponent component(String name, String... lines) {
+        List<IcsProperty> properties = new ArrayList<>();
+        for (String line : lines) {
+            properties.add(IcsProperty.parse(line));
+        }
+        return new IcsComponent(name, properties, 1);
+    }
+
+    @Test
+    void toEvent_shouldMapTimesDurationAndRecurrence() {
+        Event event = IcsImportMapper.toEvent(component("VEVENT",
+                "SUMMARY:Standup\\; daily",
+                "DTSTART;TZID=Europe/Warsaw:20250602T090000",
+                "DTEND;TZID=Europe/Warsaw:20250602T091500",
+                "RRULE:FREQ=WEEKLY;INTERVAL=2;BYDAY=MO;UNTIL=20250801T000000Z",
+                "EXDATE:20250616T090000,20250630T090000"));
+
+        assertThat(event.getTitle()).isEqualTo("Standup; daily");
+        assertThat(event.getDate()).isEqualTo(LocalDateTime.of(2025, 6, 2, 9, 0));
+        assertThat(event.getDurationMinutes()).isEqualTo(15);
+        assertThat(event.getRecurrence().getFrequency()).isEqualTo(RecurrenceFrequency.WEEKLY);
+        assertThat(event.getRecurrence().getInterval()).isEqualTo(2);
+        assertThat(event.getRecurrence().getUntil()).isEqualTo(LocalDateTime.of(2025, 8, 1, 0, 0));
+        assertThat(event.getRecurrence().getExceptionDates())
+                .containsExactly(LocalDateTime.of(2025, 6, 16, 9, 0), LocalDateTime.of(2025, 6, 30, 9, 0));
+    }
+
+    @Test
+    void toEvent_shouldTreatAllDayEventsAsStartOfDay() {
+        Event event = IcsImportMapper.toEvent(component("VEVENT",
+                "DTSTART;VALUE=DATE:20250602",
+                "DURATION:P1D"));
+
+        assertThat(event.getTitle()).isEmpty();
+        assertThat(event.getDate()).isEqualTo(LocalDateTime.of(2025, 6, 2, 0, 0));
+        assertThat(event.getDurationMinutes()).isEqualTo(1440);
+    }
+
+    @Test
+    void toEvent_shouldRejectUnsupportedInput() {
+        assertThatThrownBy(() -> IcsImportMapper.toEvent(component("VEVENT", "SUMMARY:No start")))
+                .hasMessageContaining("DTSTART");
+        assertThatThrownBy(() -> IcsImportMapper.toEvent(component("VEVENT",
+                "DTSTART:20250602T090000", "RRULE:FREQ=YEARLY")))
+                .hasMessageContaining("YEARLY");
+        assertThatThrownBy(() -> IcsImportMapper.toEvent(component("VEVENT",
+                "DTSTART:20250602T090000", "RRULE:FREQ=WEEKLY;BYDAY=MO,WE")))
+                .hasMessageContaining("BYDAY");
+        assertThatThrownBy(() -> IcsImportMapper.toEvent(component("VEVENT",
+                "DTSTART:20250602T090000", "DURATION:P2W")))
+                .hasMessageContaining("longer than");
+    }
+
+    @Test
+    void toTask_shouldMapDuePriorityAndStatus() {
+        Task task = IcsImportMapper.toTask(component("VTODO",
+                "SUMMARY:Report",
+                "DUE:20250605T170000Z",
+                "PRIORITY:5",
+                "STATUS:COMPLETED"));
+
+        assertThat(task.getTitle()).isEqualTo("Report");
+        assertThat(task.getDate()).isEqualTo(LocalDateTime.of(2025, 6, 5, 17, 0));
+        assertThat(task.getPriority()).isEqualTo(TaskPriorityType.MEDIUM);
+        assertThat(task.getCompleted()).isTrue();
+    }
+
+    @Test
+    void parseDuration_shouldSupportWeeks() {
+        assertThat(IcsImportMapper.parseDuration("P1W")).isEqualTo(Duration.ofDays(7));
+        assertThat(IcsImportMapper.parseDuration("PT1H30M")).isEqualTo(Duration.ofMinutes(90));
+    }
+}
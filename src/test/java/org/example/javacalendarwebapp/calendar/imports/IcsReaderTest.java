@@ -0,0 +1,77 @@
+package org.example.javacalendarwebapp.calendar.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IcsReaderTest {
+
+    private static List<IcsComponent> readAll(String ics) {
+        IcsReader reader = new IcsReader(new ByteArrayInputStream(ics.getBytes(StandardCharsets.UTF_8)));
+        List<IcsComponent> components = new ArrayList<>();
+        reader.forEachRemaining(components::add);
+        return components;
+    }
+
+    @Test
+    void shouldYieldEventsAndTodosAndSkipOtherComponents() {
+        List<IcsComponent> components = readAll(String.join("\r\n",
+                "BEGIN:VCALENDAR",
+                "VERSION:2.0",
+                "BEGIN:VTIMEZONE",
+                "TZID:Europe/Warsaw",
+                "END:VTIMEZONE",
+                "BEGIN:VEVENT",
+                "SUMMARY:Standup",
+                "BEGIN:VALARM",
+                "TRIGGER:-PT15M",
+                "END:VALARM",
+                "END:VEVENT",
+                "BEGIN:VTODO",
+                "SUMMARY:Report",
+                "END:VTODO",
+                "END:VCALENDAR",
+                ""));
+
+        assertThat(components).extracting(IcsComponent::name).containsExactly("VEVENT", "VTODO");
+        assertThat(components.get(0).properties()).extracting(IcsProperty::name).containsExactly("SUMMARY");
+        assertThat(components.get(0).line()).isEqualTo(6);
+        assertThat(components.get(1).line()).isEqualTo(12);
+    }
+
+    @Test
+    void shouldUnfoldContinuationLinesAndParseParameters() {
+        List<IcsComponent> components = readAll("BEGIN:VEVENT\n"
+                + "DTSTART;TZID=\"Europe/Warsaw\";VALUE=DATE-TIME:20250601T090000\n"
+                + "DESCRIPTION:first part\n"
+                + "  and\n"
+                + "\tsecond\\, part\n"
+                + "END:VEVENT");
+
+        IcsComponent event = components.get(0);
+        assertThat(event.first("DTSTART").parameter("TZID")).isEqualTo("Europe/Warsaw");
+        assertThat(event.first("DTSTART").value()).isEqualTo("20250601T090000");
+        assertThat(event.text("DESCRIPTION")).isEqualTo("first part andsecond, part");
+    }
+
+    @Test
+    void shouldRejectUnterminatedComponent() {
+        assertThatThrownBy(() -> readAll("BEGIN:VEVENT\r\nSUMMARY:Broken\r\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unterminated VEVENT");
+    }
+
+    @Test
+    void shouldRejectOversizedLines() {
+        String huge = "SUMMARY:" + "x".repeat(IcsReader.MAX_LINE_LENGTH + 1);
+
+        assertThatThrownBy(() -> readAll("BEGIN:VEVENT\n" + huge + "\nEND:VEVENT\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceeds");
+    }
+}
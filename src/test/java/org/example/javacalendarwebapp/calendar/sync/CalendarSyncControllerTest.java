@@ -0,0 +1,79 @@
+package org.example.javacalendarwebapp.calendar.sync;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CalendarSyncControllerTest {
+
+    @InjectMocks
+    private CalendarSyncController syncController;
+
+    @Mock
+    private CalendarSyncService syncService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(syncController).build();
+    }
+
+    @Test
+    void sync_shouldReturnChangesAndNextToken() throws Exception {
+        when(syncService.sync(7L, "abc")).thenReturn(Optional.of(
+                new CalendarSync("def", false, null, List.of(), List.of(), List.of(3L), List.of())));
+
+        mockMvc.perform(get("/calendars/7/sync").param("token", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("def"))
+                .andExpect(jsonPath("$.resyncRequired").value(false))
+                .andExpect(jsonPath("$.deletedEventIds[0]").value(3));
+    }
+
+    @Test
+    void sync_withoutToken_shouldReturnFreshToken() throws Exception {
+        when(syncService.sync(7L, null)).thenReturn(Optional.of(CalendarSync.resync("def")));
+
+        mockMvc.perform(get("/calendars/7/sync"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resyncRequired").value(true));
+    }
+
+    @Test
+    void sync_whenTokenExpired_shouldReturnGoneWithFreshToken() throws Exception {
+        when(syncService.sync(7L, "old")).thenReturn(Optional.of(CalendarSync.resync("def")));
+
+        mockMvc.perform(get("/calendars/7/sync").param("token", "old"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.token").value("def"));
+    }
+
+    @Test
+    void sync_whenTokenMalformed_shouldReturnBadRequest() throws Exception {
+        when(syncService.sync(7L, "bad")).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/calendars/7/sync").param("token", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void sync_whenCalendarMissing_shouldReturnNotFound() throws Exception {
+        when(syncService.sync(8L, null)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/calendars/8/sync"))
+                .andExpect(status().isNotFound());
+    }
+}
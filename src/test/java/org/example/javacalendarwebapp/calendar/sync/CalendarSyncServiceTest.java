@@ -0,0 +1,114 @@
+package org.example.javacalendarwebapp.calendar.sync;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.calendar.CalendarService;
+import org.example.javacalendarwebapp.calendar.CalendarView;
+import org.example.javacalendarwebapp.common.Cursor;
+import org.example.javacalendarwebapp.event.EventService;
+import org.example.javacalendarwebapp.event.EventView;
+import org.example.javacalendarwebapp.task.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarSyncServiceTest {
+
+    @Mock
+    private CalendarChangeLog changeLog;
+
+    @Mock
+    private CalendarService calendarService;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private CalendarSyncService syncService;
+
+    @Test
+    void sync_withoutToken_shouldRequireResyncFromCurrentVersion() {
+        when(changeLog.findState(1L)).thenReturn(Optional.of(new SyncState(12L, 3L)));
+
+        CalendarSync sync = syncService.sync(1L, null).orElseThrow();
+
+        assertThat(sync.resyncRequired()).isTrue();
+        assertThat(Cursor.decode(sync.token()).id()).isEqualTo(12L);
+        verify(changeLog, never()).findLatestSince(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void sync_whenTokenIsOlderThanCompactedLog_shouldRequireResync() {
+        when(changeLog.findState(1L)).thenReturn(Optional.of(new SyncState(12L, 5L)));
+
+        CalendarSync sync = syncService.sync(1L, Cursor.of(4L).encode()).orElseThrow();
+
+        assertThat(sync.resyncRequired()).isTrue();
+        verify(changeLog, never()).findLatestSince(anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void sync_whenUpToDate_shouldReturnNoChangesWithoutReadingLog() {
+        when(changeLog.findState(1L)).thenReturn(Optional.of(new SyncState(12L, 5L)));
+
+        CalendarSync sync = syncService.sync(1L, Cursor.of(12L).encode()).orElseThrow();
+
+        assertThat(sync.resyncRequired()).isFalse();
+        assertThat(sync.events()).isEmpty();
+        assertThat(sync.deletedEventIds()).isEmpty();
+        verify(changeLog, never()).findLatestSince(anyLong(), anyLong(), anyLong());
+        verifyNoInteractions(eventService, taskService, calendarService);
+    }
+
+    @Test
+    void sync_shouldReturnChangedItemsAndTombstonesSinceToken() {
+        EventView event = new EventView(10L, "Standup", null, LocalDateTime.of(2025, 6, 2, 9, 0), 15, null, 1L, 2L);
+        when(changeLog.findState(1L)).thenReturn(Optional.of(new SyncState(12L, 5L)));
+        when(changeLog.findLatestSince(1L, 8L, 12L)).thenReturn(List.of(
+                new LoggedChange(CalendarChange.Subject.CALENDAR, 1L, CalendarChange.Action.UPDATED),
+                new LoggedChange(CalendarChange.Subject.EVENT, 10L, CalendarChange.Action.UPDATED),
+                new LoggedChange(CalendarChange.Subject.EVENT, 11L, CalendarChange.Action.CREATED),
+                new LoggedChange(CalendarChange.Subject.TASK, 20L, CalendarChange.Action.DELETED)));
+        when(eventService.findByCalendarAndIds(1L, Set.of(10L, 11L))).thenReturn(List.of(event));
+        when(taskService.findByCalendarAndIds(1L, Set.of())).thenReturn(List.of());
+        when(calendarService.findById(1L)).thenReturn(Optional.of(new CalendarView(1L, "Renamed", 4L)));
+
+        CalendarSync sync = syncService.sync(1L, Cursor.of(8L).encode()).orElseThrow();
+
+        assertThat(sync.resyncRequired()).isFalse();
+        assertThat(Cursor.decode(sync.token()).id()).isEqualTo(12L);
+        assertThat(sync.calendar()).isEqualTo(new CalendarView(1L, "Renamed", 4L));
+        assertThat(sync.events()).containsExactly(event);
+        assertThat(sync.deletedEventIds()).containsExactly(11L);
+        assertThat(sync.deletedTaskIds()).containsExactly(20L);
+    }
+
+    @Test
+    void sync_whenCalendarMissing_shouldReturnEmpty() {
+        when(changeLog.findState(9L)).thenReturn(Optional.empty());
+
+        assertThat(syncService.sync(9L, null)).isEmpty();
+    }
+
+    @Test
+    void sync_whenTokenMalformed_shouldThrowIllegalArgument() {
+        when(changeLog.findState(1L)).thenReturn(Optional.of(new SyncState(12L, 5L)));
+
+        assertThatThrownBy(() -> syncService.sync(1L, "not a token"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.javacalendarwebapp.calendar.timeline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.event.EventRepository;
+import org.example.javacalendarwebapp.task.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarTimelineIndexTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private CalendarTimelineIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CalendarTimelineIndex(eventRepository, taskRepository, new SimpleMeterRegistry(), 1000);
+    }
+
+    @Test
+    void between_shouldLoadCalendarOnceAndServeFromMemory() {
+        when(eventRepository.findTimelinePoints(1L)).thenReturn(List.of(new TimelinePoint(10L, MORNING)));
+        when(taskRepository.findTimelinePoints(1L)).thenReturn(List.of(new TimelinePoint(20L, MORNING.plusHours(1))));
+
+        List<TimelineEntry> first = index.between(1L, MORNING, MORNING.plusDays(1));
+        List<TimelineEntry> second = index.between(1L, MORNING.plusMinutes(30), MORNING.plusDays(1));
+
+        assertThat(first).containsExactly(
+                new TimelineEntry(CalendarChange.Subject.EVENT, 10L, MORNING),
+                new TimelineEntry(CalendarChange.Subject.TASK, 20L, MORNING.plusHours(1)));
+        assertThat(second).containsExactly(new TimelineEntry(CalendarChange.Subject.TASK, 20L, MORNING.plusHours(1)));
+        verify(eventRepository, times(1)).findTimelinePoints(1L);
+        verify(taskRepository, times(1)).findTimelinePoints(1L);
+    }
+
+    @Test
+    void onCalendarChange_shouldKeepCachedCalendarsCurrent() {
+        when(eventRepository.findTimelinePoints(1L)).thenReturn(List.of(new TimelinePoint(10L, MORNING)));
+        when(eventRepository.findTimelinePoints(2L)).thenReturn(List.of());
+        when(taskRepository.findTimelinePoints(anyLong())).thenReturn(List.of());
+        index.timeline(1L);
+        index.timeline(2L);
+
+        index.onCalendarChange(CalendarChange.created(CalendarChange.Subject.TASK, 30L, 1L, MORNING.plusHours(2)));
+        index.onCalendarChange(CalendarChange.updated(CalendarChange.Subject.EVENT, 10L, 2L, 1L, MORNING.plusHours(3)));
+
+        assertThat(index.between(1L, MORNING, MORNING.plusDays(1)))
+                .containsExactly(new TimelineEntry(CalendarChange.Subject.TASK, 30L, MORNING.plusHours(2)));
+        assertThat(index.between(2L, MORNING, MORNING.plusDays(1)))
+                .containsExactly(new TimelineEntry(CalendarChange.Subject.EVENT, 10L, MORNING.plusHours(3)));
+
+        index.onCalendarChange(CalendarChange.deleted(CalendarChange.Subject.TASK, 30L, 1L));
+
+        assertThat(index.between(1L, MORNING, MORNING.plusDays(1))).isEmpty();
+        verify(eventRepository, times(2)).findTimelinePoints(anyLong());
+    }
+
+    @Test
+    void onCalendarChange_whenCalendarDeleted_shouldDropItsTimeline() {
+        when(eventRepository.findTimelinePoints(1L)).thenReturn(List.of(new TimelinePoint(10L, MORNING)));
+        when(taskRepository.findTimelinePoints(1L)).thenReturn(List.of());
+        index.timeline(1L);
+
+        index.onCalendarChange(CalendarChange.updated(CalendarChange.Subject.CALENDAR, 1L, 1L, 1L, null));
+        index.timeline(1L);
+        index.onCalendarChange(CalendarChange.deleted(CalendarChange.Subject.CALENDAR, 1L, 1L));
+        index.timeline(1L);
+
+        verify(eventRepository, times(2)).findTimelinePoints(1L);
+    }
+
+    @Test
+    void onCalendarChange_whenCalendarNotCached_shouldNotLoadIt() {
+        index.onCalendarChange(CalendarChange.created(CalendarChange.Subject.EVENT, 10L, 5L, MORNING));
+
+        verifyNoInteractions(eventRepository, taskRepository);
+    }
+
+    @Test
+    void between_whenRangeEmpty_shouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> index.between(1L, MORNING, MORNING))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(eventRepository, taskRepository);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.javacalendarwebapp.calendar.timeline;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange.Subject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalendarTimelineTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 6, 2, 9, 0);
+    private static final LocalDateTime TEN = LocalDateTime.of(2025, 6, 2, 10, 0);
+    private static final LocalDateTime ELEVEN = LocalDateTime.of(2025, 6, 2, 11, 0);
+
+    @Test
+    void of_shouldSortEventsAndTasksByTime() {
+        CalendarTimeline timeline = CalendarTimeline.of(
+                List.of(new TimelinePoint(1L, ELEVEN), new TimelinePoint(2L, NINE)),
+                List.of(new TimelinePoint(7L, TEN)));
+
+        assertThat(ids(timeline, NINE, ELEVEN.plusHours(1))).containsExactly("EVENT:2", "TASK:7", "EVENT:1");
+    }
+
+    @Test
+    void forEachBetween_shouldTreatUpperBoundAsExclusive() {
+        CalendarTimeline timeline = CalendarTimeline.of(
+                List.of(new TimelinePoint(1L, NINE), new TimelinePoint(2L, TEN), new TimelinePoint(3L, ELEVEN)),
+                List.of());
+
+        assertThat(ids(timeline, NINE, ELEVEN)).containsExactly("EVENT:1", "EVENT:2");
+        assertThat(timeline.countBetween(CalendarTimeline.toEpochSecond(TEN), CalendarTimeline.toEpochSecond(ELEVEN)))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void with_shouldInsertInOrderAndReplaceExistingEntry() {
+        CalendarTimeline timeline = CalendarTimeline.of(
+                List.of(new TimelinePoint(1L, NINE), new TimelinePoint(3L, ELEVEN)),
+                List.of());
+
+        CalendarTimeline inserted = timeline.with(Subject.TASK, 2L, CalendarTimeline.toEpochSecond(TEN));
+        CalendarTimeline moved = inserted.with(Subject.EVENT, 1L, CalendarTimeline.toEpochSecond(ELEVEN.plusMinutes(30)));
+
+        assertThat(ids(inserted, NINE, ELEVEN.plusHours(1))).containsExactly("EVENT:1", "TASK:2", "EVENT:3");
+        assertThat(ids(moved, NINE, ELEVEN.plusHours(1))).containsExactly("TASK:2", "EVENT:3", "EVENT:1");
+        assertThat(timeline.size()).isEqualTo(2);
+    }
+
+    @Test
+    void without_shouldOnlyRemoveMatchingKind() {
+        CalendarTimeline timeline = CalendarTimeline.of(
+                List.of(new TimelinePoint(4L, NINE)),
+                List.of(new TimelinePoint(4L, TEN)));
+
+        CalendarTimeline removed = timeline.without(Subject.TASK, 4L);
+
+        assertThat(ids(removed, NINE, ELEVEN)).containsExactly("EVENT:4");
+        assertThat(removed.without(Subject.TASK, 4L)).isSameAs(removed);
+        assertThat(removed.without(Subject.EVENT, 4L).size()).isZero();
+    }
+
+    private static List<String> ids(CalendarTimeline timeline, LocalDateTime from, LocalDateTime to) {
+        List<String> ids = new ArrayList<>();
+        timeline.forEachBetween(CalendarTimeline.toEpochSecond(from), CalendarTimeline.toEpochSecond(to),
+                (kind, id, second) -> ids.add(kind + ":" + id));
+        return ids;
+    }
+}
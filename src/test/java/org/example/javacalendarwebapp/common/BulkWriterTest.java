@@ -0,0 +1,93 @@
+package org.example.javacalendarwebapp.common;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkWriterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private BulkWriter bulkWriter;
+
+    @BeforeEach
+    void setUp() {
+        bulkWriter = new BulkWriter(transactionManager, entityManager, 2);
+    }
+
+    @Test
+    void write_shouldCommitOneTransactionPerChunk() {
+        BulkResult result = bulkWriter.write(List.of(10L, 20L, 30L, 40L, 50L).iterator(), item -> item + 1);
+
+        assertThat(result.received()).isEqualTo(5);
+        assertThat(result.created()).isEqualTo(5);
+        assertThat(result.failed()).isZero();
+        assertThat(result.items()).extracting(BulkItemResult::id).containsExactly(11L, 21L, 31L, 41L, 51L);
+        assertThat(result.items()).extracting(BulkItemResult::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(result.rowsPerSecond()).isPositive();
+        verify(transactionManager, times(3)).commit(any());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void write_whenChunkFails_shouldRetryItemsOneByOne() {
+        BulkResult result = bulkWriter.write(List.of(1L, -1L, 3L).iterator(), item -> {
+            if (item < 0) {
+                throw new IllegalStateException("negative id");
+            }
+            return item;
+        });
+
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.items()).containsExactly(
+                BulkItemResult.created(0, 1L),
+                BulkItemResult.failed(1, "negative id"),
+                BulkItemResult.created(2, 3L));
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void write_whenInputBreaks_shouldKeepItemsReadSoFar() {
+        Iterator<Long> broken = new Iterator<>() {
+            private int served;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Long next() {
+                if (served == 3) {
+                    throw new NoSuchElementException("unexpected end of input");
+                }
+                return (long) ++served;
+            }
+        };
+
+        BulkResult result = bulkWriter.write(broken, item -> item);
+
+        assertThat(result.received()).isEqualTo(4);
+        assertThat(result.created()).isEqualTo(3);
+        assertThat(result.items().get(3)).isEqualTo(BulkItemResult.failed(3, "Unreadable item: unexpected end of input"));
+    }
+}
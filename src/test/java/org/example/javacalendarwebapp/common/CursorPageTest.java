@@ -0,0 +1,50 @@
+package org.example.javacalendarwebapp.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CursorPageTest {
+
+    @Test
+    void clampLimit_shouldApplyDefaultAndCap() {
+        assertThat(CursorPage.clampLimit(0)).isEqualTo(CursorPage.DEFAULT_LIMIT);
+        assertThat(CursorPage.clampLimit(-5)).isEqualTo(CursorPage.DEFAULT_LIMIT);
+        assertThat(CursorPage.clampLimit(20)).isEqualTo(20);
+        assertThat(CursorPage.clampLimit(100_000)).isEqualTo(CursorPage.MAX_LIMIT);
+    }
+
+    @Test
+    void of_whenMoreRowsThanLimit_shouldTrimAndPointCursorAtLastItem() {
+        List<Long> rows = Arrays.asList(1L, 2L, 3L);
+
+        CursorPage<Long> page = CursorPage.of(rows, 2, Cursor::of);
+
+        assertThat(page.items()).containsExactly(1L, 2L);
+        assertThat(Cursor.decode(page.nextCursor())).isEqualTo(Cursor.of(2L));
+    }
+
+    @Test
+    void of_whenRowsFitLimit_shouldHaveNoNextCursor() {
+        CursorPage<Long> page = CursorPage.of(Arrays.asList(1L, 2L), 2, Cursor::of);
+
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void decode_shouldRoundTripDateAndId() {
+        Cursor cursor = Cursor.of(LocalDateTime.of(2025, 6, 1, 12, 30), 42L);
+
+        assertThat(Cursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_whenGarbage_shouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> Cursor.decode("%%%")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Cursor.decode(Cursor.of(1L).encode() + "x")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
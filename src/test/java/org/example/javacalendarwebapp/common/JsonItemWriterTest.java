@@ -0,0 +1,45 @@
+package org.example.javacalendarwebapp.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JsonItemWriterTest {
+
+    private final JsonItemWriter writer = new JsonItemWriter(new ObjectMapper());
+
+    @Test
+    void stream_asNdjson_shouldWriteOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.<Map<String, Integer>>stream(true, sink -> List.of(Map.of("id", 1), Map.of("id", 2)).forEach(sink))
+                .writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+    }
+
+    @Test
+    void stream_asJsonArray_shouldWrapItems() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.<Map<String, Integer>>stream(false, sink -> List.of(Map.of("id", 1), Map.of("id", 2)).forEach(sink))
+                .writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[{\"id\":1},{\"id\":2}]");
+    }
+
+    @Test
+    void stream_whenEmpty_shouldWriteEmptyArray() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.stream(false, sink -> { }).writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+}
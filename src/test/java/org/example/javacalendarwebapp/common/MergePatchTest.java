@@ -0,0 +1,129 @@
+package org.example.javacalendarwebapp.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.javacalendarwebapp.event.recurrence.RecurrenceFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MergePatchTest {
+
+    private static final MergePatch PATCHABLE = new MergePatch()
+            .text("title", "event_title")
+            .dateTime("date", "event_date")
+            .integer("durationMinutes", "event_duration_minutes")
+            .bool("completed", "completed")
+            .nested("recurrence", new MergePatch()
+                    .enumerated("frequency", "recurrence_frequency", RecurrenceFrequency.class)
+                    .integer("count", "recurrence_count")
+                    .dateTimes("exceptionDates", "recurrence_exdates"))
+            .reference("calendar", "calendar_id");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void assignments_shouldContainOnlySuppliedFieldsInOrder() throws Exception {
+        List<MergePatch.Assignment> assignments = PATCHABLE.assignments(json(
+                "{\"date\":\"2025-08-02T14:00:00\",\"title\":\"Moved\"}"));
+
+        assertThat(assignments).containsExactly(
+                new MergePatch.Assignment("event_date", Timestamp.valueOf(LocalDateTime.of(2025, 8, 2, 14, 0)), Types.TIMESTAMP),
+                new MergePatch.Assignment("event_title", "Moved", Types.VARCHAR));
+        assertThat(MergePatch.setClause(assignments)).isEqualTo("event_date = ?, event_title = ?");
+    }
+
+    @Test
+    void assignments_shouldClearFieldSetToNull() throws Exception {
+        List<MergePatch.Assignment> assignments = PATCHABLE.assignments(json("{\"durationMinutes\":null}"));
+
+        assertThat(assignments).containsExactly(
+                new MergePatch.Assignment("event_duration_minutes", null, Types.INTEGER));
+    }
+
+    @Test
+    void assignments_shouldPatchNestedFieldsIndividually() throws Exception {
+        List<MergePatch.Assignment> assignments = PATCHABLE.assignments(json(
+                "{\"recurrence\":{\"frequency\":\"weekly\",\"count\":4}}"));
+
+        assertThat(assignments).containsExactly(
+                new MergePatch.Assignment("recurrence_frequency", "WEEKLY", Types.VARCHAR),
+                new MergePatch.Assignment("recurrence_count", 4, Types.INTEGER));
+    }
+
+    @Test
+    void assignments_shouldClearEveryNestedColumnWhenObjectIsNull() throws Exception {
+        List<MergePatch.Assignment> assignments = PATCHABLE.assignments(json("{\"recurrence\":null}"));
+
+        assertThat(assignments).extracting(MergePatch.Assignment::column)
+                .containsExactly("recurrence_frequency", "recurrence_count", "recurrence_exdates");
+        assertThat(assignments).extracting(MergePatch.Assignment::value).containsOnlyNulls();
+        assertThat(assignments).extracting(MergePatch.Assignment::sqlType)
+                .containsExactly(Types.VARCHAR, Types.INTEGER, Types.ARRAY);
+    }
+
+    @Test
+    void assignments_shouldReadReferenceId() throws Exception {
+        assertThat(PATCHABLE.assignments(json("{\"calendar\":{\"id\":7}}")))
+                .containsExactly(new MergePatch.Assignment("calendar_id", 7L, Types.BIGINT));
+    }
+
+    @Test
+    void assignments_shouldConvertDateTimeArrays() throws Exception {
+        List<MergePatch.Assignment> assignments = PATCHABLE.assignments(json(
+                "{\"recurrence\":{\"exceptionDates\":[\"2025-08-09T14:00:00\"]}}"));
+
+        assertThat(assignments).hasSize(1);
+        assertThat((Timestamp[]) assignments.get(0).value())
+                .containsExactly(Timestamp.valueOf(LocalDateTime.of(2025, 8, 9, 14, 0)));
+    }
+
+    @Test
+    void assignments_whenEmpty_shouldReturnNoAssignments() throws Exception {
+        assertThat(PATCHABLE.assignments(json("{}"))).isEmpty();
+    }
+
+    @Test
+    void assignments_whenFieldIsNotWhitelisted_shouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> PATCHABLE.assignments(json("{\"version\":9}")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+        assertThatThrownBy(() -> PATCHABLE.assignments(json("{\"recurrence\":{\"until\":\"2025-09-01T00:00:00\"}}")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("recurrence.until");
+    }
+
+    @Test
+    void assignments_whenValueHasWrongType_shouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> PATCHABLE.assignments(json("{\"durationMinutes\":\"long\"}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PATCHABLE.assignments(json("{\"date\":\"tomorrow\"}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PATCHABLE.assignments(json("{\"recurrence\":{\"frequency\":\"YEARLY\"}}")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PATCHABLE.assignments(json("{\"calendar\":7}")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void assignments_whenNonNullableFieldIsNull_shouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> PATCHABLE.assignments(json("{\"completed\":null}")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("completed");
+    }
+
+    @Test
+    void assignments_whenPatchIsNotAnObject_shouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> PATCHABLE.assignments(json("[]")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private JsonNode json(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+}
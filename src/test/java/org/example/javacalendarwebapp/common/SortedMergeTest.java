@@ -0,0 +1,36 @@
+package org.example.javacalendarwebapp.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SortedMergeTest {
+
+    @Test
+    void merge_shouldInterleaveSortedSources() {
+        Iterator<Integer> merged = SortedMerge.merge(
+                List.of(List.of(1, 4, 9).iterator(), List.<Integer>of().iterator(), List.of(2, 3, 10).iterator()),
+                Comparator.naturalOrder());
+
+        List<Integer> result = new ArrayList<>();
+        merged.forEachRemaining(result::add);
+
+        assertThat(result).containsExactly(1, 2, 3, 4, 9, 10);
+    }
+
+    @Test
+    void merge_shouldPullLazily() {
+        Iterator<Integer> endless = java.util.stream.Stream.iterate(0, i -> i + 2).iterator();
+
+        Iterator<Integer> merged = SortedMerge.merge(List.of(endless, List.of(1).iterator()), Comparator.naturalOrder());
+
+        assertThat(merged.next()).isZero();
+        assertThat(merged.next()).isEqualTo(1);
+        assertThat(merged.next()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.javacalendarwebapp.common;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StreamingReaderTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private StreamingReader streamingReader;
+
+    @Test
+    void forEach_shouldMapDetachAndCloseInsideReadOnlyTransaction() {
+        List<String> seen = new ArrayList<>();
+        boolean[] closed = {false};
+
+        streamingReader.forEach(
+                () -> Stream.of(1, 2, 3).onClose(() -> closed[0] = true),
+                row -> "row-" + row,
+                seen::add);
+
+        assertThat(seen).containsExactly("row-1", "row-2", "row-3");
+        assertThat(closed[0]).isTrue();
+        verify(entityManager).detach(1);
+        verify(entityManager).detach(3);
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+        verify(transactionManager).commit(any());
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.javacalendarwebapp.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRecordVirtualThreadBlockedInsideSynchronizedBlock() throws Exception {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, true, Duration.ofMillis(10));
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pinnedCount() == 0 && System.nanoTime() < deadline) {
+                Thread.ofVirtual().start(VirtualThreadPinningMonitorTest::sleepWhileHoldingMonitor).join();
+                Thread.sleep(200);
+            }
+
+            assertThat(pinnedCount()).isPositive();
+        } finally {
+            monitor.destroy();
+        }
+    }
+
+    @Test
+    void whenDisabled_shouldRegisterTimerWithoutRecording() throws Exception {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, false, Duration.ofMillis(10));
+
+        Thread.ofVirtual().start(VirtualThreadPinningMonitorTest::sleepWhileHoldingMonitor).join();
+        monitor.destroy();
+
+        assertThat(pinnedCount()).isZero();
+    }
+
+    private long pinnedCount() {
+        return meterRegistry.get("jvm.threads.virtual.pinned").timer().count();
+    }
+
+    private static void sleepWhileHoldingMonitor() {
+        synchronized (VirtualThreadPinningMonitorTest.class) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package org.example.javacalendarwebapp.event;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.javacalendarwebapp.common.BulkItemResult;
+import org.example.javacalendarwebapp.common.BulkResult;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.JsonItemReader;
+import org.example.javacalendarwebapp.common.JsonItemWriter;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.StaleVersionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -29,6 +43,13 @@ class EventControllerTest {
     @Mock
     private EventService eventService;
 
+    @Spy
+    private JsonItemReader jsonItemReader = new JsonItemReader(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Spy
+    private JsonItemWriter jsonItemWriter = new JsonItemWriter(new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
@@ -62,7 +83,7 @@ class EventControllerTest {
     }
 
     @Test
-    void getAllEvents_shouldReturnListOfEvents() throws Exception {
+    void getAllEvents_shouldReturnPageOfEvents() throws Exception {
         Event e1 = new Event();
         e1.setId(1L);
         e1.setTitle("Event One");
@@ -71,18 +92,140 @@ class EventControllerTest {
         e2.setTitle("Event Two");
 
         List<Event> events = Arrays.asList(e1, e2);
-        when(eventService.findAll()).thenReturn(events);
+        when(eventService.findPage(null, 50)).thenReturn(new CursorPage<>(events.stream().map(EventView::of).toList(), "Mg"));
 
         mockMvc.perform(get("/events")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].title").value("Event One"))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].title").value("Event Two"));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Event One"))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].title").value("Event Two"))
+                .andExpect(jsonPath("$.nextCursor").value("Mg"));
+
+        verify(eventService, times(1)).findPage(null, 50);
+    }
 
-        verify(eventService, times(1)).findAll();
+    @Test
+    void getAllEvents_whenCursorInvalid_shouldReturnBadRequest() throws Exception {
+        when(eventService.findPage("???", 50)).thenThrow(new IllegalArgumentException("Invalid cursor: ???"));
+
+        mockMvc.perform(get("/events").param("cursor", "???")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllEvents_withCalendarAndDateRange_shouldQueryRange() throws Exception {
+        Event item = new Event();
+        item.setId(3L);
+        item.setTitle("Standup");
+        item.setDate(LocalDateTime.of(2025, 6, 2, 9, 0));
+        LocalDateTime from = LocalDateTime.of(2025, 6, 2, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 6, 9, 0, 0);
+        when(eventService.findInRange(7L, from, to, null, 50))
+                .thenReturn(new CursorPage<>(Collections.singletonList(EventView.of(item)), null));
+
+        mockMvc.perform(get("/events")
+                        .param("calendarId", "7")
+                        .param("from", "2025-06-02T00:00:00")
+                        .param("to", "2025-06-09T00:00:00")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.items[0].date").value("2025-06-02T09:00:00"));
+
+        verify(eventService, times(1)).findInRange(7L, from, to, null, 50);
+        verify(eventService, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void getAllEvents_withPartialRange_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/events")
+                        .param("calendarId", "7")
+                        .param("from", "2025-06-02T00:00:00")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(eventService);
+    }
+
+    @Test
+    void getOccurrences_shouldReturnMergedOccurrences() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2025, 6, 2, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 6, 9, 0, 0);
+        EventOccurrence standup = new EventOccurrence(4L, "Standup", null, LocalDateTime.of(2025, 6, 2, 9, 0), true);
+        EventOccurrence review = new EventOccurrence(9L, "Review", null, LocalDateTime.of(2025, 6, 2, 14, 0), false);
+        when(eventService.findOccurrences(7L, from, to, null, 50))
+                .thenReturn(new CursorPage<>(Arrays.asList(standup, review), null));
+
+        mockMvc.perform(get("/events/occurrences")
+                        .param("calendarId", "7")
+                        .param("from", "2025-06-02T00:00:00")
+                        .param("to", "2025-06-09T00:00:00")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].eventId").value(4))
+                .andExpect(jsonPath("$.items[0].recurring").value(true))
+                .andExpect(jsonPath("$.items[1].start").value("2025-06-02T14:00:00"));
+    }
+
+    @Test
+    void getOccurrences_whenRangeInvalid_shouldReturnBadRequest() throws Exception {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 2, 0, 0);
+        when(eventService.findOccurrences(7L, day, day, null, 50))
+                .thenThrow(new IllegalArgumentException("'from' must be before 'to'"));
+
+        mockMvc.perform(get("/events/occurrences")
+                        .param("calendarId", "7")
+                        .param("from", "2025-06-02T00:00:00")
+                        .param("to", "2025-06-02T00:00:00")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportEvents_shouldStreamNdjsonByDefault() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<EventView> sink = invocation.getArgument(0);
+            sink.accept(new EventView(1L, "Kickoff", null, LocalDateTime.of(2025, 9, 1, 9, 0), 30, null, 4L, 0L));
+            sink.accept(new EventView(2L, "Review", null, null, null, null, 4L, 0L));
+            return null;
+        }).when(eventService).exportAll(any());
+
+        MvcResult started = mockMvc.perform(get("/events/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(result -> assertThat(result.getResponse().getContentAsString().split("\n"))
+                        .hasSize(2)
+                        .allMatch(line -> line.startsWith("{\"id\":")));
+    }
+
+    @Test
+    void exportEvents_asJson_shouldStreamArray() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<EventView> sink = invocation.getArgument(0);
+            sink.accept(new EventView(1L, "Kickoff", null, LocalDateTime.of(2025, 9, 1, 9, 0), 30, null, 4L, 0L));
+            return null;
+        }).when(eventService).exportAll(any());
+
+        MvcResult started = mockMvc.perform(get("/events/export").param("format", "json"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].date").value("2025-09-01T09:00:00"))
+                .andExpect(jsonPath("$[0].calendarId").value(4));
     }
 
     @Test
@@ -93,7 +236,7 @@ class EventControllerTest {
         e.setDescription("Some description");
         e.setDate(LocalDateTime.of(2025, 6, 1, 12, 0));
 
-        when(eventService.findById(10L)).thenReturn(Optional.of(e));
+        when(eventService.findById(10L)).thenReturn(Optional.of(EventView.of(e)));
 
         mockMvc.perform(get("/events/{id}", 10L)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -145,6 +288,45 @@ class EventControllerTest {
         verify(eventService, times(1)).create(any(Event.class));
     }
 
+    @Test
+    void bulkCreateEvents_shouldStreamNdjsonItemsToService() throws Exception {
+        List<String> titles = new ArrayList<>();
+        when(eventService.bulkCreate(any())).thenAnswer(invocation -> {
+            Iterator<Event> items = invocation.getArgument(0);
+            items.forEachRemaining(item -> titles.add(item.getTitle()));
+            return new BulkResult(2, 2, 0, 4, 500.0,
+                    Arrays.asList(BulkItemResult.created(0, 51L), BulkItemResult.created(1, 52L)));
+        });
+
+        mockMvc.perform(post("/events/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"First\"}\n{\"title\":\"Second\",\"date\":\"2025-09-01T09:00:00\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rowsPerSecond").value(500.0))
+                .andExpect(jsonPath("$.items[1].id").value(52));
+
+        assertThat(titles).containsExactly("First", "Second");
+    }
+
+    @Test
+    void bulkCreateEvents_shouldAcceptJsonArray() throws Exception {
+        List<String> titles = new ArrayList<>();
+        when(eventService.bulkCreate(any())).thenAnswer(invocation -> {
+            Iterator<Event> items = invocation.getArgument(0);
+            items.forEachRemaining(item -> titles.add(item.getTitle()));
+            return new BulkResult(1, 1, 0, 1, 1000.0, Collections.singletonList(BulkItemResult.created(0, 51L)));
+        });
+
+        mockMvc.perform(post("/events/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"Only\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(1));
+
+        assertThat(titles).containsExactly("Only");
+    }
+
     @Test
     void updateEvent_shouldReturnUpdatedEvent() throws Exception {
         Long idToUpdate = 50L;
@@ -155,33 +337,141 @@ class EventControllerTest {
 
         Event updated = new Event();
         updated.setId(idToUpdate);
+        updated.setVersion(1L);
         updated.setTitle("Updated Title");
         updated.setDescription("Updated Desc");
         updated.setDate(LocalDateTime.of(2025, 8, 2, 14, 0));
 
-        when(eventService.update(eq(idToUpdate), any(Event.class))).thenReturn(updated);
+        when(eventService.update(eq(idToUpdate), any(Event.class), isNull())).thenReturn(updated);
 
         mockMvc.perform(put("/events/{id}", idToUpdate)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
                 .andExpect(jsonPath("$.id").value(50))
                 .andExpect(jsonPath("$.title").value("Updated Title"))
                 .andExpect(jsonPath("$.description").value("Updated Desc"))
                 .andExpect(jsonPath("$.date").value("2025-08-02T14:00:00"));
 
-        verify(eventService, times(1)).update(eq(idToUpdate), any(Event.class));
+        verify(eventService, times(1)).update(eq(idToUpdate), any(Event.class), isNull());
     }
 
     @Test
     void deleteEvent_shouldReturnNoContent() throws Exception {
-        doNothing().when(eventService).delete(77L);
+        doNothing().when(eventService).delete(77L, null);
 
         mockMvc.perform(delete("/events/{id}", 77L)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
 
-        verify(eventService, times(1)).delete(77L);
+        verify(eventService, times(1)).delete(77L, null);
+    }
+
+    @Test
+    void patchEvent_shouldReturnPatchedEventWithETag() throws Exception {
+        Event patched = new Event();
+        patched.setId(50L);
+        patched.setTitle("Moved");
+        patched.setVersion(6L);
+        when(eventService.patch(eq(50L), any(JsonNode.class), eq(5L))).thenReturn(patched);
+
+        mockMvc.perform(patch("/events/{id}", 50L)
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"title\":\"Moved\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"6\""))
+                .andExpect(jsonPath("$.title").value("Moved"));
+
+        verify(eventService, times(1)).patch(eq(50L), any(JsonNode.class), eq(5L));
+    }
+
+    @Test
+    void patchEvent_whenPatchIsInvalid_shouldReturnBadRequest() throws Exception {
+        when(eventService.patch(eq(50L), any(JsonNode.class), isNull()))
+                .thenThrow(new IllegalArgumentException("Field cannot be patched: id"));
+
+        mockMvc.perform(patch("/events/{id}", 50L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"id\":1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchEvent_whenRecurrenceIntervalIsOutOfRange_shouldReturnBadRequest() throws Exception {
+        when(eventService.patch(eq(52L), any(JsonNode.class), isNull()))
+                .thenThrow(new DataIntegrityViolationException("chk_events_recurrence_interval"));
+
+        mockMvc.perform(patch("/events/{id}", 52L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"recurrence\":{\"interval\":0}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchEvent_whenNotFound_shouldReturn404() throws Exception {
+        when(eventService.patch(eq(51L), any(JsonNode.class), isNull())).thenReturn(null);
+
+        mockMvc.perform(patch("/events/{id}", 51L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"title\":null}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getEventById_whenETagMatches_shouldReturnNotModified() throws Exception {
+        Event current = new Event();
+        current.setId(10L);
+        current.setVersion(3L);
+        when(eventService.findById(10L)).thenReturn(Optional.of(EventView.of(current)));
+
+        mockMvc.perform(get("/events/{id}", 10L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void updateEvent_whenIfMatchIsStale_shouldReturnPreconditionFailed() throws Exception {
+        when(eventService.update(eq(50L), any(Event.class), eq(2L)))
+                .thenThrow(new StaleVersionException("Event 50 was modified concurrently"));
+
+        mockMvc.perform(put("/events/{id}", 50L)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateEvent_whenCalendarDoesNotExist_shouldReturnBadRequest() throws Exception {
+        when(eventService.update(eq(52L), any(Event.class), isNull()))
+                .thenThrow(new DataIntegrityViolationException("fk_events_calendar"));
+
+        mockMvc.perform(put("/events/{id}", 52L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"calendar\":{\"id\":999}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateEvent_whenNotFound_shouldReturn404() throws Exception {
+        when(eventService.update(eq(51L), any(Event.class), isNull())).thenReturn(null);
+
+        mockMvc.perform(put("/events/{id}", 51L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteEvent_whenIfMatchIsStale_shouldReturnPreconditionFailed() throws Exception {
+        doThrow(new StaleVersionException("Event 77 was modified concurrently")).when(eventService).delete(77L, 4L);
+
+        mockMvc.perform(delete("/events/{id}", 77L)
+                        .header(HttpHeaders.IF_MATCH, "\"4\""))
+                .andExpect(status().isPreconditionFailed());
     }
 
     @Test
@@ -1,11 +1,33 @@
 package org.example.javacalendarwebapp.event;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.common.BulkItemResult;
+import org.example.javacalendarwebapp.common.BulkResult;
+import org.example.javacalendarwebapp.common.BulkWriter;
+import org.example.javacalendarwebapp.common.Cursor;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.PatchedRow;
+import org.example.javacalendarwebapp.common.StaleVersionException;
+import org.example.javacalendarwebapp.common.StreamingReader;
+import org.example.javacalendarwebapp.common.VersionedWrite;
+import org.example.javacalendarwebapp.event.recurrence.Recurrence;
+import org.example.javacalendarwebapp.event.recurrence.RecurrenceFrequency;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -16,6 +38,15 @@ class EventServiceTest {
     @Mock
     private EventRepository eventRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BulkWriter bulkWriter;
+
+    @Mock
+    private StreamingReader streamingReader;
+
     @InjectMocks
     private EventService eventService;
 
@@ -41,25 +72,164 @@ class EventServiceTest {
         verify(eventRepository, times(1)).findAll();
     }
 
+    @Test
+    void exportAll_shouldStreamViewsThroughReader() {
+        Event stored = new Event();
+        stored.setId(1L);
+        stored.setTitle("Stored");
+        when(eventRepository.streamAll()).thenReturn(Stream.of(stored));
+        doAnswer(invocation -> {
+            Supplier<Stream<Event>> query = invocation.getArgument(0);
+            Function<Event, EventView> mapper = invocation.getArgument(1);
+            Consumer<EventView> sink = invocation.getArgument(2);
+            query.get().map(mapper).forEach(sink);
+            return null;
+        }).when(streamingReader).forEach(any(), any(), any());
+        List<EventView> exported = new ArrayList<>();
+
+        eventService.exportAll(exported::add);
+
+        assertThat(exported).extracting(EventView::id, EventView::title).containsExactly(tuple(1L, "Stored"));
+    }
+
+    @Test
+    void findPage_shouldSeekAfterCursorAndReturnNextCursor() {
+        Event first = new Event();
+        first.setId(11L);
+        Event second = new Event();
+        second.setId(12L);
+        Event lookahead = new Event();
+        lookahead.setId(13L);
+        when(eventRepository.findViewsAfter(10L, Limit.of(3)))
+                .thenReturn(Arrays.asList(EventView.of(first), EventView.of(second), EventView.of(lookahead)));
+
+        CursorPage<EventView> page = eventService.findPage(Cursor.of(10L).encode(), 2);
+
+        assertThat(page.items()).extracting(EventView::id).containsExactly(11L, 12L);
+        assertThat(Cursor.decode(page.nextCursor()).id()).isEqualTo(12L);
+    }
+
+    @Test
+    void findPage_whenLastPage_shouldReturnNoCursor() {
+        when(eventRepository.findViewsAfter(0L, Limit.of(51)))
+                .thenReturn(Collections.singletonList(EventView.of(sampleEvent)));
+
+        CursorPage<EventView> page = eventService.findPage(null, 0);
+
+        assertThat(page.items()).containsExactly(EventView.of(sampleEvent));
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void findInRange_shouldReturnDateOrderedPageWithDateCursor() {
+        LocalDateTime from = LocalDateTime.of(2025, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 6, 8, 0, 0);
+        Event lookahead = new Event();
+        lookahead.setId(2L);
+        lookahead.setDate(LocalDateTime.of(2025, 6, 3, 8, 0));
+        when(eventRepository.findInRange(4L, from, to, Limit.of(2)))
+                .thenReturn(Arrays.asList(EventView.of(sampleEvent), EventView.of(lookahead)));
+
+        CursorPage<EventView> page = eventService.findInRange(4L, from, to, null, 1);
+
+        assertThat(page.items()).containsExactly(EventView.of(sampleEvent));
+        assertThat(Cursor.decode(page.nextCursor())).isEqualTo(Cursor.of(sampleEvent.getDate(), 1L));
+    }
+
+    @Test
+    void findInRange_withCursor_shouldSeekAfterDateAndId() {
+        LocalDateTime from = LocalDateTime.of(2025, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 6, 8, 0, 0);
+        LocalDateTime afterDate = LocalDateTime.of(2025, 6, 1, 12, 0);
+        when(eventRepository.findInRangeAfter(4L, afterDate, 1L, to, Limit.of(51)))
+                .thenReturn(Collections.emptyList());
+
+        CursorPage<EventView> page = eventService.findInRange(4L, from, to, Cursor.of(afterDate, 1L).encode(), 50);
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void findInRange_whenRangeEmpty_shouldThrowIllegalArgument() {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+        assertThatThrownBy(() -> eventService.findInRange(4L, day, day, null, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void findOccurrences_shouldMergeSinglesWithExpandedSeries() {
+        LocalDateTime from = LocalDateTime.of(2025, 6, 2, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 6, 5, 0, 0);
+        Event standup = new Event();
+        standup.setId(2L);
+        standup.setTitle("Standup");
+        standup.setDate(LocalDateTime.of(2025, 1, 1, 9, 0));
+        Recurrence daily = new Recurrence();
+        daily.setFrequency(RecurrenceFrequency.DAILY);
+        standup.setRecurrence(daily);
+        Event review = new Event();
+        review.setId(3L);
+        review.setDate(LocalDateTime.of(2025, 6, 3, 10, 0));
+        when(eventRepository.findSinglesAfter(4L, from, -1L, to, Limit.of(4)))
+                .thenReturn(Collections.singletonList(review));
+        when(eventRepository.findRecurringOverlapping(4L, from, to))
+                .thenReturn(Collections.singletonList(standup));
+
+        CursorPage<EventOccurrence> page = eventService.findOccurrences(4L, from, to, null, 3);
+
+        assertThat(page.items()).extracting(EventOccurrence::start).containsExactly(
+                LocalDateTime.of(2025, 6, 2, 9, 0),
+                LocalDateTime.of(2025, 6, 3, 9, 0),
+                LocalDateTime.of(2025, 6, 3, 10, 0));
+        assertThat(page.items()).extracting(EventOccurrence::eventId).containsExactly(2L, 2L, 3L);
+        assertThat(Cursor.decode(page.nextCursor())).isEqualTo(Cursor.of(LocalDateTime.of(2025, 6, 3, 10, 0), 3L));
+    }
+
+    @Test
+    void findOccurrences_withCursor_shouldResumeAfterLastOccurrence() {
+        LocalDateTime from = LocalDateTime.of(2025, 6, 2, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 6, 5, 0, 0);
+        LocalDateTime after = LocalDateTime.of(2025, 6, 3, 9, 0);
+        Event standup = new Event();
+        standup.setId(2L);
+        standup.setDate(LocalDateTime.of(2025, 1, 1, 9, 0));
+        Recurrence daily = new Recurrence();
+        daily.setFrequency(RecurrenceFrequency.DAILY);
+        standup.setRecurrence(daily);
+        when(eventRepository.findSinglesAfter(4L, after, 2L, to, Limit.of(51)))
+                .thenReturn(Collections.emptyList());
+        when(eventRepository.findRecurringOverlapping(4L, after, to))
+                .thenReturn(Collections.singletonList(standup));
+
+        CursorPage<EventOccurrence> page = eventService.findOccurrences(4L, from, to, Cursor.of(after, 2L).encode(), 50);
+
+        assertThat(page.items()).extracting(EventOccurrence::start)
+                .containsExactly(LocalDateTime.of(2025, 6, 4, 9, 0));
+        assertThat(page.nextCursor()).isNull();
+    }
+
     @Test
     void findById_whenExists_shouldReturnOptionalWithEvent() {
-        when(eventRepository.findById(1L)).thenReturn(Optional.of(sampleEvent));
+        when(eventRepository.findViewById(1L)).thenReturn(Optional.of(EventView.of(sampleEvent)));
 
-        Optional<Event> result = eventService.findById(1L);
+        Optional<EventView> result = eventService.findById(1L);
 
         assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(sampleEvent);
-        verify(eventRepository, times(1)).findById(1L);
+        assertThat(result.get().id()).isEqualTo(1L);
+        verify(eventRepository, times(1)).findViewById(1L);
     }
 
     @Test
     void findById_whenNotExists_shouldReturnEmptyOptional() {
-        when(eventRepository.findById(2L)).thenReturn(Optional.empty());
+        when(eventRepository.findViewById(2L)).thenReturn(Optional.empty());
 
-        Optional<Event> result = eventService.findById(2L);
+        Optional<EventView> result = eventService.findById(2L);
 
         assertThat(result).isNotPresent();
-        verify(eventRepository, times(1)).findById(2L);
+        verify(eventRepository, times(1)).findViewById(2L);
     }
 
     @Test
@@ -83,81 +253,181 @@ class EventServiceTest {
         assertThat(result.getDescription()).isEqualTo("Desc");
         assertThat(result.getDate()).isEqualTo(LocalDateTime.of(2025, 7, 1, 10, 30));
         verify(eventRepository, times(1)).save(toCreate);
+        verify(eventPublisher).publishEvent(
+                CalendarChange.created(CalendarChange.Subject.EVENT, 5L, null, saved.getDate()));
     }
 
     @Test
-    void update_whenExists_shouldSetIdAndSave() {
+    void bulkCreate_shouldWriteEachItemAsNewRow() {
+        Event incoming = new Event();
+        incoming.setId(99L);
+        incoming.setTitle("Imported");
+        Event saved = new Event();
+        saved.setId(5L);
+        when(eventRepository.save(incoming)).thenReturn(saved);
+        BulkResult expected = new BulkResult(1, 1, 0, 2, 500.0, Collections.singletonList(BulkItemResult.created(0, 5L)));
+        when(bulkWriter.write(any(), any())).thenAnswer(invocation -> {
+            Iterator<Event> items = invocation.getArgument(0);
+            Function<Event, Long> writer = invocation.getArgument(1);
+            assertThat(writer.apply(items.next())).isEqualTo(5L);
+            return expected;
+        });
+
+        BulkResult result = eventService.bulkCreate(Collections.singletonList(incoming).iterator());
+
+        assertThat(result).isSameAs(expected);
+        assertThat(incoming.getId()).isNull();
+        verify(eventPublisher).publishEvent(any(CalendarChange.class));
+    }
+
+    @Test
+    void update_whenExists_shouldWriteConditionallyAndReturnNewVersion() {
         Long idToUpdate = 10L;
         Event incoming = new Event();
         incoming.setTitle("Updated Title");
         incoming.setDescription("Updated Desc");
         incoming.setDate(LocalDateTime.of(2025, 8, 2, 14, 0));
 
-        when(eventRepository.existsById(idToUpdate)).thenReturn(true);
-        ArgumentCaptor<Event> captor = ArgumentCaptor.forClass(Event.class);
-
-        Event saved = new Event();
-        saved.setId(idToUpdate);
-        saved.setTitle("Updated Title");
-        saved.setDescription("Updated Desc");
-        saved.setDate(LocalDateTime.of(2025, 8, 2, 14, 0));
-        when(eventRepository.save(captor.capture())).thenReturn(saved);
+        when(eventRepository.updateVersioned(incoming, null)).thenReturn(Optional.of(new VersionedWrite(4L, 3L)));
 
         Event result = eventService.update(idToUpdate, incoming);
 
-        assertThat(result).isNotNull();
+        assertThat(result).isSameAs(incoming);
         assertThat(result.getId()).isEqualTo(idToUpdate);
+        assertThat(result.getVersion()).isEqualTo(4L);
         assertThat(result.getTitle()).isEqualTo("Updated Title");
-        assertThat(result.getDescription()).isEqualTo("Updated Desc");
-        assertThat(result.getDate()).isEqualTo(LocalDateTime.of(2025, 8, 2, 14, 0));
-
-        Event passed = captor.getValue();
-        assertThat(passed.getId()).isEqualTo(idToUpdate);
-        assertThat(passed.getTitle()).isEqualTo("Updated Title");
-        assertThat(passed.getDescription()).isEqualTo("Updated Desc");
-        assertThat(passed.getDate()).isEqualTo(LocalDateTime.of(2025, 8, 2, 14, 0));
-
-        verify(eventRepository, times(1)).existsById(idToUpdate);
-        verify(eventRepository, times(1)).save(any(Event.class));
+        verify(eventRepository, never()).save(any(Event.class));
+        verify(eventPublisher).publishEvent(
+                CalendarChange.updated(CalendarChange.Subject.EVENT, idToUpdate, null, 3L, incoming.getDate()));
     }
 
     @Test
-    void update_whenNotExists_shouldReturnNullAndNotSave() {
+    void update_whenNotExists_shouldReturnNullAndNotPublish() {
         Long idToUpdate = 20L;
         Event incoming = new Event();
         incoming.setTitle("Won't Be Saved");
-        incoming.setDescription("Desc");
         incoming.setDate(LocalDateTime.of(2025, 9, 3, 9, 15));
 
-        when(eventRepository.existsById(idToUpdate)).thenReturn(false);
+        when(eventRepository.updateVersioned(incoming, null)).thenReturn(Optional.empty());
 
         Event result = eventService.update(idToUpdate, incoming);
 
         assertThat(result).isNull();
-        verify(eventRepository, times(1)).existsById(idToUpdate);
-        verify(eventRepository, never()).save(any(Event.class));
+        verify(eventRepository, never()).existsById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void update_whenVersionDoesNotMatch_shouldThrowStaleVersion() {
+        Long idToUpdate = 21L;
+        Event incoming = new Event();
+        incoming.setTitle("Stale");
+
+        when(eventRepository.updateVersioned(incoming, 2L)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(idToUpdate)).thenReturn(true);
+
+        assertThatThrownBy(() -> eventService.update(idToUpdate, incoming, 2L))
+                .isInstanceOf(StaleVersionException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void update_withExpectedVersionWhenNotExists_shouldReturnNull() {
+        Long idToUpdate = 22L;
+        Event incoming = new Event();
+
+        when(eventRepository.updateVersioned(incoming, 2L)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(idToUpdate)).thenReturn(false);
+
+        assertThat(eventService.update(idToUpdate, incoming, 2L)).isNull();
+    }
+
+    @Test
+    void patch_shouldWriteOnlySuppliedFieldsAndPublish() throws Exception {
+        Event patched = new Event();
+        patched.setId(10L);
+        patched.setDate(LocalDateTime.of(2025, 8, 2, 14, 0));
+        patched.setVersion(5L);
+        List<MergePatch.Assignment> expected = List.of(
+                new MergePatch.Assignment("event_date", Timestamp.valueOf(LocalDateTime.of(2025, 8, 2, 14, 0)), Types.TIMESTAMP));
+        when(eventRepository.patchVersioned(10L, expected, 4L)).thenReturn(Optional.of(new PatchedRow<>(patched, 3L)));
+
+        Event result = eventService.patch(10L, new ObjectMapper().readTree("{\"date\":\"2025-08-02T14:00:00\"}"), 4L);
+
+        assertThat(result).isSameAs(patched);
+        verify(eventRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(
+                CalendarChange.updated(CalendarChange.Subject.EVENT, 10L, null, 3L, patched.getDate()));
     }
 
     @Test
-    void delete_whenExists_shouldCallDeleteById() {
+    void patch_whenVersionDoesNotMatch_shouldThrowStaleVersion() throws Exception {
+        when(eventRepository.patchVersioned(eq(11L), anyList(), eq(2L))).thenReturn(Optional.empty());
+        when(eventRepository.existsById(11L)).thenReturn(true);
+
+        assertThatThrownBy(() -> eventService.patch(11L, new ObjectMapper().readTree("{\"title\":\"Stale\"}"), 2L))
+                .isInstanceOf(StaleVersionException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patch_whenNotExists_shouldReturnNull() throws Exception {
+        when(eventRepository.patchVersioned(eq(12L), anyList(), isNull())).thenReturn(Optional.empty());
+
+        assertThat(eventService.patch(12L, new ObjectMapper().readTree("{\"title\":\"Missing\"}"), null)).isNull();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patch_whenEmpty_shouldReturnCurrentWithoutWriting() throws Exception {
+        Event current = new Event();
+        current.setId(13L);
+        current.setVersion(1L);
+        when(eventRepository.findById(13L)).thenReturn(Optional.of(current));
+
+        assertThat(eventService.patch(13L, new ObjectMapper().readTree("{}"), 1L)).isSameAs(current);
+        verify(eventRepository, never()).patchVersioned(anyLong(), anyList(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patch_whenFieldIsNotPatchable_shouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> eventService.patch(14L, new ObjectMapper().readTree("{\"id\":99}"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void delete_whenExists_shouldDeleteAndPublish() {
         Long idToDelete = 7L;
-        when(eventRepository.existsById(idToDelete)).thenReturn(true);
+        when(eventRepository.deleteVersioned(idToDelete, null)).thenReturn(Optional.of(new VersionedWrite(1L, 3L)));
 
         eventService.delete(idToDelete);
 
-        verify(eventRepository, times(1)).existsById(idToDelete);
-        verify(eventRepository, times(1)).deleteById(idToDelete);
+        verify(eventRepository, never()).deleteById(anyLong());
+        verify(eventPublisher).publishEvent(CalendarChange.deleted(CalendarChange.Subject.EVENT, idToDelete, 3L));
     }
 
     @Test
-    void delete_whenNotExists_shouldNotCallDeleteById() {
+    void delete_whenNotExists_shouldNotPublish() {
         Long idToDelete = 8L;
-        when(eventRepository.existsById(idToDelete)).thenReturn(false);
+        when(eventRepository.deleteVersioned(idToDelete, null)).thenReturn(Optional.empty());
 
         eventService.delete(idToDelete);
 
-        verify(eventRepository, times(1)).existsById(idToDelete);
-        verify(eventRepository, never()).deleteById(anyLong());
+        verify(eventRepository, never()).existsById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void delete_whenVersionDoesNotMatch_shouldThrowStaleVersion() {
+        Long idToDelete = 9L;
+        when(eventRepository.deleteVersioned(idToDelete, 5L)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(idToDelete)).thenReturn(true);
+
+        assertThatThrownBy(() -> eventService.delete(idToDelete, 5L))
+                .isInstanceOf(StaleVersionException.class);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -0,0 +1,79 @@
+package org.example.javacalendarwebapp.event.recurrence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurrenceExpanderTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 8, 0);
+
+    @Test
+    void expand_withoutRecurrence_shouldYieldStartWhenInsideWindow() {
+        assertThat(RecurrenceExpander.expand(START, null, START, START.plusDays(1))).containsExactly(START);
+        assertThat(RecurrenceExpander.expand(START, null, START.plusDays(1), START.plusDays(2))).isEmpty();
+    }
+
+    @Test
+    void expand_daily_shouldJumpStraightIntoDistantWindow() {
+        Recurrence rule = rule(RecurrenceFrequency.DAILY, 3, null, null);
+
+        assertThat(RecurrenceExpander.expand(START, rule,
+                LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 6, 10, 0, 0)))
+                .containsExactly(
+                        LocalDateTime.of(2025, 6, 3, 8, 0),
+                        LocalDateTime.of(2025, 6, 6, 8, 0),
+                        LocalDateTime.of(2025, 6, 9, 8, 0));
+    }
+
+    @Test
+    void expand_weekly_shouldStopAtUntil() {
+        Recurrence rule = rule(RecurrenceFrequency.WEEKLY, 2, null, LocalDateTime.of(2025, 6, 20, 0, 0));
+
+        assertThat(RecurrenceExpander.expand(START, rule,
+                LocalDateTime.of(2025, 6, 1, 0, 0), LocalDateTime.of(2025, 8, 1, 0, 0)))
+                .containsExactly(LocalDateTime.of(2025, 6, 11, 8, 0));
+    }
+
+    @Test
+    void expand_monthly_shouldSkipMonthsWithoutTheStartDay() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 31, 9, 0);
+        Recurrence rule = rule(RecurrenceFrequency.MONTHLY, 1, 4, null);
+
+        assertThat(RecurrenceExpander.expand(start, rule, start, start.plusYears(1)))
+                .containsExactly(
+                        LocalDateTime.of(2025, 1, 31, 9, 0),
+                        LocalDateTime.of(2025, 3, 31, 9, 0),
+                        LocalDateTime.of(2025, 5, 31, 9, 0),
+                        LocalDateTime.of(2025, 7, 31, 9, 0));
+    }
+
+    @Test
+    void expand_shouldHonourCountAndExceptionDates() {
+        Recurrence rule = rule(RecurrenceFrequency.DAILY, 1, 5, null);
+        rule.setExceptionDates(List.of(START.plusDays(1)));
+
+        assertThat(RecurrenceExpander.expand(START, rule, START.plusDays(1), START.plusYears(1)))
+                .containsExactly(START.plusDays(2), START.plusDays(3), START.plusDays(4));
+    }
+
+    @Test
+    void expand_openEndedSeries_shouldBeLazy() {
+        Recurrence rule = rule(RecurrenceFrequency.DAILY, 1, null, null);
+
+        assertThat(RecurrenceExpander.expand(START, rule, START, LocalDateTime.MAX).limit(2))
+                .containsExactly(START, START.plusDays(1));
+    }
+
+    private static Recurrence rule(RecurrenceFrequency frequency, Integer interval, Integer count, LocalDateTime until) {
+        Recurrence rule = new Recurrence();
+        rule.setFrequency(frequency);
+        rule.setInterval(interval);
+        rule.setCount(count);
+        rule.setUntil(until);
+        return rule;
+    }
+}
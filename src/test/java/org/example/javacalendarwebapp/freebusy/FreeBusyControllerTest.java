@@ -0,0 +1,90 @@
+package org.example.javacalendarwebapp.freebusy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class FreeBusyControllerTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 6, 2, 8, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 6, 2, 18, 0);
+
+    @InjectMocks
+    private FreeBusyController freeBusyController;
+
+    @Mock
+    private FreeBusyService freeBusyService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(freeBusyController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    @Test
+    void getFreeBusy_shouldReturnBusyIntervalsPerUser() throws Exception {
+        when(freeBusyService.freeBusy(List.of(1L, 2L), FROM, TO)).thenReturn(List.of(
+                new UserFreeBusy(1L, List.of(new TimeRange(FROM, FROM.plusHours(1)))),
+                new UserFreeBusy(2L, List.of())));
+
+        mockMvc.perform(get("/users/freebusy")
+                        .param("users", "1,2")
+                        .param("from", "2025-06-02T08:00:00")
+                        .param("to", "2025-06-02T18:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].busy[0].start").value("2025-06-02T08:00:00"))
+                .andExpect(jsonPath("$[0].busy[0].end").value("2025-06-02T09:00:00"))
+                .andExpect(jsonPath("$[1].busy.length()").value(0));
+    }
+
+    @Test
+    void getCommonSlots_shouldParseDurationAndCount() throws Exception {
+        when(freeBusyService.findCommonSlots(List.of(1L, 2L), FROM, TO, Duration.ofMinutes(30), 2))
+                .thenReturn(List.of(new TimeRange(FROM, FROM.plusMinutes(30))));
+
+        mockMvc.perform(get("/users/freebusy/slots")
+                        .param("users", "1,2")
+                        .param("from", "2025-06-02T08:00:00")
+                        .param("to", "2025-06-02T18:00:00")
+                        .param("duration", "PT30M")
+                        .param("count", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].end").value("2025-06-02T08:30:00"));
+    }
+
+    @Test
+    void getFreeBusy_whenServiceRejectsRequest_shouldReturnBadRequest() throws Exception {
+        when(freeBusyService.freeBusy(List.of(1L), TO, FROM))
+                .thenThrow(new IllegalArgumentException("'from' must be before 'to'"));
+
+        mockMvc.perform(get("/users/freebusy")
+                        .param("users", "1")
+                        .param("from", "2025-06-02T18:00:00")
+                        .param("to", "2025-06-02T08:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+}
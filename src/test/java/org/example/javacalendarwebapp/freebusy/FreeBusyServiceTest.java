@@ -0,0 +1,114 @@
+package org.example.javacalendarwebapp.freebusy;
+
+import org.example.javacalendarwebapp.event.Event;
+import org.example.javacalendarwebapp.event.EventRepository;
+import org.example.javacalendarwebapp.event.recurrence.Recurrence;
+import org.example.javacalendarwebapp.event.recurrence.RecurrenceFrequency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FreeBusyServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 6, 2, 8, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 6, 2, 18, 0);
+    private static final LocalDateTime LOOKBACK = FROM.minus(FreeBusyService.MAX_EVENT_DURATION);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private FreeBusyService freeBusyService;
+
+    @BeforeEach
+    void setUp() {
+        freeBusyService = new FreeBusyService(eventRepository, Duration.ofMinutes(60));
+    }
+
+    @Test
+    void freeBusy_shouldMergeOverlapsAndClipToWindow() {
+        when(eventRepository.streamSpansForUsers(Set.of(1L), LOOKBACK, TO)).thenReturn(singles());
+        when(eventRepository.findRecurringForUsers(Set.of(1L), LOOKBACK, TO)).thenReturn(List.of(dailyStandup()));
+
+        List<UserFreeBusy> result = freeBusyService.freeBusy(List.of(1L), FROM, TO);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).userId()).isEqualTo(1L);
+        assertThat(result.get(0).busy()).containsExactly(
+                new TimeRange(at(8, 0), at(8, 45)),
+                new TimeRange(at(9, 0), at(9, 15)),
+                new TimeRange(at(12, 0), at(13, 0)),
+                new TimeRange(at(17, 30), at(18, 0)));
+    }
+
+    @Test
+    void findCommonSlots_shouldReturnEarliestGapsThatFit() {
+        when(eventRepository.streamSpansForUsers(Set.of(1L, 2L), LOOKBACK, TO)).thenReturn(singles());
+        when(eventRepository.findRecurringForUsers(Set.of(1L, 2L), LOOKBACK, TO)).thenReturn(List.of(dailyStandup()));
+
+        List<TimeRange> slots = freeBusyService.findCommonSlots(List.of(1L, 2L, 1L), FROM, TO, Duration.ofMinutes(30), 3);
+
+        assertThat(slots).containsExactly(
+                new TimeRange(at(9, 15), at(9, 45)),
+                new TimeRange(at(9, 45), at(10, 15)),
+                new TimeRange(at(10, 15), at(10, 45)));
+    }
+
+    @Test
+    void findCommonSlots_whenNothingScheduled_shouldFillFromWindowStart() {
+        when(eventRepository.streamSpansForUsers(Set.of(3L), LOOKBACK, TO)).thenReturn(Stream.empty());
+        when(eventRepository.findRecurringForUsers(Set.of(3L), LOOKBACK, TO)).thenReturn(Collections.emptyList());
+
+        List<TimeRange> slots = freeBusyService.findCommonSlots(List.of(3L), FROM, TO, Duration.ofHours(4), 10);
+
+        assertThat(slots).containsExactly(
+                new TimeRange(at(8, 0), at(12, 0)),
+                new TimeRange(at(12, 0), at(16, 0)));
+    }
+
+    @Test
+    void freeBusy_whenRequestInvalid_shouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> freeBusyService.freeBusy(List.of(), FROM, TO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> freeBusyService.freeBusy(List.of(1L), TO, FROM))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> freeBusyService.findCommonSlots(List.of(1L), FROM, TO, Duration.ZERO, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(eventRepository);
+    }
+
+    private static Stream<EventSpan> singles() {
+        return Stream.of(
+                new EventSpan(at(7, 30), 60),
+                new EventSpan(at(8, 15), 30),
+                new EventSpan(at(12, 0), null),
+                new EventSpan(at(17, 30), 120));
+    }
+
+    private static Event dailyStandup() {
+        Recurrence daily = new Recurrence();
+        daily.setFrequency(RecurrenceFrequency.DAILY);
+        Event standup = new Event();
+        standup.setId(9L);
+        standup.setDate(LocalDateTime.of(2025, 1, 1, 9, 0));
+        standup.setDurationMinutes(15);
+        standup.setRecurrence(daily);
+        return standup;
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return LocalDateTime.of(2025, 6, 2, hour, minute);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.javacalendarwebapp.reminder;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ReminderControllerTest {
+
+    @InjectMocks
+    private ReminderController reminderController;
+
+    @Mock
+    private ReminderService reminderService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(reminderController).build();
+    }
+
+    @Test
+    void getEventReminders_shouldReturnOffsets() throws Exception {
+        when(reminderService.findOffsets(CalendarChange.Subject.EVENT, 5L))
+                .thenReturn(Optional.of(new ReminderOffsets(List.of(10, 60))));
+
+        mockMvc.perform(get("/events/5/reminders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.minutesBefore[1]").value(60));
+    }
+
+    @Test
+    void getTaskReminders_whenTaskMissing_shouldReturnNotFound() throws Exception {
+        when(reminderService.findOffsets(CalendarChange.Subject.TASK, 5L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/tasks/5/reminders"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void replaceTaskReminders_shouldReturnStoredOffsets() throws Exception {
+        when(reminderService.replaceOffsets(eq(CalendarChange.Subject.TASK), eq(5L), any()))
+                .thenReturn(Optional.of(new ReminderOffsets(List.of(30))));
+
+        mockMvc.perform(put("/tasks/5/reminders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"minutesBefore\":[30,30]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.minutesBefore[0]").value(30));
+    }
+
+    @Test
+    void replaceEventReminders_whenOffsetsInvalid_shouldReturnBadRequest() throws Exception {
+        when(reminderService.replaceOffsets(eq(CalendarChange.Subject.EVENT), eq(5L), any()))
+                .thenThrow(new IllegalArgumentException("too many"));
+
+        mockMvc.perform(put("/events/5/reminders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"minutesBefore\":[-5]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.javacalendarwebapp.reminder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderSchedulerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    @Mock
+    private ReminderStore store;
+
+    @Mock
+    private ReminderSink sink;
+
+    @Mock
+    private ReminderSink otherSink;
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new ReminderScheduler(store, List.of(sink, otherSink), meterRegistry, Duration.ofSeconds(1),
+                Duration.ofHours(1), Duration.ofMinutes(15), 2, 100, clock);
+    }
+
+    @Test
+    void refill_shouldLoadHorizonInKeysetPages() {
+        Reminder first = reminder(1L, START.plusMinutes(5));
+        Reminder second = reminder(2L, START.plusMinutes(5));
+        Reminder third = reminder(3L, START.plusMinutes(30));
+        when(store.findPending(START.minusMinutes(15), 0L, START.plusHours(1), 2)).thenReturn(List.of(first, second));
+        when(store.findPending(START.plusMinutes(5), 2L, START.plusHours(1), 2)).thenReturn(List.of(third));
+
+        scheduler.refill();
+        scheduler.refill();
+
+        assertThat(scheduler.scheduled()).isEqualTo(3);
+        verify(store, times(2)).findPending(any(), anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void refill_whenQueryFails_shouldRetryFromSameCursor() {
+        when(store.findPending(any(), anyLong(), any(), anyInt()))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(List.of());
+
+        assertThatThrownBy(scheduler::refill).isInstanceOf(IllegalStateException.class);
+        scheduler.refill();
+
+        verify(store, times(2)).findPending(eq(START.minusMinutes(15)), eq(0L), any(), eq(2));
+    }
+
+    @Test
+    void tick_shouldDeliverClaimedRemindersOnce() {
+        Reminder due = reminder(1L, START.plusSeconds(30));
+        Reminder later = reminder(2L, START.plusMinutes(10));
+        when(store.findPending(any(), anyLong(), any(), anyInt())).thenReturn(List.of(due, later));
+        when(store.findPending(eq(START.plusMinutes(10)), eq(2L), any(), anyInt())).thenReturn(List.of());
+        when(store.claim(List.of(due))).thenReturn(List.of(due));
+        scheduler.refill();
+
+        clock.advance(Duration.ofSeconds(29));
+        scheduler.tick();
+        verifyNoInteractions(sink);
+
+        clock.advance(Duration.ofSeconds(1));
+        scheduler.tick();
+        scheduler.tick();
+
+        verify(sink).deliver(List.of(due));
+        verify(otherSink).deliver(List.of(due));
+        assertThat(scheduler.scheduled()).isEqualTo(1);
+        assertThat(meterRegistry.get("reminders.delivered").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void tick_whenClaimedElsewhere_shouldNotDeliver() {
+        Reminder due = reminder(1L, START.plusSeconds(5));
+        when(store.findPending(any(), anyLong(), any(), anyInt())).thenReturn(List.of());
+        scheduler.refill();
+        scheduler.schedule(List.of(due));
+        when(store.claim(List.of(due))).thenReturn(List.of());
+
+        clock.advance(Duration.ofSeconds(5));
+        scheduler.tick();
+
+        verifyNoInteractions(sink, otherSink);
+    }
+
+    @Test
+    void tick_whenSinkFails_shouldStillDeliverToOtherSinks() {
+        Reminder due = reminder(1L, START.plusSeconds(5));
+        when(store.findPending(any(), anyLong(), any(), anyInt())).thenReturn(List.of());
+        scheduler.refill();
+        scheduler.schedule(List.of(due));
+        when(store.claim(List.of(due))).thenReturn(List.of(due));
+        doThrow(new IllegalStateException("smtp down")).when(sink).deliver(any());
+
+        clock.advance(Duration.ofSeconds(5));
+        scheduler.tick();
+
+        verify(otherSink).deliver(List.of(due));
+    }
+
+    @Test
+    void schedule_shouldOnlyHoldRemindersInsideLoadedHorizon() {
+        when(store.findPending(any(), anyLong(), any(), anyInt())).thenReturn(List.of());
+        scheduler.refill();
+
+        scheduler.schedule(List.of(reminder(1L, START.plusMinutes(20)), reminder(2L, START.plusHours(3))));
+
+        assertThat(scheduler.scheduled()).isEqualTo(1);
+    }
+
+    @Test
+    void schedule_whenMovedOutOfHorizon_shouldDropReminder() {
+        when(store.findPending(any(), anyLong(), any(), anyInt())).thenReturn(List.of());
+        scheduler.refill();
+        scheduler.schedule(List.of(reminder(1L, START.plusMinutes(20))));
+
+        scheduler.schedule(List.of(reminder(1L, START.plusDays(1))));
+
+        assertThat(scheduler.scheduled()).isZero();
+    }
+
+    @Test
+    void cancel_shouldRemoveScheduledReminders() {
+        when(store.findPending(any(), anyLong(), any(), anyInt())).thenReturn(List.of());
+        scheduler.refill();
+        scheduler.schedule(List.of(reminder(1L, START.plusMinutes(1)), reminder(2L, START.plusMinutes(2))));
+
+        scheduler.cancel(List.of(1L));
+        clock.advance(Duration.ofMinutes(5));
+        when(store.claim(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        scheduler.tick();
+
+        verify(sink).deliver(List.of(reminder(2L, START.plusMinutes(2))));
+    }
+
+    @Test
+    void constructor_whenHorizonExceedsWheelSpan_shouldReject() {
+        assertThatThrownBy(() -> new ReminderScheduler(store, List.of(sink), new SimpleMeterRegistry(),
+                Duration.ofMillis(1), Duration.ofDays(1), Duration.ZERO, 10, 10, clock))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Reminder reminder(long id, LocalDateTime fireAt) {
+        return new Reminder(id, CalendarChange.Subject.EVENT, 10L + id, 1L, 15, fireAt);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
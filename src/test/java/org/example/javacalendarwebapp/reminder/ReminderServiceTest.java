@@ -0,0 +1,166 @@
+package org.example.javacalendarwebapp.reminder;
+
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.event.EventService;
+import org.example.javacalendarwebapp.event.EventView;
+import org.example.javacalendarwebapp.task.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReminderServiceTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    @Mock
+    private ReminderStore store;
+
+    @Mock
+    private ReminderScheduler scheduler;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private TaskService taskService;
+
+    private ReminderService reminderService;
+
+    @BeforeEach
+    void setUp() {
+        reminderService = new ReminderService(store, scheduler, eventService, taskService, 3);
+    }
+
+    @Test
+    void replaceOffsets_shouldLockItemDeduplicateAndScheduleInsertedReminders() {
+        when(store.lockTarget(CalendarChange.Subject.EVENT, 5L)).thenReturn(true);
+        when(store.delete(CalendarChange.Subject.EVENT, 5L)).thenReturn(List.of(1L));
+        Reminder inserted = new Reminder(2L, CalendarChange.Subject.EVENT, 5L, 7L, 10, DATE.minusMinutes(10));
+        when(store.insert(eq(CalendarChange.Subject.EVENT), eq(5L), any())).thenReturn(List.of(inserted));
+
+        ReminderOffsets result = reminderService
+                .replaceOffsets(CalendarChange.Subject.EVENT, 5L, new ReminderOffsets(List.of(60, 10, 60)))
+                .orElseThrow();
+
+        assertThat(result.minutesBefore()).containsExactly(10, 60);
+        InOrder order = inOrder(store);
+        order.verify(store).lockTarget(CalendarChange.Subject.EVENT, 5L);
+        order.verify(store).insert(eq(CalendarChange.Subject.EVENT), eq(5L),
+                argThat(offsets -> List.copyOf(offsets).equals(List.of(10, 60))));
+        verify(scheduler).cancel(List.of(1L));
+        verify(scheduler).schedule(List.of(inserted));
+        verifyNoInteractions(eventService);
+    }
+
+    @Test
+    void replaceOffsets_whenItemMissing_shouldReturnEmpty() {
+        when(store.lockTarget(CalendarChange.Subject.TASK, 5L)).thenReturn(false);
+
+        assertThat(reminderService.replaceOffsets(CalendarChange.Subject.TASK, 5L, new ReminderOffsets(List.of(5))))
+                .isEmpty();
+        verify(store, never()).delete(any(), anyLong());
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    void findOffsets_shouldReturnStoredOffsetsOfExistingItem() {
+        when(eventService.findById(5L)).thenReturn(Optional.of(event(5L)));
+        when(store.findOffsets(CalendarChange.Subject.EVENT, 5L)).thenReturn(List.of(10, 60));
+
+        assertThat(reminderService.findOffsets(CalendarChange.Subject.EVENT, 5L))
+                .contains(new ReminderOffsets(List.of(10, 60)));
+    }
+
+    @Test
+    void replaceOffsets_whenOffsetOutOfRange_shouldThrow() {
+        assertThatThrownBy(() -> reminderService.replaceOffsets(CalendarChange.Subject.EVENT, 5L,
+                new ReminderOffsets(List.of(-1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(store, eventService);
+    }
+
+    @Test
+    void replaceOffsets_whenTooManyOffsets_shouldThrow() {
+        assertThatThrownBy(() -> reminderService.replaceOffsets(CalendarChange.Subject.EVENT, 5L,
+                new ReminderOffsets(List.of(1, 2, 3, 4))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void replaceOffsets_whenOffsetIsNull_shouldThrow() {
+        List<Integer> offsets = new ArrayList<>(Collections.singletonList(null));
+
+        assertThatThrownBy(() -> reminderService.replaceOffsets(CalendarChange.Subject.EVENT, 5L,
+                new ReminderOffsets(offsets)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void onCalendarChange_whenItemDeleted_shouldCancelReminders() {
+        when(store.delete(CalendarChange.Subject.TASK, 5L)).thenReturn(List.of(3L, 4L));
+
+        reminderService.onCalendarChange(CalendarChange.deleted(CalendarChange.Subject.TASK, 5L, 7L));
+
+        verify(scheduler).cancel(List.of(3L, 4L));
+    }
+
+    @Test
+    void onCalendarChange_whenItemMoved_shouldRescheduleUndeliveredAndDropDelivered() {
+        Reminder pending = new Reminder(1L, CalendarChange.Subject.EVENT, 5L, 7L, 10, DATE.minusMinutes(10));
+        Reminder delivered = new Reminder(2L, CalendarChange.Subject.EVENT, 5L, 7L, 0, DATE);
+        when(store.reschedule(CalendarChange.Subject.EVENT, 5L, 7L, DATE)).thenReturn(List.of(
+                new ReminderStore.Rescheduled(pending, false),
+                new ReminderStore.Rescheduled(delivered, true)));
+
+        reminderService.onCalendarChange(CalendarChange.updated(CalendarChange.Subject.EVENT, 5L, 7L, 7L, DATE));
+
+        verify(scheduler).cancel(List.of(2L));
+        verify(scheduler).schedule(List.of(pending));
+    }
+
+    @Test
+    void onCalendarChange_whenNothingRescheduled_shouldNotTouchScheduler() {
+        when(store.reschedule(CalendarChange.Subject.EVENT, 5L, 7L, DATE)).thenReturn(List.of());
+
+        reminderService.onCalendarChange(CalendarChange.updated(CalendarChange.Subject.EVENT, 5L, 7L, 7L, DATE));
+
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    void onCalendarChange_shouldIgnoreCreatedItemsAndCalendarUpdates() {
+        reminderService.onCalendarChange(CalendarChange.created(CalendarChange.Subject.EVENT, 5L, 7L, DATE));
+        reminderService.onCalendarChange(CalendarChange.created(CalendarChange.Subject.CALENDAR, 7L, 7L, null));
+        reminderService.onCalendarChange(CalendarChange.updated(CalendarChange.Subject.CALENDAR, 7L, 7L, 7L, null));
+
+        verifyNoInteractions(store, scheduler);
+    }
+
+    @Test
+    void onCalendarChange_whenCalendarDeleted_shouldDeleteAndCancelRemindersOfItsItems() {
+        when(store.deleteByCalendar(7L)).thenReturn(List.of(3L, 4L, 9L));
+
+        reminderService.onCalendarChange(CalendarChange.deleted(CalendarChange.Subject.CALENDAR, 7L, 7L));
+
+        verify(scheduler).cancel(List.of(3L, 4L, 9L));
+        verify(store, never()).delete(any(), anyLong());
+    }
+
+    private static EventView event(Long id) {
+        return new EventView(id, "Standup", null, DATE, 15, null, 7L, 0L);
+    }
+}
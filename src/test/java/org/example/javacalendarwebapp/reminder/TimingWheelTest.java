@@ -0,0 +1,93 @@
+package org.example.javacalendarwebapp.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long TICK = 1000L;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(TICK, 2, 3, 0L);
+
+    @Test
+    void advance_shouldFireEntryOnItsTick() {
+        wheel.schedule(1L, 3 * TICK, "a");
+
+        assertThat(wheel.advance(2 * TICK)).isEmpty();
+        assertThat(wheel.advance(3 * TICK)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advance_shouldCascadeEntriesFromHigherLevels() {
+        wheel.schedule(1L, 17 * TICK, "level1");
+        wheel.schedule(2L, 45 * TICK, "level2");
+
+        assertThat(wheel.advance(16 * TICK)).isEmpty();
+        assertThat(wheel.advance(17 * TICK)).containsExactly("level1");
+        assertThat(wheel.advance(44 * TICK)).isEmpty();
+        assertThat(wheel.advance(45 * TICK)).containsExactly("level2");
+    }
+
+    @Test
+    void cancel_shouldRemoveEntryBeforeItFires() {
+        wheel.schedule(1L, 5 * TICK, "a");
+        wheel.schedule(2L, 5 * TICK, "b");
+
+        assertThat(wheel.cancel(1L)).isTrue();
+        assertThat(wheel.cancel(1L)).isFalse();
+        assertThat(wheel.advance(5 * TICK)).containsExactly("b");
+    }
+
+    @Test
+    void schedule_shouldReplaceExistingEntryWithSameId() {
+        wheel.schedule(1L, 5 * TICK, "old");
+        wheel.schedule(1L, 9 * TICK, "new");
+
+        assertThat(wheel.advance(5 * TICK)).isEmpty();
+        assertThat(wheel.advance(9 * TICK)).containsExactly("new");
+    }
+
+    @Test
+    void schedule_whenDeadlinePassed_shouldFireOnNextTick() {
+        wheel.advance(10 * TICK);
+        wheel.schedule(1L, 2 * TICK, "late");
+
+        assertThat(wheel.advance(11 * TICK)).containsExactly("late");
+    }
+
+    @Test
+    void schedule_whenBeyondSpan_shouldReject() {
+        wheel.advance(30 * TICK);
+
+        assertThat(wheel.spanMillis()).isEqualTo(63 * TICK);
+        assertThat(wheel.schedule(1L, 30 * TICK + wheel.spanMillis(), "edge")).isTrue();
+        assertThat(wheel.schedule(2L, 30 * TICK + wheel.spanMillis() + TICK, "far")).isFalse();
+        assertThat(wheel.contains(2L)).isFalse();
+        assertThat(wheel.advance(93 * TICK)).containsExactly("edge");
+    }
+
+    @Test
+    void advance_shouldFireRandomDeadlinesExactlyOnTime() {
+        TimingWheel<Long> large = new TimingWheel<>(TICK, 6, 4, 12_345 * TICK);
+        Random random = new Random(42);
+        for (long id = 0; id < 2_000; id++) {
+            long deadline = 12_345 * TICK + (1 + random.nextInt(300_000)) * TICK;
+            assertThat(large.schedule(id, deadline, deadline)).isTrue();
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 12_346 * TICK; large.size() > 0; now += 997 * TICK) {
+            for (Long deadline : large.advance(now)) {
+                assertThat(deadline).isLessThanOrEqualTo(now).isGreaterThan(now - 997 * TICK);
+                fired.add(deadline);
+            }
+        }
+        assertThat(fired).hasSize(2_000);
+    }
+}
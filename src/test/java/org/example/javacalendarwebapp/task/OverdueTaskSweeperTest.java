@@ -0,0 +1,175 @@
+package org.example.javacalendarwebapp.task;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.javacalendarwebapp.CacheConfig;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.calendar.feed.CalendarFeedVersions;
+import org.example.javacalendarwebapp.calendar.sync.CalendarChangeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueTaskSweeperTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T09:00:00Z");
+    private static final LocalDateTime LOCAL_NOW = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+
+    @Mock
+    private OverdueTasks overdueTasks;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CalendarFeedVersions feedVersions;
+
+    @Mock
+    private CalendarChangeLog changeLog;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.TASKS);
+    private SimpleMeterRegistry meterRegistry;
+    private OverdueTaskSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new OverdueTaskSweeper(overdueTasks, new TransactionTemplate(transactionManager), feedVersions,
+                changeLog, cacheManager, meterRegistry, 2, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void sweep_shouldFlagInChunksUntilShortChunk() {
+        locked();
+        when(overdueTasks.clear(LOCAL_NOW, 2)).thenReturn(List.of());
+        when(overdueTasks.flag(LOCAL_NOW, 2)).thenReturn(
+                List.of(transition(1L), transition(2L)),
+                List.of(transition(3L)));
+
+        OverdueTaskSweeper.Sweep sweep = sweeper.sweep();
+
+        assertThat(sweep).isEqualTo(new OverdueTaskSweeper.Sweep(3, 0, false));
+        verify(overdueTasks, times(2)).flag(LOCAL_NOW, 2);
+        verify(transactionManager, times(3)).commit(any());
+        verify(feedVersions, times(2)).bump(Set.of(7L));
+        verify(changeLog).append(List.of(CalendarChange.updated(CalendarChange.Subject.TASK, 3L, 7L, 7L,
+                LOCAL_NOW.minusDays(1))));
+        verify(changeLog, times(2)).append(any());
+        assertThat(meterRegistry.get("tasks.overdue.flagged").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void sweep_shouldClearStaleFlagsBeforeFlagging() {
+        locked();
+        when(overdueTasks.clear(LOCAL_NOW, 2)).thenReturn(List.of(transition(5L)));
+        when(overdueTasks.flag(LOCAL_NOW, 2)).thenReturn(List.of());
+
+        OverdueTaskSweeper.Sweep sweep = sweeper.sweep();
+
+        assertThat(sweep).isEqualTo(new OverdueTaskSweeper.Sweep(0, 1, false));
+        InOrder order = inOrder(overdueTasks);
+        order.verify(overdueTasks).clear(LOCAL_NOW, 2);
+        order.verify(overdueTasks).flag(LOCAL_NOW, 2);
+        assertThat(meterRegistry.get("tasks.overdue.cleared").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void sweep_shouldEvictCachedViewOfChangedTask() {
+        cacheManager.getCache(CacheConfig.TASKS).put(1L, Optional.of(TaskView.of(new Task())));
+        locked();
+        when(overdueTasks.clear(LOCAL_NOW, 2)).thenReturn(List.of());
+        when(overdueTasks.flag(LOCAL_NOW, 2)).thenReturn(List.of(transition(1L)));
+
+        sweeper.sweep();
+
+        assertThat(cacheManager.getCache(CacheConfig.TASKS).get(1L)).isNull();
+    }
+
+    @Test
+    void sweep_shouldRecordEachChunkInOneFeedBumpAndOneChangeLogAppend() {
+        locked();
+        when(overdueTasks.clear(LOCAL_NOW, 2)).thenReturn(List.of());
+        when(overdueTasks.flag(LOCAL_NOW, 2)).thenReturn(
+                List.of(transition(1L, 7L), transition(2L, 8L)),
+                List.of(transition(3L, null)));
+
+        sweeper.sweep();
+
+        InOrder order = inOrder(feedVersions, changeLog);
+        order.verify(feedVersions).bump(Set.of(7L, 8L));
+        order.verify(changeLog).append(argThat(changes -> changes.size() == 2));
+        order.verify(feedVersions).bump(Set.of());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<CalendarChange>> appended = ArgumentCaptor.forClass(Collection.class);
+        order.verify(changeLog).append(appended.capture());
+        assertThat(appended.getValue()).singleElement().satisfies(change -> {
+            assertThat(change.calendarId()).isNull();
+            assertThat(change.previousCalendarId()).isNull();
+        });
+        verifyNoMoreInteractions(feedVersions, changeLog);
+    }
+
+    @Test
+    void sweep_whenAnotherNodeHoldsLock_shouldStopWithoutWriting() {
+        when(overdueTasks.whileLocked(any())).thenReturn(Optional.empty());
+
+        OverdueTaskSweeper.Sweep sweep = sweeper.sweep();
+
+        assertThat(sweep).isEqualTo(new OverdueTaskSweeper.Sweep(0, 0, true));
+        verify(overdueTasks, never()).clear(any(), anyInt());
+        verify(overdueTasks, never()).flag(any(), anyInt());
+        verifyNoInteractions(feedVersions, changeLog);
+    }
+
+    @Test
+    void sweep_shouldRunEveryChunkWhileHoldingTheLock() {
+        when(overdueTasks.whileLocked(any())).thenAnswer(invocation -> {
+            verify(overdueTasks, never()).flag(any(), anyInt());
+            Optional<Object> result = Optional.of(invocation.<Supplier<Object>>getArgument(0).get());
+            verify(overdueTasks, times(2)).flag(LOCAL_NOW, 2);
+            return result;
+        });
+        when(overdueTasks.clear(LOCAL_NOW, 2)).thenReturn(List.of());
+        when(overdueTasks.flag(LOCAL_NOW, 2)).thenReturn(
+                List.of(transition(1L), transition(2L)),
+                List.of());
+
+        assertThat(sweeper.sweep()).isEqualTo(new OverdueTaskSweeper.Sweep(2, 0, false));
+        verify(overdueTasks, times(1)).whileLocked(any());
+    }
+
+    private void locked() {
+        when(overdueTasks.whileLocked(any())).thenAnswer(invocation ->
+                Optional.of(invocation.<Supplier<Object>>getArgument(0).get()));
+    }
+
+    private static OverdueTasks.Transition transition(long id) {
+        return transition(id, 7L);
+    }
+
+    private static OverdueTasks.Transition transition(long id, Long calendarId) {
+        return new OverdueTasks.Transition(id, calendarId, LOCAL_NOW.minusDays(1));
+    }
+}
@@ -1,21 +1,35 @@
 package org.example.javacalendarwebapp.task;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.javacalendarwebapp.common.BulkItemResult;
+import org.example.javacalendarwebapp.common.BulkResult;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.JsonItemReader;
+import org.example.javacalendarwebapp.common.JsonItemWriter;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.StaleVersionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -29,6 +43,13 @@ class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Spy
+    private JsonItemReader jsonItemReader = new JsonItemReader(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Spy
+    private JsonItemWriter jsonItemWriter = new JsonItemWriter(new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
@@ -62,7 +83,7 @@ class TaskControllerTest {
     }
 
     @Test
-    void getAllTasks_shouldReturnListOfTasks() throws Exception {
+    void getAllTasks_shouldReturnPageOfTasks() throws Exception {
         Task t1 = new Task();
         t1.setId(1L);
         t1.setTitle("Task One");
@@ -71,18 +92,129 @@ class TaskControllerTest {
         t2.setTitle("Task Two");
         List<Task> tasks = Arrays.asList(t1, t2);
 
-        when(taskService.findAll()).thenReturn(tasks);
+        when(taskService.findPage(null, 50)).thenReturn(new CursorPage<>(tasks.stream().map(TaskView::of).toList(), "Mg"));
 
         mockMvc.perform(get("/tasks")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].title").value("Task One"))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].title").value("Task Two"));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Task One"))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].title").value("Task Two"))
+                .andExpect(jsonPath("$.nextCursor").value("Mg"));
+
+        verify(taskService, times(1)).findPage(null, 50);
+    }
+
+    @Test
+    void getAllTasks_whenCursorInvalid_shouldReturnBadRequest() throws Exception {
+        when(taskService.findPage("???", 50)).thenThrow(new IllegalArgumentException("Invalid cursor: ???"));
+
+        mockMvc.perform(get("/tasks").param("cursor", "???")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getOverdueTasks_shouldReturnPageOfOverdueTasks() throws Exception {
+        Task overdue = new Task();
+        overdue.setId(7L);
+        overdue.setOverdue(true);
+        when(taskService.findOverduePage("Nw", 20)).thenReturn(new CursorPage<>(List.of(TaskView.of(overdue)), null));
+
+        mockMvc.perform(get("/tasks/overdue").param("cursor", "Nw").param("limit", "20")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.items[0].overdue").value(true));
+    }
 
-        verify(taskService, times(1)).findAll();
+    @Test
+    void getOverdueTasks_whenCursorInvalid_shouldReturnBadRequest() throws Exception {
+        when(taskService.findOverduePage("???", 50)).thenThrow(new IllegalArgumentException("Invalid cursor: ???"));
+
+        mockMvc.perform(get("/tasks/overdue").param("cursor", "???")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllTasks_withCalendarAndDateRange_shouldQueryRange() throws Exception {
+        Task item = new Task();
+        item.setId(3L);
+        item.setTitle("Standup");
+        item.setDate(LocalDateTime.of(2025, 6, 2, 9, 0));
+        LocalDateTime from = LocalDateTime.of(2025, 6, 2, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 6, 9, 0, 0);
+        when(taskService.findInRange(7L, from, to, null, 50))
+                .thenReturn(new CursorPage<>(Collections.singletonList(TaskView.of(item)), null));
+
+        mockMvc.perform(get("/tasks")
+                        .param("calendarId", "7")
+                        .param("from", "2025-06-02T00:00:00")
+                        .param("to", "2025-06-09T00:00:00")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.items[0].date").value("2025-06-02T09:00:00"));
+
+        verify(taskService, times(1)).findInRange(7L, from, to, null, 50);
+        verify(taskService, never()).findPage(any(), anyInt());
+    }
+
+    @Test
+    void getAllTasks_withPartialRange_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/tasks")
+                        .param("calendarId", "7")
+                        .param("from", "2025-06-02T00:00:00")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void exportTasks_shouldStreamNdjsonByDefault() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<TaskView> sink = invocation.getArgument(0);
+            sink.accept(new TaskView(1L, "Kickoff", null, null, LocalDateTime.of(2025, 9, 1, 9, 0), false, false, 4L, 0L));
+            sink.accept(new TaskView(2L, "Review", null, null, null, true, false, 4L, 0L));
+            return null;
+        }).when(taskService).exportAll(any());
+
+        MvcResult started = mockMvc.perform(get("/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(result -> assertThat(result.getResponse().getContentAsString().split("\n"))
+                        .hasSize(2)
+                        .allMatch(line -> line.startsWith("{\"id\":")));
+    }
+
+    @Test
+    void exportTasks_asJson_shouldStreamArray() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<TaskView> sink = invocation.getArgument(0);
+            sink.accept(new TaskView(1L, "Kickoff", null, null, LocalDateTime.of(2025, 9, 1, 9, 0), false, false, 4L, 0L));
+            return null;
+        }).when(taskService).exportAll(any());
+
+        MvcResult started = mockMvc.perform(get("/tasks/export").param("format", "json"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].date").value("2025-09-01T09:00:00"))
+                .andExpect(jsonPath("$[0].calendarId").value(4));
     }
 
     @Test
@@ -93,7 +225,7 @@ class TaskControllerTest {
         t.setDescription("Desc");
         t.setDate(LocalDateTime.of(2025, 6, 1, 12, 0));
 
-        when(taskService.findById(10L)).thenReturn(Optional.of(t));
+        when(taskService.findById(10L)).thenReturn(Optional.of(TaskView.of(t)));
 
         mockMvc.perform(get("/tasks/{id}", 10L)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -145,6 +277,45 @@ class TaskControllerTest {
         verify(taskService, times(1)).create(any(Task.class));
     }
 
+    @Test
+    void bulkCreateTasks_shouldStreamNdjsonItemsToService() throws Exception {
+        List<String> titles = new ArrayList<>();
+        when(taskService.bulkCreate(any())).thenAnswer(invocation -> {
+            Iterator<Task> items = invocation.getArgument(0);
+            items.forEachRemaining(item -> titles.add(item.getTitle()));
+            return new BulkResult(2, 2, 0, 4, 500.0,
+                    Arrays.asList(BulkItemResult.created(0, 51L), BulkItemResult.created(1, 52L)));
+        });
+
+        mockMvc.perform(post("/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"First\"}\n{\"title\":\"Second\",\"date\":\"2025-09-01T09:00:00\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rowsPerSecond").value(500.0))
+                .andExpect(jsonPath("$.items[1].id").value(52));
+
+        assertThat(titles).containsExactly("First", "Second");
+    }
+
+    @Test
+    void bulkCreateTasks_shouldAcceptJsonArray() throws Exception {
+        List<String> titles = new ArrayList<>();
+        when(taskService.bulkCreate(any())).thenAnswer(invocation -> {
+            Iterator<Task> items = invocation.getArgument(0);
+            items.forEachRemaining(item -> titles.add(item.getTitle()));
+            return new BulkResult(1, 1, 0, 1, 1000.0, Collections.singletonList(BulkItemResult.created(0, 51L)));
+        });
+
+        mockMvc.perform(post("/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"Only\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(1));
+
+        assertThat(titles).containsExactly("Only");
+    }
+
     @Test
     void updateTask_shouldReturnUpdatedTask() throws Exception {
         Long idToUpdate = 50L;
@@ -155,33 +326,141 @@ class TaskControllerTest {
 
         Task updated = new Task();
         updated.setId(idToUpdate);
+        updated.setVersion(1L);
         updated.setTitle("Updated Title");
         updated.setDescription("Updated Desc");
         updated.setDate(LocalDateTime.of(2025, 8, 2, 14, 0));
 
-        when(taskService.update(eq(idToUpdate), any(Task.class))).thenReturn(updated);
+        when(taskService.update(eq(idToUpdate), any(Task.class), isNull())).thenReturn(updated);
 
         mockMvc.perform(put("/tasks/{id}", idToUpdate)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
                 .andExpect(jsonPath("$.id").value(50))
                 .andExpect(jsonPath("$.title").value("Updated Title"))
                 .andExpect(jsonPath("$.description").value("Updated Desc"))
                 .andExpect(jsonPath("$.date").value("2025-08-02T14:00:00"));
 
-        verify(taskService, times(1)).update(eq(idToUpdate), any(Task.class));
+        verify(taskService, times(1)).update(eq(idToUpdate), any(Task.class), isNull());
     }
 
     @Test
     void deleteTask_shouldReturnNoContent() throws Exception {
-        doNothing().when(taskService).delete(77L);
+        doNothing().when(taskService).delete(77L, null);
 
         mockMvc.perform(delete("/tasks/{id}", 77L)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
 
-        verify(taskService, times(1)).delete(77L);
+        verify(taskService, times(1)).delete(77L, null);
+    }
+
+    @Test
+    void patchTask_shouldReturnPatchedTaskWithETag() throws Exception {
+        Task patched = new Task();
+        patched.setId(50L);
+        patched.setTitle("Moved");
+        patched.setVersion(6L);
+        when(taskService.patch(eq(50L), any(JsonNode.class), eq(5L))).thenReturn(patched);
+
+        mockMvc.perform(patch("/tasks/{id}", 50L)
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"title\":\"Moved\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"6\""))
+                .andExpect(jsonPath("$.title").value("Moved"));
+
+        verify(taskService, times(1)).patch(eq(50L), any(JsonNode.class), eq(5L));
+    }
+
+    @Test
+    void patchTask_whenPatchIsInvalid_shouldReturnBadRequest() throws Exception {
+        when(taskService.patch(eq(50L), any(JsonNode.class), isNull()))
+                .thenThrow(new IllegalArgumentException("Field cannot be patched: id"));
+
+        mockMvc.perform(patch("/tasks/{id}", 50L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"id\":1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchTask_whenCalendarDoesNotExist_shouldReturnBadRequest() throws Exception {
+        when(taskService.patch(eq(52L), any(JsonNode.class), isNull()))
+                .thenThrow(new DataIntegrityViolationException("fk_tasks_calendar"));
+
+        mockMvc.perform(patch("/tasks/{id}", 52L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"calendar\":{\"id\":999}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchTask_whenNotFound_shouldReturn404() throws Exception {
+        when(taskService.patch(eq(51L), any(JsonNode.class), isNull())).thenReturn(null);
+
+        mockMvc.perform(patch("/tasks/{id}", 51L)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .content("{\"title\":null}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getTaskById_whenETagMatches_shouldReturnNotModified() throws Exception {
+        Task current = new Task();
+        current.setId(10L);
+        current.setVersion(3L);
+        when(taskService.findById(10L)).thenReturn(Optional.of(TaskView.of(current)));
+
+        mockMvc.perform(get("/tasks/{id}", 10L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void updateTask_whenIfMatchIsStale_shouldReturnPreconditionFailed() throws Exception {
+        when(taskService.update(eq(50L), any(Task.class), eq(2L)))
+                .thenThrow(new StaleVersionException("Task 50 was modified concurrently"));
+
+        mockMvc.perform(put("/tasks/{id}", 50L)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateTask_whenCalendarDoesNotExist_shouldReturnBadRequest() throws Exception {
+        when(taskService.update(eq(52L), any(Task.class), isNull()))
+                .thenThrow(new DataIntegrityViolationException("fk_tasks_calendar"));
+
+        mockMvc.perform(put("/tasks/{id}", 52L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"calendar\":{\"id\":999}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateTask_whenNotFound_shouldReturn404() throws Exception {
+        when(taskService.update(eq(51L), any(Task.class), isNull())).thenReturn(null);
+
+        mockMvc.perform(put("/tasks/{id}", 51L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteTask_whenIfMatchIsStale_shouldReturnPreconditionFailed() throws Exception {
+        doThrow(new StaleVersionException("Task 77 was modified concurrently")).when(taskService).delete(77L, 4L);
+
+        mockMvc.perform(delete("/tasks/{id}", 77L)
+                        .header(HttpHeaders.IF_MATCH, "\"4\""))
+                .andExpect(status().isPreconditionFailed());
     }
 
     @Test
@@ -229,7 +508,7 @@ class TaskControllerTest {
         t2.setCompleted(true);
         List<Task> completed = Arrays.asList(t1, t2);
 
-        when(taskService.findAllCompletedTasks()).thenReturn(completed);
+        when(taskService.findAllCompletedTasks()).thenReturn(completed.stream().map(TaskView::of).toList());
 
         mockMvc.perform(get("/tasks/completed")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -253,7 +532,7 @@ class TaskControllerTest {
         t2.setCompleted(false);
         List<Task> uncompleted = Arrays.asList(t1, t2);
 
-        when(taskService.findAllUncompletedTasks()).thenReturn(uncompleted);
+        when(taskService.findAllUncompletedTasks()).thenReturn(uncompleted.stream().map(TaskView::of).toList());
 
         mockMvc.perform(get("/tasks/uncompleted")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -273,12 +552,14 @@ class TaskControllerTest {
         Task updated = new Task();
         updated.setId(idToMark);
         updated.setCompleted(true);
+        updated.setVersion(3L);
 
         when(taskService.markAsCompleted(idToMark)).thenReturn(updated);
 
         mockMvc.perform(put("/tasks/{id}/complete", idToMark)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(jsonPath("$.id").value(80))
                 .andExpect(jsonPath("$.completed").value(true));
 
@@ -1,11 +1,31 @@
 package org.example.javacalendarwebapp.task;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.common.BulkItemResult;
+import org.example.javacalendarwebapp.common.BulkResult;
+import org.example.javacalendarwebapp.common.BulkWriter;
+import org.example.javacalendarwebapp.common.Cursor;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.MergePatch;
+import org.example.javacalendarwebapp.common.PatchedRow;
+import org.example.javacalendarwebapp.common.StaleVersionException;
+import org.example.javacalendarwebapp.common.StreamingReader;
+import org.example.javacalendarwebapp.common.VersionedWrite;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -16,6 +36,15 @@ class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BulkWriter bulkWriter;
+
+    @Mock
+    private StreamingReader streamingReader;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -42,25 +71,126 @@ class TaskServiceTest {
         verify(taskRepository, times(1)).findAll();
     }
 
+    @Test
+    void exportAll_shouldStreamViewsThroughReader() {
+        Task stored = new Task();
+        stored.setId(1L);
+        stored.setTitle("Stored");
+        when(taskRepository.streamAll()).thenReturn(Stream.of(stored));
+        doAnswer(invocation -> {
+            Supplier<Stream<Task>> query = invocation.getArgument(0);
+            Function<Task, TaskView> mapper = invocation.getArgument(1);
+            Consumer<TaskView> sink = invocation.getArgument(2);
+            query.get().map(mapper).forEach(sink);
+            return null;
+        }).when(streamingReader).forEach(any(), any(), any());
+        List<TaskView> exported = new ArrayList<>();
+
+        taskService.exportAll(exported::add);
+
+        assertThat(exported).extracting(TaskView::id, TaskView::title).containsExactly(tuple(1L, "Stored"));
+    }
+
+    @Test
+    void findPage_shouldSeekAfterCursorAndReturnNextCursor() {
+        Task first = new Task();
+        first.setId(11L);
+        Task second = new Task();
+        second.setId(12L);
+        Task lookahead = new Task();
+        lookahead.setId(13L);
+        when(taskRepository.findViewsAfter(10L, Limit.of(3)))
+                .thenReturn(Arrays.asList(TaskView.of(first), TaskView.of(second), TaskView.of(lookahead)));
+
+        CursorPage<TaskView> page = taskService.findPage(Cursor.of(10L).encode(), 2);
+
+        assertThat(page.items()).extracting(TaskView::id).containsExactly(11L, 12L);
+        assertThat(Cursor.decode(page.nextCursor()).id()).isEqualTo(12L);
+    }
+
+    @Test
+    void findPage_whenLastPage_shouldReturnNoCursor() {
+        when(taskRepository.findViewsAfter(0L, Limit.of(51)))
+                .thenReturn(Collections.singletonList(TaskView.of(sampleTask)));
+
+        CursorPage<TaskView> page = taskService.findPage(null, 0);
+
+        assertThat(page.items()).containsExactly(TaskView.of(sampleTask));
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void findOverduePage_shouldSeekOverdueTasksAfterCursor() {
+        Task overdue = new Task();
+        overdue.setId(21L);
+        overdue.setOverdue(true);
+        when(taskRepository.findOverdueViewsAfter(20L, Limit.of(51)))
+                .thenReturn(Collections.singletonList(TaskView.of(overdue)));
+
+        CursorPage<TaskView> page = taskService.findOverduePage(Cursor.of(20L).encode(), 50);
+
+        assertThat(page.items()).extracting(TaskView::id, TaskView::overdue).containsExactly(tuple(21L, true));
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void findInRange_shouldReturnDateOrderedPageWithDateCursor() {
+        LocalDateTime from = LocalDateTime.of(2025, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 6, 8, 0, 0);
+        Task lookahead = new Task();
+        lookahead.setId(2L);
+        lookahead.setDate(LocalDateTime.of(2025, 6, 3, 8, 0));
+        when(taskRepository.findInRange(4L, from, to, Limit.of(2)))
+                .thenReturn(Arrays.asList(TaskView.of(sampleTask), TaskView.of(lookahead)));
+
+        CursorPage<TaskView> page = taskService.findInRange(4L, from, to, null, 1);
+
+        assertThat(page.items()).containsExactly(TaskView.of(sampleTask));
+        assertThat(Cursor.decode(page.nextCursor())).isEqualTo(Cursor.of(sampleTask.getDate(), 1L));
+    }
+
+    @Test
+    void findInRange_withCursor_shouldSeekAfterDateAndId() {
+        LocalDateTime from = LocalDateTime.of(2025, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 6, 8, 0, 0);
+        LocalDateTime afterDate = LocalDateTime.of(2025, 6, 1, 12, 0);
+        when(taskRepository.findInRangeAfter(4L, afterDate, 1L, to, Limit.of(51)))
+                .thenReturn(Collections.emptyList());
+
+        CursorPage<TaskView> page = taskService.findInRange(4L, from, to, Cursor.of(afterDate, 1L).encode(), 50);
+
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void findInRange_whenRangeEmpty_shouldThrowIllegalArgument() {
+        LocalDateTime day = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+        assertThatThrownBy(() -> taskService.findInRange(4L, day, day, null, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void findById_whenExists_shouldReturnOptionalWithTask() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(sampleTask));
+        when(taskRepository.findViewById(1L)).thenReturn(Optional.of(TaskView.of(sampleTask)));
 
-        Optional<Task> result = taskService.findById(1L);
+        Optional<TaskView> result = taskService.findById(1L);
 
         assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(sampleTask);
-        verify(taskRepository, times(1)).findById(1L);
+        assertThat(result.get().id()).isEqualTo(1L);
+        verify(taskRepository, times(1)).findViewById(1L);
     }
 
     @Test
     void findById_whenNotExists_shouldReturnEmptyOptional() {
-        when(taskRepository.findById(2L)).thenReturn(Optional.empty());
+        when(taskRepository.findViewById(2L)).thenReturn(Optional.empty());
 
-        Optional<Task> result = taskService.findById(2L);
+        Optional<TaskView> result = taskService.findById(2L);
 
         assertThat(result).isNotPresent();
-        verify(taskRepository, times(1)).findById(2L);
+        verify(taskRepository, times(1)).findViewById(2L);
     }
 
     @Test
@@ -85,85 +215,189 @@ class TaskServiceTest {
         assertThat(result.getDescription()).isEqualTo("Desc");
         assertThat(result.getDate()).isEqualTo(LocalDateTime.of(2025, 7, 1, 10, 30));
         verify(taskRepository, times(1)).save(toCreate);
+        verify(eventPublisher).publishEvent(
+                CalendarChange.created(CalendarChange.Subject.TASK, 5L, null, saved.getDate()));
+    }
+
+    @Test
+    void bulkCreate_shouldWriteEachItemAsNewRow() {
+        Task incoming = new Task();
+        incoming.setId(99L);
+        incoming.setTitle("Imported");
+        Task saved = new Task();
+        saved.setId(5L);
+        when(taskRepository.save(incoming)).thenReturn(saved);
+        BulkResult expected = new BulkResult(1, 1, 0, 2, 500.0, Collections.singletonList(BulkItemResult.created(0, 5L)));
+        when(bulkWriter.write(any(), any())).thenAnswer(invocation -> {
+            Iterator<Task> items = invocation.getArgument(0);
+            Function<Task, Long> writer = invocation.getArgument(1);
+            assertThat(writer.apply(items.next())).isEqualTo(5L);
+            return expected;
+        });
+
+        BulkResult result = taskService.bulkCreate(Collections.singletonList(incoming).iterator());
+
+        assertThat(result).isSameAs(expected);
+        assertThat(incoming.getId()).isNull();
+        verify(eventPublisher).publishEvent(any(CalendarChange.class));
     }
 
     @Test
-    void update_whenExists_shouldSetIdAndSave() {
+    void update_whenExists_shouldWriteConditionallyAndReturnStoredRow() {
         Long idToUpdate = 10L;
         Task incoming = new Task();
         incoming.setTitle("Updated Title");
         incoming.setDescription("Updated Desc");
         incoming.setDate(LocalDateTime.of(2025, 8, 2, 14, 0));
         incoming.setCompleted(false);
+        incoming.setOverdue(false);
+        Task stored = new Task();
+        stored.setId(idToUpdate);
+        stored.setTitle("Updated Title");
+        stored.setDate(incoming.getDate());
+        stored.setOverdue(true);
+        stored.setVersion(4L);
 
-        when(taskRepository.existsById(idToUpdate)).thenReturn(true);
-        ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
-
-        Task saved = new Task();
-        saved.setId(idToUpdate);
-        saved.setTitle("Updated Title");
-        saved.setDescription("Updated Desc");
-        saved.setDate(LocalDateTime.of(2025, 8, 2, 14, 0));
-        saved.setCompleted(false);
-        when(taskRepository.save(captor.capture())).thenReturn(saved);
+        when(taskRepository.updateVersioned(incoming, null)).thenReturn(Optional.of(new PatchedRow<>(stored, 3L)));
 
         Task result = taskService.update(idToUpdate, incoming);
 
-        assertThat(result).isNotNull();
-        assertThat(result.getId()).isEqualTo(idToUpdate);
-        assertThat(result.getTitle()).isEqualTo("Updated Title");
-        assertThat(result.getDescription()).isEqualTo("Updated Desc");
-        assertThat(result.getDate()).isEqualTo(LocalDateTime.of(2025, 8, 2, 14, 0));
-        assertThat(result.getCompleted()).isFalse();
-
-        Task passed = captor.getValue();
-        assertThat(passed.getId()).isEqualTo(idToUpdate);
-        assertThat(passed.getTitle()).isEqualTo("Updated Title");
-        assertThat(passed.getDescription()).isEqualTo("Updated Desc");
-        assertThat(passed.getDate()).isEqualTo(LocalDateTime.of(2025, 8, 2, 14, 0));
-        assertThat(passed.getCompleted()).isFalse();
-
-        verify(taskRepository, times(1)).existsById(idToUpdate);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        assertThat(result).isSameAs(stored);
+        assertThat(incoming.getId()).isEqualTo(idToUpdate);
+        assertThat(result.getVersion()).isEqualTo(4L);
+        assertThat(result.getOverdue()).isTrue();
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(
+                CalendarChange.updated(CalendarChange.Subject.TASK, idToUpdate, null, 3L, incoming.getDate()));
     }
 
     @Test
-    void update_whenNotExists_shouldReturnNullAndNotSave() {
+    void update_whenNotExists_shouldReturnNullAndNotPublish() {
         Long idToUpdate = 20L;
         Task incoming = new Task();
         incoming.setTitle("Won't Be Saved");
-        incoming.setDescription("Desc");
         incoming.setDate(LocalDateTime.of(2025, 9, 3, 9, 15));
 
-        when(taskRepository.existsById(idToUpdate)).thenReturn(false);
+        when(taskRepository.updateVersioned(incoming, null)).thenReturn(Optional.empty());
 
         Task result = taskService.update(idToUpdate, incoming);
 
         assertThat(result).isNull();
-        verify(taskRepository, times(1)).existsById(idToUpdate);
-        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, never()).existsById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void update_whenVersionDoesNotMatch_shouldThrowStaleVersion() {
+        Long idToUpdate = 21L;
+        Task incoming = new Task();
+        incoming.setTitle("Stale");
+
+        when(taskRepository.updateVersioned(incoming, 2L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(idToUpdate)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.update(idToUpdate, incoming, 2L))
+                .isInstanceOf(StaleVersionException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void update_withExpectedVersionWhenNotExists_shouldReturnNull() {
+        Long idToUpdate = 22L;
+        Task incoming = new Task();
+
+        when(taskRepository.updateVersioned(incoming, 2L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(idToUpdate)).thenReturn(false);
+
+        assertThat(taskService.update(idToUpdate, incoming, 2L)).isNull();
+    }
+
+    @Test
+    void patch_shouldWriteOnlySuppliedFieldsAndPublish() throws Exception {
+        Task patched = new Task();
+        patched.setId(10L);
+        patched.setDate(LocalDateTime.of(2025, 8, 2, 14, 0));
+        patched.setVersion(5L);
+        List<MergePatch.Assignment> expected = List.of(
+                new MergePatch.Assignment("task_date", Timestamp.valueOf(LocalDateTime.of(2025, 8, 2, 14, 0)), Types.TIMESTAMP));
+        when(taskRepository.patchVersioned(10L, expected, 4L)).thenReturn(Optional.of(new PatchedRow<>(patched, 3L)));
+
+        Task result = taskService.patch(10L, new ObjectMapper().readTree("{\"date\":\"2025-08-02T14:00:00\"}"), 4L);
+
+        assertThat(result).isSameAs(patched);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(
+                CalendarChange.updated(CalendarChange.Subject.TASK, 10L, null, 3L, patched.getDate()));
+    }
+
+    @Test
+    void patch_whenVersionDoesNotMatch_shouldThrowStaleVersion() throws Exception {
+        when(taskRepository.patchVersioned(eq(11L), anyList(), eq(2L))).thenReturn(Optional.empty());
+        when(taskRepository.existsById(11L)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.patch(11L, new ObjectMapper().readTree("{\"title\":\"Stale\"}"), 2L))
+                .isInstanceOf(StaleVersionException.class);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void delete_whenExists_shouldCallDeleteById() {
+    void patch_whenNotExists_shouldReturnNull() throws Exception {
+        when(taskRepository.patchVersioned(eq(12L), anyList(), isNull())).thenReturn(Optional.empty());
+
+        assertThat(taskService.patch(12L, new ObjectMapper().readTree("{\"title\":\"Missing\"}"), null)).isNull();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patch_whenEmpty_shouldReturnCurrentWithoutWriting() throws Exception {
+        Task current = new Task();
+        current.setId(13L);
+        current.setVersion(1L);
+        when(taskRepository.findById(13L)).thenReturn(Optional.of(current));
+
+        assertThat(taskService.patch(13L, new ObjectMapper().readTree("{}"), 1L)).isSameAs(current);
+        verify(taskRepository, never()).patchVersioned(anyLong(), anyList(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patch_whenFieldIsNotPatchable_shouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> taskService.patch(14L, new ObjectMapper().readTree("{\"id\":99}"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void delete_whenExists_shouldDeleteAndPublish() {
         Long idToDelete = 7L;
-        when(taskRepository.existsById(idToDelete)).thenReturn(true);
+        when(taskRepository.deleteVersioned(idToDelete, null)).thenReturn(Optional.of(new VersionedWrite(1L, 3L)));
 
         taskService.delete(idToDelete);
 
-        verify(taskRepository, times(1)).existsById(idToDelete);
-        verify(taskRepository, times(1)).deleteById(idToDelete);
+        verify(taskRepository, never()).deleteById(anyLong());
+        verify(eventPublisher).publishEvent(CalendarChange.deleted(CalendarChange.Subject.TASK, idToDelete, 3L));
     }
 
     @Test
-    void delete_whenNotExists_shouldNotCallDeleteById() {
+    void delete_whenNotExists_shouldNotPublish() {
         Long idToDelete = 8L;
-        when(taskRepository.existsById(idToDelete)).thenReturn(false);
+        when(taskRepository.deleteVersioned(idToDelete, null)).thenReturn(Optional.empty());
 
         taskService.delete(idToDelete);
 
-        verify(taskRepository, times(1)).existsById(idToDelete);
-        verify(taskRepository, never()).deleteById(anyLong());
+        verify(taskRepository, never()).existsById(anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void delete_whenVersionDoesNotMatch_shouldThrowStaleVersion() {
+        Long idToDelete = 9L;
+        when(taskRepository.deleteVersioned(idToDelete, 5L)).thenReturn(Optional.empty());
+        when(taskRepository.existsById(idToDelete)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.delete(idToDelete, 5L))
+                .isInstanceOf(StaleVersionException.class);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -216,16 +450,16 @@ class TaskServiceTest {
         Task t2 = new Task();
         t2.setId(3L);
         t2.setCompleted(true);
-        List<Task> completed = Arrays.asList(t1, t2);
+        List<TaskView> completed = Arrays.asList(TaskView.of(t1), TaskView.of(t2));
 
-        when(taskRepository.findByCompletedTrue()).thenReturn(completed);
+        when(taskRepository.findViewsByCompleted(true)).thenReturn(completed);
 
-        List<Task> result = taskService.findAllCompletedTasks();
+        List<TaskView> result = taskService.findAllCompletedTasks();
 
         assertThat(result).hasSize(2)
-                .extracting(Task::getId)
+                .extracting(TaskView::id)
                 .containsExactlyInAnyOrder(2L, 3L);
-        verify(taskRepository, times(1)).findByCompletedTrue();
+        verify(taskRepository, times(1)).findViewsByCompleted(true);
     }
 
     @Test
@@ -236,56 +470,50 @@ class TaskServiceTest {
         Task t2 = new Task();
         t2.setId(5L);
         t2.setCompleted(false);
-        List<Task> uncompleted = Arrays.asList(t1, t2);
+        List<TaskView> uncompleted = Arrays.asList(TaskView.of(t1), TaskView.of(t2));
 
-        when(taskRepository.findByCompletedFalse()).thenReturn(uncompleted);
+        when(taskRepository.findViewsByCompleted(false)).thenReturn(uncompleted);
 
-        List<Task> result = taskService.findAllUncompletedTasks();
+        List<TaskView> result = taskService.findAllUncompletedTasks();
 
         assertThat(result).hasSize(2)
-                .extracting(Task::getId)
+                .extracting(TaskView::id)
                 .containsExactlyInAnyOrder(4L, 5L);
-        verify(taskRepository, times(1)).findByCompletedFalse();
+        verify(taskRepository, times(1)).findViewsByCompleted(false);
     }
 
     @Test
-    void markAsCompleted_whenExists_shouldSetCompletedTrueAndSave() {
+    void markAsCompleted_whenExists_shouldCompleteInOneStatementAndPublish() {
         Long idToMark = 80L;
-        Task t = new Task();
-        t.setId(idToMark);
-        t.setCompleted(false);
-
-        when(taskRepository.findById(idToMark)).thenReturn(Optional.of(t));
-        ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
+        org.example.javacalendarwebapp.calendar.Calendar calendar = new org.example.javacalendarwebapp.calendar.Calendar();
+        calendar.setId(7L);
+        Task completed = new Task();
+        completed.setId(idToMark);
+        completed.setCompleted(true);
+        completed.setOverdue(false);
+        completed.setVersion(3L);
+        completed.setCalendar(calendar);
 
-        Task updated = new Task();
-        updated.setId(idToMark);
-        updated.setCompleted(true);
-        when(taskRepository.save(captor.capture())).thenReturn(updated);
+        when(taskRepository.complete(idToMark)).thenReturn(Optional.of(completed));
 
         Task result = taskService.markAsCompleted(idToMark);
 
-        assertThat(result.getId()).isEqualTo(idToMark);
-        assertThat(result.getCompleted()).isTrue();
-
-        Task passed = captor.getValue();
-        assertThat(passed.getId()).isEqualTo(idToMark);
-        assertThat(passed.getCompleted()).isTrue();
-
-        verify(taskRepository, times(1)).findById(idToMark);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        assertThat(result).isSameAs(completed);
+        verify(taskRepository, never()).findById(anyLong());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(eventPublisher).publishEvent(
+                CalendarChange.updated(CalendarChange.Subject.TASK, idToMark, 7L, 7L, null));
     }
 
     @Test
     void markAsCompleted_whenNotExists_shouldThrowIllegalArgument() {
         Long idToMark = 90L;
-        when(taskRepository.findById(idToMark)).thenReturn(Optional.empty());
+        when(taskRepository.complete(idToMark)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> taskService.markAsCompleted(idToMark))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Task not found with id: " + idToMark);
 
-        verify(taskRepository, times(1)).findById(idToMark);
-        verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(eventPublisher);
     }
 }
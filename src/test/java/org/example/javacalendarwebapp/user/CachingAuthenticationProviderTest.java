@@ -0,0 +1,75 @@
+package org.example.javacalendarwebapp.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private CredentialCache credentialCache;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        credentialCache = new CredentialCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        provider = new CachingAuthenticationProvider(delegate, credentialCache);
+    }
+
+    @Test
+    void authenticate_whenRepeated_shouldCallDelegateOnlyOnce() {
+        when(delegate.authenticate(any(Authentication.class))).thenReturn(
+                UsernamePasswordAuthenticationToken.authenticated("john", null,
+                        AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        Authentication first = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "secret"));
+        Authentication second = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "secret"));
+
+        assertThat(first.isAuthenticated()).isTrue();
+        assertThat(second.isAuthenticated()).isTrue();
+        assertThat(second.getName()).isEqualTo("john");
+        assertThat(AuthorityUtils.authorityListToSet(second.getAuthorities())).containsExactly("ROLE_USER");
+        verify(delegate, times(1)).authenticate(any(Authentication.class));
+    }
+
+    @Test
+    void authenticate_whenDelegateRejects_shouldNotCacheFailure() {
+        when(delegate.authenticate(any(Authentication.class))).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThatThrownBy(() -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "bad")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "bad")))
+                .isInstanceOf(BadCredentialsException.class);
+
+        verify(delegate, times(2)).authenticate(any(Authentication.class));
+    }
+
+    @Test
+    void authenticate_afterCredentialsChanged_shouldGoBackToDelegate() {
+        when(delegate.authenticate(any(Authentication.class))).thenReturn(
+                UsernamePasswordAuthenticationToken.authenticated("john", null,
+                        AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "secret"));
+        credentialCache.onUserCredentialsChanged(new UserCredentialsChangedEvent("john"));
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john", "secret"));
+
+        verify(delegate, times(2)).authenticate(any(Authentication.class));
+    }
+}
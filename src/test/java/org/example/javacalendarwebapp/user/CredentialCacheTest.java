@@ -0,0 +1,70 @@
+package org.example.javacalendarwebapp.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CredentialCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CredentialCache credentialCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        credentialCache = new CredentialCache(meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void get_whenSamePasswordPresented_shouldReturnCachedAuthentication() {
+        Authentication auth = authenticated("john");
+        credentialCache.put("john", "secret", auth);
+
+        assertThat(credentialCache.get("john", "secret")).isSameAs(auth);
+    }
+
+    @Test
+    void get_whenDifferentPasswordPresented_shouldMiss() {
+        credentialCache.put("john", "secret", authenticated("john"));
+
+        assertThat(credentialCache.get("john", "wrong")).isNull();
+        assertThat(credentialCache.get("jane", "secret")).isNull();
+    }
+
+    @Test
+    void evict_shouldRemoveEveryEntryOfThatUserOnly() {
+        credentialCache.put("john", "secret", authenticated("john"));
+        credentialCache.put("john", "other", authenticated("john"));
+        credentialCache.put("jane", "secret", authenticated("jane"));
+
+        credentialCache.onUserCredentialsChanged(new UserCredentialsChangedEvent("john"));
+
+        assertThat(credentialCache.get("john", "secret")).isNull();
+        assertThat(credentialCache.get("john", "other")).isNull();
+        assertThat(credentialCache.get("jane", "secret")).isNotNull();
+    }
+
+    @Test
+    void lookups_shouldBeExposedAsHitAndMissMetrics() {
+        credentialCache.put("john", "secret", authenticated("john"));
+        credentialCache.get("john", "secret");
+        credentialCache.get("john", "wrong");
+
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "credentials", "result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "credentials", "result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private Authentication authenticated(String username) {
+        return UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.javacalendarwebapp.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PooledPasswordEncoderTest {
+
+    private PooledPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new PooledPasswordEncoder(4, 1, 1, Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void encode_shouldProduceHashThatMatches() {
+        String hash = encoder.encode("secret");
+
+        assertThat(PooledPasswordEncoder.isEncoded(hash)).isTrue();
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    void upgradeEncoding_whenStoredCostDiffers_shouldReturnTrue() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+        assertThat(encoder.upgradeEncoding("plain-text")).isFalse();
+    }
+
+    @Test
+    void encode_whenPoolAndQueueAreFull_shouldRejectImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> encoder.submit(() -> {
+                started.countDown();
+                release.await();
+                return null;
+            }));
+            started.await();
+            callers.submit(() -> encoder.submit(() -> null));
+            for (int i = 0; i < 200 && encoder.queueDepth() == 0; i++) {
+                Thread.sleep(5);
+            }
+
+            assertThatThrownBy(() -> encoder.encode("secret"))
+                    .isInstanceOf(PasswordHashingRejectedException.class);
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    void calibrate_shouldStayWithinConfiguredBounds() {
+        assertThat(PooledPasswordEncoder.calibrate(Duration.ofNanos(1), 4, 6)).isEqualTo(4);
+        assertThat(PooledPasswordEncoder.calibrate(Duration.ofMinutes(1), 4, 6)).isEqualTo(6);
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.javacalendarwebapp.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class TokenControllerTest {
+
+    @InjectMocks
+    private TokenController tokenController;
+
+    @Mock
+    private TokenService tokenService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(tokenController).build();
+    }
+
+    @Test
+    void issueToken_shouldReturnTokenForAuthenticatedUser() throws Exception {
+        Authentication auth = UsernamePasswordAuthenticationToken.authenticated("user", null,
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+        when(tokenService.issue(auth)).thenReturn(new TokenResponse("abc.def.ghi", "Bearer", 900));
+
+        mockMvc.perform(post("/auth/token").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").value("abc.def.ghi"))
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andExpect(jsonPath("$.expiresIn").value(900));
+
+        verify(tokenService, times(1)).issue(auth);
+    }
+
+    @Test
+    void issueToken_whenAuthenticatedWithAccessToken_shouldReturnUnauthorized() throws Exception {
+        Authentication auth = new AccessTokenAuthentication("user", AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        mockMvc.perform(post("/auth/token").principal(auth))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Basic realm=\"Realm\""));
+
+        verifyNoInteractions(tokenService);
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.javacalendarwebapp.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    private UserRepository userRepository;
+    private TokenService tokenService;
+    private Authentication admin;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findTokensValidAfter("admin")).thenReturn(Optional.of(0L));
+        tokenService = tokenServiceAt(NOW);
+        admin = UsernamePasswordAuthenticationToken.authenticated("admin", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"));
+    }
+
+    @Test
+    void verify_whenTokenIssuedByService_shouldReturnUsernameAndRoles() {
+        TokenResponse response = tokenService.issue(admin);
+
+        Optional<Authentication> result = tokenService.verify(response.accessToken());
+
+        assertThat(response.tokenType()).isEqualTo("Bearer");
+        assertThat(response.expiresIn()).isEqualTo(900);
+        assertThat(result).isPresent();
+        assertThat(result.get().getName()).isEqualTo("admin");
+        assertThat(AuthorityUtils.authorityListToSet(result.get().getAuthorities()))
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+    }
+
+    @Test
+    void verify_whenPayloadTampered_shouldReject() {
+        String[] parts = tokenService.issue(admin).accessToken().split("\\.");
+        String forgedClaims = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"admin\",\"roles\":[\"ROLE_ADMIN\"],\"iat\":0,\"exp\":99999999999}".getBytes());
+
+        assertThat(tokenService.verify(parts[0] + "." + forgedClaims + "." + parts[2])).isEmpty();
+        assertThat(tokenService.verify("not-a-token")).isEmpty();
+    }
+
+    @Test
+    void verify_whenExpired_shouldReject() {
+        String token = tokenService.issue(admin).accessToken();
+
+        assertThat(tokenServiceAt(NOW.plus(Duration.ofMinutes(16))).verify(token)).isEmpty();
+    }
+
+    @Test
+    void verify_whenUserChangedAfterIssue_shouldReject() {
+        String token = tokenService.issue(admin).accessToken();
+        assertThat(tokenService.verify(token)).isPresent();
+
+        when(userRepository.findTokensValidAfter("admin")).thenReturn(Optional.of(NOW.toEpochMilli()));
+        tokenService.onUserCredentialsChanged(new UserCredentialsChangedEvent("admin"));
+
+        assertThat(tokenService.verify(token)).isEmpty();
+    }
+
+    @Test
+    void verify_whenRevokedOnAnotherNode_shouldReject() {
+        String token = tokenService.issue(admin).accessToken();
+        when(userRepository.findTokensValidAfter("admin")).thenReturn(Optional.of(NOW.toEpochMilli()));
+
+        assertThat(tokenServiceAt(NOW.plusSeconds(1)).verify(token)).isEmpty();
+    }
+
+    @Test
+    void verify_whenIssuedLaterInTheSameSecondAsRevocation_shouldAccept() {
+        when(userRepository.findTokensValidAfter("admin")).thenReturn(Optional.of(NOW.toEpochMilli()));
+
+        String token = tokenServiceAt(NOW.plusMillis(250)).issue(admin).accessToken();
+
+        assertThat(tokenServiceAt(NOW.plusMillis(500)).verify(token)).isPresent();
+    }
+
+    @Test
+    void verify_shouldMarkAuthenticationAsComingFromAccessToken() {
+        String token = tokenService.issue(admin).accessToken();
+
+        assertThat(tokenService.verify(token)).get().isInstanceOf(AccessTokenAuthentication.class);
+    }
+
+    @Test
+    void verify_whenUserDeleted_shouldReject() {
+        String token = tokenService.issue(admin).accessToken();
+        when(userRepository.findTokensValidAfter("admin")).thenReturn(Optional.empty());
+
+        assertThat(tokenServiceAt(NOW).verify(token)).isEmpty();
+    }
+
+    @Test
+    void verify_shouldCacheRevocationLookup() {
+        String token = tokenService.issue(admin).accessToken();
+
+        tokenService.verify(token);
+        tokenService.verify(token);
+
+        verify(userRepository, times(1)).findTokensValidAfter("admin");
+    }
+
+    private TokenService tokenServiceAt(Instant instant) {
+        return new TokenService(new ObjectMapper(), userRepository, SECRET, Duration.ofMinutes(15),
+                Duration.ofSeconds(30), Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}
@@ -2,9 +2,12 @@ package org.example.javacalendarwebapp.user;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.javacalendarwebapp.calendar.Calendar;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.StaleVersionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
@@ -57,7 +60,7 @@ class UserControllerTest {
     }
 
     @Test
-    void getAllUsers_shouldReturnListOfUsers() throws Exception {
+    void getAllUsers_shouldReturnPageOfUsers() throws Exception {
         User u1 = new User();
         u1.setId(1L);
         u1.setUsername("alice");
@@ -66,18 +69,28 @@ class UserControllerTest {
         u2.setUsername("bob");
         List<User> users = Arrays.asList(u1, u2);
 
-        when(userService.findAll()).thenReturn(users);
+        when(userService.findPage(null, 50)).thenReturn(new CursorPage<>(users.stream().map(UserView::of).toList(), "Mg"));
 
         mockMvc.perform(get("/users")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].username").value("alice"))
-                .andExpect(jsonPath("$[1].id").value(2))
-                .andExpect(jsonPath("$[1].username").value("bob"));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].username").value("alice"))
+                .andExpect(jsonPath("$.items[1].id").value(2))
+                .andExpect(jsonPath("$.items[1].username").value("bob"))
+                .andExpect(jsonPath("$.nextCursor").value("Mg"));
+
+        verify(userService, times(1)).findPage(null, 50);
+    }
+
+    @Test
+    void getAllUsers_whenCursorInvalid_shouldReturnBadRequest() throws Exception {
+        when(userService.findPage("???", 50)).thenThrow(new IllegalArgumentException("Invalid cursor: ???"));
 
-        verify(userService, times(1)).findAll();
+        mockMvc.perform(get("/users").param("cursor", "???")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -94,17 +107,16 @@ class UserControllerTest {
         Set<Calendar> cals = new HashSet<>(Collections.singletonList(cal));
         u.setCalendars(cals);
 
-        when(userService.findById(10L)).thenReturn(Optional.of(u));
+        when(userService.findById(10L)).thenReturn(Optional.of(UserView.of(u)));
 
         mockMvc.perform(get("/users/{id}", 10L)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(10))
                 .andExpect(jsonPath("$.username").value("charlie"))
-                .andExpect(jsonPath("$.password").value("secret"))
+                .andExpect(jsonPath("$.password").doesNotExist())
                 .andExpect(jsonPath("$.roles[0]").value("ROLE_USER"))
-                .andExpect(jsonPath("$.calendars[0].id").value(5))
-                .andExpect(jsonPath("$.calendars[0].name").value("Work"));
+                .andExpect(jsonPath("$.calendars").doesNotExist());
 
         verify(userService, times(1)).findById(10L);
     }
@@ -143,7 +155,7 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(100))
                 .andExpect(jsonPath("$.username").value("dave"))
-                .andExpect(jsonPath("$.password").value("pwd123"))
+                .andExpect(jsonPath("$.password").doesNotExist())
                 .andExpect(jsonPath("$.roles.length()").value(2));
 
         verify(userService, times(1)).create(any(User.class));
@@ -160,32 +172,78 @@ class UserControllerTest {
 
         User updated = new User();
         updated.setId(idToUpdate);
+        updated.setVersion(1L);
         updated.setUsername("eve");
         updated.setPassword("newpass");
         updated.setRoles(roles);
 
-        when(userService.update(eq(idToUpdate), any(User.class))).thenReturn(updated);
+        when(userService.update(eq(idToUpdate), any(User.class), isNull())).thenReturn(updated);
 
         mockMvc.perform(put("/users/{id}", idToUpdate)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
                 .andExpect(jsonPath("$.id").value(50))
                 .andExpect(jsonPath("$.username").value("eve"))
-                .andExpect(jsonPath("$.password").value("newpass"))
+                .andExpect(jsonPath("$.password").doesNotExist())
                 .andExpect(jsonPath("$.roles[0]").value("ROLE_USER"));
 
-        verify(userService, times(1)).update(eq(idToUpdate), any(User.class));
+        verify(userService, times(1)).update(eq(idToUpdate), any(User.class), isNull());
     }
 
     @Test
     void deleteUser_shouldReturnNoContent() throws Exception {
-        doNothing().when(userService).delete(77L);
+        doNothing().when(userService).delete(77L, null);
 
         mockMvc.perform(delete("/users/{id}", 77L)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
 
-        verify(userService, times(1)).delete(77L);
+        verify(userService, times(1)).delete(77L, null);
+    }
+
+    @Test
+    void getUserById_whenETagMatches_shouldReturnNotModified() throws Exception {
+        User current = new User();
+        current.setId(10L);
+        current.setVersion(3L);
+        when(userService.findById(10L)).thenReturn(Optional.of(UserView.of(current)));
+
+        mockMvc.perform(get("/users/{id}", 10L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void updateUser_whenIfMatchIsStale_shouldReturnPreconditionFailed() throws Exception {
+        when(userService.update(eq(50L), any(User.class), eq(2L)))
+                .thenThrow(new StaleVersionException("User 50 was modified concurrently"));
+
+        mockMvc.perform(put("/users/{id}", 50L)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updateUser_whenNotFound_shouldReturn404() throws Exception {
+        when(userService.update(eq(51L), any(User.class), isNull())).thenReturn(null);
+
+        mockMvc.perform(put("/users/{id}", 51L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteUser_whenIfMatchIsStale_shouldReturnPreconditionFailed() throws Exception {
+        doThrow(new StaleVersionException("User 77 was modified concurrently")).when(userService).delete(77L, 4L);
+
+        mockMvc.perform(delete("/users/{id}", 77L)
+                        .header(HttpHeaders.IF_MATCH, "\"4\""))
+                .andExpect(status().isPreconditionFailed());
     }
 }
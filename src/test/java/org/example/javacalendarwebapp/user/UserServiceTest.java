@@ -1,11 +1,18 @@
 package org.example.javacalendarwebapp.user;
 
 import org.example.javacalendarwebapp.calendar.Calendar;
+import org.example.javacalendarwebapp.common.CursorPage;
+import org.example.javacalendarwebapp.common.StaleVersionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.*;
@@ -13,17 +20,24 @@ import static org.mockito.Mockito.*;
 
 @ExtendWith(org.mockito.junit.jupiter.MockitoExtension.class)
 class UserServiceTest {
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00.123Z");
 
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
     private UserService userService;
 
     private User sampleUser;
 
     @BeforeEach
     void setUp() {
+        userService = new UserService(userRepository, eventPublisher, passwordEncoder, Clock.fixed(NOW, ZoneOffset.UTC));
         sampleUser = new User();
         sampleUser.setId(1L);
         sampleUser.setUsername("john");
@@ -48,23 +62,39 @@ class UserServiceTest {
 
     @Test
     void findById_whenExists_shouldReturnOptionalWithUser() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(sampleUser));
+        when(userRepository.findRowById(1L)).thenReturn(Optional.of(row(1L, "john", "ROLE_ADMIN,ROLE_USER")));
 
-        Optional<User> result = userService.findById(1L);
+        Optional<UserView> result = userService.findById(1L);
 
-        assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(sampleUser);
-        verify(userRepository, times(1)).findById(1L);
+        assertThat(result).contains(new UserView(1L, "john", Set.of("ROLE_ADMIN", "ROLE_USER"), 0L));
+        verify(userRepository, times(1)).findRowById(1L);
     }
 
     @Test
     void findById_whenNotExists_shouldReturnEmptyOptional() {
-        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+        when(userRepository.findRowById(2L)).thenReturn(Optional.empty());
 
-        Optional<User> result = userService.findById(2L);
+        Optional<UserView> result = userService.findById(2L);
 
         assertThat(result).isNotPresent();
-        verify(userRepository, times(1)).findById(2L);
+        verify(userRepository, times(1)).findRowById(2L);
+    }
+
+    @Test
+    void findIdByUsername_shouldReturnIdOfMatchingUser() {
+        when(userRepository.findByUsername("john")).thenReturn(Optional.of(sampleUser));
+
+        assertThat(userService.findIdByUsername("john")).contains(1L);
+    }
+
+    @Test
+    void findPage_shouldReturnViewsWithoutRolesWhenNoneAssigned() {
+        when(userRepository.findRowsAfter(0L, 51)).thenReturn(Collections.singletonList(row(3L, "anna", null)));
+
+        CursorPage<UserView> page = userService.findPage(null, 0);
+
+        assertThat(page.items()).containsExactly(new UserView(3L, "anna", Set.of(), 0L));
+        assertThat(page.nextCursor()).isNull();
     }
 
     @Test
@@ -80,6 +110,7 @@ class UserServiceTest {
         saved.setPassword("pwd");
         saved.setRoles(new HashSet<>(Arrays.asList("ROLE_USER", "ROLE_ADMIN")));
 
+        when(passwordEncoder.encode("pwd")).thenReturn("hashed-pwd");
         when(userRepository.save(toCreate)).thenReturn(saved);
 
         User result = userService.create(toCreate);
@@ -88,56 +119,58 @@ class UserServiceTest {
         assertThat(result.getUsername()).isEqualTo("alice");
         assertThat(result.getPassword()).isEqualTo("pwd");
         assertThat(result.getRoles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(toCreate.getPassword()).isEqualTo("hashed-pwd");
         verify(userRepository, times(1)).save(toCreate);
     }
 
     @Test
-    void update_whenExists_shouldSetIdAndSave() {
+    void update_whenExists_shouldCopyCredentialsOntoLoadedUser() {
         Long idToUpdate = 20L;
         User incoming = new User();
         incoming.setUsername("bob");
         incoming.setPassword("newpass");
         incoming.setRoles(new HashSet<>(Collections.singleton("ROLE_ADMIN")));
-        Set<Calendar> cals = new HashSet<>();
-        Calendar cal = new Calendar();
-        cal.setId(7L);
-        cal.setName("Personal");
-        cals.add(cal);
-        incoming.setCalendars(cals);
 
-        when(userRepository.existsById(idToUpdate)).thenReturn(true);
-        ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
-
-        User saved = new User();
-        saved.setId(idToUpdate);
-        saved.setUsername("bob");
-        saved.setPassword("newpass");
-        saved.setRoles(new HashSet<>(Collections.singleton("ROLE_ADMIN")));
-        saved.setCalendars(cals);
-        when(userRepository.save(captor.capture())).thenReturn(saved);
+        User existing = new User();
+        existing.setId(idToUpdate);
+        existing.setUsername("robert");
+        existing.setVersion(1L);
+        existing.setCalendars(sampleUser.getCalendars());
+        when(userRepository.findById(idToUpdate)).thenReturn(Optional.of(existing));
+        when(passwordEncoder.encode("newpass")).thenReturn("hashed-newpass");
+        when(userRepository.saveAndFlush(existing)).thenReturn(existing);
 
-        User result = userService.update(idToUpdate, incoming);
+        User result = userService.update(idToUpdate, incoming, 1L);
 
-        assertThat(result).isNotNull();
+        assertThat(result).isSameAs(existing);
         assertThat(result.getId()).isEqualTo(idToUpdate);
         assertThat(result.getUsername()).isEqualTo("bob");
-        assertThat(result.getPassword()).isEqualTo("newpass");
+        assertThat(result.getPassword()).isEqualTo("hashed-newpass");
         assertThat(result.getRoles()).containsExactly("ROLE_ADMIN");
-        assertThat(result.getCalendars()).hasSize(1)
-                .extracting(Calendar::getId)
-                .containsExactly(7L);
-
-        User passed = captor.getValue();
-        assertThat(passed.getId()).isEqualTo(idToUpdate);
-        assertThat(passed.getUsername()).isEqualTo("bob");
-        assertThat(passed.getPassword()).isEqualTo("newpass");
-        assertThat(passed.getRoles()).containsExactly("ROLE_ADMIN");
-        assertThat(passed.getCalendars()).hasSize(1)
-                .extracting(Calendar::getId)
-                .containsExactly(7L);
-
-        verify(userRepository, times(1)).existsById(idToUpdate);
-        verify(userRepository, times(1)).save(any(User.class));
+        assertThat(result.getTokensValidAfter()).isEqualTo(NOW.toEpochMilli());
+        assertThat(result.getCalendars()).extracting(Calendar::getId).containsExactly(5L);
+
+        verify(userRepository, never()).save(any(User.class));
+        verify(eventPublisher, times(1)).publishEvent(new UserCredentialsChangedEvent("robert"));
+    }
+
+    @Test
+    void update_whenVersionDoesNotMatch_shouldThrowStaleVersionAndNotPublish() {
+        Long idToUpdate = 21L;
+        User existing = new User();
+        existing.setId(idToUpdate);
+        existing.setUsername("robert");
+        existing.setVersion(2L);
+        User incoming = new User();
+        incoming.setUsername("bob");
+
+        when(userRepository.findById(idToUpdate)).thenReturn(Optional.of(existing));
+
+        assertThatThrownBy(() -> userService.update(idToUpdate, incoming, 1L))
+                .isInstanceOf(StaleVersionException.class);
+        assertThat(existing.getUsername()).isEqualTo("robert");
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -148,34 +181,74 @@ class UserServiceTest {
         incoming.setPassword("pwd123");
         incoming.setRoles(new HashSet<>(Collections.singleton("ROLE_USER")));
 
-        when(userRepository.existsById(idToUpdate)).thenReturn(false);
+        when(userRepository.findById(idToUpdate)).thenReturn(Optional.empty());
 
         User result = userService.update(idToUpdate, incoming);
 
         assertThat(result).isNull();
-        verify(userRepository, times(1)).existsById(idToUpdate);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, times(1)).findById(idToUpdate);
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void delete_whenExists_shouldCallDeleteById() {
+    void delete_whenExists_shouldDeleteLoadedUser() {
         Long idToDelete = 40L;
-        when(userRepository.existsById(idToDelete)).thenReturn(true);
+        when(userRepository.findById(idToDelete)).thenReturn(Optional.of(sampleUser));
 
         userService.delete(idToDelete);
 
-        verify(userRepository, times(1)).existsById(idToDelete);
-        verify(userRepository, times(1)).deleteById(idToDelete);
+        verify(userRepository, times(1)).findById(idToDelete);
+        verify(userRepository, times(1)).delete(sampleUser);
+        verify(userRepository, times(1)).flush();
+        verify(eventPublisher, times(1)).publishEvent(new UserCredentialsChangedEvent("john"));
     }
 
     @Test
-    void delete_whenNotExists_shouldNotCallDeleteById() {
+    void delete_whenNotExists_shouldNotDelete() {
         Long idToDelete = 50L;
-        when(userRepository.existsById(idToDelete)).thenReturn(false);
+        when(userRepository.findById(idToDelete)).thenReturn(Optional.empty());
 
         userService.delete(idToDelete);
 
-        verify(userRepository, times(1)).existsById(idToDelete);
-        verify(userRepository, never()).deleteById(anyLong());
+        verify(userRepository, times(1)).findById(idToDelete);
+        verify(userRepository, never()).delete(any(User.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void delete_whenVersionDoesNotMatch_shouldThrowStaleVersion() {
+        Long idToDelete = 60L;
+        sampleUser.setVersion(3L);
+        when(userRepository.findById(idToDelete)).thenReturn(Optional.of(sampleUser));
+
+        assertThatThrownBy(() -> userService.delete(idToDelete, 2L))
+                .isInstanceOf(StaleVersionException.class);
+        verify(userRepository, never()).delete(any(User.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private static UserRepository.UserRow row(Long id, String username, String roles) {
+        return new UserRepository.UserRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+
+            @Override
+            public String getRoles() {
+                return roles;
+            }
+        };
     }
 }
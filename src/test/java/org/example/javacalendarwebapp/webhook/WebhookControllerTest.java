@@ -0,0 +1,79 @@
+package org.example.javacalendarwebapp.webhook;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class WebhookControllerTest {
+
+    @InjectMocks
+    private WebhookController webhookController;
+
+    @Mock
+    private WebhookService webhookService;
+
+    private MockMvc mockMvc;
+
+    private final Authentication auth = UsernamePasswordAuthenticationToken.authenticated("alice", null,
+            AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(webhookController).build();
+    }
+
+    @Test
+    void getSubscriptions_shouldReturnSubscriptionsOfCurrentUser() throws Exception {
+        when(webhookService.findAll("alice")).thenReturn(List.of(
+                new WebhookSubscription(1L, "https://hooks.example.com", 7L, true, Instant.parse("2026-03-01T08:00:00Z"))));
+
+        mockMvc.perform(get("/webhooks").principal(auth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].url").value("https://hooks.example.com"))
+                .andExpect(jsonPath("$[0].signed").value(true))
+                .andExpect(jsonPath("$[0].secret").doesNotExist());
+    }
+
+    @Test
+    void createSubscription_whenInvalid_shouldReturnBadRequest() throws Exception {
+        when(webhookService.create(eq("alice"), eq(false), any())).thenThrow(new IllegalArgumentException("bad url"));
+
+        mockMvc.perform(post("/webhooks").principal(auth)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"url\":\"ftp://nope\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deleteSubscription_whenNotOwned_shouldReturnNotFound() throws Exception {
+        when(webhookService.delete("alice", 9L)).thenReturn(false);
+
+        mockMvc.perform(delete("/webhooks/9").principal(auth))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteSubscription_shouldReturnNoContent() throws Exception {
+        when(webhookService.delete("alice", 9L)).thenReturn(true);
+
+        mockMvc.perform(delete("/webhooks/9").principal(auth))
+                .andExpect(status().isNoContent());
+    }
+}
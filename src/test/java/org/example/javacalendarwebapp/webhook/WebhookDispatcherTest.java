@@ -0,0 +1,288 @@
+package org.example.javacalendarwebapp.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T09:00:00Z");
+
+    @Mock
+    private WebhookOutbox outbox;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Queue<ReceivedRequest> received = new ConcurrentLinkedQueue<>();
+    private final Map<String, Integer> statuses = new ConcurrentHashMap<>();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private volatile long responseDelayMillis;
+    private WebhookTargets targets = new WebhookTargets(Set.of("127.0.0.1"));
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+
+    private record ReceivedRequest(String path, String signature, String timestamp, String body) {
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void poll_shouldBatchDeliveriesPerSubscription() throws Exception {
+        when(outbox.lease(eq(100), any())).thenReturn(List.of(
+                delivery(1L, 10L, "/a", null, 0),
+                delivery(2L, 10L, "/a", null, 0),
+                delivery(3L, 20L, "/b", null, 0),
+                delivery(4L, 10L, "/a", null, 0)));
+        WebhookDispatcher dispatcher = dispatcher(2, 100, 8);
+
+        dispatcher.poll();
+        dispatcher.destroy();
+
+        assertThat(received).hasSize(3);
+        assertThat(received).filteredOn(request -> request.path().equals("/a"))
+                .extracting(request -> ids(request.body()))
+                .containsExactlyInAnyOrder(List.of(1L, 2L), List.of(4L));
+        JsonNode delivery = objectMapper.readTree(received.stream()
+                .filter(request -> request.path().equals("/b")).findFirst().orElseThrow().body()).path("deliveries").get(0);
+        assertThat(delivery.path("attempt").asInt()).isEqualTo(1);
+        assertThat(delivery.path("event").path("n").asLong()).isEqualTo(3L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> completed = ArgumentCaptor.forClass(Collection.class);
+        verify(outbox, times(3)).complete(completed.capture());
+        assertThat(completed.getAllValues().stream().flatMap(Collection::stream)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(meterRegistry.get("webhooks.delivery.latency").timer().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("webhooks.deliveries").tag("outcome", "delivered").counter().count()).isEqualTo(4.0);
+    }
+
+    @Test
+    void poll_whenSecretSet_shouldSignTimestampedBody() throws Exception {
+        when(outbox.lease(eq(100), any())).thenReturn(List.of(delivery(1L, 10L, "/signed", "s3cret", 0)));
+        WebhookDispatcher dispatcher = dispatcher(10, 100, 8);
+
+        dispatcher.poll();
+        dispatcher.destroy();
+
+        ReceivedRequest request = received.remove();
+        assertThat(request.timestamp()).isEqualTo(Long.toString(NOW.getEpochSecond()));
+        assertThat(request.signature())
+                .isEqualTo("sha256=" + WebhookDispatcher.sign("s3cret", request.timestamp() + "." + request.body()));
+    }
+
+    @Test
+    void poll_whenEndpointFails_shouldRetryWithBackoff() throws Exception {
+        statuses.put("/down", 503);
+        when(outbox.lease(eq(100), any())).thenReturn(List.of(delivery(1L, 10L, "/down", null, 0)));
+        WebhookDispatcher dispatcher = dispatcher(10, 100, 8);
+
+        dispatcher.poll();
+        dispatcher.destroy();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, Duration>> delays = ArgumentCaptor.forClass(Map.class);
+        verify(outbox).retry(delays.capture(), eq("HTTP 503"));
+        assertThat(delays.getValue().get(1L)).isBetween(Duration.ofMillis(500), Duration.ofSeconds(1));
+        verify(outbox).fail(List.of(), "HTTP 503");
+        verify(outbox, never()).complete(any());
+    }
+
+    @Test
+    void poll_whenAttemptsExhausted_shouldMarkDeliveryFailed() throws Exception {
+        statuses.put("/down", 500);
+        when(outbox.lease(eq(100), any())).thenReturn(List.of(delivery(1L, 10L, "/down", null, 2)));
+        WebhookDispatcher dispatcher = dispatcher(10, 100, 8);
+
+        dispatcher.poll();
+        dispatcher.destroy();
+
+        verify(outbox).retry(Map.of(), "HTTP 500");
+        verify(outbox).fail(List.of(1L), "HTTP 500");
+        assertThat(meterRegistry.get("webhooks.deliveries").tag("outcome", "failed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void poll_whenEndpointUnreachable_shouldRetry() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        String unreachable = "http://127.0.0.1:" + closedPort + "/gone";
+        when(outbox.lease(eq(100), any())).thenReturn(List.of(
+                new WebhookDelivery(1L, 10L, unreachable, null, "{}", 0, NOW)));
+        WebhookDispatcher dispatcher = dispatcher(10, 100, 8);
+
+        dispatcher.poll();
+        dispatcher.destroy();
+
+        verify(outbox).retry(argThat(delays -> delays.containsKey(1L)), startsWith("ConnectException"));
+    }
+
+    @Test
+    void poll_whenHostIsInternal_shouldNotSendAndRetry() throws Exception {
+        targets = new WebhookTargets(Set.of());
+        when(outbox.lease(eq(100), any())).thenReturn(List.of(delivery(1L, 10L, "/internal", null, 0)));
+        WebhookDispatcher dispatcher = dispatcher(10, 100, 8);
+
+        dispatcher.poll();
+        dispatcher.destroy();
+
+        assertThat(received).isEmpty();
+        verify(outbox).retry(argThat(delays -> delays.containsKey(1L)), contains("internal address"));
+        verify(outbox, never()).complete(any());
+    }
+
+    @Test
+    void poll_shouldLimitConcurrentRequestsPerHost() throws Exception {
+        responseDelayMillis = 100;
+        List<WebhookDelivery> deliveries = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            deliveries.add(delivery(id, id, "/slow", null, 0));
+        }
+        when(outbox.lease(eq(100), any())).thenReturn(deliveries);
+        WebhookDispatcher dispatcher = dispatcher(10, 100, 2);
+
+        dispatcher.poll();
+        dispatcher.destroy();
+
+        assertThat(received).hasSize(10);
+        assertThat(maxConcurrent.get()).isEqualTo(2);
+        verify(outbox, times(10)).complete(any());
+    }
+
+    @Test
+    void poll_whenHostStaysBusyPastTheLease_shouldReleaseWaitingBatchWithoutAttempt() throws Exception {
+        responseDelayMillis = 700;
+        when(outbox.lease(eq(100), any())).thenReturn(List.of(
+                delivery(1L, 10L, "/busy", null, 0),
+                delivery(2L, 20L, "/busy", null, 0)));
+        WebhookDispatcher dispatcher = new WebhookDispatcher(outbox, targets, meterRegistry, HttpClient.newHttpClient(),
+                Executors.newVirtualThreadPerTaskExecutor(), policy(), Clock.fixed(NOW, ZoneOffset.UTC),
+                10, 100, 1, 100, Duration.ofMillis(4300), Duration.ofSeconds(2));
+
+        dispatcher.poll();
+        dispatcher.destroy();
+
+        assertThat(received).hasSize(1);
+        verify(outbox).complete(any());
+        verify(outbox).release(argThat(ids -> ids.size() == 1));
+        verify(outbox, never()).retry(any(), any());
+        assertThat(meterRegistry.get("webhooks.deliveries").tag("outcome", "released").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void poll_shouldNotLeaseBeyondInFlightLimit() throws Exception {
+        responseDelayMillis = 100;
+        when(outbox.lease(eq(3), any())).thenReturn(List.of(
+                delivery(1L, 10L, "/a", null, 0),
+                delivery(2L, 20L, "/a", null, 0),
+                delivery(3L, 30L, "/a", null, 0)));
+        WebhookDispatcher dispatcher = new WebhookDispatcher(outbox, targets, meterRegistry, HttpClient.newHttpClient(),
+                Executors.newVirtualThreadPerTaskExecutor(), policy(), Clock.fixed(NOW, ZoneOffset.UTC),
+                10, 100, 8, 3, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+        dispatcher.poll();
+        dispatcher.poll();
+        dispatcher.destroy();
+
+        verify(outbox, times(1)).lease(anyInt(), any());
+        assertThat(received).hasSize(3);
+    }
+
+    @Test
+    void constructor_whenLeaseShorterThanRequests_shouldReject() {
+        assertThatThrownBy(() -> new WebhookDispatcher(outbox, targets, meterRegistry, HttpClient.newHttpClient(),
+                Executors.newVirtualThreadPerTaskExecutor(), policy(), Clock.systemUTC(),
+                10, 100, 8, 100, Duration.ofSeconds(10), Duration.ofSeconds(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private WebhookDispatcher dispatcher(int batchSize, int maxInFlight, int perHostConcurrency) {
+        return new WebhookDispatcher(outbox, targets, meterRegistry, HttpClient.newHttpClient(),
+                Executors.newVirtualThreadPerTaskExecutor(), policy(), Clock.fixed(NOW, ZoneOffset.UTC),
+                batchSize, 100, perHostConcurrency, maxInFlight, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    private static WebhookRetryPolicy policy() {
+        return new WebhookRetryPolicy(Duration.ofSeconds(1), Duration.ofMinutes(1), 3);
+    }
+
+    private WebhookDelivery delivery(long id, long subscriptionId, String path, String secret, int attempts) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + path;
+        return new WebhookDelivery(id, subscriptionId, url, secret, "{\"n\":" + id + "}", attempts, NOW.minusSeconds(1));
+    }
+
+    private List<Long> ids(String body) {
+        try {
+            List<Long> ids = new ArrayList<>();
+            objectMapper.readTree(body).path("deliveries").forEach(delivery -> ids.add(delivery.path("id").asLong()));
+            return ids;
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+        try {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            received.add(new ReceivedRequest(exchange.getRequestURI().getPath(),
+                    exchange.getRequestHeaders().getFirst(WebhookDispatcher.SIGNATURE_HEADER),
+                    exchange.getRequestHeaders().getFirst(WebhookDispatcher.TIMESTAMP_HEADER), body));
+            if (responseDelayMillis > 0) {
+                Thread.sleep(responseDelayMillis);
+            }
+            exchange.sendResponseHeaders(statuses.getOrDefault(exchange.getRequestURI().getPath(), 204), -1);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            concurrent.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.javacalendarwebapp.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.example.javacalendarwebapp.calendar.CalendarChange;
+import org.example.javacalendarwebapp.reminder.Reminder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookNotifierTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    @Mock
+    private WebhookOutbox outbox;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private WebhookNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        notifier = new WebhookNotifier(outbox, objectMapper, Clock.fixed(Instant.parse("2026-03-01T08:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void onCalendarChange_shouldEnqueueChangeForItsCalendar() throws Exception {
+        notifier.onCalendarChange(CalendarChange.created(CalendarChange.Subject.EVENT, 5L, 7L, DATE));
+
+        List<WebhookNotification> notifications = captureEnqueued();
+        assertThat(notifications).extracting(WebhookNotification::calendarId).containsExactly(7L);
+        JsonNode payload = objectMapper.readTree(notifications.getFirst().payload());
+        assertThat(payload.path("type").asText()).isEqualTo(WebhookNotifier.CHANGE);
+        assertThat(payload.path("data").path("subjectId").asLong()).isEqualTo(5L);
+        assertThat(payload.path("data").path("action").asText()).isEqualTo("CREATED");
+    }
+
+    @Test
+    void onCalendarChange_whenItemMoved_shouldNotifyBothCalendars() {
+        notifier.onCalendarChange(CalendarChange.updated(CalendarChange.Subject.TASK, 5L, 8L, 7L, DATE));
+
+        List<WebhookNotification> notifications = captureEnqueued();
+        assertThat(notifications).extracting(WebhookNotification::calendarId).containsExactly(8L, 7L);
+        assertThat(notifications.get(0).payload()).isEqualTo(notifications.get(1).payload());
+    }
+
+    @Test
+    void deliver_shouldEnqueueOneNotificationPerReminder() throws Exception {
+        notifier.deliver(List.of(
+                new Reminder(1L, CalendarChange.Subject.EVENT, 5L, 7L, 15, DATE.minusMinutes(15)),
+                new Reminder(2L, CalendarChange.Subject.TASK, 6L, null, 0, DATE)));
+
+        List<WebhookNotification> notifications = captureEnqueued();
+        assertThat(notifications).extracting(WebhookNotification::calendarId).containsExactly(7L);
+        JsonNode payload = objectMapper.readTree(notifications.getFirst().payload());
+        assertThat(payload.path("type").asText()).isEqualTo(WebhookNotifier.REMINDER);
+        assertThat(payload.path("data").path("minutesBefore").asInt()).isEqualTo(15);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WebhookNotification> captureEnqueued() {
+        ArgumentCaptor<List<WebhookNotification>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outbox).enqueue(captor.capture());
+        return captor.getValue();
+    }
+}
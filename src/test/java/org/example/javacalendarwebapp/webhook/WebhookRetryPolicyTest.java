@@ -0,0 +1,54 @@
+package org.example.javacalendarwebapp.webhook;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WebhookRetryPolicyTest {
+
+    private final WebhookRetryPolicy policy = new WebhookRetryPolicy(Duration.ofSeconds(4), Duration.ofMinutes(1), 5);
+
+    @Test
+    void delay_shouldDoubleWithEachAttemptWithinJitterBounds() {
+        Random random = new Random(7);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(policy.delay(1, random)).isBetween(Duration.ofSeconds(2), Duration.ofSeconds(4));
+            assertThat(policy.delay(2, random)).isBetween(Duration.ofSeconds(4), Duration.ofSeconds(8));
+            assertThat(policy.delay(3, random)).isBetween(Duration.ofSeconds(8), Duration.ofSeconds(16));
+        }
+    }
+
+    @Test
+    void delay_shouldBeCappedAtMaxDelay() {
+        Random random = new Random(7);
+
+        for (int attempt = 5; attempt < 200; attempt++) {
+            assertThat(policy.delay(attempt, random)).isBetween(Duration.ofSeconds(30), Duration.ofMinutes(1));
+        }
+    }
+
+    @Test
+    void delay_shouldSpreadRetriesOfTheSameAttempt() {
+        Random random = new Random(7);
+
+        assertThat(IntStream.range(0, 50).mapToObj(i -> policy.delay(3, random)).distinct().count())
+                .isGreaterThan(40);
+    }
+
+    @Test
+    void exhausted_shouldStopAfterMaxAttempts() {
+        assertThat(policy.exhausted(4)).isFalse();
+        assertThat(policy.exhausted(5)).isTrue();
+    }
+
+    @Test
+    void constructor_whenMaxDelayBelowInitialDelay_shouldReject() {
+        assertThatThrownBy(() -> new WebhookRetryPolicy(Duration.ofMinutes(2), Duration.ofMinutes(1), 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.javacalendarwebapp.webhook;
+
+import org.example.javacalendarwebapp.calendar.CalendarService;
+import org.example.javacalendarwebapp.calendar.CalendarView;
+import org.example.javacalendarwebapp.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookServiceTest {
+
+    @Mock
+    private WebhookSubscriptions subscriptions;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private CalendarService calendarService;
+
+    @Mock
+    private WebhookTargets targets;
+
+    private WebhookService webhookService;
+
+    @BeforeEach
+    void setUp() {
+        webhookService = new WebhookService(subscriptions, userService, calendarService, targets, 2);
+    }
+
+    @Test
+    void create_shouldStoreSubscriptionForUser() {
+        when(userService.findIdByUsername("alice")).thenReturn(Optional.of(3L));
+        when(subscriptions.isMember(3L, 7L)).thenReturn(true);
+        WebhookSubscription created = new WebhookSubscription(1L, "https://hooks.example.com/calendar", 7L, true, Instant.now());
+        when(subscriptions.create(3L, "https://hooks.example.com/calendar", 7L, "s3cret")).thenReturn(created);
+
+        WebhookSubscription result = webhookService.create("alice", false,
+                new WebhookSubscriptionRequest("https://hooks.example.com/calendar", 7L, "s3cret"));
+
+        assertThat(result).isEqualTo(created);
+    }
+
+    @Test
+    void create_withBlankSecret_shouldStoreUnsignedSubscription() {
+        when(userService.findIdByUsername("alice")).thenReturn(Optional.of(3L));
+
+        webhookService.create("alice", false, new WebhookSubscriptionRequest("http://hooks.internal/all", null, ""));
+
+        verify(subscriptions).create(3L, "http://hooks.internal/all", null, null);
+        verifyNoInteractions(calendarService);
+    }
+
+    @Test
+    void create_whenUrlRejected_shouldThrow() {
+        doThrow(new IllegalArgumentException("Webhook host 127.0.0.1 resolves to an internal address"))
+                .when(targets).check("http://127.0.0.1/hook");
+
+        assertThatThrownBy(() -> webhookService.create("alice", false,
+                new WebhookSubscriptionRequest("http://127.0.0.1/hook", null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(subscriptions);
+    }
+
+    @Test
+    void create_whenNotMemberOfCalendar_shouldThrow() {
+        when(userService.findIdByUsername("alice")).thenReturn(Optional.of(3L));
+        when(subscriptions.isMember(3L, 7L)).thenReturn(false);
+
+        assertThatThrownBy(() -> webhookService.create("alice", false,
+                new WebhookSubscriptionRequest("https://hooks.example.com", 7L, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(subscriptions, never()).create(any(), any(), any(), any());
+        verifyNoInteractions(calendarService);
+    }
+
+    @Test
+    void create_whenAdmin_shouldSubscribeToAnyExistingCalendar() {
+        when(userService.findIdByUsername("admin")).thenReturn(Optional.of(1L));
+        when(calendarService.findById(7L)).thenReturn(Optional.of(new CalendarView(7L, "Work", 0L)));
+
+        webhookService.create("admin", true, new WebhookSubscriptionRequest("https://hooks.example.com", 7L, null));
+
+        verify(subscriptions).create(1L, "https://hooks.example.com", 7L, null);
+        verify(subscriptions, never()).isMember(any(), any());
+    }
+
+    @Test
+    void create_whenAdminAndCalendarMissing_shouldThrow() {
+        when(userService.findIdByUsername("admin")).thenReturn(Optional.of(1L));
+        when(calendarService.findById(7L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> webhookService.create("admin", true,
+                new WebhookSubscriptionRequest("https://hooks.example.com", 7L, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void create_whenLimitReached_shouldThrow() {
+        when(userService.findIdByUsername("alice")).thenReturn(Optional.of(3L));
+        when(subscriptions.countByUser(3L)).thenReturn(2);
+
+        assertThatThrownBy(() -> webhookService.create("alice", false,
+                new WebhookSubscriptionRequest("https://hooks.example.com", null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(subscriptions, never()).create(any(), any(), any(), any());
+    }
+
+    @Test
+    void findAll_whenUserUnknown_shouldReturnEmpty() {
+        when(userService.findIdByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThat(webhookService.findAll("ghost")).isEmpty();
+        verifyNoInteractions(subscriptions);
+    }
+
+    @Test
+    void delete_shouldOnlyDeleteOwnSubscription() {
+        when(userService.findIdByUsername("alice")).thenReturn(Optional.of(3L));
+        when(subscriptions.delete(3L, 9L)).thenReturn(false);
+
+        assertThat(webhookService.delete("alice", 9L)).isFalse();
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.javacalendarwebapp.webhook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WebhookTargetsTest {
+
+    private final WebhookTargets targets = new WebhookTargets(Set.of());
+
+    @Test
+    void check_withInvalidUrl_shouldThrow() {
+        for (String url : new String[]{null, "ftp://hooks.example.com", "/relative", "http://", "http://exa mple.com"}) {
+            assertThatThrownBy(() -> targets.check(url)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void check_whenHostIsInternal_shouldThrow() {
+        for (String url : new String[]{
+                "http://localhost:8080/actuator",
+                "http://127.0.0.1/hook",
+                "http://0.0.0.0/hook",
+                "http://169.254.169.254/latest/meta-data",
+                "http://10.0.0.5/hook",
+                "http://172.16.3.4/hook",
+                "https://192.168.1.10/hook",
+                "http://224.0.0.1/hook",
+                "http://[::1]/hook",
+                "http://[fe80::1]/hook",
+                "http://[fd12:3456::1]/hook"}) {
+            assertThatThrownBy(() -> targets.check(url))
+                    .as(url)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("internal address");
+        }
+    }
+
+    @Test
+    void check_whenHostIsPublic_shouldPass() {
+        assertThatCode(() -> targets.check("https://93.184.216.34/hook")).doesNotThrowAnyException();
+        assertThatCode(() -> targets.check("http://[2606:2800:220:1::1]/hook")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void check_whenInternalHostIsAllowed_shouldPass() {
+        WebhookTargets allowing = new WebhookTargets(Set.of(" 127.0.0.1 ", "Hooks.Local"));
+
+        assertThatCode(() -> allowing.check("http://127.0.0.1:9000/hook")).doesNotThrowAnyException();
+        assertThatCode(() -> allowing.check("http://hooks.local/hook")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> allowing.check("http://10.0.0.5/hook")).isInstanceOf(IllegalArgumentException.class);
+    }
+}